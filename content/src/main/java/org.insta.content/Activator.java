@@ -2,9 +2,16 @@ package org.insta.content;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.insta.content.schema.ContentSchema;
+import org.insta.databaseconnection.shard.ShardedDataSource;
+import org.insta.orm.exception.SchemaMigrationException;
+import org.insta.orm.schema.MigrationRunner;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+
 /**
  * <p>
  * The Activator class for the CONTENT bundle.
@@ -30,9 +37,33 @@ public final class Activator implements BundleActivator {
      */
     @Override
     public void start(final BundleContext bundleContext) {
+        migrate();
         LOGGER.info("Content bundle started successfully");
     }
 
+    /**
+     * <p>
+     * Applies the pending migrations of the bundle on every shard and checks the indexes they create.
+     * </p>
+     *
+     * @throws SchemaMigrationException if a shard cannot be migrated
+     */
+    private void migrate() {
+        final ShardedDataSource shardedDataSource = ShardedDataSource.getInstance();
+        final ContentSchema schema = ContentSchema.getInstance();
+
+        for (int shardIndex = 0; shardIndex < shardedDataSource.getShardCount(); shardIndex++) {
+            try (final Connection connection = shardedDataSource.getShardConnection(shardIndex)) {
+                MigrationRunner.getInstance().migrate(connection, ContentSchema.MODULE, schema.getMigrations());
+                MigrationRunner.getInstance().verifyIndexes(connection, schema.getTables());
+            } catch (SQLException exception) {
+                LOGGER.error(String.join(" ", "Shard", String.valueOf(shardIndex), "is unavailable for migration"));
+                throw new SchemaMigrationException(String.join(" ", "Shard", String.valueOf(shardIndex),
+                        "is unavailable for migration"));
+            }
+        }
+    }
+
     /**
      * <p>
      * Called when the bundle is stopped.
@@ -0,0 +1,74 @@
+package org.insta.content.controller.admin;
+
+import org.insta.content.model.BulkImportReport;
+import org.insta.content.service.bulkimport.BulkImportService;
+import org.insta.content.service.bulkimport.BulkImportServiceImpl;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * <p>
+ * Command line entry point of the bulk import.
+ * </p>
+ *
+ * <p>
+ * Imports each file given as argument, or the standard input when no file is given, and prints
+ * the number of rows copied per table and the throughput.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see BulkImportService
+ */
+public final class BulkImportCommand {
+
+    /**
+     * <p>
+     * Private constructor to restrict the object creation outside of the class.
+     * </p>
+     */
+    private BulkImportCommand() {
+    }
+
+    /**
+     * <p>
+     * Runs the import.
+     * </p>
+     *
+     * @param args Refers the paths of the newline delimited JSON files.
+     * @throws IOException If a file cannot be read.
+     */
+    public static void main(final String[] args) throws IOException {
+        final BulkImportService bulkImportService = BulkImportServiceImpl.getInstance();
+
+        if (args.length == 0) {
+            print("stdin", bulkImportService.importRecords(System.in));
+        }
+
+        for (final String path : args) {
+            try (final InputStream inputStream = new BufferedInputStream(Files.newInputStream(Paths.get(path)))) {
+                print(path, bulkImportService.importRecords(inputStream));
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Prints the report of an import.
+     * </p>
+     *
+     * @param source Refers the imported source.
+     * @param report Refers the report of the import.
+     */
+    private static void print(final String source, final BulkImportReport report) {
+        System.out.println(String.join(" ", source + ":", String.valueOf(report.getTotalRows()), "rows in",
+                String.valueOf(report.getElapsedMillis()), "ms,", String.valueOf(report.getRowsPerSecond()),
+                "rows/s"));
+        report.getRows().forEach((table, rows) -> System.out.println(String.join(" ", " ", table,
+                String.valueOf(rows))));
+    }
+}
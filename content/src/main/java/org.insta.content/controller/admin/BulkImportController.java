@@ -0,0 +1,73 @@
+package org.insta.content.controller.admin;
+
+import org.insta.content.service.bulkimport.BulkImportService;
+import org.insta.content.service.bulkimport.BulkImportServiceImpl;
+import org.insta.wrapper.jackson.WireFormat;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import java.io.InputStream;
+
+/**
+ * <p>
+ * Manages bulk imports.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see BulkImportService
+ */
+@Path("/admin")
+public final class BulkImportController {
+
+    private final BulkImportService bulkImportService;
+
+    /**
+     * <p>
+     * Private constructor to restrict the object creation outside of the class.
+     * </p>
+     */
+    private BulkImportController() {
+        bulkImportService = BulkImportServiceImpl.getInstance();
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of BulkImportController class.
+     * </p>
+     *
+     * @return The singleton instance of BulkImportController class.
+     */
+    public static BulkImportController getInstance() {
+        return InstanceHolder.BULK_IMPORT_CONTROLLER;
+    }
+
+    /**
+     * <p>
+     * Imports the newline delimited JSON records of the request body.
+     * </p>
+     *
+     * @param inputStream Refers the request body, read as it arrives.
+     * @return Response containing the report of the import in the form of byte array.
+     */
+    @POST
+    @Path("/import")
+    @Consumes({"application/x-ndjson", MediaType.APPLICATION_OCTET_STREAM})
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
+    public byte[] importContent(final InputStream inputStream) {
+        return bulkImportService.importContent(inputStream);
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final BulkImportController BULK_IMPORT_CONTROLLER = new BulkImportController();
+    }
+}
@@ -0,0 +1,71 @@
+package org.insta.content.controller.admin;
+
+import org.insta.databaseconnection.limiter.DatabaseLimiter;
+import org.insta.wrapper.jackson.WireFormat;
+import org.insta.wrapper.jsonvalidator.JsonResponseHandler;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * <p>
+ * Exposes the current limit, the calls in flight and the accepted and rejected calls of each lane
+ * of the database limiter.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see DatabaseLimiter
+ */
+@Path("/admin/limits")
+public final class LimiterController {
+
+    private final DatabaseLimiter databaseLimiter;
+    private final JsonResponseHandler jsonResponseHandler;
+
+    /**
+     * <p>
+     * Private constructor to restrict the object creation outside of the class.
+     * </p>
+     */
+    private LimiterController() {
+        databaseLimiter = DatabaseLimiter.getInstance();
+        jsonResponseHandler = JsonResponseHandler.getInstance();
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of LimiterController class.
+     * </p>
+     *
+     * @return The singleton instance of LimiterController class.
+     */
+    public static LimiterController getInstance() {
+        return InstanceHolder.LIMITER_CONTROLLER;
+    }
+
+    /**
+     * <p>
+     * Lists the metrics of the read and write lanes.
+     * </p>
+     *
+     * @return Response containing the lanes in the form of byte array.
+     */
+    @GET
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
+    public byte[] getLimits() {
+        return jsonResponseHandler.objectResponse(databaseLimiter.getLanes());
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final LimiterController LIMITER_CONTROLLER = new LimiterController();
+    }
+}
@@ -0,0 +1,70 @@
+package org.insta.content.controller.admin;
+
+import org.insta.wrapper.jackson.WireFormat;
+import org.insta.wrapper.jsonvalidator.JsonResponseHandler;
+import org.insta.wrapper.singleflight.SingleFlightRegistry;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * <p>
+ * Exposes the calls, the collapsed calls and the keys in flight of each single-flight group.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see SingleFlightRegistry
+ */
+@Path("/admin/single-flight")
+public final class SingleFlightController {
+
+    private final SingleFlightRegistry singleFlightRegistry;
+    private final JsonResponseHandler jsonResponseHandler;
+
+    /**
+     * <p>
+     * Private constructor to restrict the object creation outside of the class.
+     * </p>
+     */
+    private SingleFlightController() {
+        singleFlightRegistry = SingleFlightRegistry.getInstance();
+        jsonResponseHandler = JsonResponseHandler.getInstance();
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of SingleFlightController class.
+     * </p>
+     *
+     * @return The singleton instance of SingleFlightController class.
+     */
+    public static SingleFlightController getInstance() {
+        return InstanceHolder.SINGLE_FLIGHT_CONTROLLER;
+    }
+
+    /**
+     * <p>
+     * Lists the metrics of the single-flight groups.
+     * </p>
+     *
+     * @return Response containing the groups in the form of byte array.
+     */
+    @GET
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
+    public byte[] getGroups() {
+        return jsonResponseHandler.objectResponse(singleFlightRegistry.getGroups());
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final SingleFlightController SINGLE_FLIGHT_CONTROLLER = new SingleFlightController();
+    }
+}
@@ -0,0 +1,70 @@
+package org.insta.content.controller.admin;
+
+import org.insta.databaseconnection.slowquery.SlowQueryLog;
+import org.insta.wrapper.jackson.WireFormat;
+import org.insta.wrapper.jsonvalidator.JsonResponseHandler;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * <p>
+ * Exposes the most recent slow queries with their captured plans.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see SlowQueryLog
+ */
+@Path("/admin/slow-queries")
+public final class SlowQueryController {
+
+    private final SlowQueryLog slowQueryLog;
+    private final JsonResponseHandler jsonResponseHandler;
+
+    /**
+     * <p>
+     * Private constructor to restrict the object creation outside of the class.
+     * </p>
+     */
+    private SlowQueryController() {
+        slowQueryLog = SlowQueryLog.getInstance();
+        jsonResponseHandler = JsonResponseHandler.getInstance();
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of SlowQueryController class.
+     * </p>
+     *
+     * @return The singleton instance of SlowQueryController class.
+     */
+    public static SlowQueryController getInstance() {
+        return InstanceHolder.SLOW_QUERY_CONTROLLER;
+    }
+
+    /**
+     * <p>
+     * Lists the slow queries kept in the ring buffer, the most recent first.
+     * </p>
+     *
+     * @return Response containing the slow queries in the form of byte array.
+     */
+    @GET
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
+    public byte[] getSlowQueries() {
+        return jsonResponseHandler.objectResponse(slowQueryLog.getRecentQueries());
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final SlowQueryController SLOW_QUERY_CONTROLLER = new SlowQueryController();
+    }
+}
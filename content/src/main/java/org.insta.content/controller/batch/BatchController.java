@@ -0,0 +1,73 @@
+package org.insta.content.controller.batch;
+
+import org.insta.content.model.BatchOperation;
+import org.insta.content.service.batch.BatchService;
+import org.insta.content.service.batch.BatchServiceImpl;
+import org.insta.wrapper.jackson.WireFormat;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import java.util.List;
+
+/**
+ * <p>
+ * Manages batches of operations sent in one request.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see BatchService
+ */
+@Path("/batch")
+public final class BatchController {
+
+    private final BatchService batchService;
+
+    /**
+     * <p>
+     * Private constructor to restrict the object creation outside of the class.
+     * </p>
+     */
+    private BatchController() {
+        batchService = BatchServiceImpl.getInstance();
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of BatchController class.
+     * </p>
+     *
+     * @return The singleton instance of BatchController class.
+     */
+    public static BatchController getInstance() {
+        return InstanceHolder.BATCH_CONTROLLER;
+    }
+
+    /**
+     * <p>
+     * Executes the operations of a batch, such as {@code post.like} or {@code reel.comment}.
+     * </p>
+     *
+     * @param operations {@link BatchOperation} The operations to be executed.
+     * @return Response containing the result of each operation in the form of byte array.
+     */
+    @POST
+    @Consumes({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
+    public byte[] execute(final List<BatchOperation> operations) {
+        return batchService.execute(operations);
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final BatchController BATCH_CONTROLLER = new BatchController();
+    }
+}
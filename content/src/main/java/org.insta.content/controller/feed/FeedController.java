@@ -0,0 +1,73 @@
+package org.insta.content.controller.feed;
+
+import org.insta.content.service.timeline.TimelineService;
+import org.insta.content.service.timeline.TimelineServiceImpl;
+import org.insta.wrapper.jackson.WireFormat;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * <p>
+ * Manages home timelines.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see TimelineService
+ */
+@Path("/feed")
+public final class FeedController {
+
+    private final TimelineService timelineService;
+
+    /**
+     * <p>
+     * Private constructor to restrict the object creation outside of the class.
+     * </p>
+     */
+    private FeedController() {
+        timelineService = TimelineServiceImpl.getInstance();
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of FeedController class.
+     * </p>
+     *
+     * @return The singleton instance of FeedController class.
+     */
+    public static FeedController getInstance() {
+        return InstanceHolder.FEED_CONTROLLER;
+    }
+
+    /**
+     * <p>
+     * Retrieves a page of the home timeline of the specified user, newest first.
+     * </p>
+     *
+     * @param userId Refer to userId of the user.
+     * @param cursor Refer to the cursor returned with the previous page, absent for the newest page.
+     * @return Response containing the page and the cursor of the next page in the form of byte array.
+     */
+    @GET
+    @Path("/{userId}")
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
+    public byte[] getFeed(@PathParam("userId") final Long userId, @QueryParam("cursor") final Long cursor) {
+        return timelineService.getFeed(userId, cursor);
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final FeedController FEED_CONTROLLER = new FeedController();
+    }
+}
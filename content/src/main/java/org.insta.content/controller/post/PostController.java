@@ -3,6 +3,7 @@ package org.insta.content.controller.post;
 import org.insta.content.model.Post;
 import org.insta.content.service.post.PostService;
 import org.insta.content.service.post.PostServiceImpl;
+import org.insta.wrapper.jackson.WireFormat;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
@@ -57,8 +58,8 @@ public final class PostController {
      */
     @POST
     @Path("/add")
-    @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] addPost(final Post post) {
         return postService.addPost(post);
     }
@@ -73,7 +74,7 @@ public final class PostController {
      */
     @DELETE
     @Path("/remove/{id}")
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] deletePost(@PathParam("id") final Long postId) {
         return postService.removePost(postId);
     }
@@ -87,7 +88,7 @@ public final class PostController {
      * @return Response containing the result of the operation in the form of byte array.
      */
     @Path("/get/{id}")
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     @GET
     public byte[] getPost(@PathParam("id") final Long postId) {
         return postService.getPost(postId);
@@ -5,6 +5,7 @@ import org.insta.content.groups.CommentValidator;
 import org.insta.content.model.Comment;
 import org.insta.content.service.post.comment.PostCommentService;
 import org.insta.content.service.post.comment.PostCommentServiceImpl;
+import org.insta.wrapper.jackson.WireFormat;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
@@ -60,8 +61,8 @@ public final class PostCommentController {
      */
     @Path("/add")
     @POST
-    @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] postComment(final Comment comment) {
         return postCommentService.postComment(comment);
     }
@@ -76,7 +77,7 @@ public final class PostCommentController {
      */
     @Path("/remove/{id}")
     @DELETE
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] removeComment(@PathParam("id") final Long id) {
         return postCommentService.deleteComment(id);
     }
@@ -2,6 +2,7 @@ package org.insta.content.controller.post.like;
 
 import org.insta.content.service.post.like.PostLikeService;
 import org.insta.content.service.post.like.PostLikeServiceImpl;
+import org.insta.wrapper.jackson.WireFormat;
 
 import javax.ws.rs.DELETE;
 import javax.ws.rs.POST;
@@ -55,7 +56,7 @@ public final class PostLikeController {
      */
     @Path("/add/{postId}/{userId}")
     @POST
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] postLike(@PathParam("userId") final Long userId,
                            @PathParam("postId") final Long postId) {
         return postLikeService.postLike(userId, postId);
@@ -71,7 +72,7 @@ public final class PostLikeController {
      */
     @Path("/remove/{id}")
     @DELETE
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] postUnlike(@PathParam("id") final Long postId) {
         return postLikeService.postUnlike(postId);
     }
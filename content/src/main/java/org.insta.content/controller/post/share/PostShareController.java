@@ -3,6 +3,7 @@ package org.insta.content.controller.post.share;
 import org.insta.content.dao.post.share.PostShareDAOImpl;
 import org.insta.content.service.post.share.PostShareService;
 import org.insta.content.service.post.share.PostShareServiceImpl;
+import org.insta.wrapper.jackson.WireFormat;
 
 import javax.ws.rs.DELETE;
 import javax.ws.rs.POST;
@@ -56,7 +57,7 @@ public class PostShareController {
      */
     @Path("/add/{postId}/{userId}")
     @POST
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] postShare(@PathParam("userId") final Long userId,
                             @PathParam("postId") final Long postId) {
         return postShareService.postShare(postId, userId);
@@ -72,7 +73,7 @@ public class PostShareController {
      */
     @Path("/remove/{shareId}")
     @DELETE
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] postUnShare(@PathParam("shareId") final Long shareId) {
         return postShareService.removeShare(shareId);
     }
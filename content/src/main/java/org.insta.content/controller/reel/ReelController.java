@@ -3,6 +3,7 @@ package org.insta.content.controller.reel;
 import org.insta.content.model.Reel;
 import org.insta.content.service.reel.ReelService;
 import org.insta.content.service.reel.ReelServiceImpl;
+import org.insta.wrapper.jackson.WireFormat;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
@@ -57,7 +58,7 @@ public final class ReelController {
      */
     @DELETE
     @Path("/remove/{reelid}")
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] removeReel(@PathParam("reelid") final Long reelId) {
         return reelService.removeReel(reelId);
     }
@@ -72,8 +73,8 @@ public final class ReelController {
      */
     @POST
     @Path("/add")
-    @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] addReel(final Reel reel) {
         return reelService.addReel(reel);
     }
@@ -88,7 +89,7 @@ public final class ReelController {
      */
     @GET
     @Path("/get/{reelId}")
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] getReel(@PathParam("reelId") final Long reelId) {
         return reelService.getReel(reelId);
     }
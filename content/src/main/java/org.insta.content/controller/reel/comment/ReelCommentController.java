@@ -3,6 +3,7 @@ package org.insta.content.controller.reel.comment;
 import org.insta.content.model.Comment;
 import org.insta.content.service.reel.comment.ReelCommentService;
 import org.insta.content.service.reel.comment.ReelCommentServiceImpl;
+import org.insta.wrapper.jackson.WireFormat;
 
 import javax.ws.rs.DELETE;
 import javax.ws.rs.POST;
@@ -59,7 +60,7 @@ public final class ReelCommentController {
      */
     @Path("/add")
     @POST
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] add(final Comment comment) {
         return reelCommentService.addComment(comment);
     }
@@ -74,7 +75,7 @@ public final class ReelCommentController {
      */
     @Path("/remove/{commentId}")
     @DELETE
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] deleteComment(@PathParam("commentId") final Long commentId) {
         return reelCommentService.deleteComment(commentId);
     }
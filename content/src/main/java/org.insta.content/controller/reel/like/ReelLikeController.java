@@ -2,6 +2,7 @@ package org.insta.content.controller.reel.like;
 
 import org.insta.content.service.reel.like.ReelLikeService;
 import org.insta.content.service.reel.like.ReelLikeServiceImpl;
+import org.insta.wrapper.jackson.WireFormat;
 
 import javax.ws.rs.DELETE;
 import javax.ws.rs.POST;
@@ -59,7 +60,7 @@ public final class ReelLikeController {
      */
     @Path("/add/{reelId}/{userId}")
     @POST
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] reelLike(@PathParam("reelId") final Long reelId, @PathParam("userId") final Long userId) {
         return reelLikeService.reelLike(reelId, userId);
     }
@@ -74,7 +75,7 @@ public final class ReelLikeController {
      */
     @Path("/remove/{id}")
     @DELETE
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] reelUnlike(@PathParam("id") final Long id) {
         return reelLikeService.reelUnlike(id);
     }
@@ -2,6 +2,7 @@ package org.insta.content.controller.reel.share;
 
 import org.insta.content.service.reel.share.ReelShareService;
 import org.insta.content.service.reel.share.ReelShareServiceImpl;
+import org.insta.wrapper.jackson.WireFormat;
 
 import javax.ws.rs.DELETE;
 import javax.ws.rs.POST;
@@ -59,7 +60,7 @@ public final class ReelShareController {
      */
     @Path("/add/{reelId}/{userId}")
     @POST
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] reelShare(@PathParam("reelId") final Long userId,
                             @PathParam("userId") final Long reelId) {
         return reelShareService.reelShare(userId, reelId);
@@ -75,7 +76,7 @@ public final class ReelShareController {
      */
     @Path("/remove/{id}")
     @DELETE
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] removeShare(@PathParam("id") final Long id) {
         return reelShareService.removeShare(id);
     }
@@ -3,6 +3,7 @@ package org.insta.content.controller.story;
 import org.insta.content.model.Story;
 import org.insta.content.service.story.StoryService;
 import org.insta.content.service.story.StoryServiceImpl;
+import org.insta.wrapper.jackson.WireFormat;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
@@ -61,8 +62,8 @@ public final class StoryController {
      */
     @Path("/add")
     @POST
-    @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] addStory(final Story story) {
         return storyService.addStory(story);
     }
@@ -77,7 +78,7 @@ public final class StoryController {
      */
     @DELETE
     @Path("/remove/{storyId}")
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] removeStory(@PathParam("storyId") final Long id) {
         return storyService.removeStory(id);
     }
@@ -92,7 +93,7 @@ public final class StoryController {
      */
     @GET
     @Path("/get/{storyId}")
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] getStory(@PathParam("storyId") final Long id) {
         return storyService.getStory(id);
     }
@@ -2,6 +2,7 @@ package org.insta.content.controller.story.like;
 
 import org.insta.content.service.story.like.StoryLikeService;
 import org.insta.content.service.story.like.StoryLikeServiceImpl;
+import org.insta.wrapper.jackson.WireFormat;
 
 import javax.ws.rs.DELETE;
 import javax.ws.rs.POST;
@@ -55,7 +56,7 @@ public final class StoryLikeController {
      */
     @Path("/add/{userId}/{storyId}")
     @POST
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] storyLike(@PathParam("userId") final Long userId,
                             @PathParam("storyId") final Long storyId) {
         return storyLikeService.storyLike(userId, storyId);
@@ -71,7 +72,7 @@ public final class StoryLikeController {
      */
     @DELETE
     @Path("/remove/{id}")
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] storyUnLike(@PathParam("id") final Long id) {
         return storyLikeService.storyUnlike(id);
     }
@@ -2,6 +2,7 @@ package org.insta.content.controller.story.share;
 
 import org.insta.content.service.story.share.StoryShareService;
 import org.insta.content.service.story.share.StoryShareServiceImpl;
+import org.insta.wrapper.jackson.WireFormat;
 
 import javax.ws.rs.DELETE;
 import javax.ws.rs.POST;
@@ -59,7 +60,7 @@ public final class StoryShareController {
      */
     @Path("/add/{userId}/{storyId}")
     @POST
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] storyShare(@PathParam("storyId") final Long storyId,
                              @PathParam("userId") final Long userId) {
         return storyShareService.storyShare(storyId, userId);
@@ -75,7 +76,7 @@ public final class StoryShareController {
      */
     @DELETE
     @Path("/remove/{storyId}")
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] storyUnShare(@PathParam("storyId") final Long storyId) {
         return storyShareService.storyUnShare(storyId);
     }
@@ -2,6 +2,8 @@ package org.insta.content.dao.post;
 
 import org.insta.content.model.Post;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -29,6 +31,26 @@ public interface PostServiceDAO {
      */
     Optional<Long> addPost(final Post post);
 
+    /**
+     * <p>
+     * Adds the given posts in a single batch.
+     * </p>
+     *
+     * @param posts the posts to be added
+     * @return the IDs of the added posts, in the order of the given posts
+     */
+    List<Long> addPosts(final List<Post> posts);
+
+    /**
+     * <p>
+     * Queues the post for insertion and returns its ID without waiting for the insert.
+     * </p>
+     *
+     * @param post the post to be added
+     * @return the ID assigned to the post
+     */
+    Long addPostAsync(final Post post);
+
     /**
      * <p>
      * Deletes a post for the user account.
@@ -48,4 +70,14 @@ public interface PostServiceDAO {
      * @return the retrieved post, or null if not found
      */
     Optional<Post>  getPost(final Long id);
+
+    /**
+     * <p>
+     * Retrieves several posts with a single query per shard.
+     * </p>
+     *
+     * @param postIds the IDs of the posts to be retrieved
+     * @return the retrieved posts by ID, without the posts not found
+     */
+    Map<Long, Post> getPosts(final List<Long> postIds);
 }
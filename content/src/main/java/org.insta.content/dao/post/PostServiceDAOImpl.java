@@ -3,20 +3,23 @@ package org.insta.content.dao.post;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.insta.content.exception.post.PostCreationFailedException;
-import org.insta.content.exception.post.PostException;
 import org.insta.content.exception.post.PostRemovalFailedException;
 import org.insta.content.exception.post.PostRetrivalFailedException;
-import org.insta.content.dao.GeneratedKeyExtractor;
-import org.insta.content.sqlinjector.post.PostSqlInjector;
-import org.insta.databaseconnection.DatabaseConnection;
+import org.insta.databaseconnection.asyncwriter.AsyncWriter;
+import org.insta.databaseconnection.idgenerator.IdGenerator;
+import org.insta.databaseconnection.shard.ShardedDataSource;
 import org.insta.content.model.Post;
-import org.insta.content.model.Media;
+import org.insta.content.model.PostTable;
+import org.insta.wrapper.jfr.DaoEventRecorder;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -35,9 +38,9 @@ import java.util.Optional;
 public final class PostServiceDAOImpl implements PostServiceDAO {
 
     private static final Logger LOGGER = LogManager.getLogger(PostServiceDAOImpl.class);
-    private final Connection connection;
-    private final GeneratedKeyExtractor generatedKeyExtractor;
-    private final PostSqlInjector postSqlInjector;
+    private final ShardedDataSource shardedDataSource;
+    private final IdGenerator idGenerator;
+    private final AsyncWriter asyncWriter;
 
     /**
      * <p>
@@ -45,9 +48,9 @@ public final class PostServiceDAOImpl implements PostServiceDAO {
      * </p>
      */
     private PostServiceDAOImpl() {
-        connection = DatabaseConnection.get();
-        generatedKeyExtractor = GeneratedKeyExtractor.getInstance();
-        postSqlInjector = PostSqlInjector.getInstance();
+        shardedDataSource = ShardedDataSource.getInstance();
+        idGenerator = IdGenerator.getInstance();
+        asyncWriter = AsyncWriter.getInstance();
     }
 
     /**
@@ -57,7 +60,8 @@ public final class PostServiceDAOImpl implements PostServiceDAO {
      */
     private static class InstanceHolder {
 
-        private static final PostServiceDAO postServiceDAOImpl = new PostServiceDAOImpl();
+        private static final PostServiceDAO postServiceDAOImpl = DaoEventRecorder.getInstance()
+                .instrument(PostServiceDAO.class, "post", new PostServiceDAOImpl());
     }
 
     /**
@@ -78,20 +82,89 @@ public final class PostServiceDAOImpl implements PostServiceDAO {
      * @return the ID of the added post, or 0 if unsuccessful
      */
     public Optional<Long> addPost(final Post post) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                postSqlInjector.getInsertQuery(), Statement.RETURN_GENERATED_KEYS)) {
+        final long id = idGenerator.nextIdFor(post.getUserId());
 
-            connection.setAutoCommit(true);
-            preparedStatement.setLong(1, post.getUserId());
-            preparedStatement.setString(2, post.getCaption());
-            preparedStatement.setBoolean(3, post.isPrivate());
-            preparedStatement.setInt(4, post.getType().getId());
+        return insertPost(id, post) ? Optional.of(id) : Optional.empty();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param posts the posts to be added
+     * @return the IDs of the added posts, in the order of the given posts
+     */
+    public List<Long> addPosts(final List<Post> posts) {
+        final List<Long> ids = new ArrayList<>(posts.size());
+
+        for (final Post post : posts) {
+            ids.add(idGenerator.nextIdFor(post.getUserId()));
+        }
+
+        try {
+            for (final List<Integer> positions : shardedDataSource.groupByShard(ids).values()) {
+                shardedDataSource.inTransaction(ids.get(positions.get(0)), connection -> {
+                    try (final PreparedStatement preparedStatement = connection.prepareStatement(
+                            PostTable.INSERT)) {
+
+                        for (final int position : positions) {
+                            PostTable.bindInsert(preparedStatement, ids.get(position), posts.get(position));
+                            preparedStatement.addBatch();
+                        }
+
+                        return preparedStatement.executeBatch();
+                    }
+                });
+            }
+        } catch (SQLException exception) {
+            LOGGER.error("Post batch creation failed");
+            throw new PostCreationFailedException("Post batch creation failed");
+        }
+
+        for (int index = 0; index < posts.size(); index++) {
+            posts.get(index).setId(ids.get(index));
+        }
+
+        return ids;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param post the post to be added
+     * @return the ID assigned to the post
+     */
+    public Long addPostAsync(final Post post) {
+        final long id = idGenerator.nextIdFor(post.getUserId());
+
+        post.setId(id);
+        asyncWriter.submit(() -> insertPost(id, post));
+
+        return id;
+    }
+
+    /**
+     * <p>
+     * Inserts the post with the given pre assigned ID.
+     * </p>
+     *
+     * @param id   the ID assigned to the post
+     * @param post the post to be inserted
+     * @return true if the post is inserted, otherwise false
+     */
+    private boolean insertPost(final long id, final Post post) {
+        try (final Connection connection = shardedDataSource.getConnection(post.getUserId());
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     PostTable.INSERT)) {
+
+            PostTable.bindInsert(preparedStatement, id, post);
 
             if (preparedStatement.executeUpdate() > 0) {
-                return generatedKeyExtractor.fetchKey(preparedStatement);
+                post.setId(id);
+
+                return true;
             }
 
-            return Optional.empty();
+            return false;
         } catch (SQLException exception) {
             LOGGER.error("Post creation failed");
             throw new PostCreationFailedException("Post creation failed");
@@ -105,10 +178,10 @@ public final class PostServiceDAOImpl implements PostServiceDAO {
      * @return true if the post is removed successfully, otherwise false
      */
     public boolean removePost(final Long id) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                postSqlInjector.getDeleteQuery())) {
+        try (final Connection connection = shardedDataSource.getConnection(id);
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     PostTable.DELETE)) {
 
-            connection.setAutoCommit(true);
             preparedStatement.setLong(1, id);
 
             return preparedStatement.executeUpdate() > 0;
@@ -125,13 +198,14 @@ public final class PostServiceDAOImpl implements PostServiceDAO {
      * @return the retrieved post, or null if not found
      */
     public Optional<Post> getPost(final Long postId) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                postSqlInjector.getRetrieveQuery())) {
+        try (final Connection connection = shardedDataSource.getReadConnection(postId);
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     PostTable.SELECT)) {
             preparedStatement.setLong(1, postId);
             final ResultSet resultSet = preparedStatement.executeQuery();
 
             if (resultSet.next()) {
-                return mapResultSetToPost(resultSet);
+                return Optional.of(PostTable.map(resultSet));
             }
 
             return Optional.empty();
@@ -142,29 +216,38 @@ public final class PostServiceDAOImpl implements PostServiceDAO {
     }
 
     /**
+     * {@inheritDoc}
+     *
      * <p>
-     * Sets the details of a post retrieved from the database ResultSet.
+     * The IDs are grouped by shard and each shard is read with one {@code = ANY(?)} query.
      * </p>
      *
-     * @param resultSet The ResultSet containing post details
-     * @return The Post object with retrieved details, or null if no data found
+     * @param postIds the IDs of the posts to be retrieved
+     * @return the retrieved posts by ID, without the posts not found
      */
-    private Optional<Post> mapResultSetToPost(final ResultSet resultSet) {
-        try {
-                final Post post = new Post();
-
-                post.setId(resultSet.getLong(1));
-                post.setUserId(resultSet.getLong(2));
-                post.setUserName(resultSet.getString(3));
-                post.setCaption(resultSet.getString(4));
-                post.setType(Media.getMedia(resultSet.getInt(5)));
-                post.setPrivate(resultSet.getBoolean(6));
-                post.setTimestamp(resultSet.getTimestamp(7));
-
-                return Optional.of(post);
-        } catch (final SQLException exception) {
-            LOGGER.error("Resultset insertion in post object failed");
-            throw new PostException("Resultset insertion in post object failed");
+    public Map<Long, Post> getPosts(final List<Long> postIds) {
+        final Map<Long, Post> posts = new HashMap<>();
+
+        for (final List<Integer> positions : shardedDataSource.groupByShard(postIds).values()) {
+            final Long[] shardIds = positions.stream().map(postIds::get).toArray(Long[]::new);
+
+            try (final Connection connection = shardedDataSource.getReadConnection(shardIds[0]);
+                 final PreparedStatement preparedStatement = connection.prepareStatement(PostTable.SELECT_ANY)) {
+                preparedStatement.setArray(1, connection.createArrayOf("bigint", shardIds));
+
+                try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        final Post post = PostTable.map(resultSet);
+
+                        posts.put(post.getId(), post);
+                    }
+                }
+            } catch (SQLException exception) {
+                LOGGER.error("Post batch retrival failed");
+                throw new PostRetrivalFailedException("Post batch retrival failed");
+            }
         }
+
+        return posts;
     }
 }
@@ -5,14 +5,14 @@ import org.apache.logging.log4j.Logger;
 import org.insta.content.exception.post.postcomment.PostCommentFailedException;
 import org.insta.content.exception.post.postcomment.PostUncommentFailedException;
 import org.insta.content.model.Comment;
-import org.insta.content.dao.GeneratedKeyExtractor;
 import org.insta.content.sqlinjector.post.comment.PostCommentSqlInjector;
-import org.insta.databaseconnection.DatabaseConnection;
+import org.insta.databaseconnection.idgenerator.IdGenerator;
+import org.insta.databaseconnection.shard.ShardedDataSource;
+import org.insta.wrapper.jfr.DaoEventRecorder;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.Optional;
 
 /**
@@ -31,8 +31,8 @@ import java.util.Optional;
 public final class PostCommentDAOImpl implements PostCommentDAO {
 
     private static final Logger LOGGER = LogManager.getLogger(PostCommentDAOImpl.class);
-    private final Connection connection;
-    private final GeneratedKeyExtractor generatedKeyExtractor;
+    private final ShardedDataSource shardedDataSource;
+    private final IdGenerator idGenerator;
     private final PostCommentSqlInjector postCommentSqlInjector;
 
     /**
@@ -41,8 +41,8 @@ public final class PostCommentDAOImpl implements PostCommentDAO {
      * </p>
      */
     private PostCommentDAOImpl() {
-        connection = DatabaseConnection.get();
-        generatedKeyExtractor = GeneratedKeyExtractor.getInstance();
+        shardedDataSource = ShardedDataSource.getInstance();
+        idGenerator = IdGenerator.getInstance();
         postCommentSqlInjector = PostCommentSqlInjector.getInstance();
     }
 
@@ -53,7 +53,8 @@ public final class PostCommentDAOImpl implements PostCommentDAO {
      */
     private static class InstanceHolder {
 
-        private static final PostCommentDAO postCommentDAOImpl = new PostCommentDAOImpl();
+        private static final PostCommentDAO postCommentDAOImpl = DaoEventRecorder.getInstance()
+                .instrument(PostCommentDAO.class, "post_comment", new PostCommentDAOImpl());
     }
 
     /**
@@ -74,16 +75,19 @@ public final class PostCommentDAOImpl implements PostCommentDAO {
      * @return the ID of the added comment, or 0 if unsuccessful
      */
     public Optional<Long> postComment(final Comment comment) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                postCommentSqlInjector.getInsertQuery(), Statement.RETURN_GENERATED_KEYS)) {
+        try (final Connection connection = shardedDataSource.getConnection(comment.getContentId());
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     postCommentSqlInjector.getInsertQuery())) {
+            final long id = idGenerator.nextIdFor(comment.getContentId());
 
-            connection.setAutoCommit(true);
-            preparedStatement.setLong(1, comment.getContentId());
-            preparedStatement.setLong(2, comment.getUserId());
-            preparedStatement.setString(3, comment.getComment());
+            preparedStatement.setLong(1, id);
+            preparedStatement.setLong(2, comment.getContentId());
+            preparedStatement.setLong(3, comment.getUserId());
+            preparedStatement.setString(4, comment.getComment());
             preparedStatement.executeUpdate();
+            comment.setId(id);
 
-            return generatedKeyExtractor.fetchKey(preparedStatement, comment);
+            return Optional.of(id);
         } catch (final SQLException exception) {
             LOGGER.error("Post comment failed");
             throw new PostCommentFailedException("Post comment failed");
@@ -97,10 +101,10 @@ public final class PostCommentDAOImpl implements PostCommentDAO {
      * @return True if the comment is deleted successfully, otherwise false.
      */
     public boolean deleteComment(final Long id) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                postCommentSqlInjector.getDeleteQuery())) {
+        try (final Connection connection = shardedDataSource.getConnection(id);
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     postCommentSqlInjector.getDeleteQuery())) {
 
-            connection.setAutoCommit(true);
             preparedStatement.setLong(1, id);
 
             return preparedStatement.executeUpdate() > 0;
@@ -1,5 +1,6 @@
 package org.insta.content.dao.post.like;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -27,6 +28,17 @@ public interface PostLikeDAO {
      */
     Optional<Long> postLike(final Long userId, final Long postId);
 
+    /**
+     * <p>
+     * Adds likes of a user for several posts in a single batch.
+     * </p>
+     *
+     * @param userId  the ID of the user adding the likes
+     * @param postIds the IDs of the posts to be liked
+     * @return the IDs of the added likes, in the order of the given posts
+     */
+    List<Long> postLikes(final Long userId, final List<Long> postIds);
+
     /**
      * <p>
      * Removes a like for a post.
@@ -4,14 +4,17 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.insta.content.exception.post.postlike.PostLikeFailedException;
 import org.insta.content.exception.post.postlike.PostUnlikeFailedException;
-import org.insta.content.dao.GeneratedKeyExtractor;
 import org.insta.content.sqlinjector.post.like.PostLikeSqlInjector;
-import org.insta.databaseconnection.DatabaseConnection;
+import org.insta.databaseconnection.idgenerator.IdGenerator;
+import org.insta.databaseconnection.shard.ShardedDataSource;
+import org.insta.wrapper.jfr.DaoEventRecorder;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -19,14 +22,19 @@ import java.util.Optional;
  * Managing user post like.
  * </p>
  *
+ * <p>
+ * A post is liked once per account. Liking it again inserts nothing and returns the ID of the
+ * stored like, so a repeated like succeeds as before without breaking the unique index.
+ * </p>
+ *
  * @author Mohamed Yasar
  * @version 1.0 6 Feb 2024
  */
 public final class PostLikeDAOImpl implements PostLikeDAO {
 
     private static final Logger LOGGER = LogManager.getLogger(PostLikeDAOImpl.class);
-    private final GeneratedKeyExtractor generatedKeyExtractor;
-    private final Connection connection;
+    private final IdGenerator idGenerator;
+    private final ShardedDataSource shardedDataSource;
     private final PostLikeSqlInjector postLikeSqlInjector;
 
     /**
@@ -35,8 +43,8 @@ public final class PostLikeDAOImpl implements PostLikeDAO {
      * </p>
      */
     private PostLikeDAOImpl() {
-        connection = DatabaseConnection.get();
-        generatedKeyExtractor = GeneratedKeyExtractor.getInstance();
+        shardedDataSource = ShardedDataSource.getInstance();
+        idGenerator = IdGenerator.getInstance();
         postLikeSqlInjector = PostLikeSqlInjector.getInstance();
     }
 
@@ -47,7 +55,8 @@ public final class PostLikeDAOImpl implements PostLikeDAO {
      */
     private static class InstanceHolder {
 
-        private static final PostLikeDAO postLikeDAOImpl = new PostLikeDAOImpl();
+        private static final PostLikeDAO postLikeDAOImpl = DaoEventRecorder.getInstance()
+                .instrument(PostLikeDAO.class, "post_like", new PostLikeDAOImpl());
     }
 
     /**
@@ -68,24 +77,75 @@ public final class PostLikeDAOImpl implements PostLikeDAO {
      * @return True if the like is added successfully, otherwise false.
      */
     public Optional<Long> postLike(final Long userId, final Long postId) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                postLikeSqlInjector.getInsertQuery(), Statement.RETURN_GENERATED_KEYS)) {
+        try (final Connection connection = shardedDataSource.getConnection(postId);
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     postLikeSqlInjector.getInsertQuery())) {
+            final long id = idGenerator.nextIdFor(postId);
 
-            connection.setAutoCommit(true);
-            preparedStatement.setLong(1, postId);
-            preparedStatement.setLong(2, userId);
+            preparedStatement.setLong(1, id);
+            preparedStatement.setLong(2, postId);
+            preparedStatement.setLong(3, userId);
 
             if (preparedStatement.executeUpdate() > 0) {
-                return generatedKeyExtractor.fetchKey(preparedStatement);
+                return Optional.of(id);
             }
 
-            return Optional.empty();
+            return getLikeId(connection, postId, userId);
         } catch (SQLException exception) {
             LOGGER.error("Post like failed");
             throw new PostLikeFailedException("Post like failed");
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @param userId  Refers the userId of the user liking the posts.
+     * @param postIds Refers the postIds of the posts to be liked.
+     * @return The IDs of the added likes, in the order of the given posts.
+     */
+    public List<Long> postLikes(final Long userId, final List<Long> postIds) {
+        final List<Long> ids = new ArrayList<>(postIds.size());
+
+        for (final Long postId : postIds) {
+            ids.add(idGenerator.nextIdFor(postId));
+        }
+
+        try {
+            for (final List<Integer> positions : shardedDataSource.groupByShard(ids).values()) {
+                shardedDataSource.inTransaction(ids.get(positions.get(0)), connection -> {
+                    try (final PreparedStatement preparedStatement = connection.prepareStatement(
+                            postLikeSqlInjector.getInsertQuery())) {
+
+                        for (final int position : positions) {
+                            preparedStatement.setLong(1, ids.get(position));
+                            preparedStatement.setLong(2, postIds.get(position));
+                            preparedStatement.setLong(3, userId);
+                            preparedStatement.addBatch();
+                        }
+                        final int[] counts = preparedStatement.executeBatch();
+
+                        for (int index = 0; index < counts.length; index++) {
+                            if (counts[index] == 0) {
+                                final int position = positions.get(index);
+
+                                ids.set(position, getLikeId(connection, postIds.get(position), userId)
+                                        .orElse(ids.get(position)));
+                            }
+                        }
+
+                        return counts;
+                    }
+                });
+            }
+
+            return ids;
+        } catch (SQLException exception) {
+            LOGGER.error("Post like batch failed");
+            throw new PostLikeFailedException("Post like batch failed");
+        }
+    }
+
     /**
      * <p>
      * Unlike a particular post
@@ -95,10 +155,10 @@ public final class PostLikeDAOImpl implements PostLikeDAO {
      * @return True if the like is added successfully, otherwise false.
      */
     public boolean postUnlike(final Long postId) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                postLikeSqlInjector.getDeleteQuery())) {
+        try (final Connection connection = shardedDataSource.getConnection(postId);
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     postLikeSqlInjector.getDeleteQuery())) {
 
-            connection.setAutoCommit(true);
             preparedStatement.setLong(1, postId);
 
             return preparedStatement.executeUpdate() > 0;
@@ -107,4 +167,28 @@ public final class PostLikeDAOImpl implements PostLikeDAO {
             throw new PostUnlikeFailedException("Post unlike failed");
         }
     }
+
+    /**
+     * <p>
+     * Reads the ID of the like of a post already stored for an account.
+     * </p>
+     *
+     * @param connection Refers the connection to the shard of the post.
+     * @param postId     Refers the ID of the post.
+     * @param userId     Refers the ID of the account.
+     * @return The ID of the like, or empty if it was removed meanwhile.
+     * @throws SQLException If the like cannot be read.
+     */
+    private Optional<Long> getLikeId(final Connection connection, final Long postId, final Long userId)
+            throws SQLException {
+        try (final PreparedStatement preparedStatement = connection.prepareStatement(
+                postLikeSqlInjector.getSelectIdQuery())) {
+            preparedStatement.setLong(1, postId);
+            preparedStatement.setLong(2, userId);
+
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? Optional.of(resultSet.getLong(1)) : Optional.empty();
+            }
+        }
+    }
 }
@@ -4,14 +4,14 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.insta.content.exception.post.postshare.PostShareFailedException;
 import org.insta.content.exception.post.postshare.PostUnshareFailedException;
-import org.insta.content.dao.GeneratedKeyExtractor;
 import org.insta.content.sqlinjector.post.share.PostShareSqlInjector;
-import org.insta.databaseconnection.DatabaseConnection;
+import org.insta.databaseconnection.idgenerator.IdGenerator;
+import org.insta.databaseconnection.shard.ShardedDataSource;
+import org.insta.wrapper.jfr.DaoEventRecorder;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.Optional;
 
 /**
@@ -31,8 +31,8 @@ public final class PostShareDAOImpl implements PostShareDAO {
 
     private static final Logger LOGGER = LogManager.getLogger(PostShareDAOImpl.class);
     private final PostShareSqlInjector postShareSqlInjector;
-    private final Connection connection;
-    private final GeneratedKeyExtractor generatedKeyExtractor;
+    private final ShardedDataSource shardedDataSource;
+    private final IdGenerator idGenerator;
 
     /**
      * <p>
@@ -40,8 +40,8 @@ public final class PostShareDAOImpl implements PostShareDAO {
      * </p>
      */
     private PostShareDAOImpl() {
-        connection = DatabaseConnection.get();
-        generatedKeyExtractor = GeneratedKeyExtractor.getInstance();
+        shardedDataSource = ShardedDataSource.getInstance();
+        idGenerator = IdGenerator.getInstance();
         postShareSqlInjector = PostShareSqlInjector.getInstance();
     }
 
@@ -52,7 +52,8 @@ public final class PostShareDAOImpl implements PostShareDAO {
      */
     private static class InstanceHolder {
 
-        private static final PostShareDAO postShareDAOImpl = new PostShareDAOImpl();
+        private static final PostShareDAO postShareDAOImpl = DaoEventRecorder.getInstance()
+                .instrument(PostShareDAO.class, "post_share", new PostShareDAOImpl());
     }
 
     /**
@@ -74,15 +75,17 @@ public final class PostShareDAOImpl implements PostShareDAO {
      * @return the ID of the added share, or 0 if unsuccessful
      */
     public Optional<Long> postShare(final Long postId, final Long userId) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                postShareSqlInjector.getInsertQuery(), Statement.RETURN_GENERATED_KEYS)) {
+        try (final Connection connection = shardedDataSource.getConnection(postId);
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     postShareSqlInjector.getInsertQuery())) {
+            final long id = idGenerator.nextIdFor(postId);
 
-            connection.setAutoCommit(true);
-            preparedStatement.setLong(1, postId);
-            preparedStatement.setLong(2, userId);
+            preparedStatement.setLong(1, id);
+            preparedStatement.setLong(2, postId);
+            preparedStatement.setLong(3, userId);
 
             if (preparedStatement.executeUpdate() > 0) {
-                return generatedKeyExtractor.fetchKey(preparedStatement);
+                return Optional.of(id);
             }
 
             return Optional.empty();
@@ -99,10 +102,10 @@ public final class PostShareDAOImpl implements PostShareDAO {
      * @return true if the share is removed successfully, otherwise false
      */
     public boolean removeShare(final Long shareId) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-               postShareSqlInjector.getDeleteQuery())) {
+        try (final Connection connection = shardedDataSource.getConnection(shareId);
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     postShareSqlInjector.getDeleteQuery())) {
 
-            connection.setAutoCommit(true);
             preparedStatement.setLong(1, shareId);
 
             return preparedStatement.executeUpdate() > 0;
@@ -2,6 +2,8 @@ package org.insta.content.dao.reel;
 
 import org.insta.content.model.Reel;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -24,6 +26,26 @@ public interface ReelServiceDAO {
      */
     Optional<Long> addReel(final Reel reel);
 
+    /**
+     * <p>
+     * Adds the given reels in a single batch.
+     * </p>
+     *
+     * @param reels The reels to be added.
+     * @return The IDs of the added reels, in the order of the given reels.
+     */
+    List<Long> addReels(final List<Reel> reels);
+
+    /**
+     * <p>
+     * Queues the reel for insertion and returns its ID without waiting for the insert.
+     * </p>
+     *
+     * @param reel The reel to be added.
+     * @return The ID assigned to the reel.
+     */
+    Long addReelAsync(final Reel reel);
+
     /**
      * <p>
      * Deletes a reel for the user account.
@@ -43,4 +65,14 @@ public interface ReelServiceDAO {
      * @return The retrieved reel, or null if not found.
      */
     Optional<Reel> getReel(final Long reelId);
+
+    /**
+     * <p>
+     * Retrieves several reels with a single query per shard.
+     * </p>
+     *
+     * @param reelIds the IDs of the reels to be retrieved
+     * @return the retrieved reels by ID, without the reels not found
+     */
+    Map<Long, Reel> getReels(final List<Long> reelIds);
 }
@@ -1,21 +1,25 @@
 package org.insta.content.dao.reel;
 
-import org.insta.content.dao.GeneratedKeyExtractor;
 import org.insta.content.exception.reel.ReelCreationFailedException;
-import org.insta.content.exception.reel.ReelException;
 import org.insta.content.exception.reel.ReelRemovalFailedException;
 import org.insta.content.exception.reel.ReelRetrivalFailedException;
 import org.insta.content.model.Reel;
-import org.insta.content.sqlinjector.reel.ReelSqlInjector;
-import org.insta.databaseconnection.DatabaseConnection;
+import org.insta.content.model.ReelTable;
+import org.insta.databaseconnection.asyncwriter.AsyncWriter;
+import org.insta.databaseconnection.idgenerator.IdGenerator;
+import org.insta.databaseconnection.shard.ShardedDataSource;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.insta.wrapper.jfr.DaoEventRecorder;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -26,15 +30,15 @@ import java.util.Optional;
  * @author Mohamed Yasar
  * @version 1.0 6 Feb 2024
  * @see ReelServiceDAO
- * @see GeneratedKeyExtractor
- * @see DatabaseConnection
+ * @see IdGenerator
+ * @see ShardedDataSource
  */
 public final class ReelServiceDAOImpl implements ReelServiceDAO {
 
     private static final Logger LOGGER = LogManager.getLogger(ReelServiceDAOImpl.class);
-    private final ReelSqlInjector reelSqlInjector;
-    private final Connection connection;
-    private final GeneratedKeyExtractor generatedKeyExtractor;
+    private final ShardedDataSource shardedDataSource;
+    private final IdGenerator idGenerator;
+    private final AsyncWriter asyncWriter;
 
     /**
      * <p>
@@ -42,9 +46,9 @@ public final class ReelServiceDAOImpl implements ReelServiceDAO {
      * </p>
      */
     private ReelServiceDAOImpl() {
-        connection = DatabaseConnection.get();
-        generatedKeyExtractor = GeneratedKeyExtractor.getInstance();
-        reelSqlInjector = ReelSqlInjector.getInstance();
+        shardedDataSource = ShardedDataSource.getInstance();
+        idGenerator = IdGenerator.getInstance();
+        asyncWriter = AsyncWriter.getInstance();
     }
 
     /**
@@ -64,21 +68,91 @@ public final class ReelServiceDAOImpl implements ReelServiceDAO {
      * @param reel The reel to be added.
      * @return The ID of the added reel if successful, otherwise 0.
      */
-    @Override
     public Optional<Long> addReel(final Reel reel) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                reelSqlInjector.getInsertQuery(), Statement.RETURN_GENERATED_KEYS)) {
-            connection.setAutoCommit(true);
-            preparedStatement.setLong(1, reel.getUserId());
-            preparedStatement.setString(2, reel.getCaption());
-            preparedStatement.setString(3, reel.getDuration());
+        final long id = idGenerator.nextIdFor(reel.getUserId());
+
+        return insertReel(id, reel) ? Optional.of(id) : Optional.empty();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param reels The reels to be added.
+     * @return The IDs of the added reels, in the order of the given reels.
+     */
+    public List<Long> addReels(final List<Reel> reels) {
+        final List<Long> ids = new ArrayList<>(reels.size());
+
+        for (final Reel reel : reels) {
+            ids.add(idGenerator.nextIdFor(reel.getUserId()));
+        }
+
+        try {
+            for (final List<Integer> positions : shardedDataSource.groupByShard(ids).values()) {
+                shardedDataSource.inTransaction(ids.get(positions.get(0)), connection -> {
+                    try (final PreparedStatement preparedStatement = connection.prepareStatement(
+                            ReelTable.INSERT)) {
+
+                        for (final int position : positions) {
+                            ReelTable.bindInsert(preparedStatement, ids.get(position), reels.get(position));
+                            preparedStatement.addBatch();
+                        }
+
+                        return preparedStatement.executeBatch();
+                    }
+                });
+            }
+        } catch (final SQLException exception) {
+            LOGGER.error("Reel batch creation failed");
+            throw new ReelCreationFailedException("Reel batch creation failed");
+        }
+
+        for (int index = 0; index < reels.size(); index++) {
+            reels.get(index).setId(ids.get(index));
+        }
+
+        return ids;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param reel The reel to be added.
+     * @return The ID assigned to the reel.
+     */
+    public Long addReelAsync(final Reel reel) {
+        final long id = idGenerator.nextIdFor(reel.getUserId());
+
+        reel.setId(id);
+        asyncWriter.submit(() -> insertReel(id, reel));
+
+        return id;
+    }
+
+    /**
+     * <p>
+     * Inserts the reel with the given pre assigned ID.
+     * </p>
+     *
+     * @param id   The ID assigned to the reel.
+     * @param reel The reel to be inserted.
+     * @return True if the reel is inserted, otherwise false.
+     */
+    private boolean insertReel(final long id, final Reel reel) {
+        try (final Connection connection = shardedDataSource.getConnection(reel.getUserId());
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     ReelTable.INSERT)) {
+
+            ReelTable.bindInsert(preparedStatement, id, reel);
 
             if (preparedStatement.executeUpdate() > 0) {
-                return generatedKeyExtractor.fetchKey(preparedStatement);
+                reel.setId(id);
+
+                return true;
             }
 
-            return Optional.empty();
-        } catch (SQLException ignored) {
+            return false;
+        } catch (final SQLException exception) {
             LOGGER.error("Reel creation failed");
             throw new ReelCreationFailedException("Reel creation failed");
         }
@@ -91,10 +165,10 @@ public final class ReelServiceDAOImpl implements ReelServiceDAO {
      * @return True if the reel is deleted successfully, otherwise false.
      */
     public boolean removeReel(final Long reelId) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                reelSqlInjector.getDeleteQuery())) {
+        try (final Connection connection = shardedDataSource.getConnection(reelId);
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     ReelTable.DELETE)) {
 
-            connection.setAutoCommit(true);
             preparedStatement.setLong(1, reelId);
 
             return preparedStatement.executeUpdate() > 0;
@@ -113,16 +187,14 @@ public final class ReelServiceDAOImpl implements ReelServiceDAO {
      * @return The retrieved reel, or null if not found.
      */
     public Optional<Reel> getReel(final Long reelId) {
-        final Reel reel = new Reel();
-
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                reelSqlInjector.getSelectQuery())) {
+        try (final Connection connection = shardedDataSource.getReadConnection(reelId);
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     ReelTable.SELECT)) {
             preparedStatement.setLong(1, reelId);
             final ResultSet resultSet = preparedStatement.executeQuery();
 
             if(resultSet.next()) {
-
-                return mapResultSetToReel(reel, resultSet);
+                return Optional.of(ReelTable.map(resultSet));
             }
 
             return Optional.empty();
@@ -133,29 +205,39 @@ public final class ReelServiceDAOImpl implements ReelServiceDAO {
     }
 
     /**
+     * {@inheritDoc}
+     *
      * <p>
-     * Sets unique properties of a reel based on the retrieved ResultSet.
+     * The IDs are grouped by shard and each shard is read with one {@code = ANY(?)} query.
      * </p>
      *
-     * @param reel      The reel object to be populated with unique properties.
-     * @param resultSet The ResultSet containing reel data.
-     * @return The populated reel object if successful, otherwise null.
+     * @param reelIds the IDs of the reels to be retrieved
+     * @return the retrieved reels by ID, without the reels not found
      */
-    private Optional<Reel> mapResultSetToReel(final Reel reel, final ResultSet resultSet) {
-        try {
-            reel.setReelId(resultSet.getLong(1));
-            reel.setUserId(resultSet.getLong(2));
-            reel.setUserName(resultSet.getString(3));
-            reel.setCaption(resultSet.getString(4));
-            reel.setPrivate(resultSet.getBoolean(5));
-            reel.setTimestamp(resultSet.getTimestamp(6));
-            reel.setDuration(resultSet.getString(7));
-
-            return Optional.ofNullable(reel);
-        } catch (Exception exception) {
-            LOGGER.error("Resultset insertion in object failed exception");
-            throw new ReelException("Resultset insertion in object failed exception");
+    public Map<Long, Reel> getReels(final List<Long> reelIds) {
+        final Map<Long, Reel> reels = new HashMap<>();
+
+        for (final List<Integer> positions : shardedDataSource.groupByShard(reelIds).values()) {
+            final Long[] shardIds = positions.stream().map(reelIds::get).toArray(Long[]::new);
+
+            try (final Connection connection = shardedDataSource.getReadConnection(shardIds[0]);
+                 final PreparedStatement preparedStatement = connection.prepareStatement(ReelTable.SELECT_ANY)) {
+                preparedStatement.setArray(1, connection.createArrayOf("bigint", shardIds));
+
+                try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        final Reel reel = ReelTable.map(resultSet);
+
+                        reels.put(reel.getReelId(), reel);
+                    }
+                }
+            } catch (SQLException exception) {
+                LOGGER.error("Reel batch retrival failed");
+                throw new ReelRetrivalFailedException("Reel batch retrival failed");
+            }
         }
+
+        return reels;
     }
 
     /**
@@ -165,6 +247,7 @@ public final class ReelServiceDAOImpl implements ReelServiceDAO {
      */
     private static class InstanceHolder {
 
-        private static final ReelServiceDAO reelServiceDAOImpl = new ReelServiceDAOImpl();
+        private static final ReelServiceDAO reelServiceDAOImpl = DaoEventRecorder.getInstance()
+                .instrument(ReelServiceDAO.class, "reels", new ReelServiceDAOImpl());
     }
 }
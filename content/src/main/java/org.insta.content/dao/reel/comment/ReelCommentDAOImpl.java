@@ -5,14 +5,14 @@ import org.apache.logging.log4j.Logger;
 import org.insta.content.exception.reel.reelcomment.ReelCommentFailedException;
 import org.insta.content.exception.reel.reelcomment.ReelCommentRemovalFailedException;
 import org.insta.content.model.Comment;
-import org.insta.content.dao.GeneratedKeyExtractor;
 import org.insta.content.sqlinjector.reel.comment.ReelCommentSqlInjector;
-import org.insta.databaseconnection.DatabaseConnection;
+import org.insta.databaseconnection.idgenerator.IdGenerator;
+import org.insta.databaseconnection.shard.ShardedDataSource;
+import org.insta.wrapper.jfr.DaoEventRecorder;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.Optional;
 
 /**
@@ -27,8 +27,8 @@ import java.util.Optional;
 public final class ReelCommentDAOImpl implements ReelCommentDAO {
 
     private static final Logger LOGGER = LogManager.getLogger(ReelCommentDAOImpl.class);
-    private final Connection connection;
-    private final GeneratedKeyExtractor generatedKeyExtractor;
+    private final ShardedDataSource shardedDataSource;
+    private final IdGenerator idGenerator;
     private final ReelCommentSqlInjector reelCommentSqlInjector;
 
     /**
@@ -37,8 +37,8 @@ public final class ReelCommentDAOImpl implements ReelCommentDAO {
      * </p>
      */
     private ReelCommentDAOImpl() {
-        connection = DatabaseConnection.get();
-        generatedKeyExtractor = GeneratedKeyExtractor.getInstance();
+        shardedDataSource = ShardedDataSource.getInstance();
+        idGenerator = IdGenerator.getInstance();
         reelCommentSqlInjector = ReelCommentSqlInjector.getInstance();
     }
 
@@ -49,7 +49,8 @@ public final class ReelCommentDAOImpl implements ReelCommentDAO {
      */
     private static class InstanceHolder {
 
-        private static final ReelCommentDAO reelCommentDAOImpl = new ReelCommentDAOImpl();
+        private static final ReelCommentDAO reelCommentDAOImpl = DaoEventRecorder.getInstance()
+                .instrument(ReelCommentDAO.class, "reel_comment", new ReelCommentDAOImpl());
     }
 
     /**
@@ -70,16 +71,20 @@ public final class ReelCommentDAOImpl implements ReelCommentDAO {
      * @return The ID of the added comment, or 0 if unsuccessful
      */
     public Optional<Long> addComment(final Comment comment) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                reelCommentSqlInjector.getInsertQuery(), Statement.RETURN_GENERATED_KEYS)) {
+        try (final Connection connection = shardedDataSource.getConnection(comment.getContentId());
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     reelCommentSqlInjector.getInsertQuery())) {
+            final long id = idGenerator.nextIdFor(comment.getContentId());
 
-            connection.setAutoCommit(true);
-            preparedStatement.setLong(1, comment.getContentId());
-            preparedStatement.setLong(2, comment.getUserId());
-            preparedStatement.setString(3, comment.getComment());
+            preparedStatement.setLong(1, id);
+            preparedStatement.setLong(2, comment.getContentId());
+            preparedStatement.setLong(3, comment.getUserId());
+            preparedStatement.setString(4, comment.getComment());
 
             if (preparedStatement.executeUpdate() > 0) {
-                return generatedKeyExtractor.fetchKey(preparedStatement, comment);
+                comment.setId(id);
+
+                return Optional.of(id);
             }
 
             return Optional.empty();
@@ -96,10 +101,10 @@ public final class ReelCommentDAOImpl implements ReelCommentDAO {
      * @return true if the comment is deleted successfully, otherwise false
      */
     public boolean deleteComment(final Long commentId) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                reelCommentSqlInjector.getDeleteQuery())) {
+        try (final Connection connection = shardedDataSource.getConnection(commentId);
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     reelCommentSqlInjector.getDeleteQuery())) {
 
-            connection.setAutoCommit(true);
             preparedStatement.setLong(1, commentId);
 
             return preparedStatement.executeUpdate() > 0;
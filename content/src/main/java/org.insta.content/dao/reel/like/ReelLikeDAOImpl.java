@@ -4,14 +4,15 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.insta.content.exception.reel.reellike.ReelLikeCreationFailedException;
 import org.insta.content.exception.reel.reellike.ReelLikeRemovalFailedException;
-import org.insta.content.dao.GeneratedKeyExtractor;
 import org.insta.content.sqlinjector.reel.like.ReelLikeSqlInjector;
-import org.insta.databaseconnection.DatabaseConnection;
+import org.insta.databaseconnection.idgenerator.IdGenerator;
+import org.insta.databaseconnection.shard.ShardedDataSource;
+import org.insta.wrapper.jfr.DaoEventRecorder;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.Optional;
 
 /**
@@ -19,6 +20,11 @@ import java.util.Optional;
  * Managing user reel like.
  * </p>
  *
+ * <p>
+ * A reel is liked once per account. Liking it again inserts nothing and returns the ID of the
+ * stored like, so a repeated like succeeds as before without breaking the unique index.
+ * </p>
+ *
  * @author Mohamed Yasar
  * @version 1.0 6 Feb 2024
  * @see ReelLikeDAO
@@ -26,8 +32,8 @@ import java.util.Optional;
 public final class ReelLikeDAOImpl implements ReelLikeDAO {
 
     private static final Logger LOGGER = LogManager.getLogger(ReelLikeDAOImpl.class);
-    private final Connection connection;
-    private final GeneratedKeyExtractor generatedKeyExtractor;
+    private final ShardedDataSource shardedDataSource;
+    private final IdGenerator idGenerator;
     private final ReelLikeSqlInjector reelLikeSqlInjector;
 
     /**
@@ -36,8 +42,8 @@ public final class ReelLikeDAOImpl implements ReelLikeDAO {
      * </p>
      */
     private ReelLikeDAOImpl() {
-        connection = DatabaseConnection.get();
-        generatedKeyExtractor = GeneratedKeyExtractor.getInstance();
+        shardedDataSource = ShardedDataSource.getInstance();
+        idGenerator = IdGenerator.getInstance();
         reelLikeSqlInjector = ReelLikeSqlInjector.getInstance();
     }
 
@@ -48,7 +54,8 @@ public final class ReelLikeDAOImpl implements ReelLikeDAO {
      */
     private static class InstanceHolder {
 
-        private static final ReelLikeDAO reelLikeDAOImpl = new ReelLikeDAOImpl();
+        private static final ReelLikeDAO reelLikeDAOImpl = DaoEventRecorder.getInstance()
+                .instrument(ReelLikeDAO.class, "reel_like", new ReelLikeDAOImpl());
     }
 
 
@@ -71,18 +78,20 @@ public final class ReelLikeDAOImpl implements ReelLikeDAO {
      * @return The ID of the added like, or 0 if unsuccessful
      */
     public Optional<Long> reelLike(final Long reelId, final Long userId) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                reelLikeSqlInjector.getInsertQuery(), Statement.RETURN_GENERATED_KEYS)) {
+        try (final Connection connection = shardedDataSource.getConnection(reelId);
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     reelLikeSqlInjector.getInsertQuery())) {
+            final long id = idGenerator.nextIdFor(reelId);
 
-            connection.setAutoCommit(true);
-            preparedStatement.setLong(1, reelId);
-            preparedStatement.setLong(2, userId);
+            preparedStatement.setLong(1, id);
+            preparedStatement.setLong(2, reelId);
+            preparedStatement.setLong(3, userId);
 
             if (preparedStatement.executeUpdate() > 0) {
-                return generatedKeyExtractor.fetchKey(preparedStatement);
+                return Optional.of(id);
             }
 
-            return Optional.empty();
+            return getLikeId(connection, reelId, userId);
         } catch (final SQLException exception) {
             LOGGER.error("Reel like failed");
             throw new ReelLikeCreationFailedException("Reel like failed");
@@ -96,10 +105,10 @@ public final class ReelLikeDAOImpl implements ReelLikeDAO {
      * @return true if the reel is unliked successfully, otherwise false
      */
     public boolean reelUnlike(final Long id) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                reelLikeSqlInjector.getDeleteQuery())) {
+        try (final Connection connection = shardedDataSource.getConnection(id);
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     reelLikeSqlInjector.getDeleteQuery())) {
 
-            connection.setAutoCommit(true);
             preparedStatement.setLong(1, id);
 
             return preparedStatement.executeUpdate() > 0;
@@ -108,4 +117,28 @@ public final class ReelLikeDAOImpl implements ReelLikeDAO {
             throw new ReelLikeRemovalFailedException("Reel like removal failed");
         }
     }
+
+    /**
+     * <p>
+     * Reads the ID of the like of a reel already stored for an account.
+     * </p>
+     *
+     * @param connection Refers the connection to the shard of the reel.
+     * @param reelId     Refers the ID of the reel.
+     * @param userId     Refers the ID of the account.
+     * @return The ID of the like, or empty if it was removed meanwhile.
+     * @throws SQLException If the like cannot be read.
+     */
+    private Optional<Long> getLikeId(final Connection connection, final Long reelId, final Long userId)
+            throws SQLException {
+        try (final PreparedStatement preparedStatement = connection.prepareStatement(
+                reelLikeSqlInjector.getSelectIdQuery())) {
+            preparedStatement.setLong(1, reelId);
+            preparedStatement.setLong(2, userId);
+
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? Optional.of(resultSet.getLong(1)) : Optional.empty();
+            }
+        }
+    }
 }
@@ -4,14 +4,14 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.insta.content.exception.post.postshare.PostUnshareFailedException;
 import org.insta.content.exception.reel.reelshare.ReelShareFailedException;
-import org.insta.content.dao.GeneratedKeyExtractor;
 import org.insta.content.sqlinjector.reel.share.ReelShareSqlInjector;
-import org.insta.databaseconnection.DatabaseConnection;
+import org.insta.databaseconnection.idgenerator.IdGenerator;
+import org.insta.databaseconnection.shard.ShardedDataSource;
+import org.insta.wrapper.jfr.DaoEventRecorder;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.Optional;
 
 /**
@@ -25,8 +25,8 @@ import java.util.Optional;
 public final class ReelShareDAOImpl implements ReelShareDAO {
 
     private static final Logger LOGGER = LogManager.getLogger(ReelShareDAOImpl.class);
-    private final Connection connection;
-    private final GeneratedKeyExtractor generatedKeyExtractor;
+    private final ShardedDataSource shardedDataSource;
+    private final IdGenerator idGenerator;
     private final ReelShareSqlInjector reelShareSqlInjector;
 
     /**
@@ -35,8 +35,8 @@ public final class ReelShareDAOImpl implements ReelShareDAO {
      * </p>
      */
     private ReelShareDAOImpl() {
-        connection = DatabaseConnection.get();
-        generatedKeyExtractor = GeneratedKeyExtractor.getInstance();
+        shardedDataSource = ShardedDataSource.getInstance();
+        idGenerator = IdGenerator.getInstance();
         reelShareSqlInjector = ReelShareSqlInjector.getInstance();
     }
 
@@ -48,7 +48,8 @@ public final class ReelShareDAOImpl implements ReelShareDAO {
      */
     private static class InstanceHolder {
 
-        private static final ReelShareDAO reelShareDAOImpl = new ReelShareDAOImpl();
+        private static final ReelShareDAO reelShareDAOImpl = DaoEventRecorder.getInstance()
+                .instrument(ReelShareDAO.class, "reel_share", new ReelShareDAOImpl());
     }
 
     /**
@@ -70,15 +71,17 @@ public final class ReelShareDAOImpl implements ReelShareDAO {
      * @return The ID of the share record if the user is successfully added as a sharer, otherwise 0.
      */
     public Optional<Long> reelShare(final Long userId, final Long reelId) {
-        try (final PreparedStatement preparedStatement = connection
-                .prepareStatement(reelShareSqlInjector.getInsertQuery(), Statement.RETURN_GENERATED_KEYS)) {
+        try (final Connection connection = shardedDataSource.getConnection(reelId);
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     reelShareSqlInjector.getInsertQuery())) {
+            final long id = idGenerator.nextIdFor(reelId);
 
-            connection.setAutoCommit(true);
-            preparedStatement.setLong(1, reelId);
-            preparedStatement.setLong(2, userId);
+            preparedStatement.setLong(1, id);
+            preparedStatement.setLong(2, reelId);
+            preparedStatement.setLong(3, userId);
 
             if (preparedStatement.executeUpdate() > 0) {
-                return generatedKeyExtractor.fetchKey(preparedStatement);
+                return Optional.of(id);
             }
 
             return Optional.empty();
@@ -95,10 +98,10 @@ public final class ReelShareDAOImpl implements ReelShareDAO {
      * @return True if the user is successfully removed as a sharer, otherwise false.
      */
     public boolean removeShare(final Long id) {
-        try (final PreparedStatement preparedStatement = connection
-                .prepareStatement(reelShareSqlInjector.getDeleteQuery())) {
+        try (final Connection connection = shardedDataSource.getConnection(id);
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     reelShareSqlInjector.getDeleteQuery())) {
 
-            connection.setAutoCommit(true);
             preparedStatement.setLong(1, id);
 
             return preparedStatement.executeUpdate() > 0;
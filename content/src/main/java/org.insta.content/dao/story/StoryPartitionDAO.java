@@ -0,0 +1,37 @@
+package org.insta.content.dao.story;
+
+import java.time.LocalDate;
+
+/**
+ * <p>
+ * managing the day partitions of the story tables.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see StoryPartitionDAOImpl
+ */
+public interface StoryPartitionDAO {
+
+    /**
+     * <p>
+     * Creates the missing partitions of the given days in every story table, on every shard.
+     * </p>
+     *
+     * @param from The first UTC day to be created.
+     * @param days The number of days to be created.
+     * @return The number of created partitions.
+     */
+    int createPartitions(final LocalDate from, final int days);
+
+    /**
+     * <p>
+     * Detaches and drops the partitions of the story tables holding only ids below the given id, on
+     * every shard.
+     * </p>
+     *
+     * @param firstLiveId The first id of the stories still within their lifetime.
+     * @return The number of dropped partitions.
+     */
+    int dropPartitions(final long firstLiveId);
+}
@@ -0,0 +1,198 @@
+package org.insta.content.dao.story;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.insta.content.exception.story.StoryPartitionFailedException;
+import org.insta.content.schema.ContentSchema;
+import org.insta.content.sqlinjector.story.StorySqlInjector;
+import org.insta.databaseconnection.shard.ShardedDataSource;
+import org.insta.orm.schema.TableDefinition;
+import org.insta.wrapper.jfr.DaoEventRecorder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * managing the day partitions of the story tables.
+ * </p>
+ *
+ * <p>
+ * The partitions are kept on the primary of every physical shard. A partition is dropped with a
+ * detach and a drop in one transaction, so a failure leaves it attached and it is dropped on the
+ * next run.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see StoryPartitionDAO
+ * @see StorySqlInjector
+ */
+public final class StoryPartitionDAOImpl implements StoryPartitionDAO {
+
+    private static final Logger LOGGER = LogManager.getLogger(StoryPartitionDAOImpl.class);
+    private final ShardedDataSource shardedDataSource;
+    private final StorySqlInjector storySqlInjector;
+
+    /**
+     * <p>
+     * Restrict object creation outside of the class
+     * </p>
+     */
+    private StoryPartitionDAOImpl() {
+        shardedDataSource = ShardedDataSource.getInstance();
+        storySqlInjector = StorySqlInjector.getInstance();
+    }
+
+    /**
+     * <p>
+     *  Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final StoryPartitionDAO storyPartitionDAOImpl = DaoEventRecorder.getInstance()
+                .instrument(StoryPartitionDAO.class, "story_partition", new StoryPartitionDAOImpl());
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of StoryPartitionDAOImpl class.
+     * </p>
+     *
+     * @return The singleton instance of StoryPartitionDAOImpl class.
+     */
+    public static StoryPartitionDAO getInstance() {
+        return InstanceHolder.storyPartitionDAOImpl;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param from The first UTC day to be created.
+     * @param days The number of days to be created.
+     * @return The number of created partitions.
+     */
+    public int createPartitions(final LocalDate from, final int days) {
+        final List<TableDefinition> storyTables = ContentSchema.getInstance().getStoryTables();
+        int created = 0;
+
+        for (int shardIndex = 0; shardIndex < shardedDataSource.getShardCount(); shardIndex++) {
+            try (final Connection connection = shardedDataSource.getShardConnection(shardIndex);
+                 final Statement statement = connection.createStatement()) {
+                final List<String> existing = new ArrayList<>();
+
+                for (final TableDefinition storyTable : storyTables) {
+                    existing.addAll(getPartitions(connection, storyTable.getName()));
+                }
+
+                for (int day = 0; day < days; day++) {
+                    final List<String> queries = storySqlInjector.getCreatePartitionQueries(from.plusDays(day));
+
+                    for (int index = 0; index < storyTables.size(); index++) {
+                        if (!existing.contains(StorySqlInjector.getPartitionName(storyTables.get(index).getName(),
+                                from.plusDays(day)))) {
+                            statement.executeUpdate(queries.get(index));
+                            created++;
+                        }
+                    }
+                }
+            } catch (final SQLException exception) {
+                LOGGER.error("Story partition creation failed");
+                throw new StoryPartitionFailedException("Story partition creation failed");
+            }
+        }
+
+        return created;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param firstLiveId The first id of the stories still within their lifetime.
+     * @return The number of dropped partitions.
+     */
+    public int dropPartitions(final long firstLiveId) {
+        int dropped = 0;
+
+        for (int shardIndex = 0; shardIndex < shardedDataSource.getShardCount(); shardIndex++) {
+            try (final Connection connection = shardedDataSource.getShardConnection(shardIndex)) {
+                for (final TableDefinition storyTable : ContentSchema.getInstance().getStoryTables()) {
+                    for (final String partitionName : getPartitions(connection, storyTable.getName())) {
+                        final LocalDate day = StorySqlInjector.getPartitionDay(storyTable.getName(), partitionName);
+
+                        if (StorySqlInjector.getFirstId(day.plusDays(1)) <= firstLiveId) {
+                            drop(connection, storyTable, partitionName);
+                            dropped++;
+                        }
+                    }
+                }
+            } catch (final SQLException exception) {
+                LOGGER.error("Story partition removal failed");
+                throw new StoryPartitionFailedException("Story partition removal failed");
+            }
+        }
+
+        return dropped;
+    }
+
+    /**
+     * <p>
+     * Detaches and drops a partition in one transaction.
+     * </p>
+     *
+     * @param connection    The connection to the shard.
+     * @param storyTable    The definition of the story table.
+     * @param partitionName The name of the partition.
+     * @throws SQLException If the partition cannot be dropped.
+     */
+    private void drop(final Connection connection, final TableDefinition storyTable, final String partitionName)
+            throws SQLException {
+        connection.setAutoCommit(false);
+
+        try (final Statement statement = connection.createStatement()) {
+            for (final String query : storySqlInjector.getDropPartitionQueries(storyTable, partitionName)) {
+                statement.executeUpdate(query);
+            }
+            connection.commit();
+        } catch (final SQLException exception) {
+            connection.rollback();
+            throw exception;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * <p>
+     * Lists the partitions of a table.
+     * </p>
+     *
+     * @param connection The connection to the shard.
+     * @param tableName  The name of the partitioned table.
+     * @return The names of the partitions.
+     * @throws SQLException If the partitions cannot be listed.
+     */
+    private List<String> getPartitions(final Connection connection, final String tableName) throws SQLException {
+        try (final PreparedStatement preparedStatement = connection.prepareStatement(
+                storySqlInjector.getPartitionsQuery())) {
+            final List<String> partitions = new ArrayList<>();
+
+            preparedStatement.setString(1, tableName);
+
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    partitions.add(resultSet.getString(1));
+                }
+            }
+
+            return partitions;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.insta.content.dao.story;
 
 import org.insta.content.model.Story;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -24,6 +25,26 @@ public interface StoryServiceDAO {
      */
     Optional<Long> addStory(final Story story);
 
+    /**
+     * <p>
+     * Adds the given stories in a single batch.
+     * </p>
+     *
+     * @param stories The stories to be added.
+     * @return The IDs of the added stories, in the order of the given stories.
+     */
+    List<Long> addStories(final List<Story> stories);
+
+    /**
+     * <p>
+     * Queues the story for insertion and returns its ID without waiting for the insert.
+     * </p>
+     *
+     * @param story The story to be added.
+     * @return The ID assigned to the story.
+     */
+    Long addStoryAsync(final Story story);
+
     /**
      * <p>
      * Removes a story with the specified ID.
@@ -36,11 +57,20 @@ public interface StoryServiceDAO {
 
     /**
      * <p>
-     * Retrieves a story with the specified ID.
+     * Retrieves a story with the specified ID, as long as it is within its lifetime.
      * </p>
      *
      * @param id The ID of the story to be retrieved.
      * @return The retrieved story, or null if not found.
      */
     Optional<Story> getStory(final Long id);
+
+    /**
+     * <p>
+     * Retrieves the IDs of the stories within their lifetime, from every shard.
+     * </p>
+     *
+     * @return The IDs of the stories.
+     */
+    long[] getStoryIds();
 }
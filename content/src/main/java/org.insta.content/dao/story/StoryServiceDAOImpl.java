@@ -1,21 +1,25 @@
 package org.insta.content.dao.story;
 
 import org.insta.content.exception.story.StoryCreationFailedException;
-import org.insta.content.exception.story.StoryException;
 import org.insta.content.exception.story.StoryRemovalFailedException;
 import org.insta.content.exception.story.StoryRetrivalFailedException;
-import org.insta.content.dao.GeneratedKeyExtractor;
 import org.insta.content.model.Story;
+import org.insta.content.model.StoryTable;
 import org.insta.content.sqlinjector.story.StorySqlInjector;
-import org.insta.databaseconnection.DatabaseConnection;
+import org.insta.databaseconnection.asyncwriter.AsyncWriter;
+import org.insta.databaseconnection.idgenerator.IdGenerator;
+import org.insta.databaseconnection.shard.ShardedDataSource;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.insta.wrapper.jfr.DaoEventRecorder;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -30,8 +34,9 @@ import java.util.Optional;
 public final class StoryServiceDAOImpl implements StoryServiceDAO {
 
     private static final Logger LOGGER = LogManager.getLogger(StoryServiceDAOImpl.class);
-    private final Connection connection;
-    private final GeneratedKeyExtractor generatedKeyExtractor;
+    private final ShardedDataSource shardedDataSource;
+    private final IdGenerator idGenerator;
+    private final AsyncWriter asyncWriter;
     private final StorySqlInjector storySqlInjector;
 
     /**
@@ -40,8 +45,9 @@ public final class StoryServiceDAOImpl implements StoryServiceDAO {
      * </p>
      */
     private StoryServiceDAOImpl() {
-        connection = DatabaseConnection.get();
-        generatedKeyExtractor = GeneratedKeyExtractor.getInstance();
+        shardedDataSource = ShardedDataSource.getInstance();
+        idGenerator = IdGenerator.getInstance();
+        asyncWriter = AsyncWriter.getInstance();
         storySqlInjector = StorySqlInjector.getInstance();
     }
 
@@ -52,7 +58,8 @@ public final class StoryServiceDAOImpl implements StoryServiceDAO {
      */
     private static class InstanceHolder {
 
-        private static final StoryServiceDAO storyServiceDAOImpl = new StoryServiceDAOImpl();
+        private static final StoryServiceDAO storyServiceDAOImpl = DaoEventRecorder.getInstance()
+                .instrument(StoryServiceDAO.class, "story", new StoryServiceDAOImpl());
     }
 
     /**
@@ -73,21 +80,89 @@ public final class StoryServiceDAOImpl implements StoryServiceDAO {
      * @return The ID of the added story if successful, otherwise 0.
      */
     public Optional<Long> addStory(final Story story) {
-        try (final PreparedStatement preparedStatement = connection
-                .prepareStatement(storySqlInjector.getInsertQuery(), Statement.RETURN_GENERATED_KEYS)) {
+        final long id = idGenerator.nextIdFor(story.getUserId());
 
-            connection.setAutoCommit(true);
-            preparedStatement.setLong(1, story.getUserId());
-            preparedStatement.setString(2, story.getText());
-            preparedStatement.setBoolean(3, story.isPrivate());
-            preparedStatement.setString(4, story.getMusic());
-            preparedStatement.setInt(5, story.getMedia().getId());
+        return insertStory(id, story) ? Optional.of(id) : Optional.empty();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param stories The stories to be added.
+     * @return The IDs of the added stories, in the order of the given stories.
+     */
+    public List<Long> addStories(final List<Story> stories) {
+        final List<Long> ids = new ArrayList<>(stories.size());
+
+        for (final Story story : stories) {
+            ids.add(idGenerator.nextIdFor(story.getUserId()));
+        }
+
+        try {
+            for (final List<Integer> positions : shardedDataSource.groupByShard(ids).values()) {
+                shardedDataSource.inTransaction(ids.get(positions.get(0)), connection -> {
+                    try (final PreparedStatement preparedStatement = connection.prepareStatement(
+                            StoryTable.INSERT)) {
+
+                        for (final int position : positions) {
+                            StoryTable.bindInsert(preparedStatement, ids.get(position), stories.get(position));
+                            preparedStatement.addBatch();
+                        }
+
+                        return preparedStatement.executeBatch();
+                    }
+                });
+            }
+        } catch (final SQLException exception) {
+            LOGGER.error("Story batch creation failed");
+            throw new StoryCreationFailedException("Story batch creation failed");
+        }
+
+        for (int index = 0; index < stories.size(); index++) {
+            stories.get(index).setId(ids.get(index));
+        }
+
+        return ids;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param story The story to be added.
+     * @return The ID assigned to the story.
+     */
+    public Long addStoryAsync(final Story story) {
+        final long id = idGenerator.nextIdFor(story.getUserId());
+
+        story.setId(id);
+        asyncWriter.submit(() -> insertStory(id, story));
+
+        return id;
+    }
+
+    /**
+     * <p>
+     * Inserts the story with the given pre assigned ID.
+     * </p>
+     *
+     * @param id   The ID assigned to the story.
+     * @param story The story to be inserted.
+     * @return True if the story is inserted, otherwise false.
+     */
+    private boolean insertStory(final long id, final Story story) {
+        try (final Connection connection = shardedDataSource.getConnection(story.getUserId());
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     StoryTable.INSERT)) {
+
+            StoryTable.bindInsert(preparedStatement, id, story);
 
             if (preparedStatement.executeUpdate() > 0) {
-                return generatedKeyExtractor.fetchKey(preparedStatement);
+                story.setId(id);
+
+                return true;
             }
 
-            return Optional.empty();
+            return false;
         } catch (final SQLException exception) {
             LOGGER.error("Story creation failed");
             throw new StoryCreationFailedException("Story creation failed");
@@ -101,10 +176,10 @@ public final class StoryServiceDAOImpl implements StoryServiceDAO {
      * @return True if the story is successfully removed, otherwise false.
      */
     public boolean removeStory(final Long id) {
-        try (final PreparedStatement preparedStatement = connection
-                .prepareStatement(storySqlInjector.getDeleteQuery())) {
+        try (final Connection connection = shardedDataSource.getConnection(id);
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     StoryTable.DELETE)) {
 
-            connection.setAutoCommit(true);
             preparedStatement.setLong(1, id);
 
             return preparedStatement.executeUpdate() > 0;
@@ -117,21 +192,26 @@ public final class StoryServiceDAOImpl implements StoryServiceDAO {
     /**
      * {@inheritDoc}
      *
+     * <p>
+     * The read is bounded by the first live id, so it only touches the live partitions and a story
+     * past its lifetime is not returned while its partition waits to be dropped.
+     * </p>
+     *
      * @param id The ID of the story to be retrieved.
      * @return The retrieved story, or null if not found.
      */
     public Optional<Story> getStory(final Long id) {
-        try (final PreparedStatement preparedStatement = connection
-                .prepareStatement(storySqlInjector.getSelectQuery())) {
+        try (final Connection connection = shardedDataSource.getReadConnection(id);
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     storySqlInjector.getLiveSelectQuery())) {
 
-            connection.setAutoCommit(true);
             preparedStatement.setLong(1, id);
+            preparedStatement.setLong(2, StorySqlInjector.getFirstLiveId(System.currentTimeMillis()));
 
             final ResultSet resultSet = preparedStatement.executeQuery();
-            final Story story = new Story();
 
             if (resultSet.next()) {
-                return mapResultSetToStory(story, preparedStatement.executeQuery());
+                return Optional.of(StoryTable.map(resultSet));
             }
 
            return Optional.empty();
@@ -142,28 +222,46 @@ public final class StoryServiceDAOImpl implements StoryServiceDAO {
     }
 
     /**
-     * <p>
-     * Sets the unique details of a story from the given ResultSet.
-     * </p>
+     * {@inheritDoc}
      *
-     * @param story     The story object to set the details to.
-     * @param resultSet The ResultSet containing the story details.
-     * @return The story object with the unique details set, or null if not found.
+     * @return The IDs of the stories.
      */
-    private Optional<Story> mapResultSetToStory(final Story story, final ResultSet resultSet) {
+    public long[] getStoryIds() {
+        final long firstLiveId = StorySqlInjector.getFirstLiveId(System.currentTimeMillis());
+
         try {
-                story.setStoryId(resultSet.getLong(1));
-                story.setUserId(resultSet.getLong(2));
-                story.setUserName(resultSet.getString(3));
-                story.setText(resultSet.getString(4));
-                story.setPrivate(resultSet.getBoolean(5));
-                story.setMusic(resultSet.getString(6));
-                story.setTimestamp(resultSet.getTimestamp(7));
-
-                return Optional.of(story);
+            final List<long[]> shardIds = shardedDataSource.scatterGather(connection -> {
+                try (final PreparedStatement preparedStatement = connection.prepareStatement(
+                        storySqlInjector.getLiveIdsQuery())) {
+                    preparedStatement.setLong(1, firstLiveId);
+
+                    try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                        long[] ids = new long[1024];
+                        int length = 0;
+
+                        while (resultSet.next()) {
+                            if (length == ids.length) {
+                                ids = Arrays.copyOf(ids, length * 2);
+                            }
+                            ids[length++] = resultSet.getLong(1);
+                        }
+
+                        return Arrays.copyOf(ids, length);
+                    }
+                }
+            });
+            final long[] ids = new long[shardIds.stream().mapToInt(shard -> shard.length).sum()];
+            int length = 0;
+
+            for (final long[] shard : shardIds) {
+                System.arraycopy(shard, 0, ids, length, shard.length);
+                length += shard.length;
+            }
+
+            return ids;
         } catch (final SQLException exception) {
-            LOGGER.error("Resultset insert failed exception");
-            throw new StoryException("Resultset insert failed exception");
+            LOGGER.error("Story retrival failed");
+            throw new StoryRetrivalFailedException("Story retrival failed");
         }
     }
 }
@@ -4,14 +4,15 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.insta.content.exception.story.storylike.StoryLikeCreationFailedException;
 import org.insta.content.exception.story.storylike.StoryLikeRemovalFailedException;
-import org.insta.content.dao.GeneratedKeyExtractor;
 import org.insta.content.sqlinjector.story.like.StoryLikeSqlInjector;
-import org.insta.databaseconnection.DatabaseConnection;
+import org.insta.databaseconnection.idgenerator.IdGenerator;
+import org.insta.databaseconnection.shard.ShardedDataSource;
+import org.insta.wrapper.jfr.DaoEventRecorder;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.Optional;
 
 /**
@@ -19,6 +20,11 @@ import java.util.Optional;
  * Managing user story like.
  * </p>
  *
+ * <p>
+ * A story is liked once per account. Liking it again inserts nothing and returns the ID of the
+ * stored like, so a repeated like succeeds as before without breaking the unique index.
+ * </p>
+ *
  * @author Mohamed Yasar
  * @version 1.0 6 Feb 2024
  * @see StoryLikeDAO
@@ -26,8 +32,8 @@ import java.util.Optional;
 public final class StoryLikeDAOImpl implements StoryLikeDAO {
 
     private static final Logger LOGGER = LogManager.getLogger(StoryLikeDAOImpl.class);
-    private final Connection connection;
-    private final GeneratedKeyExtractor generatedKeyExtractor;
+    private final ShardedDataSource shardedDataSource;
+    private final IdGenerator idGenerator;
     private final StoryLikeSqlInjector storyLikeSqlInjector;
 
     /**
@@ -36,8 +42,8 @@ public final class StoryLikeDAOImpl implements StoryLikeDAO {
      * </p>
      */
     private StoryLikeDAOImpl() {
-        connection = DatabaseConnection.get();
-        generatedKeyExtractor = GeneratedKeyExtractor.getInstance();
+        shardedDataSource = ShardedDataSource.getInstance();
+        idGenerator = IdGenerator.getInstance();
         storyLikeSqlInjector = StoryLikeSqlInjector.getInstance();
     }
 
@@ -48,7 +54,8 @@ public final class StoryLikeDAOImpl implements StoryLikeDAO {
      */
     private static class InstanceHolder {
 
-        private static final StoryLikeDAO storyLikeDAOImpl = new StoryLikeDAOImpl();
+        private static final StoryLikeDAO storyLikeDAOImpl = DaoEventRecorder.getInstance()
+                .instrument(StoryLikeDAO.class, "story_like", new StoryLikeDAOImpl());
     }
 
     /**
@@ -70,18 +77,20 @@ public final class StoryLikeDAOImpl implements StoryLikeDAO {
      * @return The ID of the inserted like if successful, otherwise 0.
      */
     public Optional<Long> storyLike(final Long userId, final Long storyId) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                storyLikeSqlInjector.getInsertQuery(), Statement.RETURN_GENERATED_KEYS)) {
+        try (final Connection connection = shardedDataSource.getConnection(storyId);
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     storyLikeSqlInjector.getInsertQuery())) {
+            final long id = idGenerator.nextIdFor(storyId);
 
-            connection.setAutoCommit(true);
-            preparedStatement.setLong(1, storyId);
-            preparedStatement.setLong(2, userId);
+            preparedStatement.setLong(1, id);
+            preparedStatement.setLong(2, storyId);
+            preparedStatement.setLong(3, userId);
 
             if (preparedStatement.executeUpdate() > 0) {
-                return generatedKeyExtractor.fetchKey(preparedStatement);
+                return Optional.of(id);
             }
 
-            return Optional.empty();
+            return getLikeId(connection, storyId, userId);
         } catch (final SQLException exception) {
             LOGGER.error("story like creation failed");
             throw new StoryLikeCreationFailedException("story like creation failed");
@@ -95,10 +104,10 @@ public final class StoryLikeDAOImpl implements StoryLikeDAO {
      * @return True if the like is removed successfully, otherwise false.
      */
     public boolean storyUnlike(final Long storyId) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                storyLikeSqlInjector.getDeleteQuery())) {
+        try (final Connection connection = shardedDataSource.getConnection(storyId);
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     storyLikeSqlInjector.getDeleteQuery())) {
 
-            connection.setAutoCommit(true);
             preparedStatement.setLong(1, storyId);
 
             return preparedStatement.executeUpdate() > 0;
@@ -107,4 +116,28 @@ public final class StoryLikeDAOImpl implements StoryLikeDAO {
             throw new StoryLikeRemovalFailedException("Story like removal failed");
         }
     }
+
+    /**
+     * <p>
+     * Reads the ID of the like of a story already stored for an account.
+     * </p>
+     *
+     * @param connection Refers the connection to the shard of the story.
+     * @param storyId    Refers the ID of the story.
+     * @param userId     Refers the ID of the account.
+     * @return The ID of the like, or empty if it was removed meanwhile.
+     * @throws SQLException If the like cannot be read.
+     */
+    private Optional<Long> getLikeId(final Connection connection, final Long storyId, final Long userId)
+            throws SQLException {
+        try (final PreparedStatement preparedStatement = connection.prepareStatement(
+                storyLikeSqlInjector.getSelectIdQuery())) {
+            preparedStatement.setLong(1, storyId);
+            preparedStatement.setLong(2, userId);
+
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? Optional.of(resultSet.getLong(1)) : Optional.empty();
+            }
+        }
+    }
 }
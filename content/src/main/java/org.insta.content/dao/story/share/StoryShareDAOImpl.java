@@ -4,14 +4,14 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.insta.content.exception.story.storyshare.StoryShareFailedException;
 import org.insta.content.exception.story.storyshare.StoryShareRemovalFailedException;
-import org.insta.content.dao.GeneratedKeyExtractor;
 import org.insta.content.sqlinjector.story.share.StoryShareSqlInjector;
-import org.insta.databaseconnection.DatabaseConnection;
+import org.insta.databaseconnection.idgenerator.IdGenerator;
+import org.insta.databaseconnection.shard.ShardedDataSource;
+import org.insta.wrapper.jfr.DaoEventRecorder;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.Optional;
 
 /**
@@ -26,8 +26,8 @@ import java.util.Optional;
 public class StoryShareDAOImpl implements StoryShareDAO {
 
     private static final Logger LOGGER = LogManager.getLogger(StoryShareDAOImpl.class);
-    private final Connection connection;
-    private final GeneratedKeyExtractor generatedKeyExtractor;
+    private final ShardedDataSource shardedDataSource;
+    private final IdGenerator idGenerator;
     private final StoryShareSqlInjector storyShareQueryStructureBuilder;
 
     /**
@@ -36,8 +36,8 @@ public class StoryShareDAOImpl implements StoryShareDAO {
      * </p>
      */
     private StoryShareDAOImpl() {
-        connection = DatabaseConnection.get();
-        generatedKeyExtractor = GeneratedKeyExtractor.getInstance();
+        shardedDataSource = ShardedDataSource.getInstance();
+        idGenerator = IdGenerator.getInstance();
         storyShareQueryStructureBuilder = StoryShareSqlInjector.getInstance();
     }
 
@@ -48,7 +48,8 @@ public class StoryShareDAOImpl implements StoryShareDAO {
      */
     private static class InstanceHolder {
 
-        private static final StoryShareDAO storyShareDAO = new StoryShareDAOImpl();
+        private static final StoryShareDAO storyShareDAO = DaoEventRecorder.getInstance()
+                .instrument(StoryShareDAO.class, "story_share", new StoryShareDAOImpl());
     }
 
     /**
@@ -71,15 +72,17 @@ public class StoryShareDAOImpl implements StoryShareDAO {
      */
     @Override
     public Optional<Long> addShare(final Long storyId, final Long sharedBy) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                storyShareQueryStructureBuilder.getInsertQuery(), Statement.RETURN_GENERATED_KEYS)) {
+        try (final Connection connection = shardedDataSource.getConnection(storyId);
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     storyShareQueryStructureBuilder.getInsertQuery())) {
+            final long id = idGenerator.nextIdFor(storyId);
 
-            connection.setAutoCommit(true);
-            preparedStatement.setLong(1, storyId);
-            preparedStatement.setLong(2, sharedBy);
+            preparedStatement.setLong(1, id);
+            preparedStatement.setLong(2, storyId);
+            preparedStatement.setLong(3, sharedBy);
 
             if (preparedStatement.executeUpdate() > 0) {
-                return generatedKeyExtractor.fetchKey(preparedStatement);
+                return Optional.of(id);
             }
 
             return Optional.empty();
@@ -97,10 +100,10 @@ public class StoryShareDAOImpl implements StoryShareDAO {
      */
     @Override
     public boolean removeShare(final Long id) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                storyShareQueryStructureBuilder.getDeleteQuery())) {
+        try (final Connection connection = shardedDataSource.getConnection(id);
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     storyShareQueryStructureBuilder.getDeleteQuery())) {
 
-            connection.setAutoCommit(true);
             preparedStatement.setLong(1, id);
 
             return preparedStatement.executeUpdate() > 0;
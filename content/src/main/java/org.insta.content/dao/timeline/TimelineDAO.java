@@ -0,0 +1,42 @@
+package org.insta.content.dao.timeline;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Data Access Object interface for rebuilding home timelines.
+ * </p>
+ *
+ * <p>
+ * This interface provides methods for fetching the newest content of a set of authors, which is
+ * what a timeline held in memory is rebuilt from after a restart or an eviction.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0, 6 Feb 2024
+ * @see TimelineDAOImpl
+ */
+public interface TimelineDAO {
+
+    /**
+     * <p>
+     * Fetches the IDs of the newest posts of the given authors.
+     * </p>
+     *
+     * @param userIds the IDs of the authors
+     * @param limit   the maximum number of IDs fetched from each shard
+     * @return the IDs of the posts, newest first within each shard
+     */
+    List<Long> getRecentPostIds(final List<Long> userIds, final int limit);
+
+    /**
+     * <p>
+     * Fetches the IDs of the newest reels of the given authors.
+     * </p>
+     *
+     * @param userIds the IDs of the authors
+     * @param limit   the maximum number of IDs fetched from each shard
+     * @return the IDs of the reels, newest first within each shard
+     */
+    List<Long> getRecentReelIds(final List<Long> userIds, final int limit);
+}
@@ -0,0 +1,125 @@
+package org.insta.content.dao.timeline;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.insta.content.exception.timeline.TimelineRetrivalFailedException;
+import org.insta.databaseconnection.shard.ShardedDataSource;
+import org.insta.wrapper.jfr.DaoEventRecorder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Implementation of the TimelineDAO interface for rebuilding home timelines.
+ * </p>
+ *
+ * <p>
+ * Content lives on the shard of its author, so the authors are grouped by shard and every shard is
+ * asked once for the newest content of its authors. Identifiers are time ordered, so the newest
+ * content is the content with the highest id.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0, 6 Feb 2024
+ * @see TimelineDAO
+ */
+public final class TimelineDAOImpl implements TimelineDAO {
+
+    private static final Logger LOGGER = LogManager.getLogger(TimelineDAOImpl.class);
+    private static final String RECENT_POSTS = "SELECT id FROM post WHERE user_id = ANY(?) ORDER BY id DESC LIMIT ?";
+    private static final String RECENT_REELS = "SELECT id FROM reels WHERE user_id = ANY(?) ORDER BY id DESC LIMIT ?";
+    private final ShardedDataSource shardedDataSource;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private TimelineDAOImpl() {
+        shardedDataSource = ShardedDataSource.getInstance();
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final TimelineDAO TIMELINE_DAO = DaoEventRecorder.getInstance()
+                .instrument(TimelineDAO.class, "timeline", new TimelineDAOImpl());
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of TimelineDAOImpl class.
+     * </p>
+     *
+     * @return The singleton instance of TimelineDAOImpl class.
+     */
+    public static TimelineDAO getInstance() {
+        return InstanceHolder.TIMELINE_DAO;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param userIds Refers the IDs of the authors.
+     * @param limit   Refers the maximum number of IDs fetched from each shard.
+     * @return The IDs of the posts, newest first within each shard.
+     */
+    public List<Long> getRecentPostIds(final List<Long> userIds, final int limit) {
+        return getRecentIds(RECENT_POSTS, userIds, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param userIds Refers the IDs of the authors.
+     * @param limit   Refers the maximum number of IDs fetched from each shard.
+     * @return The IDs of the reels, newest first within each shard.
+     */
+    public List<Long> getRecentReelIds(final List<Long> userIds, final int limit) {
+        return getRecentIds(RECENT_REELS, userIds, limit);
+    }
+
+    /**
+     * <p>
+     * Runs a query for the newest content on every shard owning one of the authors.
+     * </p>
+     *
+     * @param query   Refers the query, taking the authors and the limit.
+     * @param userIds Refers the IDs of the authors.
+     * @param limit   Refers the maximum number of IDs fetched from each shard.
+     * @return The IDs of the content.
+     */
+    private List<Long> getRecentIds(final String query, final List<Long> userIds, final int limit) {
+        final List<Long> ids = new ArrayList<>();
+
+        for (final List<Integer> positions : shardedDataSource.groupByShard(userIds).values()) {
+            final Long[] shardUserIds = positions.stream().map(userIds::get).toArray(Long[]::new);
+
+            try (final Connection connection = shardedDataSource.getReadConnection(shardUserIds[0]);
+                 final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+                preparedStatement.setArray(1, connection.createArrayOf("bigint", shardUserIds));
+                preparedStatement.setInt(2, limit);
+
+                try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        ids.add(resultSet.getLong(1));
+                    }
+                }
+            } catch (SQLException exception) {
+                LOGGER.error("Timeline retrival failed");
+                throw new TimelineRetrivalFailedException("Timeline retrival failed");
+            }
+        }
+
+        return ids;
+    }
+}
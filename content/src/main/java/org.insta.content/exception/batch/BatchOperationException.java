@@ -0,0 +1,26 @@
+package org.insta.content.exception.batch;
+
+import org.insta.exception.DefaultException;
+
+/**
+ * <p>
+ * Exception class for handle invalid operations of a batch.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see DefaultException
+ */
+public final class BatchOperationException extends DefaultException {
+
+    /**
+     * <p>
+     * Constructs an BatchOperationException with the specified detail message.
+     * </p>
+     *
+     * @param message Refers the exception message.
+     */
+    public BatchOperationException(final String message) {
+        super(message);
+    }
+}
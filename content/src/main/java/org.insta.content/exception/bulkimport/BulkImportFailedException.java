@@ -0,0 +1,26 @@
+package org.insta.content.exception.bulkimport;
+
+import org.insta.exception.DefaultException;
+
+/**
+ * <p>
+ * Exception class for handle bulk import failures.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see DefaultException
+ */
+public final class BulkImportFailedException extends DefaultException {
+
+    /**
+     * <p>
+     * Constructs an BulkImportFailedException with the specified detail message.
+     * </p>
+     *
+     * @param message Refers the exception message.
+     */
+    public BulkImportFailedException(final String message) {
+        super(message);
+    }
+}
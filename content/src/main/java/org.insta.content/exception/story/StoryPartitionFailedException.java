@@ -0,0 +1,24 @@
+package org.insta.content.exception.story;
+
+/**
+ * <p>
+ * Exception class for handle story partition maintenance.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see StoryException
+ */
+public final class StoryPartitionFailedException extends StoryException {
+
+    /**
+     * <p>
+     * Constructs an StoryPartitionFailedException with the specified detail message.
+     * </p>
+     *
+     * @param message Refers the exception message.
+     */
+    public StoryPartitionFailedException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,26 @@
+package org.insta.content.exception.timeline;
+
+import org.insta.exception.DefaultException;
+
+/**
+ * <p>
+ * Exception class for handle Timeline Retrival.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see DefaultException
+ */
+public final class TimelineRetrivalFailedException extends DefaultException {
+
+    /**
+     * <p>
+     * Constructs an TimelineRetrivalFailedException with the specified detail message.
+     * </p>
+     *
+     * @param message Refers the exception message.
+     */
+    public TimelineRetrivalFailedException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,57 @@
+package org.insta.content.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * <p>
+ * Represents one operation of a batch request.
+ * </p>
+ *
+ * <p>
+ * This class defines the name of the operation, such as {@code post.like}, the ID of the content it
+ * applies to, the ID of the acting user and the body of the operations which create content, in the
+ * same form as the JSON accepted by the REST API.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+public final class BatchOperation {
+
+    private String operation;
+    private Long id;
+    private Long userId;
+    private JsonNode body;
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(final String operation) {
+        this.operation = operation;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(final Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(final Long userId) {
+        this.userId = userId;
+    }
+
+    public JsonNode getBody() {
+        return body;
+    }
+
+    public void setBody(final JsonNode body) {
+        this.body = body;
+    }
+}
@@ -0,0 +1,56 @@
+package org.insta.content.model;
+
+import java.util.Map;
+
+/**
+ * <p>
+ * Represents the outcome of a bulk import.
+ * </p>
+ *
+ * <p>
+ * This class defines the number of rows copied per table, the total number of rows,
+ * the elapsed time and the resulting throughput in rows per second.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+public final class BulkImportReport {
+
+    private Map<String, Long> rows;
+    private long totalRows;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+
+    public Map<String, Long> getRows() {
+        return rows;
+    }
+
+    public void setRows(final Map<String, Long> rows) {
+        this.rows = rows;
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(final long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(final long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(final long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+}
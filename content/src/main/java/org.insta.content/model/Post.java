@@ -3,6 +3,9 @@ package org.insta.content.model;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import org.insta.content.groups.PostValidator;
+import org.insta.orm.annotation.Col;
+import org.insta.orm.annotation.Join;
+import org.insta.orm.annotation.Table;
 
 import java.sql.Timestamp;
 import java.util.Objects;
@@ -16,18 +19,25 @@ import java.util.Objects;
  * @version 1.0 6 Feb 2024
  * @see Common
  */
+@Table(name = "post", joins = @Join(table = "account", on = "user_id", column = "id"))
 public final class Post extends Common {
 
     @Positive(message = "User id must be positive", groups = PostValidator.class)
+    @Col(name = "user_id")
     private Long userId;
+    @Col(name = "type", decode = "getMedia", encode = "getId")
     private Media type;
+    @Col(name = "name", table = "account")
     private String userName;
     @NotNull(message = "Is private must not be null", groups = PostValidator.class)
+    @Col(name = "is_private")
     private boolean isPrivate;
     @NotNull(message = "Caption must not be null", groups = PostValidator.class)
+    @Col(name = "caption")
     private String caption;
     @Positive(message = "Post id must be in positive", groups = PostValidator.class)
     private Long postId;
+    @Col(name = "created_at", insertable = false)
     private Timestamp timestamp;
 
     public boolean isPrivate() {
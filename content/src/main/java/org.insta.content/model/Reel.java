@@ -3,6 +3,9 @@ package org.insta.content.model;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import org.insta.content.groups.ReelValidator;
+import org.insta.orm.annotation.Col;
+import org.insta.orm.annotation.Join;
+import org.insta.orm.annotation.Table;
 
 import java.sql.Timestamp;
 import java.util.Objects;
@@ -21,20 +24,27 @@ import java.util.Objects;
  * @version 1.0 6 Feb 2024
  * @see Common
  */
+@Table(name = "reels", keyProperty = "reelId", joins = @Join(table = "account", on = "user_id", column = "id"))
 public final class Reel extends Common {
 
     @Positive(message = "User id must be positive", groups = ReelValidator.class)
+    @Col(name = "user_id")
     private Long userId;
     @NotNull(message = "Caption must not be null", groups = ReelValidator.class)
+    @Col(name = "caption")
     private String caption;
     @NotNull(message = "Is private must not be null", groups = ReelValidator.class)
+    @Col(name = "is_private", insertable = false)
     private boolean isPrivate;
     @Positive(message = "Reel id must  be positive", groups = ReelValidator.class)
     private Long reelId;
     @Positive(message = "Duration must be positive", groups = ReelValidator.class)
+    @Col(name = "duration")
     private String duration;
     @NotNull(message = "User name must not be null", groups = ReelValidator.class)
+    @Col(name = "name", table = "account")
     private String userName;
+    @Col(name = "created_at", insertable = false)
     private Timestamp timestamp;
 
     public Long getReelId() {
@@ -3,6 +3,9 @@ package org.insta.content.model;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import org.insta.content.groups.StoryValidator;
+import org.insta.orm.annotation.Col;
+import org.insta.orm.annotation.Join;
+import org.insta.orm.annotation.Table;
 
 import java.sql.Timestamp;
 import java.util.Objects;
@@ -21,22 +24,30 @@ import java.util.Objects;
  * @version 1.0 6 Feb 2024
  * @see Common
  */
+@Table(name = "story", keyProperty = "storyId", joins = @Join(table = "account", on = "user_id", column = "id"))
 public final class Story extends Common {
 
     @NotNull(message = "Is private mst not be null", groups = StoryValidator.class)
+    @Col(name = "is_private")
     private boolean isPrivate;
     @Positive(message = "Story id must be in positive", groups = StoryValidator.class)
     private Long storyId;
     @NotNull(message = "Media field must not be null", groups = StoryValidator.class)
+    @Col(name = "media", selectable = false, decode = "getMedia", encode = "getId")
     private Media media;
     @NotNull(message = "Music field must not be null", groups = StoryValidator.class)
+    @Col(name = "music")
     private String music;
     @NotNull(message = "Text field must not be null", groups = StoryValidator.class)
+    @Col(name = "caption")
     private String text;
     @Positive(message = "User id must be in positive", groups = StoryValidator.class)
+    @Col(name = "user_id")
     private Long userId;
     @NotNull(message = "User name must not be null", groups = StoryValidator.class)
+    @Col(name = "name", table = "account")
     private String userName;
+    @Col(name = "created_at", insertable = false)
     private Timestamp timestamp;
 
     public boolean isPrivate() {
@@ -0,0 +1,226 @@
+package org.insta.content.schema;
+
+import org.insta.content.sqlinjector.story.StorySqlInjector;
+import org.insta.orm.schema.DdlGenerator;
+import org.insta.orm.schema.Migration;
+import org.insta.orm.schema.TableDefinition;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Singleton class declaring the tables and migrations of the CONTENT bundle.
+ * </p>
+ *
+ * <p>
+ * Every index backs a query the DAOs or the account export run: content is listed by its owner
+ * newest first, likes and shares are looked up and counted by content, comments are read by content
+ * in creation order and the export scans engagement by the account which made it.
+ * </p>
+ *
+ * <p>
+ * A like is unique per content and account. Migration 0 deletes the repeated likes of tables
+ * filled before the unique indexes existed, keeping the first like. It is numbered below migration 1,
+ * which creates the indexes, because the migrations pending on a database are applied in version
+ * order in one transaction: on a database holding repeated likes migration 1 has never been
+ * applied, and migration 0 runs ahead of it. Where migration 1 is applied, the indexes keep the
+ * likes unique and migration 0 deletes nothing.
+ * </p>
+ *
+ * <p>
+ * The story, story like and story share tables are range partitioned by story id, one partition per
+ * day, so expired stories are dropped a day at a time instead of being deleted row by row. Migration
+ * 2 turns the tables created by migration 1 into partitioned tables, keeping their rows as the
+ * partition of the day it runs on; the partitions of the following days are kept by the story
+ * expiry. The primary key of the story like and story share tables holds the story id, as
+ * PostgreSQL requires of a partitioned table.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+public final class ContentSchema {
+
+    public static final String MODULE = "content";
+    private final List<TableDefinition> tables;
+    private final List<TableDefinition> storyTables;
+    private final List<Migration> migrations;
+
+    /**
+     * <p>
+     * Private constructor to prevent instantiation.
+     * </p>
+     */
+    private ContentSchema() {
+        final DdlGenerator ddlGenerator = DdlGenerator.getInstance();
+
+        storyTables = List.of(story().partitionByRange("id"),
+                storyEngagement("story_like", "liked_by").unique("story_id", "liked_by"),
+                storyEngagement("story_share", "shared_by").index(List.of("story_id")));
+        final TableDefinition post = content("post").column("type", "INT NOT NULL").column("caption", "TEXT")
+                .column("is_private", "BOOLEAN NOT NULL DEFAULT false");
+        final TableDefinition reels = content("reels").column("caption", "TEXT").column("duration", "VARCHAR(16)")
+                .column("is_private", "BOOLEAN NOT NULL DEFAULT false");
+        final TableDefinition postLike = engagement("post_like", "post_id", "liked_by").unique("post_id", "liked_by");
+        final TableDefinition reelLike = engagement("reel_like", "reel_id", "liked_by").unique("reel_id", "liked_by");
+        final TableDefinition postComment = comment("post_comment", "post_id");
+        final TableDefinition reelComment = comment("reel_comment", "reel_id");
+        final TableDefinition postShare = engagement("post_share", "post_id", "shared_by").index(List.of("post_id"));
+        final TableDefinition reelShare = engagement("reel_share", "reel_id", "shared_by").index(List.of("reel_id"));
+
+        tables = List.of(post, reels, storyTables.get(0), postLike, reelLike, storyTables.get(1), postComment,
+                reelComment, postShare, reelShare, storyTables.get(2));
+        final TableDefinition storyLike = engagement("story_like", "story_id", "liked_by")
+                .unique("story_id", "liked_by");
+        final List<TableDefinition> initialTables = List.of(post, reels, story(), postLike, reelLike, storyLike,
+                postComment, reelComment, postShare, reelShare,
+                engagement("story_share", "story_id", "shared_by").index(List.of("story_id")));
+        final List<String> deduplication = new ArrayList<>();
+
+        for (final TableDefinition likeTable : List.of(postLike, reelLike, storyLike)) {
+            deduplication.addAll(ddlGenerator.buildDeleteDuplicates(likeTable, "id"));
+        }
+        migrations = List.of(new Migration(0, "Repeated likes before the unique like indexes", deduplication),
+                new Migration(1, "Content tables and hot path indexes", ddlGenerator.buildStatements(initialTables)),
+                new Migration(2, "Day partitioned stories", this::buildPartitioning));
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of {@code ContentSchema}.
+     * </p>
+     *
+     * @return the singleton instance of {@code ContentSchema}
+     */
+    public static ContentSchema getInstance() {
+        return InstanceHolder.CONTENT_SCHEMA;
+    }
+
+    /**
+     * @return the tables of the bundle
+     */
+    public List<TableDefinition> getTables() {
+        return tables;
+    }
+
+    /**
+     * @return the day partitioned story, story like and story share tables
+     */
+    public List<TableDefinition> getStoryTables() {
+        return storyTables;
+    }
+
+    /**
+     * @return the migrations of the bundle, in version order
+     */
+    public List<Migration> getMigrations() {
+        return migrations;
+    }
+
+    /**
+     * <p>
+     * Builds the statements partitioning the story tables, keeping their rows as the partition of
+     * the day the migration is applied on.
+     * </p>
+     *
+     * @return The partitioning statements.
+     */
+    private List<String> buildPartitioning() {
+        final DdlGenerator ddlGenerator = DdlGenerator.getInstance();
+        final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        final String todayBound = String.valueOf(StorySqlInjector.getFirstId(today.plusDays(1)));
+        final List<String> partitioning = new ArrayList<>();
+
+        for (final TableDefinition storyTable : storyTables) {
+            partitioning.addAll(ddlGenerator.buildPartitioning(storyTable,
+                    StorySqlInjector.getPartitionName(storyTable.getName(), today), todayBound));
+        }
+
+        return partitioning;
+    }
+
+    /**
+     * <p>
+     * Declares a content table listed by its owner, newest first.
+     * </p>
+     *
+     * @param name Refers the name of the table.
+     * @return The table definition.
+     */
+    private static TableDefinition content(final String name) {
+        return new TableDefinition(name).column("id", "BIGINT NOT NULL").column("user_id", "BIGINT NOT NULL")
+                .column("created_at", "TIMESTAMP NOT NULL DEFAULT now()").primaryKey("id")
+                .index(List.of("user_id", "created_at"));
+    }
+
+    /**
+     * <p>
+     * Declares the story table.
+     * </p>
+     *
+     * @return The table definition.
+     */
+    private static TableDefinition story() {
+        return content("story").column("caption", "TEXT").column("music", "TEXT").column("media", "INT")
+                .column("is_private", "BOOLEAN NOT NULL DEFAULT false");
+    }
+
+    /**
+     * <p>
+     * Declares a day partitioned like or share table of stories, keyed by its id and story id.
+     * </p>
+     *
+     * @param name          Refers the name of the table.
+     * @param accountColumn Refers the column holding the id of the account.
+     * @return The table definition.
+     */
+    private static TableDefinition storyEngagement(final String name, final String accountColumn) {
+        return new TableDefinition(name).column("id", "BIGINT NOT NULL").column("story_id", "BIGINT NOT NULL")
+                .column(accountColumn, "BIGINT NOT NULL").primaryKey("id", "story_id").index(List.of(accountColumn))
+                .partitionByRange("story_id");
+    }
+
+    /**
+     * <p>
+     * Declares a like or share table, scanned by the account which made it.
+     * </p>
+     *
+     * @param name          Refers the name of the table.
+     * @param contentColumn Refers the column holding the id of the content.
+     * @param accountColumn Refers the column holding the id of the account.
+     * @return The table definition.
+     */
+    private static TableDefinition engagement(final String name, final String contentColumn,
+                                              final String accountColumn) {
+        return new TableDefinition(name).column("id", "BIGINT NOT NULL").column(contentColumn, "BIGINT NOT NULL")
+                .column(accountColumn, "BIGINT NOT NULL").primaryKey("id").index(List.of(accountColumn));
+    }
+
+    /**
+     * <p>
+     * Declares a comment table, read by content in creation order.
+     * </p>
+     *
+     * @param name          Refers the name of the table.
+     * @param contentColumn Refers the column holding the id of the content.
+     * @return The table definition.
+     */
+    private static TableDefinition comment(final String name, final String contentColumn) {
+        return engagement(name, contentColumn, "commented_by").column("content", "TEXT NOT NULL")
+                .column("created_at", "TIMESTAMP NOT NULL DEFAULT now()")
+                .index(List.of(contentColumn, "created_at"), "commented_by");
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final ContentSchema CONTENT_SCHEMA = new ContentSchema();
+    }
+}
@@ -0,0 +1,444 @@
+package org.insta.content.service.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.insta.authentication.service.UserAccountServiceImpl;
+import org.insta.content.exception.batch.BatchOperationException;
+import org.insta.content.model.BatchOperation;
+import org.insta.content.model.Comment;
+import org.insta.content.model.Post;
+import org.insta.content.model.Reel;
+import org.insta.content.model.Story;
+import org.insta.content.service.post.PostServiceImpl;
+import org.insta.content.service.post.comment.PostCommentServiceImpl;
+import org.insta.content.service.post.like.PostLikeServiceImpl;
+import org.insta.content.service.post.share.PostShareServiceImpl;
+import org.insta.content.service.reel.ReelServiceImpl;
+import org.insta.content.service.reel.comment.ReelCommentServiceImpl;
+import org.insta.content.service.reel.like.ReelLikeServiceImpl;
+import org.insta.content.service.reel.share.ReelShareServiceImpl;
+import org.insta.content.service.story.StoryServiceImpl;
+import org.insta.content.service.story.like.StoryLikeServiceImpl;
+import org.insta.content.service.story.share.StoryShareServiceImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Operations which can be sent in a batch, each mapped onto the service of the matching endpoint.
+ * </p>
+ *
+ * <p>
+ * Most operations are executed one by one. The grouped ones are executed together: the likes of
+ * posts and the creation of posts, reels and stories insert their rows in one database batch per
+ * shard, and the reads of posts, reels and profiles are fetched with one query per shard.
+ * </p>
+ *
+ * <p>
+ * An operation naming an ID acts on the resource of its kind and ID, such as {@code post:42} for a
+ * like, an unlike or a read of post 42. The operations on one resource depend on each other and are
+ * executed in the order they were sent.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see BatchServiceImpl
+ */
+public enum BatchCommand {
+
+    POST_ADD("post.add", true) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return PostServiceImpl.getInstance().addPost(body(operation, objectMapper, Post.class));
+        }
+
+        @Override
+        List<byte[]> executeAll(final List<BatchOperation> operations, final ObjectMapper objectMapper) {
+            final List<Post> posts = new ArrayList<>(operations.size());
+
+            for (final BatchOperation operation : operations) {
+                posts.add(body(operation, objectMapper, Post.class));
+            }
+
+            return PostServiceImpl.getInstance().addPosts(posts);
+        }
+    },
+    POST_REMOVE("post.remove", false) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return PostServiceImpl.getInstance().removePost(id(operation));
+        }
+    },
+    POST_GET("post.get", true) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return PostServiceImpl.getInstance().getPost(id(operation));
+        }
+
+        @Override
+        List<byte[]> executeAll(final List<BatchOperation> operations, final ObjectMapper objectMapper) {
+            return PostServiceImpl.getInstance().getPosts(ids(operations));
+        }
+    },
+    POST_LIKE("post.like", true) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return PostLikeServiceImpl.getInstance().postLike(userId(operation), id(operation));
+        }
+
+        @Override
+        List<byte[]> executeAll(final List<BatchOperation> operations, final ObjectMapper objectMapper) {
+            final Map<Long, List<Long>> postIdsByUser = new LinkedHashMap<>();
+            final Map<Long, List<Integer>> positionsByUser = new LinkedHashMap<>();
+            final List<byte[]> results = new ArrayList<>(Collections.nCopies(operations.size(), (byte[]) null));
+
+            for (int index = 0; index < operations.size(); index++) {
+                final Long postId = id(operations.get(index));
+                final Long userId = userId(operations.get(index));
+
+                postIdsByUser.computeIfAbsent(userId, user -> new ArrayList<>()).add(postId);
+                positionsByUser.computeIfAbsent(userId, user -> new ArrayList<>()).add(index);
+            }
+
+            for (final Map.Entry<Long, List<Long>> user : postIdsByUser.entrySet()) {
+                final List<byte[]> likes = PostLikeServiceImpl.getInstance().postLikes(user.getKey(), user.getValue());
+                final List<Integer> positions = positionsByUser.get(user.getKey());
+
+                for (int index = 0; index < likes.size(); index++) {
+                    results.set(positions.get(index), likes.get(index));
+                }
+            }
+
+            return results;
+        }
+    },
+    POST_UNLIKE("post.unlike", false) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return PostLikeServiceImpl.getInstance().postUnlike(id(operation));
+        }
+    },
+    POST_SHARE("post.share", false) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return PostShareServiceImpl.getInstance().postShare(id(operation), userId(operation));
+        }
+    },
+    POST_UNSHARE("post.unshare", false) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return PostShareServiceImpl.getInstance().removeShare(id(operation));
+        }
+    },
+    POST_COMMENT("post.comment", false) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return PostCommentServiceImpl.getInstance().postComment(body(operation, objectMapper, Comment.class));
+        }
+    },
+    POST_UNCOMMENT("post.uncomment", false) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return PostCommentServiceImpl.getInstance().deleteComment(id(operation));
+        }
+    },
+    REEL_ADD("reel.add", true) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return ReelServiceImpl.getInstance().addReel(body(operation, objectMapper, Reel.class));
+        }
+
+        @Override
+        List<byte[]> executeAll(final List<BatchOperation> operations, final ObjectMapper objectMapper) {
+            final List<Reel> reels = new ArrayList<>(operations.size());
+
+            for (final BatchOperation operation : operations) {
+                reels.add(body(operation, objectMapper, Reel.class));
+            }
+
+            return ReelServiceImpl.getInstance().addReels(reels);
+        }
+    },
+    REEL_REMOVE("reel.remove", false) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return ReelServiceImpl.getInstance().removeReel(id(operation));
+        }
+    },
+    REEL_GET("reel.get", true) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return ReelServiceImpl.getInstance().getReel(id(operation));
+        }
+
+        @Override
+        List<byte[]> executeAll(final List<BatchOperation> operations, final ObjectMapper objectMapper) {
+            return ReelServiceImpl.getInstance().getReels(ids(operations));
+        }
+    },
+    REEL_LIKE("reel.like", false) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return ReelLikeServiceImpl.getInstance().reelLike(id(operation), userId(operation));
+        }
+    },
+    REEL_UNLIKE("reel.unlike", false) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return ReelLikeServiceImpl.getInstance().reelUnlike(id(operation));
+        }
+    },
+    REEL_SHARE("reel.share", false) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return ReelShareServiceImpl.getInstance().reelShare(userId(operation), id(operation));
+        }
+    },
+    REEL_UNSHARE("reel.unshare", false) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return ReelShareServiceImpl.getInstance().removeShare(id(operation));
+        }
+    },
+    REEL_COMMENT("reel.comment", false) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return ReelCommentServiceImpl.getInstance().addComment(body(operation, objectMapper, Comment.class));
+        }
+    },
+    REEL_UNCOMMENT("reel.uncomment", false) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return ReelCommentServiceImpl.getInstance().deleteComment(id(operation));
+        }
+    },
+    STORY_ADD("story.add", true) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return StoryServiceImpl.getInstance().addStory(body(operation, objectMapper, Story.class));
+        }
+
+        @Override
+        List<byte[]> executeAll(final List<BatchOperation> operations, final ObjectMapper objectMapper) {
+            final List<Story> stories = new ArrayList<>(operations.size());
+
+            for (final BatchOperation operation : operations) {
+                stories.add(body(operation, objectMapper, Story.class));
+            }
+
+            return StoryServiceImpl.getInstance().addStories(stories);
+        }
+    },
+    STORY_REMOVE("story.remove", false) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return StoryServiceImpl.getInstance().removeStory(id(operation));
+        }
+    },
+    STORY_GET("story.get", false) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return StoryServiceImpl.getInstance().getStory(id(operation));
+        }
+    },
+    STORY_LIKE("story.like", false) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return StoryLikeServiceImpl.getInstance().storyLike(userId(operation), id(operation));
+        }
+    },
+    STORY_UNLIKE("story.unlike", false) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return StoryLikeServiceImpl.getInstance().storyUnlike(id(operation));
+        }
+    },
+    STORY_SHARE("story.share", false) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return StoryShareServiceImpl.getInstance().storyShare(id(operation), userId(operation));
+        }
+    },
+    STORY_UNSHARE("story.unshare", false) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return StoryShareServiceImpl.getInstance().storyUnShare(id(operation));
+        }
+    },
+    PROFILE_GET("profile.get", true) {
+        @Override
+        byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper) {
+            return UserAccountServiceImpl.getInstance().getProfile(id(operation));
+        }
+
+        @Override
+        List<byte[]> executeAll(final List<BatchOperation> operations, final ObjectMapper objectMapper) {
+            return UserAccountServiceImpl.getInstance().getProfiles(ids(operations));
+        }
+    };
+
+    private final String name;
+    private final boolean grouped;
+
+    /**
+     * <p>
+     * Constructs a BatchCommand with its operation name.
+     * </p>
+     *
+     * @param name    Refers the name of the operation in the batch request.
+     * @param grouped Refers whether the operations are executed together.
+     */
+    BatchCommand(final String name, final boolean grouped) {
+        this.name = name;
+        this.grouped = grouped;
+    }
+
+    /**
+     * <p>
+     * Retrieves the command of an operation name.
+     * </p>
+     *
+     * @param name Refers the name of the operation.
+     * @return The matching command, or null if not found.
+     */
+    public static BatchCommand getCommand(final String name) {
+        return Arrays.stream(values()).filter(command -> command.name.equalsIgnoreCase(name)).findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * <p>
+     * Executes a single operation.
+     * </p>
+     *
+     * @param operation    Refers the operation.
+     * @param objectMapper Refers the mapper reading the body of the operation.
+     * @return The response of the operation.
+     */
+    abstract byte[] execute(final BatchOperation operation, final ObjectMapper objectMapper);
+
+    /**
+     * <p>
+     * Executes several operations of this command, one by one unless the command is grouped.
+     * </p>
+     *
+     * @param operations   Refers the operations.
+     * @param objectMapper Refers the mapper reading the bodies of the operations.
+     * @return The responses, in the order of the given operations.
+     */
+    List<byte[]> executeAll(final List<BatchOperation> operations, final ObjectMapper objectMapper) {
+        final List<byte[]> results = new ArrayList<>(operations.size());
+
+        for (final BatchOperation operation : operations) {
+            results.add(execute(operation, objectMapper));
+        }
+
+        return results;
+    }
+
+    /**
+     * <p>
+     * Returns the resource an operation acts on.
+     * </p>
+     *
+     * @param operation Refers the operation.
+     * @return The kind of the resource and its ID, or null if the operation names no ID, such as
+     *         the creation of a post.
+     */
+    String getResource(final BatchOperation operation) {
+        if (Objects.isNull(operation.getId())) {
+            return null;
+        }
+
+        return String.join(":", name.substring(0, name.indexOf('.')), String.valueOf(operation.getId()));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isGrouped() {
+        return grouped;
+    }
+
+    /**
+     * <p>
+     * Returns the ID of the content of an operation.
+     * </p>
+     *
+     * @param operation Refers the operation.
+     * @return The ID of the content.
+     */
+    private static Long id(final BatchOperation operation) {
+        if (Objects.isNull(operation.getId())) {
+            throw new BatchOperationException(String.join(" ", "Id is required for", operation.getOperation()));
+        }
+
+        return operation.getId();
+    }
+
+    /**
+     * <p>
+     * Returns the IDs of the content of several operations.
+     * </p>
+     *
+     * @param operations Refers the operations.
+     * @return The IDs of the content, in the order of the operations.
+     */
+    private static List<Long> ids(final List<BatchOperation> operations) {
+        final List<Long> ids = new ArrayList<>(operations.size());
+
+        for (final BatchOperation operation : operations) {
+            ids.add(id(operation));
+        }
+
+        return ids;
+    }
+
+    /**
+     * <p>
+     * Returns the ID of the acting user of an operation.
+     * </p>
+     *
+     * @param operation Refers the operation.
+     * @return The ID of the user.
+     */
+    private static Long userId(final BatchOperation operation) {
+        if (Objects.isNull(operation.getUserId())) {
+            throw new BatchOperationException(String.join(" ", "User id is required for",
+                    operation.getOperation()));
+        }
+
+        return operation.getUserId();
+    }
+
+    /**
+     * <p>
+     * Reads the body of an operation as the model of its endpoint.
+     * </p>
+     *
+     * @param operation    Refers the operation.
+     * @param objectMapper Refers the mapper reading the body.
+     * @param type         Refers the model of the body.
+     * @param <T>          Refers the type of the model.
+     * @return The body of the operation.
+     */
+    private static <T> T body(final BatchOperation operation, final ObjectMapper objectMapper,
+                              final Class<T> type) {
+        if (Objects.isNull(operation.getBody()) || operation.getBody().isNull()) {
+            throw new BatchOperationException(String.join(" ", "Body is required for", operation.getOperation()));
+        }
+
+        try {
+            return objectMapper.treeToValue(operation.getBody(), type);
+        } catch (JsonProcessingException exception) {
+            throw new BatchOperationException(String.join(" ", "Malformed body for", operation.getOperation()));
+        }
+    }
+}
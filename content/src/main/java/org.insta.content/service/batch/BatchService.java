@@ -0,0 +1,33 @@
+package org.insta.content.service.batch;
+
+import org.insta.content.model.BatchOperation;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Service interface for executing many operations in one request.
+ * </p>
+ *
+ * <p>
+ * This interface provides a method for executing likes, shares, comments, creations and reads of
+ * posts, reels and stories sent together, returning the result of each of them.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see BatchServiceImpl
+ * @see BatchCommand
+ */
+public interface BatchService {
+
+    /**
+     * <p>
+     * Executes the operations of a batch.
+     * </p>
+     *
+     * @param operations the operations of the batch
+     * @return a byte array representing the result of each operation, in the order of the operations
+     */
+    byte[] execute(final List<BatchOperation> operations);
+}
@@ -0,0 +1,391 @@
+package org.insta.content.service.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.insta.content.model.BatchOperation;
+import org.insta.content.service.visibility.ContentVisibility;
+import org.insta.databaseconnection.deadline.Deadline;
+import org.insta.databaseconnection.deadline.DeadlineContext;
+import org.insta.databaseconnection.replica.ReadYourWrites;
+import org.insta.exception.DefaultException;
+import org.insta.wrapper.jackson.MapperObject;
+import org.insta.wrapper.jsonvalidator.JsonResponseHandler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * <p>
+ * Implementation class for executing many operations in one request.
+ * </p>
+ *
+ * <p>
+ * The operations on one resource, such as a like and an unlike of the same post, form one task which
+ * executes them in the order they were sent. The other operations are independent of each other
+ * and run in parallel: those of a grouped {@link BatchCommand} form one task, so their rows are
+ * inserted in one database batch, and every other operation is a task of its own. The tasks run
+ * with the deadline, the session user and the viewer of the request. A failing operation only fails
+ * its own result, or the results of its group.
+ * </p>
+ *
+ * <p>
+ * The response is built once every task has finished. If the request thread is interrupted, the
+ * tasks are cancelled and the results are closed first, so a task still running cannot write into
+ * the response while it is read.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see BatchCommand
+ */
+public final class BatchServiceImpl implements BatchService {
+
+    private static final Logger LOGGER = LogManager.getLogger(BatchServiceImpl.class);
+    private static final int MAX_OPERATIONS = 100;
+    private static final int PARALLELISM = 16;
+    private final ExecutorService batchExecutor;
+    private final DeadlineContext deadlineContext;
+    private final ReadYourWrites readYourWrites;
+    private final ContentVisibility contentVisibility;
+    private final JsonResponseHandler jsonResponseHandler;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * <p>
+     * Private constructor to restrict the object creation outside of the class.
+     * </p>
+     */
+    private BatchServiceImpl() {
+        batchExecutor = Executors.newFixedThreadPool(PARALLELISM, runnable -> {
+            final Thread thread = new Thread(runnable, "insta-batch");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        deadlineContext = DeadlineContext.getInstance();
+        readYourWrites = ReadYourWrites.getInstance();
+        contentVisibility = ContentVisibility.getInstance();
+        jsonResponseHandler = JsonResponseHandler.getInstance();
+        objectMapper = new MapperObject().getObjectMapper();
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of BatchServiceImpl class.
+     * </p>
+     *
+     * @return The singleton instance of BatchServiceImpl class.
+     */
+    public static BatchService getInstance() {
+        return InstanceHolder.BATCH_SERVICE;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param operations the operations of the batch
+     * @return a byte array representing the result of each operation, in the order of the operations
+     */
+    public byte[] execute(final List<BatchOperation> operations) {
+        if (Objects.isNull(operations) || operations.isEmpty()) {
+            return jsonResponseHandler.stringManualResponse("Batch is empty");
+        }
+
+        if (operations.size() > MAX_OPERATIONS) {
+            return jsonResponseHandler.stringManualResponse(String.join(" ", "Batch exceeds",
+                    String.valueOf(MAX_OPERATIONS), "operations"));
+        }
+        final Results results = new Results(operations.size());
+        final List<Task> tasks = createTasks(operations, results);
+
+        if (tasks.size() == 1) {
+            tasks.get(0).run();
+        } else {
+            runInParallel(tasks);
+        }
+
+        return createResponse(operations, results.close());
+    }
+
+    /**
+     * <p>
+     * Splits the operations into tasks, answering the unknown operations at once.
+     * </p>
+     *
+     * <p>
+     * The operations sharing a resource form one task in the order they were sent. The others are
+     * grouped by command when the command is grouped, or become a task of their own.
+     * </p>
+     *
+     * @param operations Refers the operations of the batch.
+     * @param results    Refers the results of the operations, filled by the tasks.
+     * @return The tasks of the batch.
+     */
+    private List<Task> createTasks(final List<BatchOperation> operations, final Results results) {
+        final BatchCommand[] commands = new BatchCommand[operations.size()];
+        final String[] resources = new String[operations.size()];
+        final Map<String, List<Integer>> sequences = new LinkedHashMap<>();
+        final Map<BatchCommand, List<Integer>> groups = new LinkedHashMap<>();
+        final List<Task> tasks = new ArrayList<>();
+
+        for (int index = 0; index < operations.size(); index++) {
+            final BatchOperation operation = operations.get(index);
+
+            commands[index] = Objects.isNull(operation) ? null : BatchCommand.getCommand(operation.getOperation());
+
+            if (Objects.isNull(commands[index])) {
+                results.set(index, jsonResponseHandler.stringManualResponse(String.join(" ", "Unknown operation",
+                        Objects.isNull(operation) ? "null" : String.valueOf(operation.getOperation()))));
+            } else {
+                resources[index] = commands[index].getResource(operation);
+
+                if (Objects.nonNull(resources[index])) {
+                    sequences.computeIfAbsent(resources[index], resource -> new ArrayList<>()).add(index);
+                }
+            }
+        }
+
+        for (int index = 0; index < operations.size(); index++) {
+            final List<Integer> sequence = Objects.isNull(resources[index]) ? null : sequences.get(resources[index]);
+
+            if (Objects.isNull(commands[index])) {
+                continue;
+            }
+
+            if (Objects.nonNull(sequence) && sequence.size() > 1) {
+                if (sequence.get(0) == index) {
+                    tasks.add(new Task(commands, operations, sequence, results));
+                }
+            } else if (commands[index].isGrouped()) {
+                groups.computeIfAbsent(commands[index], grouped -> new ArrayList<>()).add(index);
+            } else {
+                tasks.add(new Task(commands, operations, List.of(index), results));
+            }
+        }
+        groups.forEach((command, positions) -> tasks.add(new Task(commands, operations, positions, results)));
+
+        return tasks;
+    }
+
+    /**
+     * <p>
+     * Runs the tasks on the batch executor with the deadline, the session user and the viewer of the
+     * request, and waits for every one of them.
+     * </p>
+     *
+     * @param tasks Refers the tasks of the batch.
+     */
+    private void runInParallel(final List<Task> tasks) {
+        final Deadline deadline = deadlineContext.getDeadline();
+        final Long sessionUser = readYourWrites.getSessionUser();
+        final Long viewer = contentVisibility.getViewer();
+        final List<Future<?>> futures = new ArrayList<>(tasks.size());
+
+        for (final Task task : tasks) {
+            futures.add(batchExecutor.submit(() -> {
+                deadlineContext.join(deadline);
+                readYourWrites.setSessionUser(sessionUser);
+                contentVisibility.setViewer(viewer);
+
+                try {
+                    task.run();
+                } finally {
+                    contentVisibility.clearViewer();
+                    readYourWrites.clearSessionUser();
+                    deadlineContext.leave();
+                }
+            }));
+        }
+
+        for (final Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException exception) {
+                LOGGER.error("Batch task failed");
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                futures.forEach(pending -> pending.cancel(true));
+
+                return;
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Builds the response of the batch, one entry per operation.
+     * </p>
+     *
+     * @param operations Refers the operations of the batch.
+     * @param results    Refers the results of the operations.
+     * @return The response of the batch.
+     */
+    private byte[] createResponse(final List<BatchOperation> operations, final List<byte[]> results) {
+        final MapperObject mapperObject = new MapperObject();
+        final ArrayNode response = mapperObject.getArrayNode().getArrayNode();
+
+        for (int index = 0; index < operations.size(); index++) {
+            final ObjectNode entry = response.addObject();
+            final byte[] result = Objects.isNull(results.get(index))
+                    ? jsonResponseHandler.stringManualResponse("Operation not executed") : results.get(index);
+
+            entry.put("operation", Objects.isNull(operations.get(index)) ? null
+                    : operations.get(index).getOperation());
+            entry.set("result", mapperObject.readTree(result));
+        }
+
+        return jsonResponseHandler.objectResponse(response);
+    }
+
+    /**
+     * <p>
+     * Operations of a batch executed together.
+     * </p>
+     *
+     * <p>
+     * The operations of a grouped command are executed in one call. The operations on one resource
+     * are executed one after the other, each failing on its own.
+     * </p>
+     */
+    private final class Task implements Runnable {
+
+        private final BatchCommand[] commands;
+        private final List<BatchOperation> operations;
+        private final List<Integer> positions;
+        private final Results results;
+
+        /**
+         * @param commands   Refers the commands of the operations of the batch.
+         * @param operations Refers the operations of the batch.
+         * @param positions  Refers the positions of the operations of this task, in order.
+         * @param results    Refers the results of the batch.
+         */
+        private Task(final BatchCommand[] commands, final List<BatchOperation> operations,
+                     final List<Integer> positions, final Results results) {
+            this.commands = commands;
+            this.operations = operations;
+            this.positions = positions;
+            this.results = results;
+        }
+
+        /**
+         * <p>
+         * Executes the operations, together when they share a grouped command and in order otherwise.
+         * </p>
+         */
+        @Override
+        public void run() {
+            final BatchCommand command = commands[positions.get(0)];
+
+            if (command.isGrouped() && positions.stream().allMatch(position -> commands[position] == command)) {
+                execute(command, positions);
+            } else {
+                positions.forEach(position -> execute(commands[position], List.of(position)));
+            }
+        }
+
+        /**
+         * <p>
+         * Executes operations of one command, answering every one of them with the failure if they fail.
+         * </p>
+         *
+         * @param command       Refers the command of the operations.
+         * @param taskPositions Refers the positions of the operations.
+         */
+        private void execute(final BatchCommand command, final List<Integer> taskPositions) {
+            final List<BatchOperation> taskOperations = new ArrayList<>(taskPositions.size());
+
+            taskPositions.forEach(position -> taskOperations.add(operations.get(position)));
+
+            try {
+                final List<byte[]> taskResults = command.executeAll(taskOperations, objectMapper);
+
+                for (int index = 0; index < taskPositions.size(); index++) {
+                    results.set(taskPositions.get(index), taskResults.get(index));
+                }
+            } catch (DefaultException exception) {
+                fail(taskPositions, exception.getMessage());
+            } catch (RuntimeException exception) {
+                LOGGER.error(String.join(" ", "Batch operation", command.getName(), "failed"));
+                fail(taskPositions, String.join(" ", "Operation", command.getName(), "failed"));
+            }
+        }
+
+        /**
+         * @param taskPositions Refers the positions of the failed operations.
+         * @param message       Refers the failure of the operations.
+         */
+        private void fail(final List<Integer> taskPositions, final String message) {
+            final byte[] failure = jsonResponseHandler.stringManualResponse(message);
+
+            taskPositions.forEach(position -> results.set(position, failure));
+        }
+    }
+
+    /**
+     * <p>
+     * Results of the operations of a batch, written by the tasks until the response is built.
+     * </p>
+     */
+    private static final class Results {
+
+        private final byte[][] values;
+        private boolean closed;
+
+        /**
+         * @param size Refers the number of operations of the batch.
+         */
+        private Results(final int size) {
+            values = new byte[size][];
+        }
+
+        /**
+         * <p>
+         * Sets the result of an operation, unless the response is already built.
+         * </p>
+         *
+         * @param position Refers the position of the operation.
+         * @param result   Refers the result of the operation.
+         */
+        private synchronized void set(final int position, final byte[] result) {
+            if (!closed) {
+                values[position] = result;
+            }
+        }
+
+        /**
+         * <p>
+         * Stops accepting results and returns those written so far.
+         * </p>
+         *
+         * @return The results, null for the operations not executed.
+         */
+        private synchronized List<byte[]> close() {
+            closed = true;
+
+            return Arrays.asList(values.clone());
+        }
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final BatchService BATCH_SERVICE = new BatchServiceImpl();
+    }
+}
@@ -0,0 +1,42 @@
+package org.insta.content.service.bulkimport;
+
+import org.insta.content.model.BulkImportReport;
+
+import java.io.InputStream;
+
+/**
+ * <p>
+ * Service interface for loading large amounts of data.
+ * </p>
+ *
+ * <p>
+ * This interface provides methods for importing accounts, posts, reels, stories and likes from
+ * newline delimited JSON.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see BulkImportServiceImpl
+ */
+public interface BulkImportService {
+
+    /**
+     * <p>
+     * Imports the records of the given stream.
+     * </p>
+     *
+     * @param inputStream Refers the newline delimited JSON records.
+     * @return The report of the import.
+     */
+    BulkImportReport importRecords(final InputStream inputStream);
+
+    /**
+     * <p>
+     * Imports the records of the given stream.
+     * </p>
+     *
+     * @param inputStream Refers the newline delimited JSON records.
+     * @return a byte array representing the report of the import
+     */
+    byte[] importContent(final InputStream inputStream);
+}
@@ -0,0 +1,184 @@
+package org.insta.content.service.bulkimport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.insta.content.exception.bulkimport.BulkImportFailedException;
+import org.insta.content.model.BulkImportReport;
+import org.insta.databaseconnection.bulk.BulkCopyWriter;
+import org.insta.databaseconnection.idgenerator.IdGenerator;
+import org.insta.wrapper.jackson.MapperObject;
+import org.insta.wrapper.jsonvalidator.JsonResponseHandler;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Implementation class for loading large amounts of data with PostgreSQL COPY.
+ * </p>
+ *
+ * <p>
+ * Records are read one line at a time and handed to a {@link BulkCopyWriter}, which copies every
+ * table of every shard on its own stream. Only one line and the bounded queues of the streams are
+ * held in memory, whatever the size of the input.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see BulkTable
+ * @see BulkCopyWriter
+ */
+public final class BulkImportServiceImpl implements BulkImportService {
+
+    private static final Logger LOGGER = LogManager.getLogger(BulkImportServiceImpl.class);
+    private static final int QUEUE_CAPACITY = 8192;
+    private static final long PROGRESS_INTERVAL = 100_000;
+    private final IdGenerator idGenerator;
+    private final ObjectMapper objectMapper;
+    private final JsonResponseHandler jsonResponseHandler;
+
+    /**
+     * <p>
+     * Private constructor to restrict the object creation outside of the class.
+     * </p>
+     */
+    private BulkImportServiceImpl() {
+        idGenerator = IdGenerator.getInstance();
+        objectMapper = new MapperObject().getObjectMapper();
+        jsonResponseHandler = JsonResponseHandler.getInstance();
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of BulkImportServiceImpl class.
+     * </p>
+     *
+     * @return The singleton instance of BulkImportServiceImpl class.
+     */
+    public static BulkImportService getInstance() {
+        return InstanceHolder.BULK_IMPORT_SERVICE;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param inputStream Refers the newline delimited JSON records.
+     * @return The report of the import.
+     */
+    public BulkImportReport importRecords(final InputStream inputStream) {
+        final BulkCopyWriter bulkCopyWriter = new BulkCopyWriter(QUEUE_CAPACITY);
+        final long start = System.nanoTime();
+        long lineNumber = 0;
+
+        try (final BufferedReader reader = new BufferedReader(
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line;
+
+            while (Objects.nonNull(line = reader.readLine())) {
+                lineNumber++;
+
+                if (line.isBlank()) {
+                    continue;
+                }
+                final JsonNode record = objectMapper.readTree(line);
+                final BulkTable table = BulkTable.getTable(record.path("type").asText());
+
+                if (Objects.isNull(table)) {
+                    throw new BulkImportFailedException(String.join(" ", "Unknown record type at line",
+                            String.valueOf(lineNumber)));
+                }
+                final long id = table.getId(record, idGenerator);
+
+                bulkCopyWriter.write(table.getTable(), table.getColumns(), id, table.toRow(id, record));
+
+                if (lineNumber % PROGRESS_INTERVAL == 0) {
+                    LOGGER.info(String.join(" ", "Bulk import read", String.valueOf(lineNumber), "lines at",
+                            String.valueOf(rowsPerSecond(lineNumber, System.nanoTime() - start)), "rows per second"));
+                }
+            }
+
+            return createReport(bulkCopyWriter.finish(), System.nanoTime() - start);
+        } catch (JsonProcessingException exception) {
+            bulkCopyWriter.abort();
+            LOGGER.error("Bulk import failed, malformed record");
+            throw new BulkImportFailedException(String.join(" ", "Malformed record at line",
+                    String.valueOf(lineNumber)));
+        } catch (IOException exception) {
+            bulkCopyWriter.abort();
+            LOGGER.error("Bulk import failed, input not readable");
+            throw new BulkImportFailedException("Bulk import input not readable");
+        } catch (RuntimeException exception) {
+            bulkCopyWriter.abort();
+            LOGGER.error("Bulk import failed");
+            throw exception;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param inputStream Refers the newline delimited JSON records.
+     * @return a byte array representing the report of the import
+     */
+    public byte[] importContent(final InputStream inputStream) {
+        try {
+            return jsonResponseHandler.objectResponse(importRecords(inputStream));
+        } catch (BulkImportFailedException exception) {
+            return jsonResponseHandler.stringManualResponse(exception.getMessage());
+        }
+    }
+
+    /**
+     * <p>
+     * Builds the report of a completed import.
+     * </p>
+     *
+     * @param rows         Refers the number of rows copied per table.
+     * @param elapsedNanos Refers the duration of the import.
+     * @return The report of the import.
+     */
+    private BulkImportReport createReport(final Map<String, Long> rows, final long elapsedNanos) {
+        final BulkImportReport report = new BulkImportReport();
+        final long totalRows = rows.values().stream().mapToLong(Long::longValue).sum();
+
+        report.setRows(rows);
+        report.setTotalRows(totalRows);
+        report.setElapsedMillis(elapsedNanos / 1_000_000);
+        report.setRowsPerSecond(rowsPerSecond(totalRows, elapsedNanos));
+        LOGGER.info(String.join(" ", "Bulk import copied", String.valueOf(totalRows), "rows at",
+                String.valueOf(report.getRowsPerSecond()), "rows per second"));
+
+        return report;
+    }
+
+    /**
+     * <p>
+     * Computes the throughput of the import.
+     * </p>
+     *
+     * @param rows         Refers the number of rows.
+     * @param elapsedNanos Refers the elapsed time.
+     * @return The number of rows per second.
+     */
+    private long rowsPerSecond(final long rows, final long elapsedNanos) {
+        return elapsedNanos > 0 ? rows * 1_000_000_000L / elapsedNanos : rows;
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final BulkImportService BULK_IMPORT_SERVICE = new BulkImportServiceImpl();
+    }
+}
@@ -0,0 +1,226 @@
+package org.insta.content.service.bulkimport;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.insta.content.exception.bulkimport.BulkImportFailedException;
+import org.insta.content.model.Media;
+import org.insta.databaseconnection.bulk.CsvRow;
+import org.insta.databaseconnection.idgenerator.IdGenerator;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Tables which can be loaded by the bulk import.
+ * </p>
+ *
+ * <p>
+ * Each record of the import names its table in the {@code type} field and uses the same field names
+ * as the JSON accepted by the REST API. A record without an {@code id} gets one from
+ * {@link IdGenerator}, placed on the shard of its owner so it is copied to the same shard.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+public enum BulkTable {
+
+    ACCOUNT("account", "account", "id, name, mobile, email, password", null) {
+        @Override
+        void addColumns(final CsvRow row, final JsonNode record) {
+            row.add(text(record, "name")).add(text(record, "mobileNumber")).add(text(record, "email"))
+                    .add(text(record, "password"));
+        }
+    },
+    POST("post", "post", "id, user_id, caption, is_private, type", "userId") {
+        @Override
+        void addColumns(final CsvRow row, final JsonNode record) {
+            row.add(requiredLong(record, "userId")).add(text(record, "caption"))
+                    .add(record.path("private").asBoolean()).add(media(record, "type"));
+        }
+    },
+    REEL("reel", "reels", "id, user_id, caption, duration", "userId") {
+        @Override
+        void addColumns(final CsvRow row, final JsonNode record) {
+            row.add(requiredLong(record, "userId")).add(text(record, "caption")).add(text(record, "duration"));
+        }
+    },
+    STORY("story", "story", "id, user_id, caption, is_private, music, media", "userId") {
+        @Override
+        void addColumns(final CsvRow row, final JsonNode record) {
+            row.add(requiredLong(record, "userId")).add(text(record, "text"))
+                    .add(record.path("private").asBoolean()).add(text(record, "music")).add(media(record, "media"));
+        }
+    },
+    POST_LIKE("post_like", "post_like", "id, post_id, liked_by", "postId") {
+        @Override
+        void addColumns(final CsvRow row, final JsonNode record) {
+            row.add(requiredLong(record, "postId")).add(requiredLong(record, "userId"));
+        }
+    },
+    REEL_LIKE("reel_like", "reel_like", "id, reel_id, liked_by", "reelId") {
+        @Override
+        void addColumns(final CsvRow row, final JsonNode record) {
+            row.add(requiredLong(record, "reelId")).add(requiredLong(record, "userId"));
+        }
+    },
+    STORY_LIKE("story_like", "story_like", "id, story_id, liked_by", "storyId") {
+        @Override
+        void addColumns(final CsvRow row, final JsonNode record) {
+            row.add(requiredLong(record, "storyId")).add(requiredLong(record, "userId"));
+        }
+    };
+
+    private final String type;
+    private final String table;
+    private final String columns;
+    private final String ownerField;
+
+    /**
+     * <p>
+     * Constructs a BulkTable enum with the specified record type and target table.
+     * </p>
+     *
+     * @param type       Refers the value of the {@code type} field of a record.
+     * @param table      Refers the name of the table.
+     * @param columns    Refers the columns copied, in the order of the row.
+     * @param ownerField Refers the field holding the id of the owner, null for accounts.
+     */
+    BulkTable(final String type, final String table, final String columns, final String ownerField) {
+        this.type = type;
+        this.table = table;
+        this.columns = columns;
+        this.ownerField = ownerField;
+    }
+
+    /**
+     * <p>
+     * Retrieves the BulkTable corresponding to the given record type.
+     * </p>
+     *
+     * @param type Refers the value of the {@code type} field of a record.
+     * @return The matching table, or null if not found.
+     */
+    public static BulkTable getTable(final String type) {
+        return Arrays.stream(values()).filter(table -> table.type.equalsIgnoreCase(type)).findFirst().orElse(null);
+    }
+
+    /**
+     * <p>
+     * Assigns the id of the record, generating it on the shard of the owner when missing.
+     * </p>
+     *
+     * <p>
+     * A given id must carry the shard bits of the owner, since the record is copied to the shard of
+     * its id and would otherwise be stored apart from its owner, out of reach of every read.
+     * </p>
+     *
+     * @param record      Refers the record.
+     * @param idGenerator Refers the generator of ids.
+     * @return The id of the record.
+     */
+    public long getId(final JsonNode record, final IdGenerator idGenerator) {
+        if (!record.hasNonNull("id")) {
+            return Objects.isNull(ownerField) ? idGenerator.nextId()
+                    : idGenerator.nextIdFor(requiredLong(record, ownerField));
+        }
+        final long id = record.get("id").asLong();
+
+        if (Objects.nonNull(ownerField)
+                && IdGenerator.getShardId(id) != IdGenerator.getShardId(requiredLong(record, ownerField))) {
+            throw new BulkImportFailedException(String.join(" ", "Id", String.valueOf(id),
+                    "is not on the shard of its", ownerField));
+        }
+
+        return id;
+    }
+
+    /**
+     * <p>
+     * Builds the CSV row of the record.
+     * </p>
+     *
+     * @param id     Refers the id of the record.
+     * @param record Refers the record.
+     * @return The encoded row.
+     */
+    public byte[] toRow(final long id, final JsonNode record) {
+        final CsvRow row = new CsvRow().add(id);
+
+        addColumns(row, record);
+
+        return row.toBytes();
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getColumns() {
+        return columns;
+    }
+
+    /**
+     * <p>
+     * Appends every column except the id.
+     * </p>
+     *
+     * @param row    Refers the row being built.
+     * @param record Refers the record.
+     */
+    abstract void addColumns(final CsvRow row, final JsonNode record);
+
+    /**
+     * <p>
+     * Reads a text field, null if absent.
+     * </p>
+     *
+     * @param record Refers the record.
+     * @param field  Refers the name of the field.
+     * @return The text of the field.
+     */
+    private static String text(final JsonNode record, final String field) {
+        return record.hasNonNull(field) ? record.get(field).asText() : null;
+    }
+
+    /**
+     * <p>
+     * Reads a mandatory numeric field.
+     * </p>
+     *
+     * @param record Refers the record.
+     * @param field  Refers the name of the field.
+     * @return The value of the field.
+     * @throws BulkImportFailedException If the field is missing.
+     */
+    private static long requiredLong(final JsonNode record, final String field) {
+        if (!record.hasNonNull(field)) {
+            throw new BulkImportFailedException(String.join(" ", "Missing field", field));
+        }
+
+        return record.get(field).asLong();
+    }
+
+    /**
+     * <p>
+     * Reads a media field given either as its id or as its name.
+     * </p>
+     *
+     * @param record Refers the record.
+     * @param field  Refers the name of the field.
+     * @return The id of the media, null if absent.
+     * @throws BulkImportFailedException If the media is unknown.
+     */
+    private static Integer media(final JsonNode record, final String field) {
+        if (!record.hasNonNull(field)) {
+            return null;
+        }
+        final JsonNode value = record.get(field);
+
+        try {
+            return value.isNumber() ? value.asInt() : Media.valueOf(value.asText().toUpperCase()).getId();
+        } catch (IllegalArgumentException exception) {
+            throw new BulkImportFailedException(String.join(" ", "Unknown media", value.asText()));
+        }
+    }
+}
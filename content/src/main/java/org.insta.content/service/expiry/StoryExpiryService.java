@@ -0,0 +1,49 @@
+package org.insta.content.service.expiry;
+
+/**
+ * <p>
+ * Service interface for the expiry of stories.
+ * </p>
+ *
+ * <p>
+ * This interface provides methods for scheduling a story to be evicted from the caches once its
+ * lifetime is over, for cancelling the expiry of a story removed earlier and for rebuilding the
+ * pending expiries from the database.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0, 6 Feb 2024
+ * @see StoryExpiryServiceImpl
+ */
+public interface StoryExpiryService {
+
+    /**
+     * <p>
+     * Schedules the eviction of a story at the end of its lifetime, counted from its creation.
+     * </p>
+     *
+     * @param storyId the ID of the story
+     */
+    void schedule(final Long storyId);
+
+    /**
+     * <p>
+     * Cancels the scheduled eviction of a story.
+     * </p>
+     *
+     * @param storyId the ID of the story
+     */
+    void cancel(final Long storyId);
+
+    /**
+     * <p>
+     * Schedules the eviction of every live story.
+     * </p>
+     */
+    void recover();
+
+    /**
+     * @return the number of stories waiting for their eviction
+     */
+    int getPending();
+}
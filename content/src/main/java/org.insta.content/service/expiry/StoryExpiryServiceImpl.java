@@ -0,0 +1,237 @@
+package org.insta.content.service.expiry;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.insta.content.dao.story.StoryPartitionDAO;
+import org.insta.content.dao.story.StoryPartitionDAOImpl;
+import org.insta.content.dao.story.StoryServiceDAO;
+import org.insta.content.dao.story.StoryServiceDAOImpl;
+import org.insta.content.sqlinjector.story.StorySqlInjector;
+import org.insta.databaseconnection.idgenerator.IdGenerator;
+import org.insta.wrapper.etag.EntityTagCache;
+import org.insta.wrapper.responsecache.ResponseCache;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Implementation class for the expiry of stories.
+ * </p>
+ *
+ * <p>
+ * Every story expires {@link StorySqlInjector#STORY_LIFETIME_MILLIS} after its creation, read from
+ * the timestamp its id carries. The story reads are bounded by the first live id, so the database
+ * stops returning a story the moment it expires; what is left to do on time is dropping it from the
+ * response and entity tag caches. The pending expiries are timers of a {@link TimingWheel} with a
+ * tick of a second, so scheduling and cancelling cost the same for millions of stories as for one.
+ * The expiry thread advances the wheel every tick and evicts the due stories.
+ * </p>
+ *
+ * <p>
+ * The rows are not deleted one by one. The story tables are partitioned by day, and every
+ * {@link #PARTITION_INTERVAL_MINUTES} minutes the expiry thread creates the partitions of the next
+ * {@link #PARTITION_DAYS_AHEAD} days and drops the partitions whose stories have all expired, with
+ * their likes and shares, starting as soon as the service starts so the partitions exist before the
+ * first insert. A failed run is tried again on the next interval.
+ * </p>
+ *
+ * <p>
+ * The wheel lives in memory only. It is rebuilt from the ids of the live stories when the service
+ * starts, and again every {@link #RECOVERY_INTERVAL_MINUTES} minutes to pick up the stories written
+ * around the service, such as bulk imports. A failed recovery is tried again
+ * {@link #RETRY_DELAY_MILLIS} milliseconds later.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0, 6 Feb 2024
+ * @see StoryExpiryService
+ * @see TimingWheel
+ */
+public final class StoryExpiryServiceImpl implements StoryExpiryService {
+
+    private static final Logger LOGGER = LogManager.getLogger(StoryExpiryServiceImpl.class);
+    private static final long LIFETIME_MILLIS = StorySqlInjector.STORY_LIFETIME_MILLIS;
+    private static final long TICK_MILLIS = 1000;
+    private static final int BATCH_SIZE = 500;
+    private static final long RETRY_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final long RECOVERY_INTERVAL_MINUTES = 60;
+    private static final long PARTITION_INTERVAL_MINUTES = 60;
+    private static final int PARTITION_DAYS_AHEAD = 7;
+    private final TimingWheel timingWheel;
+    private final StoryServiceDAO storyServiceDAO;
+    private final StoryPartitionDAO storyPartitionDAO;
+    private final ResponseCache responseCache;
+    private final EntityTagCache entityTagCache;
+    private final ScheduledExecutorService expiryExecutor;
+    private long nextRecoveryMillis;
+
+    /**
+     * <p>
+     * Private constructor to restrict the object creation outside of the class.
+     * </p>
+     */
+    private StoryExpiryServiceImpl() {
+        timingWheel = new TimingWheel(TICK_MILLIS, System.currentTimeMillis());
+        storyServiceDAO = StoryServiceDAOImpl.getInstance();
+        storyPartitionDAO = StoryPartitionDAOImpl.getInstance();
+        responseCache = ResponseCache.getInstance();
+        entityTagCache = EntityTagCache.getInstance();
+        expiryExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "insta-story-expiry");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        expiryExecutor.scheduleWithFixedDelay(this::maintainPartitionsQuietly, 0, PARTITION_INTERVAL_MINUTES,
+                TimeUnit.MINUTES);
+        expiryExecutor.scheduleWithFixedDelay(this::recoverQuietly, 0, RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        expiryExecutor.scheduleWithFixedDelay(this::expireQuietly, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of StoryExpiryServiceImpl class.
+     * </p>
+     *
+     * @return The singleton instance of StoryExpiryServiceImpl class.
+     */
+    public static StoryExpiryService getInstance() {
+        return InstanceHolder.STORY_EXPIRY_SERVICE;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param storyId Refers the ID of the story.
+     */
+    public void schedule(final Long storyId) {
+        synchronized (timingWheel) {
+            timingWheel.schedule(storyId, IdGenerator.getTimestamp(storyId) + LIFETIME_MILLIS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param storyId Refers the ID of the story.
+     */
+    public void cancel(final Long storyId) {
+        synchronized (timingWheel) {
+            timingWheel.cancel(storyId);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The ids are scheduled {@link #BATCH_SIZE} at a time, so the stories written meanwhile are not
+     * held up for the whole recovery.
+     * </p>
+     */
+    public void recover() {
+        final long[] storyIds = storyServiceDAO.getStoryIds();
+
+        for (int start = 0; start < storyIds.length; start += BATCH_SIZE) {
+            synchronized (timingWheel) {
+                for (int index = start; index < Math.min(start + BATCH_SIZE, storyIds.length); index++) {
+                    timingWheel.schedule(storyIds[index], IdGenerator.getTimestamp(storyIds[index]) + LIFETIME_MILLIS);
+                }
+            }
+        }
+        LOGGER.info(String.join(" ", "Story expiry recovered", String.valueOf(storyIds.length), "stories"));
+    }
+
+    /**
+     * @return the number of stories waiting for their eviction
+     */
+    public int getPending() {
+        synchronized (timingWheel) {
+            return timingWheel.size();
+        }
+    }
+
+    /**
+     * <p>
+     * Evicts the stories falling due up to now from the caches, one batch at a time.
+     * </p>
+     */
+    private void expire() {
+        while (true) {
+            final long[] due;
+
+            synchronized (timingWheel) {
+                due = timingWheel.advance(System.currentTimeMillis(), BATCH_SIZE);
+            }
+
+            if (due.length == 0) {
+                return;
+            }
+
+            for (final long storyId : due) {
+                responseCache.invalidate("story", storyId);
+                entityTagCache.invalidate("story", storyId);
+            }
+        }
+    }
+
+    private void expireQuietly() {
+        try {
+            expire();
+        } catch (RuntimeException exception) {
+            LOGGER.error("Story expiry failed");
+        }
+    }
+
+    /**
+     * <p>
+     * Creates the partitions of the coming days and drops the partitions of the expired stories.
+     * </p>
+     */
+    private void maintainPartitionsQuietly() {
+        try {
+            final int created = storyPartitionDAO.createPartitions(LocalDate.now(ZoneOffset.UTC),
+                    PARTITION_DAYS_AHEAD);
+            final int dropped = storyPartitionDAO.dropPartitions(StorySqlInjector.getFirstLiveId(
+                    System.currentTimeMillis()));
+
+            LOGGER.info(String.join(" ", "Story partitions created", String.valueOf(created), "dropped",
+                    String.valueOf(dropped)));
+        } catch (RuntimeException exception) {
+            LOGGER.error("Story partition maintenance failed");
+        }
+    }
+
+    /**
+     * <p>
+     * Recovers the pending expiries once the recovery interval is over, or the last recovery failed.
+     * </p>
+     */
+    private void recoverQuietly() {
+        if (System.currentTimeMillis() < nextRecoveryMillis) {
+            return;
+        }
+
+        try {
+            recover();
+            nextRecoveryMillis = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(RECOVERY_INTERVAL_MINUTES);
+        } catch (RuntimeException exception) {
+            LOGGER.error("Story expiry recovery failed");
+        }
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final StoryExpiryService STORY_EXPIRY_SERVICE = new StoryExpiryServiceImpl();
+    }
+}
@@ -0,0 +1,345 @@
+package org.insta.content.service.expiry;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Hierarchical timing wheel of deadlines keyed by id, with constant time schedule and cancel.
+ * </p>
+ *
+ * <p>
+ * Time is counted in ticks. The wheel has {@link #LEVELS} levels of {@link #SLOTS} slots each, a slot
+ * of a level spanning as many ticks as the whole level below it. A timer is put on the lowest level
+ * whose span covers its deadline, in the slot its deadline falls in. When the clock enters the span
+ * of a slot of an upper level, the timers of the slot are put again on the level their remaining
+ * time calls for, so every timer reaches the lowest level before it is due and is found there when
+ * the clock reaches its tick. A timer is touched once per level at most, whatever its delay.
+ * </p>
+ *
+ * <p>
+ * The timers are stored in primitive arrays rather than as objects: every timer is a row of the key,
+ * deadline and slot arrays, linked to the other timers of its slot through the next and previous
+ * arrays, and freed rows are reused. The rows are found by key through an open addressing hash
+ * table, so each of millions of pending timers takes well under a hundred bytes. Key zero marks a
+ * free slot of the table and is never scheduled.
+ * </p>
+ *
+ * <p>
+ * The wheel is not thread safe; {@link StoryExpiryServiceImpl} guards it with its own lock.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see StoryExpiryServiceImpl
+ */
+final class TimingWheel {
+
+    private static final int SLOT_BITS = 8;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 4;
+    private static final int NONE = -1;
+    private final long tickMillis;
+    private final int[] heads;
+    private long[] keys;
+    private long[] deadlines;
+    private int[] buckets;
+    private int[] next;
+    private int[] previous;
+    private long[] tableKeys;
+    private int[] tableRows;
+    private int freeRow;
+    private int rowCount;
+    private int size;
+    private long currentTick;
+
+    /**
+     * @param tickMillis Refers the milliseconds of a tick.
+     * @param nowMillis  Refers the current time in milliseconds.
+     */
+    TimingWheel(final long tickMillis, final long nowMillis) {
+        this.tickMillis = tickMillis;
+        heads = new int[LEVELS * SLOTS];
+        keys = new long[1024];
+        deadlines = new long[keys.length];
+        buckets = new int[keys.length];
+        next = new int[keys.length];
+        previous = new int[keys.length];
+        tableKeys = new long[keys.length * 2];
+        tableRows = new int[tableKeys.length];
+        freeRow = NONE;
+        currentTick = nowMillis / tickMillis;
+        Arrays.fill(heads, NONE);
+    }
+
+    /**
+     * <p>
+     * Schedules a timer, replacing the timer already scheduled for the key.
+     * </p>
+     *
+     * @param key            Refers the key of the timer, never zero.
+     * @param deadlineMillis Refers the time the timer is due at, in milliseconds.
+     */
+    void schedule(final long key, final long deadlineMillis) {
+        cancel(key);
+        final int row = allocate();
+
+        keys[row] = key;
+        deadlines[row] = (deadlineMillis + tickMillis - 1) / tickMillis;
+        put(key, row);
+        place(row, currentTick + 1);
+        size++;
+    }
+
+    /**
+     * <p>
+     * Cancels the timer of a key.
+     * </p>
+     *
+     * @param key Refers the key of the timer.
+     * @return True if a timer was pending for the key.
+     */
+    boolean cancel(final long key) {
+        final int row = remove(key);
+
+        if (row == NONE) {
+            return false;
+        }
+        unlink(row);
+        release(row);
+        size--;
+
+        return true;
+    }
+
+    /**
+     * <p>
+     * Moves the clock towards the given time and collects the keys of the timers falling due, stopping
+     * at the first tick after which the given number of keys is reached.
+     * </p>
+     *
+     * @param nowMillis Refers the current time in milliseconds.
+     * @param limit     Refers the number of keys after which the clock stops.
+     * @return The keys of the due timers, which are no longer pending.
+     */
+    long[] advance(final long nowMillis, final int limit) {
+        final long targetTick = nowMillis / tickMillis;
+        long[] due = new long[16];
+        int count = 0;
+
+        while (currentTick < targetTick && count < limit) {
+            currentTick++;
+
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level * SLOTS + (int) ((currentTick >>> (SLOT_BITS * level)) & (SLOTS - 1)));
+                }
+            }
+            final int bucket = (int) (currentTick & (SLOTS - 1));
+
+            for (int row = heads[bucket]; row != NONE; row = heads[bucket]) {
+                if (count == due.length) {
+                    due = Arrays.copyOf(due, count * 2);
+                }
+                due[count++] = keys[row];
+                remove(keys[row]);
+                unlink(row);
+                release(row);
+                size--;
+            }
+        }
+
+        return Arrays.copyOf(due, count);
+    }
+
+    /**
+     * @return the number of pending timers
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * <p>
+     * Puts the timers of an upper level slot again on the level their remaining time calls for.
+     * </p>
+     *
+     * @param bucket Refers the index of the slot.
+     */
+    private void cascade(final int bucket) {
+        int row = heads[bucket];
+
+        heads[bucket] = NONE;
+
+        while (row != NONE) {
+            final int following = next[row];
+
+            place(row, currentTick);
+            row = following;
+        }
+    }
+
+    /**
+     * <p>
+     * Links a timer into the slot its deadline falls in. A timer due earlier is put in the slot of
+     * the earliest tick still to be processed.
+     * </p>
+     *
+     * @param row      Refers the row of the timer.
+     * @param earliest Refers the earliest tick whose slot is still to be processed.
+     */
+    private void place(final int row, final long earliest) {
+        final long tick = Math.max(deadlines[row], earliest);
+        final long delay = tick - currentTick;
+        int level = 0;
+
+        while (level < LEVELS - 1 && delay >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        final int bucket = level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+
+        buckets[row] = bucket;
+        previous[row] = NONE;
+        next[row] = heads[bucket];
+
+        if (heads[bucket] != NONE) {
+            previous[heads[bucket]] = row;
+        }
+        heads[bucket] = row;
+    }
+
+    /**
+     * @param row Refers the row of the timer to be taken out of its slot.
+     */
+    private void unlink(final int row) {
+        if (previous[row] == NONE) {
+            heads[buckets[row]] = next[row];
+        } else {
+            next[previous[row]] = next[row];
+        }
+
+        if (next[row] != NONE) {
+            previous[next[row]] = previous[row];
+        }
+    }
+
+    /**
+     * @return A free row, growing the arrays when none is left.
+     */
+    private int allocate() {
+        if (freeRow != NONE) {
+            final int row = freeRow;
+
+            freeRow = next[row];
+
+            return row;
+        }
+
+        if (rowCount == keys.length) {
+            final int capacity = keys.length * 2;
+
+            keys = Arrays.copyOf(keys, capacity);
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            buckets = Arrays.copyOf(buckets, capacity);
+            next = Arrays.copyOf(next, capacity);
+            previous = Arrays.copyOf(previous, capacity);
+        }
+
+        return rowCount++;
+    }
+
+    /**
+     * @param row Refers the row to be reused by a later timer.
+     */
+    private void release(final int row) {
+        keys[row] = 0;
+        next[row] = freeRow;
+        freeRow = row;
+    }
+
+    /**
+     * @param key Refers the key of the timer.
+     * @param row Refers the row of the timer.
+     */
+    private void put(final long key, final int row) {
+        if ((size + 1) * 2 > tableKeys.length) {
+            rehash(tableKeys.length * 2);
+        }
+        int slot = slot(key);
+
+        while (tableKeys[slot] != 0) {
+            slot = (slot + 1) & (tableKeys.length - 1);
+        }
+        tableKeys[slot] = key;
+        tableRows[slot] = row;
+    }
+
+    /**
+     * <p>
+     * Removes a key from the table, shifting back the keys probed past it so no probe sequence breaks.
+     * </p>
+     *
+     * @param key Refers the key of the timer.
+     * @return The row of the timer, or -1 if the key is not pending.
+     */
+    private int remove(final long key) {
+        final int mask = tableKeys.length - 1;
+        int slot = slot(key);
+
+        while (tableKeys[slot] != key) {
+            if (tableKeys[slot] == 0) {
+                return NONE;
+            }
+            slot = (slot + 1) & mask;
+        }
+        final int row = tableRows[slot];
+        int gap = slot;
+        int probe = (slot + 1) & mask;
+
+        while (tableKeys[probe] != 0) {
+            final int home = slot(tableKeys[probe]);
+
+            if (((probe - home) & mask) >= ((probe - gap) & mask)) {
+                tableKeys[gap] = tableKeys[probe];
+                tableRows[gap] = tableRows[probe];
+                gap = probe;
+            }
+            probe = (probe + 1) & mask;
+        }
+        tableKeys[gap] = 0;
+
+        return row;
+    }
+
+    /**
+     * @param capacity Refers the new number of slots of the table.
+     */
+    private void rehash(final int capacity) {
+        final long[] oldKeys = tableKeys;
+        final int[] oldRows = tableRows;
+
+        tableKeys = new long[capacity];
+        tableRows = new int[capacity];
+
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != 0) {
+                int target = slot(oldKeys[slot]);
+
+                while (tableKeys[target] != 0) {
+                    target = (target + 1) & (capacity - 1);
+                }
+                tableKeys[target] = oldKeys[slot];
+                tableRows[target] = oldRows[slot];
+            }
+        }
+    }
+
+    /**
+     * @param key Refers the key of the timer.
+     * @return The first slot of the table probed for the key.
+     */
+    private int slot(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+
+        return (int) (hash ^ (hash >>> 32)) & (tableKeys.length - 1);
+    }
+}
@@ -3,6 +3,8 @@ package org.insta.content.service.post;
 import org.insta.content.dao.post.PostServiceDAO;
 import org.insta.content.model.Post;
 
+import java.util.List;
+
 /**
  * <p>
  * Service interface for managing post operations.
@@ -28,6 +30,16 @@ public interface PostService {
      */
     byte[] addPost(final Post post);
 
+    /**
+     * <p>
+     * Adds several posts in a single database batch.
+     * </p>
+     *
+     * @param posts the posts to be added
+     * @return the result of each addition, in the order of the given posts
+     */
+    List<byte[]> addPosts(final List<Post> posts);
+
     /**
      * <p>
      * Removes a post with the specified ID.
@@ -48,5 +60,15 @@ public interface PostService {
      */
     byte[] getPost(final Long id);
 
+    /**
+     * <p>
+     * Retrieves several posts, reading the ones not cached together.
+     * </p>
+     *
+     * @param ids the IDs of the posts to be retrieved
+     * @return the retrieved posts, in the order of the given IDs
+     */
+    List<byte[]> getPosts(final List<Long> ids);
+
     void setReplacer(final PostServiceDAO postServiceDAO);
 }
@@ -4,9 +4,27 @@ import org.insta.content.dao.post.PostServiceDAO;
 import org.insta.content.dao.post.PostServiceDAOImpl;
 import org.insta.content.groups.PostValidator;
 import org.insta.content.model.Post;
+import org.insta.content.service.timeline.TimelineService;
+import org.insta.content.service.timeline.TimelineServiceImpl;
+import org.insta.content.service.visibility.ContentVisibility;
+import org.insta.databaseconnection.deadline.Deadline;
+import org.insta.databaseconnection.deadline.DeadlineContext;
+import org.insta.databaseconnection.replica.ReadYourWrites;
+import org.insta.wrapper.dataloader.DataLoader;
+import org.insta.wrapper.dataloader.DataLoaderContext;
+import org.insta.wrapper.etag.EntityTagCache;
+import org.insta.wrapper.exception.SingleFlightTimeoutException;
 import org.insta.wrapper.jsonvalidator.JsonResponseHandler;
+import org.insta.wrapper.responsecache.ResponseCache;
+import org.insta.wrapper.singleflight.SingleFlight;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * <p>
@@ -19,6 +37,14 @@ import java.util.Optional;
 public final class PostServiceImpl implements PostService {
 
     private final JsonResponseHandler jsonResponseHandler;
+    private final SingleFlight<Long, Post> postFlight;
+    private final EntityTagCache entityTagCache;
+    private final ResponseCache responseCache;
+    private final DataLoaderContext dataLoaderContext;
+    private final TimelineService timelineService;
+    private final ContentVisibility contentVisibility;
+    private final ReadYourWrites readYourWrites;
+    private final DeadlineContext deadlineContext;
     private PostServiceDAO postServiceDAO;
 
 
@@ -30,6 +56,14 @@ public final class PostServiceImpl implements PostService {
     private PostServiceImpl() {
         postServiceDAO = PostServiceDAOImpl.getInstance();
         jsonResponseHandler = JsonResponseHandler.getInstance();
+        postFlight = new SingleFlight<>("post.get");
+        entityTagCache = EntityTagCache.getInstance();
+        responseCache = ResponseCache.getInstance();
+        dataLoaderContext = DataLoaderContext.getInstance();
+        timelineService = TimelineServiceImpl.getInstance();
+        contentVisibility = ContentVisibility.getInstance();
+        readYourWrites = ReadYourWrites.getInstance();
+        deadlineContext = DeadlineContext.getInstance();
     }
 
     /**
@@ -53,8 +87,53 @@ public final class PostServiceImpl implements PostService {
     public byte[] addPost(final Post post) {
         final byte[] violations = jsonResponseHandler.validate(post, PostValidator.class);
 
-        return violations.length > 0 ? violations
-                : jsonResponseHandler.responseWithID(postServiceDAO.addPost(post), violations);
+        if (violations.length > 0) {
+            return violations;
+        }
+        final Optional<Long> id = postServiceDAO.addPost(post);
+
+        id.ifPresent(postId -> timelineService.publishPost(post.getUserId(), postId));
+
+        return jsonResponseHandler.responseWithID(id, violations);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The posts failing validation get their violations, the others are inserted together.
+     * </p>
+     *
+     * @param posts the posts to be added
+     * @return the result of each addition, in the order of the given posts
+     */
+    public List<byte[]> addPosts(final List<Post> posts) {
+        final List<byte[]> results = new ArrayList<>(Collections.nCopies(posts.size(), (byte[]) null));
+        final List<Post> validPosts = new ArrayList<>(posts.size());
+        final List<Integer> positions = new ArrayList<>(posts.size());
+
+        for (int index = 0; index < posts.size(); index++) {
+            final byte[] violations = jsonResponseHandler.validate(posts.get(index), PostValidator.class);
+
+            if (violations.length > 0) {
+                results.set(index, violations);
+            } else {
+                validPosts.add(posts.get(index));
+                positions.add(index);
+            }
+        }
+
+        if (!validPosts.isEmpty()) {
+            final List<Long> ids = postServiceDAO.addPosts(validPosts);
+
+            for (int index = 0; index < ids.size(); index++) {
+                timelineService.publishPost(validPosts.get(index).getUserId(), ids.get(index));
+                results.set(positions.get(index), jsonResponseHandler.responseWithID(Optional.of(ids.get(index)),
+                        new byte[]{}));
+            }
+        }
+
+        return results;
     }
 
     /**
@@ -64,26 +143,125 @@ public final class PostServiceImpl implements PostService {
      * @return a byte array representing the result of the operation
      */
     public byte[] removePost(final Long postId) {
-        return jsonResponseHandler.responseWithStatus(postServiceDAO.removePost(postId));
+        final boolean removed = postServiceDAO.removePost(postId);
+
+        responseCache.invalidate("post", postId);
+        dataLoaderContext.invalidate("post", postId);
+        entityTagCache.invalidate("post", postId);
+
+        return jsonResponseHandler.responseWithStatus(removed);
     }
 
     /**
      * {@inheritDoc}
      *
+     * <p>
+     * A private post is returned only to its author and the followers of the author. Concurrent reads
+     * of a post share one database read, waited for no longer than the deadline of the request, and
+     * are checked each for their own viewer. A caller pinned to the primary after its own write reads
+     * on its own, as the shared read may be served by a replica which has not seen the write yet.
+     * </p>
+     *
      * @param id the ID of the post to be retrieved
      * @return a byte array representing the retrieved post
      */
     public byte[] getPost(final Long id) {
-        final Optional<Post> post = postServiceDAO.getPost(id);
+        final byte[] cachedResponse = responseCache.get("post", id, contentVisibility::canView);
+
+        if (cachedResponse == ResponseCache.HIDDEN) {
+            return jsonResponseHandler.responseWithStatus(false);
+        }
+
+        if (Objects.nonNull(cachedResponse)) {
+            return cachedResponse;
+        }
+        final long readNanos = System.nanoTime();
+        final Supplier<Post> read = () -> postLoader().load(id);
+        final Deadline deadline = deadlineContext.getDeadline();
+        final Post post;
+
+        try {
+            post = readYourWrites.isPinnedToPrimary() ? read.get() : postFlight.execute(id,
+                    Objects.isNull(deadline) ? Long.MAX_VALUE : deadline.getRemainingMillis(), read);
+        } catch (SingleFlightTimeoutException exception) {
+            return jsonResponseHandler.stringManualResponse(exception.getMessage());
+        }
+
+        return render(id, post, readNanos);
+    }
 
-        return post.isPresent() ? jsonResponseHandler.objectResponse(post.get())
-                : jsonResponseHandler.responseWithStatus(false);
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The posts missing from the response cache are queued on the loader of the request, so the
+     * first of them read fetches them all with one query per shard. The private posts the viewer may
+     * not see are returned as missing.
+     * </p>
+     *
+     * @param ids the IDs of the posts to be retrieved
+     * @return the retrieved posts, in the order of the given IDs
+     */
+    public List<byte[]> getPosts(final List<Long> ids) {
+        final byte[][] responses = new byte[ids.size()][];
+        final DataLoader<Long, Post> loader = postLoader();
+        final long readNanos = System.nanoTime();
+
+        for (int index = 0; index < ids.size(); index++) {
+            responses[index] = responseCache.get("post", ids.get(index), contentVisibility::canView);
+
+            if (responses[index] == ResponseCache.HIDDEN) {
+                responses[index] = jsonResponseHandler.responseWithStatus(false);
+            } else if (Objects.isNull(responses[index])) {
+                loader.enqueue(ids.get(index));
+            }
+        }
+
+        for (int index = 0; index < ids.size(); index++) {
+            if (Objects.isNull(responses[index])) {
+                responses[index] = render(ids.get(index), loader.load(ids.get(index)), readNanos);
+            }
+        }
+
+        return Arrays.asList(responses);
     }
 
     public void setReplacer(final PostServiceDAO postServiceDAO) {
         this.postServiceDAO = postServiceDAO;
     }
 
+    /**
+     * <p>
+     * Renders a read post for the viewer of the request, caching the response with the author of a
+     * private post.
+     * </p>
+     *
+     * @param id        Refers the ID of the post.
+     * @param post      Refers the read post, or null if it does not exist.
+     * @param readNanos Refers the {@link System#nanoTime()} at which the read started.
+     * @return The post, or the failed status if it does not exist or the viewer may not see it.
+     */
+    private byte[] render(final Long id, final Post post, final long readNanos) {
+        if (Objects.isNull(post) || !contentVisibility.canView(post.getUserId(), post.isPrivate())) {
+            return jsonResponseHandler.responseWithStatus(false);
+        }
+
+        return responseCache.put("post", id, jsonResponseHandler.objectResponse(post), readNanos,
+                ContentVisibility.ownerOf(post.getUserId(), post.isPrivate()));
+    }
+
+    /**
+     * <p>
+     * Returns the loader of posts of the current request.
+     * </p>
+     *
+     * @return The loader batching the post lookups of the request.
+     */
+    private DataLoader<Long, Post> postLoader() {
+        return dataLoaderContext.getLoader("post", id -> postServiceDAO.getPost(id).orElse(null),
+                postServiceDAO::getPosts);
+    }
+
     /**
      * <p>
      * Static class for creating singleton instance.
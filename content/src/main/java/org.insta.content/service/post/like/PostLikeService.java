@@ -1,5 +1,7 @@
 package org.insta.content.service.post.like;
 
+import java.util.List;
+
 /**
  * <p>
  * Service interface for managing user post likes.
@@ -26,6 +28,17 @@ public interface PostLikeService {
      */
     byte[] postLike(final Long userId, final Long postId);
 
+    /**
+     * <p>
+     * Adds likes of a user for several posts in a single database batch.
+     * </p>
+     *
+     * @param userId  the ID of the user
+     * @param postIds the IDs of the posts
+     * @return the result of each like, in the order of the given posts
+     */
+    List<byte[]> postLikes(final Long userId, final List<Long> postIds);
+
     /**
      * <p>
      * Removes a like for a particular post.
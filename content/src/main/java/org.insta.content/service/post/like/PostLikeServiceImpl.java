@@ -4,6 +4,10 @@ import org.insta.content.dao.post.like.PostLikeDAO;
 import org.insta.content.dao.post.like.PostLikeDAOImpl;
 import org.insta.wrapper.jsonvalidator.JsonResponseHandler;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * <p>
  * Managing user post like.
@@ -61,6 +65,23 @@ public final class PostLikeServiceImpl implements PostLikeService {
         return jsonResponseHandler.responseWithID(postLikeDAO.postLike(userId, postId), new byte[]{});
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @param userId  the ID of the user
+     * @param postIds the IDs of the posts
+     * @return the result of each like, in the order of the given posts
+     */
+    public List<byte[]> postLikes(final Long userId, final List<Long> postIds) {
+        final List<byte[]> results = new ArrayList<>(postIds.size());
+
+        for (final Long id : postLikeDAO.postLikes(userId, postIds)) {
+            results.add(jsonResponseHandler.responseWithID(Optional.of(id), new byte[]{}));
+        }
+
+        return results;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -2,6 +2,8 @@ package org.insta.content.service.reel;
 
 import org.insta.content.model.Reel;
 
+import java.util.List;
+
 /**
  * <p>
  * Managing reels service operation.
@@ -29,6 +31,16 @@ public interface ReelService {
      */
     byte[] addReel(final Reel reel);
 
+    /**
+     * <p>
+     * Adds several reels in a single database batch.
+     * </p>
+     *
+     * @param reels the reels to be added
+     * @return the result of each addition, in the order of the given reels
+     */
+    List<byte[]> addReels(final List<Reel> reels);
+
     /**
      * <p>
      * Removes a reel with the specified ID for the specified user.
@@ -48,4 +60,14 @@ public interface ReelService {
      * @return A byte array representing the retrieved reel.
      */
     byte[] getReel(final Long  id);
+
+    /**
+     * <p>
+     * Retrieves several reels, reading the ones not cached together.
+     * </p>
+     *
+     * @param ids the IDs of the reels to be retrieved
+     * @return the retrieved reels, in the order of the given IDs
+     */
+    List<byte[]> getReels(final List<Long> ids);
 }
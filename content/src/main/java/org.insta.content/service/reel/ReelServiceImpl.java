@@ -4,9 +4,27 @@ import org.insta.content.dao.reel.ReelServiceDAO;
 import org.insta.content.dao.reel.ReelServiceDAOImpl;
 import org.insta.content.groups.ReelValidator;
 import org.insta.content.model.Reel;
+import org.insta.content.service.timeline.TimelineService;
+import org.insta.content.service.timeline.TimelineServiceImpl;
+import org.insta.content.service.visibility.ContentVisibility;
+import org.insta.databaseconnection.deadline.Deadline;
+import org.insta.databaseconnection.deadline.DeadlineContext;
+import org.insta.databaseconnection.replica.ReadYourWrites;
+import org.insta.wrapper.dataloader.DataLoader;
+import org.insta.wrapper.dataloader.DataLoaderContext;
+import org.insta.wrapper.etag.EntityTagCache;
+import org.insta.wrapper.exception.SingleFlightTimeoutException;
 import org.insta.wrapper.jsonvalidator.JsonResponseHandler;
+import org.insta.wrapper.responsecache.ResponseCache;
+import org.insta.wrapper.singleflight.SingleFlight;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * <p>
@@ -27,6 +45,14 @@ public final class ReelServiceImpl implements ReelService {
 
     private final ReelServiceDAO reelServiceDAO;
     private final JsonResponseHandler jsonResponseHandler;
+    private final SingleFlight<Long, Reel> reelFlight;
+    private final EntityTagCache entityTagCache;
+    private final ResponseCache responseCache;
+    private final DataLoaderContext dataLoaderContext;
+    private final TimelineService timelineService;
+    private final ContentVisibility contentVisibility;
+    private final ReadYourWrites readYourWrites;
+    private final DeadlineContext deadlineContext;
 
     /**
      * <p>
@@ -36,6 +62,14 @@ public final class ReelServiceImpl implements ReelService {
     private ReelServiceImpl() {
         reelServiceDAO = ReelServiceDAOImpl.getInstance();
         jsonResponseHandler = JsonResponseHandler.getInstance();
+        reelFlight = new SingleFlight<>("reel.get");
+        entityTagCache = EntityTagCache.getInstance();
+        responseCache = ResponseCache.getInstance();
+        dataLoaderContext = DataLoaderContext.getInstance();
+        timelineService = TimelineServiceImpl.getInstance();
+        contentVisibility = ContentVisibility.getInstance();
+        readYourWrites = ReadYourWrites.getInstance();
+        deadlineContext = DeadlineContext.getInstance();
     }
 
     /**
@@ -69,8 +103,53 @@ public final class ReelServiceImpl implements ReelService {
     public byte[] addReel(final Reel reel) {
         final byte[] violations = jsonResponseHandler.validate(reel, ReelValidator.class);
 
-        return violations.length > 0 ? violations
-                : jsonResponseHandler.responseWithID(reelServiceDAO.addReel(reel), violations);
+        if (violations.length > 0) {
+            return violations;
+        }
+        final Optional<Long> id = reelServiceDAO.addReel(reel);
+
+        id.ifPresent(reelId -> timelineService.publishReel(reel.getUserId(), reelId));
+
+        return jsonResponseHandler.responseWithID(id, violations);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The reels failing validation get their violations, the others are inserted together.
+     * </p>
+     *
+     * @param reels the reels to be added
+     * @return the result of each addition, in the order of the given reels
+     */
+    public List<byte[]> addReels(final List<Reel> reels) {
+        final List<byte[]> results = new ArrayList<>(Collections.nCopies(reels.size(), (byte[]) null));
+        final List<Reel> validReels = new ArrayList<>(reels.size());
+        final List<Integer> positions = new ArrayList<>(reels.size());
+
+        for (int index = 0; index < reels.size(); index++) {
+            final byte[] violations = jsonResponseHandler.validate(reels.get(index), ReelValidator.class);
+
+            if (violations.length > 0) {
+                results.set(index, violations);
+            } else {
+                validReels.add(reels.get(index));
+                positions.add(index);
+            }
+        }
+
+        if (!validReels.isEmpty()) {
+            final List<Long> ids = reelServiceDAO.addReels(validReels);
+
+            for (int index = 0; index < ids.size(); index++) {
+                timelineService.publishReel(validReels.get(index).getUserId(), ids.get(index));
+                results.set(positions.get(index), jsonResponseHandler.responseWithID(Optional.of(ids.get(index)),
+                        new byte[]{}));
+            }
+        }
+
+        return results;
     }
 
     /**
@@ -80,19 +159,123 @@ public final class ReelServiceImpl implements ReelService {
      * @return A byte array representing a manual response.
      */
     public byte[] removeReel(final Long  reelId) {
-        return jsonResponseHandler.responseWithStatus(reelServiceDAO.removeReel(reelId));
+        final boolean removed = reelServiceDAO.removeReel(reelId);
+
+        responseCache.invalidate("reel", reelId);
+        dataLoaderContext.invalidate("reel", reelId);
+        entityTagCache.invalidate("reel", reelId);
+
+        return jsonResponseHandler.responseWithStatus(removed);
     }
 
     /**
      * {@inheritDoc}
      *
+     * <p>
+     * A private reel is returned only to its author and the followers of the author. Concurrent reads
+     * of a reel share one database read, waited for no longer than the deadline of the request, and
+     * are checked each for their own viewer. A caller pinned to the primary after its own write reads
+     * on its own, as the shared read may be served by a replica which has not seen the write yet.
+     * </p>
+     *
      * @param reelId The ID of the reel to retrieve.
      * @return A byte array representing the retrieved reel.
      */
     public byte[] getReel(final Long  reelId) {
-        final Optional<Reel> reel = reelServiceDAO.getReel(reelId);
+        final byte[] cachedResponse = responseCache.get("reel", reelId, contentVisibility::canView);
 
-        return reel.isPresent() ? jsonResponseHandler.objectResponse(reel.get())
-                : jsonResponseHandler.responseWithStatus(false);
+        if (cachedResponse == ResponseCache.HIDDEN) {
+            return jsonResponseHandler.responseWithStatus(false);
+        }
+
+        if (Objects.nonNull(cachedResponse)) {
+            return cachedResponse;
+        }
+        final long readNanos = System.nanoTime();
+        final Supplier<Reel> read = () -> reelLoader().load(reelId);
+        final Deadline deadline = deadlineContext.getDeadline();
+        final Reel reel;
+
+        try {
+            reel = readYourWrites.isPinnedToPrimary() ? read.get() : reelFlight.execute(reelId,
+                    Objects.isNull(deadline) ? Long.MAX_VALUE : deadline.getRemainingMillis(), read);
+        } catch (SingleFlightTimeoutException exception) {
+            return jsonResponseHandler.stringManualResponse(exception.getMessage());
+        }
+
+        return render(reelId, reel, readNanos);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The reels missing from the response cache are queued on the loader of the request, so the
+     * first of them read fetches them all with one query per shard. The private reels the viewer may
+     * not see are returned as missing.
+     * </p>
+     *
+     * @param ids the IDs of the reels to be retrieved
+     * @return the retrieved reels, in the order of the given IDs
+     */
+    public List<byte[]> getReels(final List<Long> ids) {
+        final byte[][] responses = new byte[ids.size()][];
+        final DataLoader<Long, Reel> loader = reelLoader();
+        final long readNanos = System.nanoTime();
+
+        for (int index = 0; index < ids.size(); index++) {
+            responses[index] = responseCache.get("reel", ids.get(index), contentVisibility::canView);
+
+            if (responses[index] == ResponseCache.HIDDEN) {
+                responses[index] = jsonResponseHandler.responseWithStatus(false);
+            } else if (Objects.isNull(responses[index])) {
+                loader.enqueue(ids.get(index));
+            }
+        }
+
+        for (int index = 0; index < ids.size(); index++) {
+            if (Objects.isNull(responses[index])) {
+                responses[index] = render(ids.get(index), loader.load(ids.get(index)), readNanos);
+            }
+        }
+
+        return Arrays.asList(responses);
+    }
+
+    /**
+     * <p>
+     * Renders a read reel for the viewer of the request, caching the response with the author of a
+     * private reel.
+     * </p>
+     *
+     * @param id        Refers the ID of the reel.
+     * @param reel      Refers the read reel, or null if it does not exist.
+     * @param readNanos Refers the {@link System#nanoTime()} at which the read started.
+     * @return The reel, or the failed status if it does not exist or the viewer may not see it.
+     */
+    private byte[] render(final Long id, final Reel reel, final long readNanos) {
+        if (Objects.isNull(reel)) {
+            return jsonResponseHandler.responseWithStatus(false);
+        }
+        final boolean isPrivate = Boolean.TRUE.equals(reel.getPrivate());
+
+        if (!contentVisibility.canView(reel.getUserId(), isPrivate)) {
+            return jsonResponseHandler.responseWithStatus(false);
+        }
+
+        return responseCache.put("reel", id, jsonResponseHandler.objectResponse(reel), readNanos,
+                ContentVisibility.ownerOf(reel.getUserId(), isPrivate));
+    }
+
+    /**
+     * <p>
+     * Returns the loader of reels of the current request.
+     * </p>
+     *
+     * @return The loader batching the reel lookups of the request.
+     */
+    private DataLoader<Long, Reel> reelLoader() {
+        return dataLoaderContext.getLoader("reel", id -> reelServiceDAO.getReel(id).orElse(null),
+                reelServiceDAO::getReels);
     }
 }
@@ -3,6 +3,8 @@ package org.insta.content.service.story;
 import org.insta.content.groups.StoryValidator;
 import org.insta.content.model.Story;
 
+import java.util.List;
+
 /**
  * <p>
  * manage stories.
@@ -31,6 +33,16 @@ public interface StoryService {
      */
     byte[] addStory(final Story story);
 
+    /**
+     * <p>
+     * Adds several stories in a single database batch.
+     * </p>
+     *
+     * @param stories the stories to be added
+     * @return the result of each addition, in the order of the given stories
+     */
+    List<byte[]> addStories(final List<Story> stories);
+
     /**
      * <p>
      * Removes a story with the specified ID.
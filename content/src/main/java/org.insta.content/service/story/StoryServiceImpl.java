@@ -4,9 +4,24 @@ import org.insta.content.dao.story.StoryServiceDAO;
 import org.insta.content.dao.story.StoryServiceDAOImpl;
 import org.insta.content.groups.StoryValidator;
 import org.insta.content.model.Story;
+import org.insta.content.service.expiry.StoryExpiryService;
+import org.insta.content.service.expiry.StoryExpiryServiceImpl;
+import org.insta.content.service.visibility.ContentVisibility;
+import org.insta.databaseconnection.deadline.Deadline;
+import org.insta.databaseconnection.deadline.DeadlineContext;
+import org.insta.databaseconnection.replica.ReadYourWrites;
+import org.insta.wrapper.etag.EntityTagCache;
+import org.insta.wrapper.exception.SingleFlightTimeoutException;
 import org.insta.wrapper.jsonvalidator.JsonResponseHandler;
+import org.insta.wrapper.responsecache.ResponseCache;
+import org.insta.wrapper.singleflight.SingleFlight;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * <p>
@@ -27,6 +42,13 @@ public final class StoryServiceImpl implements StoryService {
 
     private final StoryServiceDAO storyServiceDAO;
     private final JsonResponseHandler jsonResponseHandler;
+    private final SingleFlight<Long, Story> storyFlight;
+    private final EntityTagCache entityTagCache;
+    private final ResponseCache responseCache;
+    private final ContentVisibility contentVisibility;
+    private final ReadYourWrites readYourWrites;
+    private final DeadlineContext deadlineContext;
+    private final StoryExpiryService storyExpiryService;
 
     /**
      * <p>
@@ -36,6 +58,13 @@ public final class StoryServiceImpl implements StoryService {
     private StoryServiceImpl() {
         storyServiceDAO = StoryServiceDAOImpl.getInstance();
         jsonResponseHandler = JsonResponseHandler.getInstance();
+        storyFlight = new SingleFlight<>("story.get");
+        entityTagCache = EntityTagCache.getInstance();
+        responseCache = ResponseCache.getInstance();
+        contentVisibility = ContentVisibility.getInstance();
+        readYourWrites = ReadYourWrites.getInstance();
+        deadlineContext = DeadlineContext.getInstance();
+        storyExpiryService = StoryExpiryServiceImpl.getInstance();
     }
 
     /**
@@ -69,8 +98,53 @@ public final class StoryServiceImpl implements StoryService {
     public byte[] addStory(final Story story) {
         final byte[] violations = jsonResponseHandler.validate(story, StoryValidator.class);
 
-        return violations.length > 0 ? violations
-                : jsonResponseHandler.responseWithID(storyServiceDAO.addStory(story), violations);
+        if (violations.length > 0) {
+            return violations;
+        }
+        final Optional<Long> id = storyServiceDAO.addStory(story);
+
+        id.ifPresent(storyExpiryService::schedule);
+
+        return jsonResponseHandler.responseWithID(id, violations);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The stories failing validation get their violations, the others are inserted together.
+     * </p>
+     *
+     * @param stories the stories to be added
+     * @return the result of each addition, in the order of the given stories
+     */
+    public List<byte[]> addStories(final List<Story> stories) {
+        final List<byte[]> results = new ArrayList<>(Collections.nCopies(stories.size(), (byte[]) null));
+        final List<Story> validStories = new ArrayList<>(stories.size());
+        final List<Integer> positions = new ArrayList<>(stories.size());
+
+        for (int index = 0; index < stories.size(); index++) {
+            final byte[] violations = jsonResponseHandler.validate(stories.get(index), StoryValidator.class);
+
+            if (violations.length > 0) {
+                results.set(index, violations);
+            } else {
+                validStories.add(stories.get(index));
+                positions.add(index);
+            }
+        }
+
+        if (!validStories.isEmpty()) {
+            final List<Long> ids = storyServiceDAO.addStories(validStories);
+
+            for (int index = 0; index < ids.size(); index++) {
+                storyExpiryService.schedule(ids.get(index));
+                results.set(positions.get(index), jsonResponseHandler.responseWithID(Optional.of(ids.get(index)),
+                        new byte[]{}));
+            }
+        }
+
+        return results;
     }
 
     /**
@@ -80,19 +154,56 @@ public final class StoryServiceImpl implements StoryService {
      * @return A byte array representing a manual response.
      */
     public byte[] removeStory(final Long storyId) {
-        return jsonResponseHandler.responseWithStatus(storyServiceDAO.removeStory(storyId));
+        final boolean removed = storyServiceDAO.removeStory(storyId);
+
+        storyExpiryService.cancel(storyId);
+        responseCache.invalidate("story", storyId);
+        entityTagCache.invalidate("story", storyId);
+
+        return jsonResponseHandler.responseWithStatus(removed);
     }
 
     /**
      * {@inheritDoc}
      *
+     * <p>
+     * A private story is returned only to its author and the followers of the author. Concurrent
+     * reads of a story share one database read, waited for no longer than the deadline of the
+     * request, and are checked each for their own viewer. A caller pinned to the primary after its
+     * own write reads on its own, as the shared read may be served by a replica which has not seen
+     * the write yet.
+     * </p>
+     *
      * @param storyId The ID of the story to retrieve.
      * @return A byte array representing the retrieved story.
      */
     public byte[] getStory(final Long storyId) {
-        final Optional<Story> story = storyServiceDAO.getStory(storyId);
+        final byte[] cachedResponse = responseCache.get("story", storyId, contentVisibility::canView);
+
+        if (cachedResponse == ResponseCache.HIDDEN) {
+            return jsonResponseHandler.responseWithStatus(false);
+        }
+
+        if (Objects.nonNull(cachedResponse)) {
+            return cachedResponse;
+        }
+        final long readNanos = System.nanoTime();
+        final Supplier<Story> read = () -> storyServiceDAO.getStory(storyId).orElse(null);
+        final Deadline deadline = deadlineContext.getDeadline();
+        final Story story;
+
+        try {
+            story = readYourWrites.isPinnedToPrimary() ? read.get() : storyFlight.execute(storyId,
+                    Objects.isNull(deadline) ? Long.MAX_VALUE : deadline.getRemainingMillis(), read);
+        } catch (SingleFlightTimeoutException exception) {
+            return jsonResponseHandler.stringManualResponse(exception.getMessage());
+        }
+
+        if (Objects.isNull(story) || !contentVisibility.canView(story.getUserId(), story.isPrivate())) {
+            return jsonResponseHandler.responseWithStatus(false);
+        }
 
-        return story.isPresent() ? jsonResponseHandler.objectResponse(story.get())
-                : jsonResponseHandler.responseWithStatus(false);
+        return responseCache.put("story", storyId, jsonResponseHandler.objectResponse(story), readNanos,
+                ContentVisibility.ownerOf(story.getUserId(), story.isPrivate()));
     }
 }
@@ -0,0 +1,49 @@
+package org.insta.content.service.timeline;
+
+/**
+ * <p>
+ * Source of the follow relationships the home timelines are built from.
+ * </p>
+ *
+ * <p>
+ * The timeline service asks for the followers of an author when the author adds content, and for
+ * the accounts a user follows when the timeline of the user is rebuilt or read. The returned arrays
+ * are owned by the caller and may be in any order.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see TimelineService
+ */
+public interface FollowerSource {
+
+    /**
+     * <p>
+     * Returns the accounts following the given account.
+     * </p>
+     *
+     * @param userId the ID of the followed account
+     * @return the IDs of the followers
+     */
+    long[] getFollowers(final long userId);
+
+    /**
+     * <p>
+     * Returns the accounts the given account follows.
+     * </p>
+     *
+     * @param userId the ID of the following account
+     * @return the IDs of the followed accounts
+     */
+    long[] getFollowees(final long userId);
+
+    /**
+     * <p>
+     * Returns the number of followers of the given account.
+     * </p>
+     *
+     * @param userId the ID of the followed account
+     * @return the number of followers
+     */
+    int getFollowerCount(final long userId);
+}
@@ -0,0 +1,175 @@
+package org.insta.content.service.timeline;
+
+/**
+ * <p>
+ * Bounded ring of the newest content of a timeline, kept in primitive arrays.
+ * </p>
+ *
+ * <p>
+ * The entries are the time ordered ids of posts and reels, with a flag telling which of them are
+ * reels, kept in ascending order from the oldest to the newest. Content normally arrives newest
+ * last and is appended in constant time; content arriving late is moved back to its place, which is
+ * close to the newest end. An id already held is ignored. Once the ring is full the oldest entry is
+ * dropped for a newer one.
+ * </p>
+ *
+ * <p>
+ * The arrays start small and double up to the capacity, so the timelines of accounts following
+ * little content stay small. The capacity must be a power of two.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+final class TimelineBuffer {
+
+    private static final int INITIAL_LENGTH = 16;
+    private final int capacity;
+    private long[] ids;
+    private boolean[] reels;
+    private int head;
+    private int size;
+    private volatile boolean loaded;
+    private volatile long readNanos;
+
+    /**
+     * @param capacity Refers the number of entries kept, a power of two.
+     */
+    TimelineBuffer(final int capacity) {
+        this.capacity = capacity;
+        this.ids = new long[Math.min(INITIAL_LENGTH, capacity)];
+        this.reels = new boolean[ids.length];
+        this.readNanos = System.nanoTime();
+    }
+
+    /**
+     * <p>
+     * Adds a post or a reel to the ring.
+     * </p>
+     *
+     * @param id   Refers the id of the content.
+     * @param reel Refers whether the content is a reel.
+     */
+    synchronized void add(final long id, final boolean reel) {
+        int position = size;
+
+        while (position > 0 && idAt(position - 1) > id) {
+            position--;
+        }
+
+        if (position > 0 && idAt(position - 1) == id) {
+            return;
+        }
+
+        if (size == ids.length) {
+            if (ids.length < capacity) {
+                grow();
+            } else if (position == 0) {
+                return;
+            } else {
+                head = (head + 1) & (ids.length - 1);
+                size--;
+                position--;
+            }
+        }
+
+        for (int index = size; index > position; index--) {
+            set(index, idAt(index - 1), reelAt(index - 1));
+        }
+        set(position, id, reel);
+        size++;
+    }
+
+    /**
+     * <p>
+     * Copies the newest entries older than the cursor, newest first.
+     * </p>
+     *
+     * <p>
+     * The cursor is found with a binary search, so a page costs its own length plus the logarithm of
+     * the capacity.
+     * </p>
+     *
+     * @param cursor    Refers the id the entries must be older than.
+     * @param limit     Refers the maximum number of entries copied.
+     * @param pageIds   Refers the array receiving the ids.
+     * @param pageReels Refers the array receiving the reel flags.
+     * @return The number of entries copied.
+     */
+    synchronized int page(final long cursor, final int limit, final long[] pageIds, final boolean[] pageReels) {
+        int low = 0;
+        int high = size;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (idAt(middle) < cursor) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        int count = 0;
+
+        for (int index = low - 1; index >= 0 && count < limit; index--) {
+            pageIds[count] = idAt(index);
+            pageReels[count] = reelAt(index);
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * @return true once the entries held before the ring was created have been read from the database
+     */
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    void markLoaded() {
+        loaded = true;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} of the last read of the timeline
+     */
+    long getReadNanos() {
+        return readNanos;
+    }
+
+    void touch() {
+        readNanos = System.nanoTime();
+    }
+
+    /**
+     * <p>
+     * Doubles the arrays, moving the oldest entry to the front.
+     * </p>
+     */
+    private void grow() {
+        final long[] grownIds = new long[ids.length * 2];
+        final boolean[] grownReels = new boolean[grownIds.length];
+
+        for (int index = 0; index < size; index++) {
+            grownIds[index] = idAt(index);
+            grownReels[index] = reelAt(index);
+        }
+        ids = grownIds;
+        reels = grownReels;
+        head = 0;
+    }
+
+    private long idAt(final int index) {
+        return ids[(head + index) & (ids.length - 1)];
+    }
+
+    private boolean reelAt(final int index) {
+        return reels[(head + index) & (ids.length - 1)];
+    }
+
+    private void set(final int index, final long id, final boolean reel) {
+        ids[(head + index) & (ids.length - 1)] = id;
+        reels[(head + index) & (ids.length - 1)] = reel;
+    }
+}
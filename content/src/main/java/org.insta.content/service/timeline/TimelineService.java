@@ -0,0 +1,58 @@
+package org.insta.content.service.timeline;
+
+/**
+ * <p>
+ * Service interface for the home timelines.
+ * </p>
+ *
+ * <p>
+ * This interface provides methods for publishing new posts and reels to the timelines of the
+ * followers of their author and for reading a timeline page by page.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0, 6 Feb 2024
+ * @see TimelineServiceImpl
+ */
+public interface TimelineService {
+
+    /**
+     * <p>
+     * Publishes a new post to the timelines of its author and of the followers of the author.
+     * </p>
+     *
+     * @param userId the ID of the author
+     * @param postId the ID of the post
+     */
+    void publishPost(final Long userId, final Long postId);
+
+    /**
+     * <p>
+     * Publishes a new reel to the timelines of its author and of the followers of the author.
+     * </p>
+     *
+     * @param userId the ID of the author
+     * @param reelId the ID of the reel
+     */
+    void publishReel(final Long userId, final Long reelId);
+
+    /**
+     * <p>
+     * Retrieves a page of the home timeline of the user, newest first.
+     * </p>
+     *
+     * @param userId the ID of the user
+     * @param cursor the cursor returned with the previous page, or null for the newest page
+     * @return a byte array representing the posts and reels of the page and the cursor of the next page
+     */
+    byte[] getFeed(final Long userId, final Long cursor);
+
+    /**
+     * <p>
+     * Sets the source of the follow relationships the timelines are built from.
+     * </p>
+     *
+     * @param followerSource the source of the follow relationships
+     */
+    void setFollowerSource(final FollowerSource followerSource);
+}
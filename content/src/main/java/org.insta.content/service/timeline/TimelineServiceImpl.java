@@ -0,0 +1,460 @@
+package org.insta.content.service.timeline;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.insta.authentication.service.follow.FollowGraph;
+import org.insta.content.dao.timeline.TimelineDAO;
+import org.insta.content.dao.timeline.TimelineDAOImpl;
+import org.insta.content.service.post.PostServiceImpl;
+import org.insta.content.service.reel.ReelServiceImpl;
+import org.insta.wrapper.jackson.MapperObject;
+import org.insta.wrapper.jsonvalidator.JsonResponseHandler;
+import org.insta.wrapper.singleflight.SingleFlight;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Implementation class for the home timelines.
+ * </p>
+ *
+ * <p>
+ * The timeline of a user is a {@link TimelineBuffer} of the newest posts and reels of the user and
+ * of the accounts the user follows. A new post or reel is pushed into the timeline of its author at
+ * once and into the timelines of the followers of the author on the fan out thread, so a write
+ * never waits for the followers. Only the timelines held in memory are written; the timeline of a
+ * user is rebuilt from the database the first time it is read after a restart or an eviction, and
+ * the least recently read timelines are evicted once too many are held. Following or unfollowing
+ * drops the timeline of the follower, which is rebuilt with its new authors on the next read.
+ * </p>
+ *
+ * <p>
+ * Authors with at least {@link #FAN_OUT_THRESHOLD} followers are not fanned out on write. Their
+ * content is pushed into a timeline of their own, which the timelines of their followers are merged
+ * with when they are read, so a post of such an author costs one push instead of one per follower.
+ * </p>
+ *
+ * <p>
+ * A page is read from each merged timeline with a binary search on the cursor, so a read costs the
+ * page size for each merged timeline rather than the length of the timelines. The ids of a page are
+ * rendered through the post and reel services, whose response caches and loaders serve them; the
+ * ids of removed content and of private content the viewer may not see are skipped.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see TimelineService
+ * @see TimelineBuffer
+ * @see FollowerSource
+ * @see FollowGraph
+ */
+public final class TimelineServiceImpl implements TimelineService {
+
+    private static final Logger LOGGER = LogManager.getLogger(TimelineServiceImpl.class);
+    private static final int CAPACITY = 512;
+    private static final int PAGE_SIZE = 20;
+    private static final int MAX_TIMELINES = 20_000;
+    private static final int FAN_OUT_THRESHOLD = 10_000;
+    private final Map<Long, TimelineBuffer> homeTimelines;
+    private final Map<Long, TimelineBuffer> authorTimelines;
+    private final SingleFlight<Long, TimelineBuffer> homeFlight;
+    private final SingleFlight<Long, TimelineBuffer> authorFlight;
+    private final ExecutorService fanOutExecutor;
+    private final TimelineDAO timelineDAO;
+    private final JsonResponseHandler jsonResponseHandler;
+    private volatile FollowerSource followerSource;
+
+    /**
+     * <p>
+     * Private constructor to restrict the object creation outside of the class.
+     * </p>
+     */
+    private TimelineServiceImpl() {
+        homeTimelines = new ConcurrentHashMap<>();
+        authorTimelines = new ConcurrentHashMap<>();
+        homeFlight = new SingleFlight<>("timeline.home");
+        authorFlight = new SingleFlight<>("timeline.author");
+        fanOutExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "insta-timeline");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        timelineDAO = TimelineDAOImpl.getInstance();
+        jsonResponseHandler = JsonResponseHandler.getInstance();
+        followerSource = new FollowGraphSource();
+        FollowGraph.getInstance().addListener((followerId, followeeId) -> homeTimelines.remove(followerId));
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of TimelineServiceImpl class.
+     * </p>
+     *
+     * @return The singleton instance of TimelineServiceImpl class.
+     */
+    public static TimelineService getInstance() {
+        return InstanceHolder.TIMELINE_SERVICE;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param userId Refers the ID of the author.
+     * @param postId Refers the ID of the post.
+     */
+    public void publishPost(final Long userId, final Long postId) {
+        publish(userId, postId, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param userId Refers the ID of the author.
+     * @param reelId Refers the ID of the reel.
+     */
+    public void publishReel(final Long userId, final Long reelId) {
+        publish(userId, reelId, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param userId Refers the ID of the user.
+     * @param cursor Refers the cursor returned with the previous page, or null for the newest page.
+     * @return A byte array representing the page and the cursor of the next page.
+     */
+    public byte[] getFeed(final Long userId, final Long cursor) {
+        final long before = Objects.isNull(cursor) ? Long.MAX_VALUE : cursor;
+        final FollowerSource source = followerSource;
+        final List<TimelineBuffer> timelines = new ArrayList<>();
+
+        timelines.add(getTimeline(homeTimelines, homeFlight, userId, () -> getHomeAuthors(source, userId)));
+
+        for (final long followeeId : source.getFollowees(userId)) {
+            if (source.getFollowerCount(followeeId) >= FAN_OUT_THRESHOLD) {
+                timelines.add(getTimeline(authorTimelines, authorFlight, followeeId, () -> List.of(followeeId)));
+            }
+        }
+        final long[] pageIds = new long[PAGE_SIZE];
+        final boolean[] pageReels = new boolean[PAGE_SIZE];
+        final int size = merge(timelines, before, pageIds, pageReels);
+
+        return createResponse(pageIds, pageReels, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param followerSource Refers the source of the follow relationships.
+     */
+    public void setFollowerSource(final FollowerSource followerSource) {
+        this.followerSource = followerSource;
+    }
+
+    /**
+     * <p>
+     * Pushes new content into the timeline of its author and hands the fan out to the fan out thread.
+     * </p>
+     *
+     * @param userId    Refers the ID of the author.
+     * @param contentId Refers the ID of the post or the reel.
+     * @param reel      Refers whether the content is a reel.
+     */
+    private void publish(final Long userId, final Long contentId, final boolean reel) {
+        if (Objects.isNull(userId) || Objects.isNull(contentId)) {
+            return;
+        }
+        push(homeTimelines, userId, contentId, reel);
+        fanOutExecutor.execute(() -> fanOut(userId, contentId, reel));
+    }
+
+    /**
+     * <p>
+     * Pushes new content into the timelines of the followers of its author, or into the timeline of
+     * the author alone if the author has too many followers.
+     * </p>
+     *
+     * @param userId    Refers the ID of the author.
+     * @param contentId Refers the ID of the post or the reel.
+     * @param reel      Refers whether the content is a reel.
+     */
+    private void fanOut(final long userId, final long contentId, final boolean reel) {
+        try {
+            final FollowerSource source = followerSource;
+
+            if (source.getFollowerCount(userId) >= FAN_OUT_THRESHOLD) {
+                push(authorTimelines, userId, contentId, reel);
+
+                return;
+            }
+
+            for (final long followerId : source.getFollowers(userId)) {
+                push(homeTimelines, followerId, contentId, reel);
+            }
+        } catch (RuntimeException exception) {
+            LOGGER.error("Timeline fan out failed");
+        }
+    }
+
+    /**
+     * <p>
+     * Pushes content into a timeline, if the timeline is held in memory.
+     * </p>
+     *
+     * @param timelines Refers the timelines held in memory.
+     * @param userId    Refers the ID of the owner of the timeline.
+     * @param contentId Refers the ID of the post or the reel.
+     * @param reel      Refers whether the content is a reel.
+     */
+    private static void push(final Map<Long, TimelineBuffer> timelines, final long userId, final long contentId,
+                             final boolean reel) {
+        final TimelineBuffer timeline = timelines.get(userId);
+
+        if (Objects.nonNull(timeline)) {
+            timeline.add(contentId, reel);
+        }
+    }
+
+    /**
+     * <p>
+     * Returns a timeline, rebuilding it from the database if it is not held in memory.
+     * </p>
+     *
+     * <p>
+     * The empty timeline is held before the database is read, so content published while it is
+     * rebuilt is not missed.
+     * </p>
+     *
+     * @param timelines Refers the timelines held in memory.
+     * @param flight    Refers the single-flight group of the rebuilds.
+     * @param userId    Refers the ID of the owner of the timeline.
+     * @param authors   Refers the authors whose content the timeline is rebuilt from.
+     * @return The timeline.
+     */
+    private TimelineBuffer getTimeline(final Map<Long, TimelineBuffer> timelines,
+                                       final SingleFlight<Long, TimelineBuffer> flight, final Long userId,
+                                       final Supplier<List<Long>> authors) {
+        final TimelineBuffer timeline = timelines.get(userId);
+
+        if (Objects.nonNull(timeline) && timeline.isLoaded()) {
+            timeline.touch();
+
+            return timeline;
+        }
+
+        return flight.execute(userId, () -> {
+            final TimelineBuffer rebuilt = timelines.computeIfAbsent(userId, id -> new TimelineBuffer(CAPACITY));
+
+            if (!rebuilt.isLoaded()) {
+                final List<Long> authorIds = authors.get();
+
+                timelineDAO.getRecentPostIds(authorIds, CAPACITY).forEach(id -> rebuilt.add(id, false));
+                timelineDAO.getRecentReelIds(authorIds, CAPACITY).forEach(id -> rebuilt.add(id, true));
+                rebuilt.markLoaded();
+            }
+            rebuilt.touch();
+            evict(timelines);
+
+            return rebuilt;
+        });
+    }
+
+    /**
+     * <p>
+     * Returns the authors fanned out into the home timeline of a user: the user and the followed
+     * accounts under the fan out threshold.
+     * </p>
+     *
+     * @param source Refers the source of the follow relationships.
+     * @param userId Refers the ID of the user.
+     * @return The IDs of the authors.
+     */
+    private static List<Long> getHomeAuthors(final FollowerSource source, final long userId) {
+        final List<Long> authorIds = new ArrayList<>();
+
+        authorIds.add(userId);
+
+        for (final long followeeId : source.getFollowees(userId)) {
+            if (source.getFollowerCount(followeeId) < FAN_OUT_THRESHOLD) {
+                authorIds.add(followeeId);
+            }
+        }
+
+        return authorIds;
+    }
+
+    /**
+     * <p>
+     * Drops the least recently read timelines once too many are held, keeping nine tenths of the limit.
+     * </p>
+     *
+     * @param timelines Refers the timelines held in memory.
+     */
+    private static synchronized void evict(final Map<Long, TimelineBuffer> timelines) {
+        if (timelines.size() <= MAX_TIMELINES) {
+            return;
+        }
+        final long[] readNanos = timelines.values().stream().mapToLong(TimelineBuffer::getReadNanos).sorted()
+                .toArray();
+
+        if (readNanos.length > MAX_TIMELINES) {
+            final long oldestKept = readNanos[readNanos.length - MAX_TIMELINES * 9 / 10];
+
+            timelines.values().removeIf(timeline -> timeline.getReadNanos() < oldestKept);
+        }
+    }
+
+    /**
+     * <p>
+     * Merges the pages of the timelines older than the cursor into one page, newest first.
+     * </p>
+     *
+     * @param timelines Refers the merged timelines.
+     * @param cursor    Refers the id the entries must be older than.
+     * @param pageIds   Refers the array receiving the ids of the page.
+     * @param pageReels Refers the array receiving the reel flags of the page.
+     * @return The number of entries of the page.
+     */
+    private static int merge(final List<TimelineBuffer> timelines, final long cursor, final long[] pageIds,
+                             final boolean[] pageReels) {
+        if (timelines.size() == 1) {
+            return timelines.get(0).page(cursor, pageIds.length, pageIds, pageReels);
+        }
+        final long[][] ids = new long[timelines.size()][pageIds.length];
+        final boolean[][] reels = new boolean[timelines.size()][pageIds.length];
+        final int[] counts = new int[timelines.size()];
+        final int[] next = new int[timelines.size()];
+        int size = 0;
+
+        for (int index = 0; index < timelines.size(); index++) {
+            counts[index] = timelines.get(index).page(cursor, pageIds.length, ids[index], reels[index]);
+        }
+
+        while (size < pageIds.length) {
+            int newest = -1;
+
+            for (int index = 0; index < timelines.size(); index++) {
+                if (next[index] < counts[index]
+                        && (newest < 0 || ids[index][next[index]] > ids[newest][next[newest]])) {
+                    newest = index;
+                }
+            }
+
+            if (newest < 0) {
+                break;
+            }
+            final long id = ids[newest][next[newest]];
+
+            if (size == 0 || pageIds[size - 1] != id) {
+                pageIds[size] = id;
+                pageReels[size] = reels[newest][next[newest]];
+                size++;
+            }
+            next[newest]++;
+        }
+
+        return size;
+    }
+
+    /**
+     * <p>
+     * Renders a page, skipping removed and hidden content. The cursor of the next page is only set
+     * when the page is full.
+     * </p>
+     *
+     * <p>
+     * The post and reel services are looked up here rather than held, as they publish to this service.
+     * </p>
+     *
+     * @param pageIds   Refers the ids of the page.
+     * @param pageReels Refers the reel flags of the page.
+     * @param size      Refers the number of entries of the page.
+     * @return The rendered page.
+     */
+    private byte[] createResponse(final long[] pageIds, final boolean[] pageReels, final int size) {
+        final List<Long> postIds = new ArrayList<>(size);
+        final List<Long> reelIds = new ArrayList<>(size);
+
+        for (int index = 0; index < size; index++) {
+            if (pageReels[index]) {
+                reelIds.add(pageIds[index]);
+            } else {
+                postIds.add(pageIds[index]);
+            }
+        }
+        final List<byte[]> posts = postIds.isEmpty() ? List.of() : PostServiceImpl.getInstance().getPosts(postIds);
+        final List<byte[]> reels = reelIds.isEmpty() ? List.of() : ReelServiceImpl.getInstance().getReels(reelIds);
+        final MapperObject mapperObject = new MapperObject();
+        final ObjectNode response = mapperObject.getObjectMapper().createObjectNode();
+        final ArrayNode entries = response.putArray("entries");
+        int postIndex = 0;
+        int reelIndex = 0;
+
+        for (int index = 0; index < size; index++) {
+            final JsonNode content = mapperObject.readTree(pageReels[index] ? reels.get(reelIndex++)
+                    : posts.get(postIndex++));
+
+            if (content.isObject()) {
+                final ObjectNode entry = entries.addObject();
+
+                entry.put("type", pageReels[index] ? "reel" : "post");
+                entry.set("content", content);
+            }
+        }
+
+        if (size == pageIds.length) {
+            response.put("cursor", pageIds[size - 1]);
+        } else {
+            response.putNull("cursor");
+        }
+
+        return jsonResponseHandler.objectResponse(response);
+    }
+
+    /**
+     * <p>
+     * Follower source reading the in-memory follow graph.
+     * </p>
+     */
+    private static final class FollowGraphSource implements FollowerSource {
+
+        private final FollowGraph followGraph = FollowGraph.getInstance();
+
+        @Override
+        public long[] getFollowers(final long userId) {
+            return followGraph.getFollowers(userId);
+        }
+
+        @Override
+        public long[] getFollowees(final long userId) {
+            return followGraph.getFollowees(userId);
+        }
+
+        @Override
+        public int getFollowerCount(final long userId) {
+            return followGraph.getFollowerCount(userId);
+        }
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final TimelineService TIMELINE_SERVICE = new TimelineServiceImpl();
+    }
+}
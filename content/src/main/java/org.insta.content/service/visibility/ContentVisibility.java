@@ -0,0 +1,145 @@
+package org.insta.content.service.visibility;
+
+import org.insta.authentication.service.follow.FollowGraph;
+import org.insta.wrapper.etag.EntityTagCache;
+import org.insta.wrapper.responsecache.ResponseCache;
+
+import java.util.Objects;
+
+/**
+ * <p>
+ * Decides whether the user of the current request may see a post, reel or story.
+ * </p>
+ *
+ * <p>
+ * Public content is visible to everyone. Private content is visible to its author and to the
+ * followers of the author, the viewer being the authenticated user the server binds to the request
+ * thread. The session user of {@code ReadYourWrites} is a routing hint sent by the client and is
+ * never trusted here. An unauthenticated request sees public content only. The follow check is answered by the
+ * {@link FollowGraph} from the follower bitmap of the author, so filtering a page of content costs
+ * no query.
+ * </p>
+ *
+ * <p>
+ * The response cache tags the responses of private content with their author, and hands them out
+ * only to the readers {@link #canView(long)} admits. As such a response depends on its reader, the
+ * check marks it restricted in the {@link EntityTagCache}, so it gets no ETag.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see FollowGraph
+ */
+public final class ContentVisibility {
+
+    private final ThreadLocal<Long> viewer;
+    private final EntityTagCache entityTagCache;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private ContentVisibility() {
+        viewer = new ThreadLocal<>();
+        entityTagCache = EntityTagCache.getInstance();
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of ContentVisibility class.
+     * </p>
+     *
+     * @return The singleton instance of ContentVisibility class.
+     */
+    public static ContentVisibility getInstance() {
+        return InstanceHolder.CONTENT_VISIBILITY;
+    }
+
+    /**
+     * <p>
+     * Sets the authenticated user of the request of the current thread.
+     * </p>
+     *
+     * @param userId Refers the id of the authenticated user, or null if the request is anonymous.
+     */
+    public void setViewer(final Long userId) {
+        viewer.set(userId);
+    }
+
+    /**
+     * <p>
+     * Returns the authenticated user of the request of the current thread.
+     * </p>
+     *
+     * @return The id of the user, or null if the request is anonymous.
+     */
+    public Long getViewer() {
+        return viewer.get();
+    }
+
+    /**
+     * <p>
+     * Clears the authenticated user of the current thread.
+     * </p>
+     */
+    public void clearViewer() {
+        viewer.remove();
+    }
+
+    /**
+     * <p>
+     * Checks whether the current viewer may see content.
+     * </p>
+     *
+     * @param userId    Refers the ID of the author of the content.
+     * @param isPrivate Refers whether the content is private.
+     * @return True if the content may be returned.
+     */
+    public boolean canView(final Long userId, final boolean isPrivate) {
+        return !isPrivate || (Objects.nonNull(userId) && canView(userId.longValue()));
+    }
+
+    /**
+     * <p>
+     * Checks whether the current viewer may see the private content of an author.
+     * </p>
+     *
+     * @param userId Refers the ID of the author.
+     * @return True if the viewer is the author or follows the author.
+     */
+    public boolean canView(final long userId) {
+        final Long viewerId = viewer.get();
+
+        entityTagCache.restrict();
+
+        if (Objects.isNull(viewerId)) {
+            return false;
+        }
+
+        return viewerId == userId || FollowGraph.getInstance().hasFollower(userId, viewerId);
+    }
+
+    /**
+     * <p>
+     * Returns the author a cached response is restricted to.
+     * </p>
+     *
+     * @param userId    Refers the ID of the author of the content.
+     * @param isPrivate Refers whether the content is private.
+     * @return The ID of the author, or {@link ResponseCache#PUBLIC} for public content.
+     */
+    public static long ownerOf(final Long userId, final boolean isPrivate) {
+        return isPrivate && Objects.nonNull(userId) ? userId : ResponseCache.PUBLIC;
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final ContentVisibility CONTENT_VISIBILITY = new ContentVisibility();
+    }
+}
@@ -92,6 +92,7 @@ public class PostCommentSqlInjector {
         final DataConfigContainer dataConfigContainer = new DataConfigContainer();
         final List<Column> columnList = new ArrayList<>();
 
+        columnList.add(new Column("id", "post_comment"));
         columnList.add(new Column("post_id", "post_comment"));
         columnList.add(new Column("commented_by", "post_comment"));
         columnList.add(new Column("content", "post_comment"));
@@ -28,6 +28,8 @@ import java.util.List;
  */
 public class PostLikeSqlInjector {
 
+    private static final String ON_CONFLICT = " ON CONFLICT (post_id, liked_by) DO NOTHING";
+    private static final String SELECT_ID = "SELECT id FROM post_like WHERE post_id = ? AND liked_by = ?";
     private final DeleteQueryBuilder deleteQueryBuilder;
     private final InsertQueryBuilder insertQueryBuilder;
 
@@ -86,18 +88,34 @@ public class PostLikeSqlInjector {
      * Builds and returns a SQL insert query for the post like table.
      * </p>
      *
+     * <p>
+     * A repeated like of the same account inserts nothing, the post and the account being unique.
+     * </p>
+     *
      * @return The SQL insert query string.
      */
     public String getInsertQuery() {
         final DataConfigContainer dataConfigContainer = new DataConfigContainer();
         final List<Column> columnList = new ArrayList<>();
 
+        columnList.add(new Column("id", "post_like"));
         columnList.add(new Column("post_id", "post_like"));
         columnList.add(new Column("liked_by", "post_like"));
 
         dataConfigContainer.setTableName("post_like");
         dataConfigContainer.setColumnList(columnList);
 
-        return insertQueryBuilder.buildInsertQuery(dataConfigContainer);
+        return String.join("", insertQueryBuilder.buildInsertQuery(dataConfigContainer), ON_CONFLICT);
+    }
+
+    /**
+     * <p>
+     * Returns the query reading the ID of the like of a post by an account.
+     * </p>
+     *
+     * @return The SQL select query string.
+     */
+    public String getSelectIdQuery() {
+        return SELECT_ID;
     }
 }
@@ -92,6 +92,7 @@ public class PostShareSqlInjector {
         final DataConfigContainer dataConfigContainer = new DataConfigContainer();
         final List<Column> columnList = new ArrayList<>();
 
+        columnList.add(new Column("id", "post_share"));
         columnList.add(new Column("post_id", "post_share"));
         columnList.add(new Column("shared_by", "post_share"));
 
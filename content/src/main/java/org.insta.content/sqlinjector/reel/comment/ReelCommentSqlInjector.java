@@ -93,6 +93,7 @@ public class ReelCommentSqlInjector {
         final DataConfigContainer dataConfigContainer = new DataConfigContainer();
         final List<Column> columnList = new ArrayList<>();
 
+        columnList.add(new Column("id", "reel_comment"));
         columnList.add(new Column("reel_id", "reel_comment"));
         columnList.add(new Column("commented_by", "reel_comment"));
         columnList.add(new Column("content", "reel_comment"));
@@ -28,6 +28,8 @@ import java.util.List;
  */
 public class ReelLikeSqlInjector {
 
+    private static final String ON_CONFLICT = " ON CONFLICT (reel_id, liked_by) DO NOTHING";
+    private static final String SELECT_ID = "SELECT id FROM reel_like WHERE reel_id = ? AND liked_by = ?";
     private final DeleteQueryBuilder deleteQueryBuilder;
     private final InsertQueryBuilder insertQueryBuilder;
 
@@ -73,7 +75,7 @@ public class ReelLikeSqlInjector {
         final DataConfigContainer dataConfigContainer = new DataConfigContainer();
         final List<WhereClause> whereClauseList = new ArrayList<>();
 
-        whereClauseList.add(new WhereClause("id", "reel_share"));
+        whereClauseList.add(new WhereClause("id", "reel_like"));
 
         dataConfigContainer.setTableName("reel_like");
         dataConfigContainer.setWhereClauses(whereClauseList);
@@ -86,18 +88,34 @@ public class ReelLikeSqlInjector {
      * Builds and returns a SQL insert query for the reel like table.
      * </p>
      *
+     * <p>
+     * A repeated like of the same account inserts nothing, the reel and the account being unique.
+     * </p>
+     *
      * @return The SQL insert query string.
      */
     public String getInsertQuery() {
         final DataConfigContainer dataConfigContainer = new DataConfigContainer();
         final List<Column> columnList = new ArrayList<>();
 
+        columnList.add(new Column("id", "reel_like"));
         columnList.add(new Column("reel_id", "reel_like"));
         columnList.add(new Column("liked_by", "reel_like"));
 
         dataConfigContainer.setTableName("reel_like");
         dataConfigContainer.setColumnList(columnList);
 
-        return insertQueryBuilder.buildInsertQuery(dataConfigContainer);
+        return String.join("", insertQueryBuilder.buildInsertQuery(dataConfigContainer), ON_CONFLICT);
+    }
+
+    /**
+     * <p>
+     * Returns the query reading the ID of the like of a reel by an account.
+     * </p>
+     *
+     * @return The SQL select query string.
+     */
+    public String getSelectIdQuery() {
+        return SELECT_ID;
     }
 }
@@ -93,6 +93,7 @@ public class ReelShareSqlInjector {
         final DataConfigContainer dataConfigContainer = new DataConfigContainer();
         final List<Column> columnList = new ArrayList<>();
 
+        columnList.add(new Column("id", "reel_share"));
         columnList.add(new Column("reel_id", "reel_share"));
         columnList.add(new Column("shared_by", "reel_share"));
 
@@ -1,39 +1,51 @@
 package org.insta.content.sqlinjector.story;
 
-import org.insta.orm.querybuilder.DeleteQueryBuilder;
-import org.insta.orm.querybuilder.InsertQueryBuilder;
-import org.insta.orm.querybuilder.SelectQueryBuilder;
-import org.insta.orm.model.Column;
-import org.insta.orm.model.DataConfigContainer;
-import org.insta.orm.model.JoinClause;
-import org.insta.orm.model.JoinType;
-import org.insta.orm.model.WhereClause;
-
+import org.insta.content.model.StoryTable;
+import org.insta.content.schema.ContentSchema;
+import org.insta.databaseconnection.idgenerator.IdGenerator;
+import org.insta.orm.schema.DdlGenerator;
+import org.insta.orm.schema.TableDefinition;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * <p>
- * SQL injector for managing story in the database.
+ * SQL injector for the day partitioned story tables.
+ * </p>
+ *
+ * <p>
+ * The story, story like and story share tables are range partitioned by story id, one partition per
+ * UTC day of creation. As an id starts with its creation time, the partition of a day holds the ids
+ * from the first id of the day up to the first id of the next day, and the likes and shares of a
+ * story live in the partitions of the day of their story, so a day of stories is dropped with all
+ * its engagement. A partition is named after its table and day, such as {@code story_p20240206}.
  * </p>
  *
  * <p>
- * This class provides methods for generating SQL queries to insert and delete story.
+ * The reads of stories are bounded below by the first id of the {@link #STORY_LIFETIME_MILLIS}
+ * window, so the planner prunes them to the live partitions and a story past its lifetime is not
+ * returned while its partition waits to be dropped.
  * </p>
  *
  * @author Mohamed Yasar
  * @version 1.0 6 Feb 2024
- * @see DeleteQueryBuilder For building delete queries.
- * @see InsertQueryBuilder For building insert queries.
- * @see DataConfigContainer Represents configuration data for SQL queries.
- * @see WhereClause Represents a WHERE clause in a SQL query.
- * @see Column Represents a column in a database table.
+ * @see DdlGenerator
+ * @see ContentSchema
  */
 public class StorySqlInjector {
 
-    private final DeleteQueryBuilder deleteQueryBuilder;
-    private final InsertQueryBuilder insertQueryBuilder;
-    private final SelectQueryBuilder selectQueryBuilder;
+    public static final long STORY_LIFETIME_MILLIS = TimeUnit.HOURS.toMillis(24);
+    private static final String PARTITION_SUFFIX = "_p";
+    private static final String LIVE_IDS = "SELECT id FROM story WHERE id >= ?";
+    private static final String PARTITIONS = String.join("", "SELECT child.relname FROM pg_inherits ",
+            "JOIN pg_class child ON child.oid = pg_inherits.inhrelid ",
+            "JOIN pg_class parent ON parent.oid = pg_inherits.inhparent WHERE parent.relname = ?");
+    private final DdlGenerator ddlGenerator;
 
     /**
      * <p>
@@ -41,9 +53,7 @@ public class StorySqlInjector {
      * </p>
      */
     private StorySqlInjector() {
-        deleteQueryBuilder = DeleteQueryBuilder.getInstance();
-        insertQueryBuilder = InsertQueryBuilder.getInstance();
-        selectQueryBuilder = SelectQueryBuilder.getInstance();
+        ddlGenerator = DdlGenerator.getInstance();
     }
 
     /**
@@ -69,75 +79,117 @@ public class StorySqlInjector {
 
     /**
      * <p>
-     * Builds and returns a SQL delete query for the story table.
+     * Returns the query reading a live story by id, taking the id and the first live id.
      * </p>
      *
-     * @return The SQL delete query string.
+     * @return The SQL select query string.
      */
-    public String getDeleteQuery() {
-        final DataConfigContainer dataConfigContainer = new DataConfigContainer();
-        final List<WhereClause> whereClauseList = new ArrayList<>();
-
-        whereClauseList.add(new WhereClause("id", "story"));
+    public String getLiveSelectQuery() {
+        return String.join("", StoryTable.SELECT, " AND story.id >= ?");
+    }
 
-        dataConfigContainer.setTableName("story");
-        dataConfigContainer.setWhereClauses(whereClauseList);
+    /**
+     * <p>
+     * Returns the query reading the ids of the live stories, taking the first live id.
+     * </p>
+     *
+     * @return The SQL select query string.
+     */
+    public String getLiveIdsQuery() {
+        return LIVE_IDS;
+    }
 
-        return deleteQueryBuilder.buildDeleteQuery(dataConfigContainer);
+    /**
+     * <p>
+     * Returns the query listing the partitions of a table, taking the name of the table.
+     * </p>
+     *
+     * @return The SQL select query string.
+     */
+    public String getPartitionsQuery() {
+        return PARTITIONS;
     }
 
+    /**
+     * <p>
+     * Builds the statements creating the partitions of a day in every story table.
+     * </p>
+     *
+     * @param day Refers the UTC day of creation of the stories.
+     * @return The SQL create table statements.
+     */
+    public List<String> getCreatePartitionQueries(final LocalDate day) {
+        final List<String> queries = new ArrayList<>();
+
+        for (final TableDefinition table : ContentSchema.getInstance().getStoryTables()) {
+            queries.add(ddlGenerator.buildCreatePartition(table, getPartitionName(table.getName(), day),
+                    String.valueOf(getFirstId(day)), String.valueOf(getFirstId(day.plusDays(1)))));
+        }
+
+        return queries;
+    }
 
     /**
      * <p>
-     * Builds and returns a SQL insert query for the story table.
+     * Builds the statements detaching and dropping a partition of a story table.
      * </p>
      *
-     * @return The SQL insert query string.
+     * @param table         Refers the definition of the story table.
+     * @param partitionName Refers the name of the partition.
+     * @return The SQL statements, to be run in one transaction.
      */
-    public String getInsertQuery() {
-        final DataConfigContainer dataConfigContainer = new DataConfigContainer();
-        final List<Column> columnList = new ArrayList<>();
+    public List<String> getDropPartitionQueries(final TableDefinition table, final String partitionName) {
+        return ddlGenerator.buildDropPartition(table, partitionName);
+    }
 
-        columnList.add(new Column("user_id", "story"));
-        columnList.add(new Column("caption", "story"));
-        columnList.add(new Column("is_private", "story"));
-        columnList.add(new Column("music", "story"));
-        columnList.add(new Column("media", "story"));
+    /**
+     * <p>
+     * Returns the name of the partition of a table holding a day.
+     * </p>
+     *
+     * @param tableName Refers the name of the partitioned table.
+     * @param day       Refers the UTC day of creation of the stories.
+     * @return The name of the partition.
+     */
+    public static String getPartitionName(final String tableName, final LocalDate day) {
+        return String.join("", tableName, PARTITION_SUFFIX, day.format(DateTimeFormatter.BASIC_ISO_DATE));
+    }
 
-        dataConfigContainer.setTableName("story");
-        dataConfigContainer.setColumnList(columnList);
+    /**
+     * <p>
+     * Returns the day held by a partition of a table.
+     * </p>
+     *
+     * @param tableName     Refers the name of the partitioned table.
+     * @param partitionName Refers the name of the partition.
+     * @return The UTC day of creation of the stories of the partition.
+     */
+    public static LocalDate getPartitionDay(final String tableName, final String partitionName) {
+        return LocalDate.parse(partitionName.substring(tableName.length() + PARTITION_SUFFIX.length()),
+                DateTimeFormatter.BASIC_ISO_DATE);
+    }
 
-        return insertQueryBuilder.buildInsertQuery(dataConfigContainer);
+    /**
+     * <p>
+     * Returns the first id created on a day.
+     * </p>
+     *
+     * @param day Refers the UTC day.
+     * @return The first id of the day.
+     */
+    public static long getFirstId(final LocalDate day) {
+        return IdGenerator.getFirstId(day.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli());
     }
 
     /**
      * <p>
-     * Builds and returns a SQL select query for retrieving data from the story table.
+     * Returns the first id of the stories still within their lifetime.
      * </p>
      *
-     * @return The SQL select query string.
+     * @param nowMillis Refers the current time in milliseconds.
+     * @return The first live id.
      */
-    public String getSelectQuery() {
-        final DataConfigContainer dataConfigContainer = new DataConfigContainer();
-        final List<Column> columnList = new ArrayList<>();
-        final List<WhereClause> whereClauseList = new ArrayList<>();
-        final List<JoinClause> joinClauseList = new ArrayList<>();
-
-        columnList.add(new Column("id", "story"));
-        columnList.add(new Column("user_id", "story"));
-        columnList.add(new Column("name", "account"));
-        columnList.add(new Column("caption", "story"));
-        columnList.add(new Column("is_private", "story"));
-        columnList.add(new Column("music", "story"));
-        columnList.add(new Column("created_at", "story"));
-
-        whereClauseList.add(new WhereClause("id", "story"));
-        joinClauseList.add(new JoinClause("story", "user_id", "account", "id", JoinType.LEFT));
-        dataConfigContainer.setTableName("reels");
-        dataConfigContainer.setColumnList(columnList);
-        dataConfigContainer.setWhereClauses(whereClauseList);
-        dataConfigContainer.setJoinClauseList(joinClauseList);
-
-        return selectQueryBuilder.buildSelectQuery(dataConfigContainer);
+    public static long getFirstLiveId(final long nowMillis) {
+        return IdGenerator.getFirstId(nowMillis - STORY_LIFETIME_MILLIS);
     }
 }
@@ -28,6 +28,8 @@ import java.util.List;
  */
 public class StoryLikeSqlInjector {
 
+    private static final String ON_CONFLICT = " ON CONFLICT (story_id, liked_by) DO NOTHING";
+    private static final String SELECT_ID = "SELECT id FROM story_like WHERE story_id = ? AND liked_by = ?";
     private final DeleteQueryBuilder deleteQueryBuilder;
     private final InsertQueryBuilder insertQueryBuilder;
 
@@ -86,18 +88,34 @@ public class StoryLikeSqlInjector {
      * Builds and returns a SQL insert query for the story like table.
      * </p>
      *
+     * <p>
+     * A repeated like of the same account inserts nothing, the story and the account being unique.
+     * </p>
+     *
      * @return The SQL insert query string.
      */
     public String getInsertQuery() {
         final DataConfigContainer dataConfigContainer = new DataConfigContainer();
         final List<Column> columnList = new ArrayList<>();
 
+        columnList.add(new Column("id", "story_like"));
         columnList.add(new Column("story_id", "story_like"));
         columnList.add(new Column("liked_by", "story_like"));
 
         dataConfigContainer.setColumnList(columnList);
         dataConfigContainer.setTableName("story_like");
 
-        return insertQueryBuilder.buildInsertQuery(dataConfigContainer);
+        return String.join("", insertQueryBuilder.buildInsertQuery(dataConfigContainer), ON_CONFLICT);
+    }
+
+    /**
+     * <p>
+     * Returns the query reading the ID of the like of a story by an account.
+     * </p>
+     *
+     * @return The SQL select query string.
+     */
+    public String getSelectIdQuery() {
+        return SELECT_ID;
     }
 }
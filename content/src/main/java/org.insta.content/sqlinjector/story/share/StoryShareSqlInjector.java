@@ -92,6 +92,7 @@ public class StoryShareSqlInjector {
         final DataConfigContainer dataConfigContainer = new DataConfigContainer();
         final List<Column> columnList = new ArrayList<>();
 
+        columnList.add(new Column("id", "story_share"));
         columnList.add(new Column("story_id", "story_share"));
         columnList.add(new Column("shared_by", "story_share"));
 
@@ -3,6 +3,9 @@ import org.insta.content.model.Media;
 import org.insta.content.model.Post;
 
 import java.io.FileReader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
@@ -80,6 +83,32 @@ public class PostDAOTest implements PostServiceDAO {
         return Optional.ofNullable(post.getPostId());
     }
 
+    /**
+     * <p>
+     * Posts the given batch of posts for the user account.
+     * </p>
+     *
+     * @param posts the posts to be added
+     * @return the IDs of the added posts
+     */
+    @Override
+    public List<Long> addPosts(final List<Post> posts) {
+        return posts.stream().map(Post::getPostId).collect(Collectors.toList());
+    }
+
+    /**
+     * <p>
+     * Posts a video or image for the user account without waiting for the write.
+     * </p>
+     *
+     * @param post the post to be added
+     * @return the ID of the added post
+     */
+    @Override
+    public Long addPostAsync(final Post post) {
+        return post.getPostId();
+    }
+
     /**
      * <p>
      * Deletes a post for the user account.
@@ -118,6 +147,25 @@ public class PostDAOTest implements PostServiceDAO {
         return Optional.empty();
     }
 
+    /**
+     * <p>
+     * Retrieves the posts with the specified IDs.
+     * </p>
+     *
+     * @param postIds the IDs of the posts to be retrieved
+     * @return the retrieved posts by ID
+     */
+    @Override
+    public Map<Long, Post> getPosts(final List<Long> postIds) {
+        final Map<Long, Post> posts = new HashMap<>();
+
+        for (final Long postId : postIds) {
+            getPost(postId).ifPresent(post -> posts.put(postId, post));
+        }
+
+        return posts;
+    }
+
     /**
      * <p>
      * Sets the post details from the properties file based on the identifier.
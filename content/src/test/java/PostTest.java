@@ -1,6 +1,7 @@
 import org.insta.content.controller.post.PostController;
 import org.insta.content.model.Media;
 import org.insta.content.model.Post;
+import org.insta.content.service.visibility.ContentVisibility;
 import org.insta.wrapper.jsonvalidator.JsonResponseHandler;
 import org.junit.Before;
 import org.junit.Test;
@@ -112,15 +113,23 @@ public class PostTest {
 
     /**
      * <p>
-     * Tests the retrieval of posts by getting each post and verifying the returned ID.
+     * Tests the retrieval of posts by getting each post as its author and verifying the returned ID.
      * </p>
      */
     @Test
     public void getPost() {
         for (final String identifier : identifiers) {
-            final byte[] result = postController.getPost(Long.parseLong(properties.getProperty(identifier + ".postId")));
+            final Long postId = Long.parseLong(properties.getProperty(identifier + ".postId"));
 
-            assert (jsonResponseHandler.getObjectId(result).equals(Long.parseLong(properties.getProperty(identifier + ".postId"))));
+            ContentVisibility.getInstance().setViewer(Long.parseLong(properties.getProperty(identifier + ".userId")));
+
+            try {
+                final byte[] result = postController.getPost(postId);
+
+                assert (jsonResponseHandler.getObjectId(result).equals(postId));
+            } finally {
+                ContentVisibility.getInstance().clearViewer();
+            }
         }
     }
 }
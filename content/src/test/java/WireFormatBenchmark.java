@@ -0,0 +1,156 @@
+import org.insta.authentication.model.Address;
+import org.insta.authentication.model.User;
+import org.insta.content.model.Media;
+import org.insta.content.model.Post;
+import org.insta.content.model.Reel;
+import org.insta.content.model.Story;
+import org.insta.wrapper.jackson.WireFormat;
+import org.insta.wrapper.jsonvalidator.JsonResponseHandler;
+
+import java.sql.Timestamp;
+import java.util.Map;
+
+/**
+ * <p>
+ * Compares the payload size and the encode and decode time of the wire formats for the posts, reels,
+ * stories and users returned by the single resource reads.
+ * </p>
+ *
+ * <p>
+ * The comparison is run by hand, as {@code java WireFormatBenchmark [iterations]}, and prints one
+ * line per model and format. The encode time covers the transcoding of the cached JSON response,
+ * which is what a read in a binary format costs the server.
+ * </p>
+ *
+ * @see WireFormat
+ * @see JsonResponseHandler
+ */
+public class WireFormatBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+
+    /**
+     * Runs the comparison.
+     *
+     * @param args the number of measured iterations, 100000 by default
+     * @throws Exception if a payload cannot be decoded
+     */
+    public static void main(final String[] args) throws Exception {
+        final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        final JsonResponseHandler jsonResponseHandler = JsonResponseHandler.getInstance();
+        final Map<String, Object> models = Map.of("Post", post(), "Reel", reel(), "Story", story(), "User", user());
+
+        System.out.printf("%-6s %-6s %8s %14s %14s%n", "model", "format", "bytes", "encode ns/op", "decode ns/op");
+
+        for (final Map.Entry<String, Object> model : models.entrySet()) {
+            final byte[] json = jsonResponseHandler.objectResponse(model.getValue());
+
+            for (final WireFormat format : WireFormat.values()) {
+                final byte[] payload = jsonResponseHandler.transcode(json, format);
+
+                measure(jsonResponseHandler, json, payload, format, WARMUP_ITERATIONS);
+                final long[] nanos = measure(jsonResponseHandler, json, payload, format, iterations);
+
+                System.out.printf("%-6s %-6s %8d %14d %14d%n", model.getKey(), format, payload.length,
+                        nanos[0] / iterations, nanos[1] / iterations);
+            }
+        }
+    }
+
+    /**
+     * Times the encoding and the decoding of a payload.
+     *
+     * @param jsonResponseHandler the handler transcoding the JSON response
+     * @param json                the JSON response
+     * @param payload             the payload in the measured format
+     * @param format              the measured format
+     * @param iterations          the number of iterations
+     * @return the total encode and decode nanoseconds
+     * @throws Exception if the payload cannot be decoded
+     */
+    private static long[] measure(final JsonResponseHandler jsonResponseHandler, final byte[] json,
+                                  final byte[] payload, final WireFormat format, final int iterations)
+            throws Exception {
+        long checksum = 0;
+        long start = System.nanoTime();
+
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            checksum += jsonResponseHandler.transcode(json, format).length;
+        }
+        final long encodeNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            checksum += format.getObjectMapper().readTree(payload).size();
+        }
+        final long decodeNanos = System.nanoTime() - start;
+
+        if (checksum == 0) {
+            throw new IllegalStateException("Nothing was encoded");
+        }
+
+        return new long[]{encodeNanos, decodeNanos};
+    }
+
+    private static Post post() {
+        final Post post = new Post();
+
+        post.setPostId(1_048_576L);
+        post.setUserId(4_096L);
+        post.setUserName("yasar");
+        post.setCaption("Sunset over the harbour, shot on the last ferry of the day");
+        post.setType(Media.IMAGE);
+        post.setPrivate(false);
+        post.setTimestamp(new Timestamp(1_707_177_600_000L));
+
+        return post;
+    }
+
+    private static Reel reel() {
+        final Reel reel = new Reel();
+
+        reel.setReelId(2_097_152L);
+        reel.setUserId(4_096L);
+        reel.setUserName("yasar");
+        reel.setCaption("Ten second timelapse of the harbour");
+        reel.setDuration("00:00:10");
+        reel.setPrivate(false);
+        reel.setTimestamp(new Timestamp(1_707_177_600_000L));
+
+        return reel;
+    }
+
+    private static Story story() {
+        final Story story = new Story();
+
+        story.setStoryId(3_145_728L);
+        story.setUserId(4_096L);
+        story.setUserName("yasar");
+        story.setText("Back tomorrow");
+        story.setMusic("Harbour Lights");
+        story.setPrivate(true);
+        story.setTimestamp(new Timestamp(1_707_177_600_000L));
+
+        return story;
+    }
+
+    private static User user() {
+        final User user = new User();
+        final Address address = new Address();
+
+        address.setDoorNumber(12);
+        address.setStreetName("Harbour Road");
+        address.setState("Tamil Nadu");
+        address.setCountry("India");
+        address.setCountryCode("IN");
+        user.setUserId(4_096L);
+        user.setName("yasar");
+        user.setEmail("yasar@example.com");
+        user.setMobileNumber("9876543210");
+        user.setPassword("secret");
+        user.setAddress(address);
+
+        return user;
+    }
+}
@@ -0,0 +1,168 @@
+package org.insta.content.service.expiry;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>
+ * Unit tests for the TimingWheel, with ticks of one millisecond.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see TimingWheel
+ */
+public class TimingWheelTest {
+
+    private static final long[] NONE = new long[0];
+
+    /**
+     * <p>
+     * Tests that timers on either side of the level boundaries fall due on their own tick, after being
+     * cascaded down from the upper levels.
+     * </p>
+     */
+    @Test
+    public void testCascadeBoundaries() {
+        final TimingWheel timingWheel = new TimingWheel(1, 0);
+        final long[] deadlines = {255, 256, 257, 511, 512, 65_535, 65_536, 65_537, 16_777_216};
+
+        for (final long deadline : deadlines) {
+            timingWheel.schedule(deadline, deadline);
+        }
+
+        for (final long deadline : deadlines) {
+            assertArrayEquals(NONE, timingWheel.advance(deadline - 1, Integer.MAX_VALUE));
+            assertArrayEquals(new long[] {deadline}, timingWheel.advance(deadline, Integer.MAX_VALUE));
+        }
+        assertEquals(0, timingWheel.size());
+    }
+
+    /**
+     * <p>
+     * Tests that a timer due before the clock enters the next upper level slot is not held back by the
+     * cascade of that slot.
+     * </p>
+     */
+    @Test
+    public void testCascadeFromOffsetClock() {
+        final TimingWheel timingWheel = new TimingWheel(1, 200);
+
+        timingWheel.schedule(1, 300);
+        timingWheel.schedule(2, 600);
+
+        assertArrayEquals(NONE, timingWheel.advance(299, Integer.MAX_VALUE));
+        assertArrayEquals(new long[] {1}, timingWheel.advance(300, Integer.MAX_VALUE));
+        assertArrayEquals(NONE, timingWheel.advance(599, Integer.MAX_VALUE));
+        assertArrayEquals(new long[] {2}, timingWheel.advance(600, Integer.MAX_VALUE));
+    }
+
+    /**
+     * <p>
+     * Tests that rescheduling a key replaces its timer and that cancelling it removes the new one.
+     * </p>
+     */
+    @Test
+    public void testCancelRescheduledKey() {
+        final TimingWheel timingWheel = new TimingWheel(1, 0);
+
+        timingWheel.schedule(7, 100);
+        timingWheel.schedule(7, 70_000);
+
+        assertEquals(1, timingWheel.size());
+        assertArrayEquals(NONE, timingWheel.advance(100, Integer.MAX_VALUE));
+        assertTrue(timingWheel.cancel(7));
+        assertFalse(timingWheel.cancel(7));
+        assertEquals(0, timingWheel.size());
+        assertArrayEquals(NONE, timingWheel.advance(80_000, Integer.MAX_VALUE));
+
+        timingWheel.schedule(7, 90_000);
+        timingWheel.schedule(7, 80_010);
+
+        assertArrayEquals(new long[] {7}, timingWheel.advance(80_010, Integer.MAX_VALUE));
+        assertArrayEquals(NONE, timingWheel.advance(90_000, Integer.MAX_VALUE));
+    }
+
+    /**
+     * <p>
+     * Tests that a timer scheduled in the past falls due on the next tick.
+     * </p>
+     */
+    @Test
+    public void testPastDueScheduling() {
+        final TimingWheel timingWheel = new TimingWheel(10, 1_000);
+
+        timingWheel.schedule(3, 500);
+        timingWheel.schedule(4, 1_000);
+
+        assertArrayEquals(NONE, timingWheel.advance(1_009, Integer.MAX_VALUE));
+        assertEquals(2, timingWheel.size());
+
+        final long[] due = timingWheel.advance(1_010, Integer.MAX_VALUE);
+
+        Arrays.sort(due);
+        assertArrayEquals(new long[] {3, 4}, due);
+        assertEquals(0, timingWheel.size());
+    }
+
+    /**
+     * <p>
+     * Tests that the clock stops at the tick where the limit is reached and resumes from there.
+     * </p>
+     */
+    @Test
+    public void testAdvanceLimit() {
+        final TimingWheel timingWheel = new TimingWheel(1, 0);
+
+        timingWheel.schedule(1, 10);
+        timingWheel.schedule(2, 20);
+        timingWheel.schedule(3, 30);
+
+        assertArrayEquals(new long[] {1}, timingWheel.advance(100, 1));
+        assertArrayEquals(new long[] {2, 3}, timingWheel.advance(100, 5));
+    }
+
+    /**
+     * <p>
+     * Tests that the keys stay reachable while the table grows and after backward shift deletions
+     * of keys in the middle of probe sequences.
+     * </p>
+     */
+    @Test
+    public void testRehashAndBackwardShiftDeletion() {
+        final TimingWheel timingWheel = new TimingWheel(1, 0);
+        final int count = 5_000;
+
+        for (long key = 1; key <= count; key++) {
+            timingWheel.schedule(key, 1_000 + key);
+        }
+        assertEquals(count, timingWheel.size());
+
+        for (long key = 1; key <= count; key += 2) {
+            assertTrue(timingWheel.cancel(key));
+        }
+        assertEquals(count / 2, timingWheel.size());
+
+        for (long key = 1; key <= count; key++) {
+            assertEquals(key % 2 == 0, timingWheel.cancel(key));
+        }
+        assertEquals(0, timingWheel.size());
+
+        for (long key = 1; key <= count; key++) {
+            timingWheel.schedule(key * 1_024, 2_000);
+        }
+        final long[] due = timingWheel.advance(2_000, Integer.MAX_VALUE);
+
+        Arrays.sort(due);
+        assertEquals(count, due.length);
+        assertEquals(1_024, due[0]);
+        assertEquals(count * 1_024L, due[count - 1]);
+        assertEquals(0, timingWheel.size());
+    }
+}
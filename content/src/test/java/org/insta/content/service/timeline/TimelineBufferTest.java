@@ -0,0 +1,133 @@
+package org.insta.content.service.timeline;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>
+ * Unit tests for the TimelineBuffer ring.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see TimelineBuffer
+ */
+public class TimelineBufferTest {
+
+    /**
+     * <p>
+     * Tests that late content is put in order once the ring has wrapped around, keeping its reel flag.
+     * </p>
+     */
+    @Test
+    public void testOrderedInsertionAfterWraparound() {
+        final TimelineBuffer timelineBuffer = new TimelineBuffer(8);
+
+        for (long id = 10; id <= 100; id += 10) {
+            timelineBuffer.add(id, id % 20 == 0);
+        }
+        assertArrayEquals(new long[] {100, 90, 80, 70, 60, 50, 40, 30}, page(timelineBuffer, Long.MAX_VALUE, 16));
+
+        timelineBuffer.add(95, true);
+        timelineBuffer.add(45, false);
+
+        assertArrayEquals(new long[] {100, 95, 90, 80, 70, 60, 50, 45}, page(timelineBuffer, Long.MAX_VALUE, 16));
+
+        final long[] pageIds = new long[8];
+        final boolean[] pageReels = new boolean[8];
+
+        assertEquals(8, timelineBuffer.page(Long.MAX_VALUE, 8, pageIds, pageReels));
+        assertTrue(pageReels[0]);
+        assertTrue(pageReels[1]);
+        assertFalse(pageReels[2]);
+        assertTrue(pageReels[3]);
+        assertFalse(pageReels[7]);
+    }
+
+    /**
+     * <p>
+     * Tests that a full ring ignores content older than all it holds, and ids it already holds.
+     * </p>
+     */
+    @Test
+    public void testDropsIdsOlderThanFullBuffer() {
+        final TimelineBuffer timelineBuffer = new TimelineBuffer(4);
+
+        for (long id = 1; id <= 6; id++) {
+            timelineBuffer.add(id * 10, false);
+        }
+        final long[] expected = {60, 50, 40, 30};
+
+        assertArrayEquals(expected, page(timelineBuffer, Long.MAX_VALUE, 8));
+
+        timelineBuffer.add(25, false);
+        timelineBuffer.add(10, true);
+        timelineBuffer.add(40, true);
+
+        assertArrayEquals(expected, page(timelineBuffer, Long.MAX_VALUE, 8));
+
+        timelineBuffer.add(35, false);
+
+        assertArrayEquals(new long[] {60, 50, 40, 35}, page(timelineBuffer, Long.MAX_VALUE, 8));
+    }
+
+    /**
+     * <p>
+     * Tests that the arrays grow up to the capacity without losing the order.
+     * </p>
+     */
+    @Test
+    public void testGrowthKeepsOrder() {
+        final TimelineBuffer timelineBuffer = new TimelineBuffer(64);
+
+        for (long id = 40; id >= 1; id--) {
+            timelineBuffer.add(id, false);
+        }
+        final long[] expected = new long[40];
+
+        for (int index = 0; index < expected.length; index++) {
+            expected[index] = 40 - index;
+        }
+        assertArrayEquals(expected, page(timelineBuffer, Long.MAX_VALUE, 64));
+    }
+
+    /**
+     * <p>
+     * Tests that pages follow one another from the cursor, whether or not the cursor is held.
+     * </p>
+     */
+    @Test
+    public void testCursorPaging() {
+        final TimelineBuffer timelineBuffer = new TimelineBuffer(32);
+
+        for (long id = 1; id <= 20; id++) {
+            timelineBuffer.add(id * 10, false);
+        }
+        assertArrayEquals(new long[] {200, 190, 180}, page(timelineBuffer, Long.MAX_VALUE, 3));
+        assertArrayEquals(new long[] {100, 90, 80, 70}, page(timelineBuffer, 110, 4));
+        assertArrayEquals(new long[] {60, 50, 40, 30}, page(timelineBuffer, 70, 4));
+        assertArrayEquals(new long[] {20, 10}, page(timelineBuffer, 30, 4));
+        assertArrayEquals(new long[0], page(timelineBuffer, 10, 4));
+        assertArrayEquals(new long[] {20, 10}, page(timelineBuffer, 25, 4));
+        assertArrayEquals(new long[0], page(timelineBuffer, Long.MAX_VALUE, 0));
+    }
+
+    /**
+     * @param timelineBuffer Refers the ring.
+     * @param cursor         Refers the id the entries must be older than.
+     * @param limit          Refers the maximum number of entries.
+     * @return The ids of the page, newest first.
+     */
+    private static long[] page(final TimelineBuffer timelineBuffer, final long cursor, final int limit) {
+        final long[] pageIds = new long[limit];
+        final int count = timelineBuffer.page(cursor, limit, pageIds, new boolean[limit]);
+
+        return Arrays.copyOf(pageIds, count);
+    }
+}
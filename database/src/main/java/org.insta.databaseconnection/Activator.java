@@ -2,6 +2,8 @@ package org.insta.databaseconnection;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.insta.databaseconnection.asyncwriter.AsyncWriter;
+import org.insta.databaseconnection.shard.ShardedDataSource;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
 
@@ -44,6 +46,8 @@ public final class Activator implements BundleActivator {
      */
     @Override
     public void stop(final BundleContext bundleContext) {
+        AsyncWriter.getInstance().shutdown();
+        ShardedDataSource.getInstance().close();
         LOGGER.info("Database bundle stopped successfully");
     }
 }
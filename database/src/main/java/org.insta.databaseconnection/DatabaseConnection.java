@@ -29,6 +29,7 @@ import java.util.Properties;
 public final class DatabaseConnection {
 
     private static final Logger LOGGER = LogManager.getLogger(DatabaseConnection.class);
+    private static final String PROPERTIES_PATH = "C:/designpp/Instagram/database/src/main/resources/db.properties";
     private static Connection connection;
 
     /**
@@ -40,19 +41,16 @@ public final class DatabaseConnection {
      */
     public static Connection get() {
         if (Objects.isNull(connection)) {
-            final Properties properties = new Properties();
-
-            try (final FileReader fileReader = new FileReader
-                    ("C:/designpp/Instagram/database/src/main/resources/db.properties")) {
-                properties.load(fileReader);
+            final Properties properties = getProperties();
 
+            try {
                 Class.forName("org.postgresql.Driver");
 
                 connection = DriverManager.getConnection(properties.getProperty("url"),
                         properties.getProperty("username"), properties.getProperty("password"));
 
                 return connection;
-            } catch (ClassNotFoundException | SQLException | IOException exception) {
+            } catch (ClassNotFoundException | SQLException exception) {
                 if (LOGGER != null) LOGGER.error("Database Connection failed");
 
                 throw new DatabaseConnectionFailedException("Database connection failed");
@@ -60,4 +58,25 @@ public final class DatabaseConnection {
         }
         return connection;
     }
+
+    /**
+     * <p>
+     * Loads the database properties from the {@code db.properties} file.
+     * </p>
+     *
+     * @return The loaded database properties.
+     */
+    public static Properties getProperties() {
+        final Properties properties = new Properties();
+
+        try (final FileReader fileReader = new FileReader(PROPERTIES_PATH)) {
+            properties.load(fileReader);
+
+            return properties;
+        } catch (IOException exception) {
+            if (LOGGER != null) LOGGER.error("Database properties loading failed");
+
+            throw new DatabaseConnectionFailedException("Database connection failed");
+        }
+    }
 }
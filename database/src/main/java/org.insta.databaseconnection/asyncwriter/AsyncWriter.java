@@ -0,0 +1,113 @@
+package org.insta.databaseconnection.asyncwriter;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.insta.databaseconnection.exception.AsyncWriteRejectedException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Executes fire and forget database writes in the background.
+ * </p>
+ *
+ * <p>
+ * Since identifiers are assigned by the DAO before the insert, the caller already knows the id of the
+ * row and does not have to wait for the statement to complete. Writes are executed in submission order
+ * on a single worker thread. Each write borrows its own pooled connection through
+ * {@code ShardedDataSource.getConnection}, so the background writes hold at most one connection at a
+ * time and pass the write lane like any other write. The queue is bounded; once it is full further
+ * writes are rejected instead of growing the heap.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+public final class AsyncWriter {
+
+    private static final Logger LOGGER = LogManager.getLogger(AsyncWriter.class);
+    private static final int QUEUE_CAPACITY = 10_000;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private AsyncWriter() {
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+            final Thread thread = new Thread(runnable, "insta-async-writer");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of AsyncWriter class.
+     * </p>
+     *
+     * @return The singleton instance of AsyncWriter class.
+     */
+    public static AsyncWriter getInstance() {
+        return InstanceHolder.ASYNC_WRITER;
+    }
+
+    /**
+     * <p>
+     * Queues the given write for background execution.
+     * </p>
+     *
+     * @param write Refers the database write to be executed.
+     * @throws AsyncWriteRejectedException If the write queue is full or the writer is stopped.
+     */
+    public void submit(final Runnable write) {
+        try {
+            executor.execute(() -> {
+                try {
+                    write.run();
+                } catch (RuntimeException exception) {
+                    LOGGER.error("Asynchronous write failed", exception);
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            LOGGER.error("Asynchronous write rejected");
+            throw new AsyncWriteRejectedException("Asynchronous write rejected");
+        }
+    }
+
+    /**
+     * <p>
+     * Stops accepting writes and waits for the queued writes to complete.
+     * </p>
+     */
+    public void shutdown() {
+        executor.shutdown();
+
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                LOGGER.error("Pending asynchronous writes dropped at shutdown");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException exception) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final AsyncWriter ASYNC_WRITER = new AsyncWriter();
+    }
+}
@@ -0,0 +1,407 @@
+package org.insta.databaseconnection.bulk;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.insta.databaseconnection.exception.BulkCopyFailedException;
+import org.insta.databaseconnection.shard.ShardedDataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>
+ * Streams rows into PostgreSQL with {@code COPY FROM STDIN}, one stream per table and shard.
+ * </p>
+ *
+ * <p>
+ * Each table of each shard gets its own stream running on its own thread, so the rows of the tables
+ * are collected in parallel. Rows are handed over through a bounded queue: when a stream falls
+ * behind, {@link #write(String, String, long, byte[])} blocks the producer, so the memory used never
+ * depends on the size of the input. A stream copies what its queue holds as one batch.
+ * </p>
+ *
+ * <p>
+ * An import borrows exactly one connection per shard, whatever the number of tables: the streams of
+ * a shard take turns copying their batches on it, each into a temporary staging table of its table.
+ * The connection stays in one transaction until {@link #finish()}, which moves the staged rows into
+ * the tables with {@code ON CONFLICT DO NOTHING} and commits one shard after another, so a pool of
+ * {@code pool.size} connections always keeps {@code pool.size - 1} of them for the other requests of
+ * each shard, and concurrent imports cannot exhaust it between them. A failure or an {@link #abort()}
+ * before the commits rolls every shard back, so nothing of the import is left behind. The commits
+ * of the shards are not atomic together: if one fails after others succeeded, the committed shards
+ * keep their rows and {@link #finish()} fails. As rows already present are skipped, running the same
+ * import again completes it without duplicating the rows which carry their own identifier.
+ * </p>
+ *
+ * <p>
+ * The connections are borrowed from the shards directly rather than through the write lane of the
+ * {@code DatabaseLimiter}: they are held for the whole import, and a single sample of that length
+ * would drive the adaptive limit of every other write to its minimum.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see CsvRow
+ * @see ShardedDataSource
+ */
+public final class BulkCopyWriter {
+
+    private static final Logger LOGGER = LogManager.getLogger(BulkCopyWriter.class);
+    private static final byte[] END_OF_STREAM = new byte[0];
+    private final ShardedDataSource shardedDataSource;
+    private final int queueCapacity;
+    private final ExecutorService executor;
+    private final Map<String, CopyStream> streams;
+    private final Map<Integer, ShardCopy> shards;
+    private final AtomicReference<Throwable> failure;
+
+    /**
+     * <p>
+     * Creates a writer whose streams buffer at most the given number of rows each.
+     * </p>
+     *
+     * @param queueCapacity Refers the number of rows buffered per stream.
+     */
+    public BulkCopyWriter(final int queueCapacity) {
+        this.shardedDataSource = ShardedDataSource.getInstance();
+        this.queueCapacity = queueCapacity;
+        this.streams = new ConcurrentHashMap<>();
+        this.shards = new ConcurrentHashMap<>();
+        this.failure = new AtomicReference<>();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "insta-bulk-copy");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    /**
+     * <p>
+     * Queues a CSV row for the given table on the shard owning the routing id.
+     * </p>
+     *
+     * @param table     Refers the name of the table.
+     * @param columns   Refers the comma separated columns, in the order of the row.
+     * @param routingId Refers the identifier deciding the shard of the row.
+     * @param row       Refers the row built with {@link CsvRow}.
+     * @throws BulkCopyFailedException If a stream failed or the producer was interrupted.
+     */
+    public void write(final String table, final String columns, final long routingId, final byte[] row) {
+        final int shardIndex = shardedDataSource.getShardIndex(routingId);
+        final CopyStream stream = streams.computeIfAbsent(String.join("#", table, String.valueOf(shardIndex)),
+                key -> open(table, columns, shardIndex));
+
+        try {
+            while (!stream.queue.offer(row, 100, TimeUnit.MILLISECONDS)) {
+                checkFailure();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            abort();
+            throw new BulkCopyFailedException("Bulk copy interrupted");
+        }
+    }
+
+    /**
+     * <p>
+     * Ends every stream and commits the rows once every stream has staged its rows.
+     * </p>
+     *
+     * @return The number of copied rows per table, without the rows already present.
+     * @throws BulkCopyFailedException If any stream or commit failed.
+     */
+    public Map<String, Long> finish() {
+        final Map<String, Long> rows = new TreeMap<>();
+
+        try {
+            for (final CopyStream stream : streams.values()) {
+                while (!stream.queue.offer(END_OF_STREAM, 100, TimeUnit.MILLISECONDS)) {
+                    checkFailure();
+                }
+            }
+
+            for (final CopyStream stream : streams.values()) {
+                stream.result.get();
+            }
+
+            for (final ShardCopy shard : new TreeMap<>(shards).values()) {
+                shard.commit(rows);
+            }
+
+            return rows;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            abort();
+            throw new BulkCopyFailedException("Bulk copy interrupted");
+        } catch (ExecutionException | SQLException exception) {
+            abort();
+            LOGGER.error("Bulk copy failed");
+            throw new BulkCopyFailedException("Bulk copy failed");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * <p>
+     * Cancels every stream, rolling back the rows of the shards not committed yet.
+     * </p>
+     */
+    public void abort() {
+        failure.compareAndSet(null, new BulkCopyFailedException("Bulk copy aborted"));
+        executor.shutdownNow();
+        shards.values().forEach(ShardCopy::close);
+    }
+
+    /**
+     * <p>
+     * Throws if any stream failed.
+     * </p>
+     */
+    private void checkFailure() {
+        if (Objects.nonNull(failure.get())) {
+            abort();
+            LOGGER.error("Bulk copy failed");
+            throw new BulkCopyFailedException("Bulk copy failed");
+        }
+    }
+
+    /**
+     * <p>
+     * Starts the stream of a table on a shard.
+     * </p>
+     *
+     * @param table      Refers the name of the table.
+     * @param columns    Refers the comma separated columns.
+     * @param shardIndex Refers the index of the physical shard.
+     * @return The started stream.
+     */
+    private CopyStream open(final String table, final String columns, final int shardIndex) {
+        final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(queueCapacity);
+        final ShardCopy shard = shards.computeIfAbsent(shardIndex,
+                index -> new ShardCopy(shardedDataSource, index));
+        final Future<Long> result = executor.submit(() -> {
+            try {
+                return drain(table, columns, shard, queue);
+            } catch (Exception exception) {
+                LOGGER.error(String.join(" ", "Bulk copy of", table, "failed on shard", String.valueOf(shardIndex)));
+                failure.compareAndSet(null, exception);
+                throw exception;
+            }
+        });
+
+        return new CopyStream(table, queue, result);
+    }
+
+    /**
+     * <p>
+     * Copies the queued rows in batches into the staging table of the shard until the end of the
+     * stream is reached.
+     * </p>
+     *
+     * @param table   Refers the name of the table.
+     * @param columns Refers the comma separated columns.
+     * @param shard   Refers the copy of the shard.
+     * @param queue   Refers the queue of rows.
+     * @return The number of staged rows.
+     * @throws SQLException         If the COPY fails.
+     * @throws InterruptedException If the import is aborted.
+     */
+    private long drain(final String table, final String columns, final ShardCopy shard,
+                       final BlockingQueue<byte[]> queue) throws SQLException, InterruptedException {
+        final List<byte[]> batch = new ArrayList<>(queueCapacity);
+        long rows = 0;
+        boolean ended = false;
+
+        while (!ended) {
+            batch.add(queue.take());
+            queue.drainTo(batch, queueCapacity - 1);
+
+            if (batch.get(batch.size() - 1) == END_OF_STREAM) {
+                batch.remove(batch.size() - 1);
+                ended = true;
+            }
+
+            if (!batch.isEmpty()) {
+                shard.copy(table, columns, batch);
+                rows += batch.size();
+                batch.clear();
+            }
+        }
+
+        return rows;
+    }
+
+    /**
+     * <p>
+     * Running stream of one table on one shard.
+     * </p>
+     */
+    private static final class CopyStream {
+
+        private final String table;
+        private final BlockingQueue<byte[]> queue;
+        private final Future<Long> result;
+
+        /**
+         * <p>
+         * Creates the handle of a running stream.
+         * </p>
+         *
+         * @param table  Refers the name of the table.
+         * @param queue  Refers the queue feeding the stream.
+         * @param result Refers the number of staged rows once the stream ends.
+         */
+        private CopyStream(final String table, final BlockingQueue<byte[]> queue, final Future<Long> result) {
+            this.table = table;
+            this.queue = queue;
+            this.result = result;
+        }
+    }
+
+    /**
+     * <p>
+     * Transaction of an import on one shard, shared by the streams of its tables.
+     * </p>
+     */
+    private static final class ShardCopy {
+
+        private final ShardedDataSource shardedDataSource;
+        private final int shardIndex;
+        private final Map<String, String> stagedTables;
+        private Connection connection;
+        private boolean closed;
+
+        /**
+         * <p>
+         * Creates the copy of a shard, borrowing its connection with the first batch.
+         * </p>
+         *
+         * @param shardedDataSource Refers the source of the connection.
+         * @param shardIndex        Refers the index of the physical shard.
+         */
+        private ShardCopy(final ShardedDataSource shardedDataSource, final int shardIndex) {
+            this.shardedDataSource = shardedDataSource;
+            this.shardIndex = shardIndex;
+            this.stagedTables = new LinkedHashMap<>();
+        }
+
+        /**
+         * <p>
+         * Copies a batch of rows into the staging table of a table.
+         * </p>
+         *
+         * @param table   Refers the name of the table.
+         * @param columns Refers the comma separated columns.
+         * @param rows    Refers the rows of the batch.
+         * @throws SQLException If the COPY fails or the import is aborted.
+         */
+        private synchronized void copy(final String table, final String columns, final List<byte[]> rows)
+                throws SQLException {
+            if (closed) {
+                throw new SQLException("Bulk copy aborted");
+            }
+
+            if (Objects.isNull(connection)) {
+                connection = shardedDataSource.getShardConnection(shardIndex);
+                connection.setAutoCommit(false);
+            }
+            final String stagingTable = String.join("", "bulk_", table);
+
+            if (!stagedTables.containsKey(table)) {
+                try (final Statement statement = connection.createStatement()) {
+                    statement.execute(String.join("", "CREATE TEMPORARY TABLE ", stagingTable, " (LIKE ", table,
+                            " INCLUDING DEFAULTS) ON COMMIT DROP"));
+                }
+                stagedTables.put(table, columns);
+            }
+            final CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(String.join("",
+                    "COPY ", stagingTable, " (", columns, ") FROM STDIN WITH (FORMAT csv)"));
+
+            try {
+                for (final byte[] row : rows) {
+                    copyIn.writeToCopy(row, 0, row.length);
+                }
+                copyIn.endCopy();
+            } catch (SQLException | RuntimeException exception) {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+                throw exception;
+            }
+        }
+
+        /**
+         * <p>
+         * Moves the staged rows into their tables and commits the shard.
+         * </p>
+         *
+         * @param rows Refers the number of copied rows per table, added to.
+         * @throws SQLException If a move or the commit fails, or the import is aborted.
+         */
+        private synchronized void commit(final Map<String, Long> rows) throws SQLException {
+            if (closed) {
+                throw new SQLException("Bulk copy aborted");
+            }
+
+            if (Objects.isNull(connection)) {
+                return;
+            }
+
+            try (final Statement statement = connection.createStatement()) {
+                for (final Map.Entry<String, String> entry : stagedTables.entrySet()) {
+                    final String columns = entry.getValue();
+
+                    rows.merge(entry.getKey(), (long) statement.executeUpdate(String.join("", "INSERT INTO ",
+                            entry.getKey(), " (", columns, ") SELECT ", columns, " FROM bulk_", entry.getKey(),
+                            " ON CONFLICT DO NOTHING")), Long::sum);
+                }
+            }
+            connection.commit();
+            closed = true;
+            connection.close();
+        }
+
+        /**
+         * <p>
+         * Rolls back the shard unless it is committed, and returns its connection.
+         * </p>
+         */
+        private synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+
+            if (Objects.isNull(connection)) {
+                return;
+            }
+
+            try (final Connection rolledBack = connection) {
+                rolledBack.rollback();
+            } catch (SQLException exception) {
+                LOGGER.error(String.join(" ", "Bulk copy rollback failed on shard", String.valueOf(shardIndex)));
+            }
+        }
+    }
+}
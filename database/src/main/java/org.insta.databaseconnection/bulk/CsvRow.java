@@ -0,0 +1,75 @@
+package org.insta.databaseconnection.bulk;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Builds a single row in the CSV format read by {@code COPY ... WITH (FORMAT csv)}.
+ * </p>
+ *
+ * <p>
+ * Null values are written as an unquoted empty field, which COPY reads as NULL. Every other value
+ * is quoted, with embedded quotes doubled, so an empty string stays distinguishable from NULL.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+public final class CsvRow {
+
+    private final StringBuilder row;
+
+    /**
+     * <p>
+     * Creates an empty row.
+     * </p>
+     */
+    public CsvRow() {
+        row = new StringBuilder(128);
+    }
+
+    /**
+     * <p>
+     * Appends a field to the row.
+     * </p>
+     *
+     * @param value Refers the value of the field, may be null.
+     * @return This row.
+     */
+    public CsvRow add(final Object value) {
+        if (row.length() > 0) {
+            row.append(',');
+        }
+
+        if (Objects.isNull(value)) {
+            return this;
+        }
+        final String text = String.valueOf(value);
+
+        row.append('"');
+
+        for (int index = 0; index < text.length(); index++) {
+            final char character = text.charAt(index);
+
+            if (character == '"') {
+                row.append('"');
+            }
+            row.append(character);
+        }
+        row.append('"');
+
+        return this;
+    }
+
+    /**
+     * <p>
+     * Returns the row terminated by a new line, encoded in UTF-8.
+     * </p>
+     *
+     * @return The encoded row.
+     */
+    public byte[] toBytes() {
+        return row.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
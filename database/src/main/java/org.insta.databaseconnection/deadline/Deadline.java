@@ -0,0 +1,162 @@
+package org.insta.databaseconnection.deadline;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Point in time by which the database work of a request has to be finished.
+ * </p>
+ *
+ * <p>
+ * Every statement prepared while the deadline is bound gets the remaining time as its query
+ * timeout and is remembered, so {@link #cancel()} can stop the statements still running once the
+ * deadline passes or the client is gone. A statement prepared after that fails at once instead of
+ * reaching the database.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see DeadlineContext
+ */
+public final class Deadline {
+
+    private static final Logger LOGGER = LogManager.getLogger(Deadline.class);
+    private final long expiresAtNanos;
+    private final List<Statement> statements;
+    private volatile boolean cancelled;
+    private Future<?> expiry;
+
+    /**
+     * <p>
+     * Creates a deadline the given time from now.
+     * </p>
+     *
+     * @param timeoutMillis Refers the time the work may take.
+     */
+    public Deadline(final long timeoutMillis) {
+        this.expiresAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        this.statements = new ArrayList<>();
+    }
+
+    /**
+     * <p>
+     * Returns the time left until the deadline.
+     * </p>
+     *
+     * @return The remaining time in milliseconds, zero once the deadline has passed.
+     */
+    public long getRemainingMillis() {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - System.nanoTime()));
+    }
+
+    /**
+     * <p>
+     * Returns whether the deadline has passed.
+     * </p>
+     *
+     * @return True if the deadline has passed.
+     */
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * <p>
+     * Returns whether the work was cancelled, because the deadline passed or the client left.
+     * </p>
+     *
+     * @return True if the work was cancelled.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * <p>
+     * Cancels the statements still running and rejects the ones prepared later.
+     * </p>
+     */
+    public void cancel() {
+        final List<Statement> runningStatements;
+
+        synchronized (this) {
+            cancelled = true;
+            runningStatements = new ArrayList<>(statements);
+            statements.clear();
+        }
+
+        for (final Statement statement : runningStatements) {
+            try {
+                if (!statement.isClosed()) {
+                    statement.cancel();
+                }
+            } catch (SQLException exception) {
+                LOGGER.warn("Statement cancellation failed");
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Applies the remaining time to a statement as its query timeout.
+     * </p>
+     *
+     * @param statement Refers the statement prepared under the deadline.
+     * @throws SQLException If the deadline has passed or the work was cancelled.
+     */
+    void apply(final Statement statement) throws SQLException {
+        final long remainingMillis = getRemainingMillis();
+
+        if (cancelled || remainingMillis == 0) {
+            statement.close();
+            throw new SQLTimeoutException("Request deadline exceeded");
+        }
+        statement.setQueryTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(remainingMillis + 999)));
+
+        synchronized (this) {
+            statements.removeIf(Deadline::isClosed);
+            statements.add(statement);
+        }
+    }
+
+    /**
+     * @param expiry the scheduled cancellation of the deadline
+     */
+    void setExpiry(final Future<?> expiry) {
+        this.expiry = expiry;
+    }
+
+    /**
+     * <p>
+     * Drops the scheduled cancellation and the statements once the work is finished.
+     * </p>
+     */
+    synchronized void release() {
+        if (Objects.nonNull(expiry)) {
+            expiry.cancel(false);
+        }
+        statements.clear();
+    }
+
+    /**
+     * @param statement Refers the statement.
+     * @return True if the statement is closed or its state is unknown.
+     */
+    private static boolean isClosed(final Statement statement) {
+        try {
+            return statement.isClosed();
+        } catch (SQLException exception) {
+            return true;
+        }
+    }
+}
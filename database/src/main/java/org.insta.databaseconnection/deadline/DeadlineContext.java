@@ -0,0 +1,144 @@
+package org.insta.databaseconnection.deadline;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Binds the deadline of a request to the request thread.
+ * </p>
+ *
+ * <p>
+ * The deadline travels with the thread through the services into the DAOs, so none of them has to
+ * pass it on. The connection pool applies it to every statement prepared on the thread, and a
+ * single timer cancels the statements of a deadline the moment it passes, which is more precise
+ * than the query timeout counted in whole seconds.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see Deadline
+ */
+public final class DeadlineContext {
+
+    private final ThreadLocal<Deadline> currentDeadline;
+    private final ScheduledExecutorService timer;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private DeadlineContext() {
+        currentDeadline = new ThreadLocal<>();
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "insta-deadline-timer");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of DeadlineContext class.
+     * </p>
+     *
+     * @return The singleton instance of DeadlineContext class.
+     */
+    public static DeadlineContext getInstance() {
+        return InstanceHolder.DEADLINE_CONTEXT;
+    }
+
+    /**
+     * <p>
+     * Binds a deadline to the current thread and schedules its cancellation.
+     * </p>
+     *
+     * @param deadline Refers the deadline of the work on the thread.
+     */
+    public void bind(final Deadline deadline) {
+        currentDeadline.set(deadline);
+        deadline.setExpiry(timer.schedule(deadline::cancel, deadline.getRemainingMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * <p>
+     * Binds the deadline of another thread to the current one without scheduling it again, for work
+     * handed to a worker thread.
+     * </p>
+     *
+     * @param deadline Refers the deadline of the work, may be null.
+     */
+    public void join(final Deadline deadline) {
+        if (Objects.nonNull(deadline)) {
+            currentDeadline.set(deadline);
+        }
+    }
+
+    /**
+     * <p>
+     * Returns the deadline bound to the current thread.
+     * </p>
+     *
+     * @return The bound deadline, or null if none is bound.
+     */
+    public Deadline getDeadline() {
+        return currentDeadline.get();
+    }
+
+    /**
+     * <p>
+     * Applies the deadline of the current thread to a statement, if one is bound.
+     * </p>
+     *
+     * @param statement Refers the statement just prepared.
+     * @throws SQLException If the deadline has passed.
+     */
+    public void apply(final Statement statement) throws SQLException {
+        final Deadline deadline = currentDeadline.get();
+
+        if (Objects.nonNull(deadline)) {
+            deadline.apply(statement);
+        }
+    }
+
+    /**
+     * <p>
+     * Unbinds the deadline of the current thread and drops its scheduled cancellation.
+     * </p>
+     */
+    public void clear() {
+        final Deadline deadline = currentDeadline.get();
+
+        currentDeadline.remove();
+
+        if (Objects.nonNull(deadline)) {
+            deadline.release();
+        }
+    }
+
+    /**
+     * <p>
+     * Unbinds a deadline joined with {@link #join} without releasing it.
+     * </p>
+     */
+    public void leave() {
+        currentDeadline.remove();
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final DeadlineContext DEADLINE_CONTEXT = new DeadlineContext();
+    }
+}
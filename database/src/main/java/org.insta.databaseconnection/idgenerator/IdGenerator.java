@@ -0,0 +1,221 @@
+package org.insta.databaseconnection.idgenerator;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.insta.databaseconnection.exception.IdGenerationFailedException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>
+ * Generates time ordered, 64 bit unique identifiers for every table.
+ * </p>
+ *
+ * <p>
+ * Each identifier is composed of a 41 bit millisecond timestamp relative to {@link #EPOCH},
+ * a 6 bit logical shard id, a 5 bit node id and an 11 bit sequence. Identifiers created on the
+ * same node for the same shard are strictly increasing, so they can be assigned by the DAO before
+ * the insert is sent to the database and used as an ordering key afterwards. Across shards they are
+ * ordered by millisecond only, as the shard bits rank above the sequence within one millisecond.
+ * </p>
+ *
+ * <p>
+ * The logical shard id tells on which shard the row is stored. A new account is placed on a
+ * random shard, every row owned by the account inherits the shard of the account id, so any
+ * identifier is enough to route a query without a lookup.
+ * </p>
+ *
+ * <p>
+ * The timestamp and the sequence are packed into a single {@link AtomicLong} and advanced with a
+ * compare and set loop, so the hot path never takes a lock. When the sequence of a millisecond is
+ * exhausted, or the wall clock moves backwards, the generator keeps counting on the last issued
+ * timestamp instead of waiting.
+ * </p>
+ *
+ * <p>
+ * The node id is read from the {@code insta.node.id} system property and defaults to zero.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+public final class IdGenerator {
+
+    private static final Logger LOGGER = LogManager.getLogger(IdGenerator.class);
+    public static final long EPOCH = 1707177600000L;
+    public static final int SHARD_BITS = 6;
+    public static final int NODE_BITS = 5;
+    public static final int SEQUENCE_BITS = 11;
+    public static final int MAX_SHARD_ID = (1 << SHARD_BITS) - 1;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int SHARD_SHIFT = NODE_BITS + SEQUENCE_BITS;
+    private static final int TIMESTAMP_SHIFT = SHARD_BITS + SHARD_SHIFT;
+    private final long nodeId;
+    private final AtomicLong state;
+    private final LongSupplier clock;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     *
+     * @param nodeId The id of the node generating identifiers.
+     */
+    private IdGenerator(final long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    /**
+     * <p>
+     * Creates a generator reading the time from the given clock, so the tests can hold the clock
+     * still or move it backwards.
+     * </p>
+     *
+     * @param nodeId The id of the node generating identifiers.
+     * @param clock  The source of the current time in epoch milliseconds.
+     */
+    IdGenerator(final long nodeId, final LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            LOGGER.error("Node id out of range");
+            throw new IdGenerationFailedException("Node id out of range");
+        }
+        this.nodeId = nodeId;
+        this.state = new AtomicLong();
+        this.clock = clock;
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of IdGenerator class.
+     * </p>
+     *
+     * @return The singleton instance of IdGenerator class.
+     */
+    public static IdGenerator getInstance() {
+        return InstanceHolder.ID_GENERATOR;
+    }
+
+    /**
+     * <p>
+     * Returns the next unique identifier placed on a random logical shard.
+     * </p>
+     *
+     * <p>
+     * Used for rows that are not owned by another row, such as accounts.
+     * </p>
+     *
+     * @return The generated identifier.
+     */
+    public long nextId() {
+        return nextId(ThreadLocalRandom.current().nextInt(MAX_SHARD_ID + 1));
+    }
+
+    /**
+     * <p>
+     * Returns the next unique identifier placed on the same logical shard as the given identifier.
+     * </p>
+     *
+     * @param ownerId The identifier of the owning row, such as the user id of a post.
+     * @return The generated identifier.
+     */
+    public long nextIdFor(final long ownerId) {
+        return nextId(getShardId(ownerId));
+    }
+
+    /**
+     * <p>
+     * Returns the next unique identifier placed on the given logical shard.
+     * </p>
+     *
+     * @param shardId The logical shard id.
+     * @return The generated identifier.
+     */
+    public long nextId(final int shardId) {
+        if (shardId < 0 || shardId > MAX_SHARD_ID) {
+            LOGGER.error("Shard id out of range");
+            throw new IdGenerationFailedException("Shard id out of range");
+        }
+        final long current = clock.getAsLong() - EPOCH;
+
+        while (true) {
+            final long last = state.get();
+            final long lastTimestamp = last >>> SEQUENCE_BITS;
+            final long next;
+
+            if (current > lastTimestamp) {
+                next = current << SEQUENCE_BITS;
+            } else if ((last & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = last + 1;
+            } else {
+                next = (lastTimestamp + 1) << SEQUENCE_BITS;
+            }
+
+            if (state.compareAndSet(last, next)) {
+                return ((next >>> SEQUENCE_BITS) << TIMESTAMP_SHIFT) | ((long) shardId << SHARD_SHIFT)
+                        | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Extracts the creation time of the given identifier.
+     * </p>
+     *
+     * @param id The identifier.
+     * @return The creation time in epoch milliseconds.
+     */
+    public static long getTimestamp(final long id) {
+        return (id >>> TIMESTAMP_SHIFT) + EPOCH;
+    }
+
+    /**
+     * <p>
+     * Returns the smallest identifier generated at or after the given time, so a range of creation
+     * times can be queried as a range of identifiers.
+     * </p>
+     *
+     * @param timestamp The time in epoch milliseconds.
+     * @return The smallest identifier of the time, or zero for times before {@link #EPOCH}.
+     */
+    public static long getFirstId(final long timestamp) {
+        return Math.max(0, timestamp - EPOCH) << TIMESTAMP_SHIFT;
+    }
+
+    /**
+     * <p>
+     * Extracts the logical shard id of the given identifier.
+     * </p>
+     *
+     * @param id The identifier.
+     * @return The logical shard on which the row of the identifier is stored.
+     */
+    public static int getShardId(final long id) {
+        return (int) ((id >>> SHARD_SHIFT) & MAX_SHARD_ID);
+    }
+
+    /**
+     * <p>
+     * Extracts the node id of the given identifier.
+     * </p>
+     *
+     * @param id The identifier.
+     * @return The node id which generated the identifier.
+     */
+    public static long getNodeId(final long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final IdGenerator ID_GENERATOR = new IdGenerator(Long.getLong("insta.node.id", 0L));
+    }
+}
@@ -0,0 +1,251 @@
+package org.insta.databaseconnection.limiter;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.insta.databaseconnection.exception.ConcurrencyLimitExceededException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * Adaptive limit on the number of concurrent database calls of one lane.
+ * </p>
+ *
+ * <p>
+ * The limit follows a gradient of the time each call held its connection. An average over a long
+ * window stands for the latency the database normally shows and the time of the latest call for
+ * the latency right now. While the latest call is no slower than the long average the limit grows
+ * by its square root; once calls slow down, the limit is scaled by the ratio of the two, down to a
+ * half at a time, and a call which cannot get a connection at all cuts the limit by a tenth. The
+ * long average is pulled down quickly once calls get fast again, so the limit recovers after a
+ * slow period instead of taking the slow latency as the new normal.
+ * </p>
+ *
+ * <p>
+ * A call over the limit is rejected at once with a {@link ConcurrencyLimitExceededException}
+ * instead of waiting for a connection.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see DatabaseLimiter
+ */
+public final class ConcurrencyLimiter {
+
+    private static final Logger LOGGER = LogManager.getLogger(ConcurrencyLimiter.class);
+    private static final double SMOOTHING = 0.2;
+    private static final double TOLERANCE = 1.5;
+    private static final int LONG_WINDOW = 600;
+    private static final int WARMUP_SAMPLES = 10;
+    private final String name;
+    private final int minimumLimit;
+    private final int maximumLimit;
+    private final AtomicInteger inFlight;
+    private final AtomicLong accepted;
+    private final AtomicLong rejected;
+    private volatile double limit;
+    private double longRttNanos;
+    private int samples;
+
+    /**
+     * <p>
+     * Creates the limiter of a lane.
+     * </p>
+     *
+     * @param name         Refers the name of the lane.
+     * @param initialLimit Refers the limit before any call is measured.
+     * @param minimumLimit Refers the lowest limit.
+     * @param maximumLimit Refers the highest limit.
+     */
+    public ConcurrencyLimiter(final String name, final int initialLimit, final int minimumLimit,
+                              final int maximumLimit) {
+        this.name = name;
+        this.minimumLimit = minimumLimit;
+        this.maximumLimit = maximumLimit;
+        this.inFlight = new AtomicInteger();
+        this.accepted = new AtomicLong();
+        this.rejected = new AtomicLong();
+        this.limit = initialLimit;
+    }
+
+    /**
+     * <p>
+     * Admits a call and wraps its connection so closing it releases the call.
+     * </p>
+     *
+     * @param opener Refers the source of the connection of the call.
+     * @return The connection of the call.
+     * @throws SQLException If the connection cannot be obtained.
+     * @throws ConcurrencyLimitExceededException If the lane is at its limit.
+     */
+    public Connection acquire(final ConnectionOpener opener) throws SQLException {
+        final int current = inFlight.incrementAndGet();
+
+        if (current > (int) limit) {
+            inFlight.decrementAndGet();
+            rejected.incrementAndGet();
+            throw new ConcurrencyLimitExceededException(String.join(" ", "Database", name, "lane at its limit"));
+        }
+        accepted.incrementAndGet();
+        final long start = System.nanoTime();
+        final Connection connection;
+
+        try {
+            connection = opener.open();
+        } catch (SQLException | RuntimeException exception) {
+            inFlight.decrementAndGet();
+            onDrop();
+            throw exception;
+        }
+
+        return wrap(connection, start, current);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAccepted() {
+        return accepted.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * @return the long average of the time a connection was held, in microseconds
+     */
+    public synchronized long getLongRttMicros() {
+        return TimeUnit.NANOSECONDS.toMicros((long) longRttNanos);
+    }
+
+    /**
+     * <p>
+     * Updates the limit with the time a call held its connection.
+     * </p>
+     *
+     * @param rttNanos        Refers the time the connection was held.
+     * @param inFlightAtStart Refers the number of calls in flight when the call started.
+     */
+    private synchronized void onSample(final long rttNanos, final int inFlightAtStart) {
+        if (rttNanos <= 0) {
+            return;
+        }
+
+        if (samples < WARMUP_SAMPLES) {
+            samples++;
+            longRttNanos += (rttNanos - longRttNanos) / samples;
+
+            return;
+        }
+        longRttNanos += (rttNanos - longRttNanos) * 2 / (LONG_WINDOW + 1);
+
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        final double currentLimit = limit;
+
+        if (inFlightAtStart * 2 < currentLimit) {
+            return;
+        }
+        final double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / rttNanos));
+        final double newLimit = currentLimit * gradient + Math.sqrt(currentLimit);
+
+        setLimit(currentLimit * (1 - SMOOTHING) + newLimit * SMOOTHING);
+    }
+
+    /**
+     * <p>
+     * Cuts the limit after a call could not get a connection.
+     * </p>
+     */
+    private synchronized void onDrop() {
+        setLimit(limit * 0.9);
+    }
+
+    /**
+     * @param newLimit the limit to set, kept within the lowest and highest limit
+     */
+    private void setLimit(final double newLimit) {
+        final double clamped = Math.max(minimumLimit, Math.min(maximumLimit, newLimit));
+
+        if ((int) clamped != (int) limit) {
+            LOGGER.debug(String.join(" ", "Database", name, "lane limit", String.valueOf((int) clamped)));
+        }
+        limit = clamped;
+    }
+
+    /**
+     * <p>
+     * Wraps the connection of an admitted call so closing it releases the call.
+     * </p>
+     *
+     * @param connection      Refers the connection of the call.
+     * @param start           Refers the time the call was admitted.
+     * @param inFlightAtStart Refers the number of calls in flight when the call started.
+     * @return The wrapped connection.
+     */
+    private Connection wrap(final Connection connection, final long start, final int inFlightAtStart) {
+        final AtomicBoolean released = new AtomicBoolean();
+
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, arguments) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            if (released.compareAndSet(false, true)) {
+                                try {
+                                    connection.close();
+                                } finally {
+                                    inFlight.decrementAndGet();
+                                    onSample(System.nanoTime() - start, inFlightAtStart);
+                                }
+                            }
+
+                            return null;
+                        case "equals":
+                            return proxy == arguments[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+
+                    try {
+                        return method.invoke(connection, arguments);
+                    } catch (InvocationTargetException exception) {
+                        throw exception.getCause();
+                    }
+                });
+    }
+
+    /**
+     * <p>
+     * Source of the connection of an admitted call.
+     * </p>
+     */
+    @FunctionalInterface
+    public interface ConnectionOpener {
+
+        /**
+         * @return the connection of the call
+         * @throws SQLException if the connection cannot be obtained
+         */
+        Connection open() throws SQLException;
+    }
+}
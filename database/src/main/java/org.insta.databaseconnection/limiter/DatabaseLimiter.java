@@ -0,0 +1,92 @@
+package org.insta.databaseconnection.limiter;
+
+import org.insta.databaseconnection.DatabaseConnection;
+
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * <p>
+ * Holds the read and write lanes limiting the concurrent DAO calls.
+ * </p>
+ *
+ * <p>
+ * Reads and writes are limited separately so a burst of slow writes cannot starve the reads and
+ * the other way round. The limits of each lane are configured in {@code db.properties} with
+ * {@code limiter.<lane>.initial}, {@code limiter.<lane>.min} and {@code limiter.<lane>.max}.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see ConcurrencyLimiter
+ */
+public final class DatabaseLimiter {
+
+    private final ConcurrencyLimiter readLane;
+    private final ConcurrencyLimiter writeLane;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private DatabaseLimiter() {
+        final Properties properties = DatabaseConnection.getProperties();
+
+        readLane = createLane(properties, "read");
+        writeLane = createLane(properties, "write");
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of DatabaseLimiter class.
+     * </p>
+     *
+     * @return The singleton instance of DatabaseLimiter class.
+     */
+    public static DatabaseLimiter getInstance() {
+        return InstanceHolder.DATABASE_LIMITER;
+    }
+
+    public ConcurrencyLimiter getReadLane() {
+        return readLane;
+    }
+
+    public ConcurrencyLimiter getWriteLane() {
+        return writeLane;
+    }
+
+    /**
+     * @return the lanes, read first
+     */
+    public List<ConcurrencyLimiter> getLanes() {
+        return List.of(readLane, writeLane);
+    }
+
+    /**
+     * <p>
+     * Creates a lane from its configuration.
+     * </p>
+     *
+     * @param properties Refers the database properties.
+     * @param lane       Refers the name of the lane.
+     * @return The limiter of the lane.
+     */
+    private static ConcurrencyLimiter createLane(final Properties properties, final String lane) {
+        final String prefix = String.join("", "limiter.", lane, ".");
+
+        return new ConcurrencyLimiter(lane, Integer.parseInt(properties.getProperty(prefix + "initial", "20")),
+                Integer.parseInt(properties.getProperty(prefix + "min", "4")),
+                Integer.parseInt(properties.getProperty(prefix + "max", "200")));
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final DatabaseLimiter DATABASE_LIMITER = new DatabaseLimiter();
+    }
+}
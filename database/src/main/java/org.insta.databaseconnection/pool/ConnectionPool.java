@@ -0,0 +1,274 @@
+package org.insta.databaseconnection.pool;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.insta.databaseconnection.deadline.DeadlineContext;
+import org.insta.databaseconnection.slowquery.SlowQueryLog;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>
+ * Bounded pool of connections to a single database.
+ * </p>
+ *
+ * <p>
+ * Physical connections are opened lazily up to the maximum size of the pool. Borrowed connections
+ * are handed out as proxies whose {@code close()} returns the physical connection to the pool
+ * instead of closing it, so DAOs can use them in a try-with-resources block. A returned connection
+ * is rolled back if a transaction is still open and switched back to auto commit before it is
+ * reused. Prepared statements are timed by the {@link SlowQueryLog}, and every statement gets the
+ * deadline of the request from the {@link DeadlineContext} as its query timeout.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+public final class ConnectionPool {
+
+    private static final Logger LOGGER = LogManager.getLogger(ConnectionPool.class);
+    private final String name;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int maximumSize;
+    private final long timeoutMillis;
+    private final Semaphore permits;
+    private final BlockingQueue<Connection> idleConnections;
+    private volatile boolean closed;
+
+    /**
+     * <p>
+     * Creates a pool for the given database.
+     * </p>
+     *
+     * @param name          Refers the name of the pool used in log messages.
+     * @param url           Refers the jdbc url of the database.
+     * @param username      Refers the username of the database.
+     * @param password      Refers the password of the database.
+     * @param maximumSize   Refers the maximum number of open connections.
+     * @param timeoutMillis Refers the maximum time to wait for a free connection.
+     */
+    public ConnectionPool(final String name, final String url, final String username, final String password,
+                          final int maximumSize, final long timeoutMillis) {
+        this.name = name;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.maximumSize = maximumSize;
+        this.timeoutMillis = timeoutMillis;
+        this.permits = new Semaphore(maximumSize, true);
+        this.idleConnections = new LinkedBlockingQueue<>(maximumSize);
+    }
+
+    /**
+     * <p>
+     * Borrows a connection from the pool, waiting for a free one if the pool is exhausted.
+     * </p>
+     *
+     * @return A pooled connection which is returned to the pool on close.
+     * @throws SQLException If no connection becomes free in time or a new connection cannot be opened.
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLTransientConnectionException(String.join(" ", "Connection pool", name, "closed"));
+        }
+
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                LOGGER.error(String.join(" ", "Connection pool", name, "exhausted"));
+                throw new SQLTransientConnectionException(String.join(" ", "Connection pool", name, "exhausted"));
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection");
+        }
+
+        try {
+            return wrap(takePhysicalConnection());
+        } catch (SQLException | RuntimeException exception) {
+            permits.release();
+            throw exception;
+        }
+    }
+
+    /**
+     * <p>
+     * Returns the number of connections currently borrowed from the pool.
+     * </p>
+     *
+     * @return The number of borrowed connections.
+     */
+    public int getActiveCount() {
+        return maximumSize - permits.availablePermits();
+    }
+
+    /**
+     * <p>
+     * Returns the number of threads waiting for a connection.
+     * </p>
+     *
+     * @return The number of waiting threads.
+     */
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * <p>
+     * Returns the name of the pool.
+     * </p>
+     *
+     * @return The name of the pool.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * <p>
+     * Closes the idle connections and rejects further borrowing.
+     * </p>
+     */
+    public void close() {
+        closed = true;
+        Connection connection;
+
+        while (Objects.nonNull(connection = idleConnections.poll())) {
+            closePhysicalConnection(connection);
+        }
+    }
+
+    /**
+     * <p>
+     * Takes an idle physical connection or opens a new one.
+     * </p>
+     *
+     * @return An open physical connection.
+     * @throws SQLException If a new connection cannot be opened.
+     */
+    private Connection takePhysicalConnection() throws SQLException {
+        Connection connection;
+
+        while (Objects.nonNull(connection = idleConnections.poll())) {
+            if (!connection.isClosed()) {
+                return connection;
+            }
+        }
+
+        return DriverManager.getConnection(url, username, password);
+    }
+
+    /**
+     * <p>
+     * Returns the physical connection to the pool after resetting its state.
+     * </p>
+     *
+     * @param connection Refers the physical connection.
+     */
+    private void release(final Connection connection) {
+        try {
+            if (connection.isClosed()) {
+                return;
+            }
+
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+
+            if (closed || !idleConnections.offer(connection)) {
+                closePhysicalConnection(connection);
+            }
+        } catch (SQLException exception) {
+            LOGGER.error(String.join(" ", "Connection reset failed in pool", name));
+            closePhysicalConnection(connection);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * <p>
+     * Closes the physical connection, ignoring failures.
+     * </p>
+     *
+     * @param connection Refers the physical connection.
+     */
+    private void closePhysicalConnection(final Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException exception) {
+            LOGGER.error(String.join(" ", "Connection close failed in pool", name));
+        }
+    }
+
+    /**
+     * <p>
+     * Wraps the physical connection into a proxy which returns it to the pool on close.
+     * </p>
+     *
+     * @param connection Refers the physical connection.
+     * @return The pooled connection.
+     */
+    private Connection wrap(final Connection connection) {
+        final AtomicBoolean returned = new AtomicBoolean();
+
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, arguments) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            if (returned.compareAndSet(false, true)) {
+                                release(connection);
+                            }
+
+                            return null;
+                        case "isClosed":
+                            return returned.get() || connection.isClosed();
+                        case "unwrap":
+                            if (((Class<?>) arguments[0]).isInstance(proxy)) {
+                                return proxy;
+                            }
+                            break;
+                        case "equals":
+                            return proxy == arguments[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return String.join(" ", "Pooled connection of", name);
+                        default:
+                            break;
+                    }
+
+                    if (returned.get()) {
+                        throw new SQLException("Connection already returned to the pool");
+                    }
+
+                    try {
+                        final Object result = method.invoke(connection, arguments);
+
+                        if (result instanceof Statement) {
+                            DeadlineContext.getInstance().apply((Statement) result);
+                        }
+
+                        return "prepareStatement".equals(method.getName()) ? SlowQueryLog.getInstance()
+                                .instrument((PreparedStatement) result, (String) arguments[0], this) : result;
+                    } catch (InvocationTargetException exception) {
+                        throw exception.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,149 @@
+package org.insta.databaseconnection.replica;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * Keeps the reads of a user on the primary for a short window after the user wrote.
+ * </p>
+ *
+ * <p>
+ * Replicas apply writes asynchronously, so a user reading from a replica right after a write may
+ * not see it. The user of the current request is kept in a thread local, set by the server for each
+ * request. Every write borrowed on behalf of that user pins the user to the primary until the
+ * window expires.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+public final class ReadYourWrites {
+
+    private static final int CLEANUP_THRESHOLD = 100_000;
+    private final ThreadLocal<Long> sessionUser;
+    private final Map<Long, Long> pinnedUntil;
+    private volatile long windowMillis;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private ReadYourWrites() {
+        sessionUser = new ThreadLocal<>();
+        pinnedUntil = new ConcurrentHashMap<>();
+        windowMillis = 5000;
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of ReadYourWrites class.
+     * </p>
+     *
+     * @return The singleton instance of ReadYourWrites class.
+     */
+    public static ReadYourWrites getInstance() {
+        return InstanceHolder.READ_YOUR_WRITES;
+    }
+
+    /**
+     * <p>
+     * Sets the user on whose behalf the current thread accesses the database.
+     * </p>
+     *
+     * @param userId Refers the id of the user, or null if the request is anonymous.
+     */
+    public void setSessionUser(final Long userId) {
+        sessionUser.set(userId);
+    }
+
+    /**
+     * <p>
+     * Returns the user on whose behalf the current thread accesses the database.
+     * </p>
+     *
+     * @return The id of the user, or null if the request is anonymous.
+     */
+    public Long getSessionUser() {
+        return sessionUser.get();
+    }
+
+    /**
+     * <p>
+     * Clears the user of the current thread.
+     * </p>
+     */
+    public void clearSessionUser() {
+        sessionUser.remove();
+    }
+
+    /**
+     * <p>
+     * Sets the duration for which a user stays on the primary after a write.
+     * </p>
+     *
+     * @param windowMillis Refers the window in milliseconds.
+     */
+    public void setWindow(final long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * <p>
+     * Pins the user of the current thread to the primary.
+     * </p>
+     */
+    public void recordWrite() {
+        final Long userId = sessionUser.get();
+
+        if (Objects.isNull(userId)) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+
+        if (pinnedUntil.size() > CLEANUP_THRESHOLD) {
+            pinnedUntil.values().removeIf(until -> until < now);
+        }
+        pinnedUntil.put(userId, now + windowMillis);
+    }
+
+    /**
+     * <p>
+     * Tells whether the reads of the current thread must go to the primary.
+     * </p>
+     *
+     * @return True if the user of the current thread wrote within the window, otherwise false.
+     */
+    public boolean isPinnedToPrimary() {
+        final Long userId = sessionUser.get();
+
+        if (Objects.isNull(userId)) {
+            return false;
+        }
+        final Long until = pinnedUntil.get(userId);
+
+        if (Objects.isNull(until)) {
+            return false;
+        }
+
+        if (until < System.currentTimeMillis()) {
+            pinnedUntil.remove(userId, until);
+
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final ReadYourWrites READ_YOUR_WRITES = new ReadYourWrites();
+    }
+}
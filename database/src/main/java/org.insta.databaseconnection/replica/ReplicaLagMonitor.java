@@ -0,0 +1,99 @@
+package org.insta.databaseconnection.replica;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Periodically measures the replication lag of every replica.
+ * </p>
+ *
+ * <p>
+ * The lag is the age of the last transaction replayed by the replica, reported by
+ * {@code pg_last_xact_replay_timestamp()}. A replica which has replayed everything it received is
+ * treated as having no lag, since the replay timestamp of an idle primary keeps growing old. A
+ * replica which cannot be queried is marked with an infinite lag until it answers again.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see ReplicaSet
+ */
+public final class ReplicaLagMonitor {
+
+    private static final Logger LOGGER = LogManager.getLogger(ReplicaLagMonitor.class);
+    private static final String LAG_QUERY = String.join(" ",
+            "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0",
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END");
+    private final List<ReplicaSet> replicaSets;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * <p>
+     * Creates a monitor for the given replica sets.
+     * </p>
+     *
+     * @param replicaSets Refers the replica sets of every shard.
+     */
+    public ReplicaLagMonitor(final List<ReplicaSet> replicaSets) {
+        this.replicaSets = replicaSets;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "insta-replica-lag");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    /**
+     * <p>
+     * Starts measuring the lag at the given interval.
+     * </p>
+     *
+     * @param intervalMillis Refers the interval between two measurements.
+     */
+    public void start(final long intervalMillis) {
+        scheduler.scheduleWithFixedDelay(this::measure, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * <p>
+     * Stops measuring the lag.
+     * </p>
+     */
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * <p>
+     * Measures the lag of every replica once.
+     * </p>
+     */
+    private void measure() {
+        for (final ReplicaSet replicaSet : replicaSets) {
+            for (int index = 0; index < replicaSet.getReplicas().size(); index++) {
+                try (final Connection connection = replicaSet.getReplicas().get(index).getConnection();
+                     final PreparedStatement preparedStatement = connection.prepareStatement(LAG_QUERY);
+                     final ResultSet resultSet = preparedStatement.executeQuery()) {
+
+                    replicaSet.setLag(index, resultSet.next() ? resultSet.getLong(1) : Long.MAX_VALUE);
+                } catch (SQLException exception) {
+                    LOGGER.error(String.join(" ", "Lag measurement failed for replica",
+                            replicaSet.getReplicas().get(index).getName()));
+                    replicaSet.setLag(index, Long.MAX_VALUE);
+                }
+            }
+        }
+    }
+}
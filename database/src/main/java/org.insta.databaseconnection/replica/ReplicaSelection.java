@@ -0,0 +1,43 @@
+package org.insta.databaseconnection.replica;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Strategies for choosing the replica serving a read.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+public enum ReplicaSelection {
+    ROUND_ROBIN("round-robin"), LEAST_LOADED("least-loaded");
+
+    private final String name;
+
+    /**
+     * <p>
+     * Constructs a ReplicaSelection enum with the specified name.
+     * </p>
+     *
+     * @param name Refers the name used in {@code db.properties}.
+     */
+    ReplicaSelection(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * <p>
+     * Returns the strategy configured with the given name, defaulting to round robin.
+     * </p>
+     *
+     * @param name Refers the name used in {@code db.properties}.
+     * @return The matching strategy.
+     */
+    public static ReplicaSelection getSelection(final String name) {
+        return Arrays.stream(values())
+                .filter(selection -> selection.name.equalsIgnoreCase(name))
+                .findFirst()
+                .orElse(ROUND_ROBIN);
+    }
+}
@@ -0,0 +1,198 @@
+package org.insta.databaseconnection.replica;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.insta.databaseconnection.pool.ConnectionPool;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>
+ * Primary database of a shard together with its streaming replicas.
+ * </p>
+ *
+ * <p>
+ * Writes always go to the primary. Reads are spread over the replicas whose replication lag is
+ * within the configured limit, either in round robin order or to the replica with the fewest
+ * borrowed connections. When no replica is healthy, or a replica cannot hand out a connection,
+ * the read falls back to the primary. A replica whose lag has not been measured yet counts as
+ * unhealthy, so the reads stay on the primary until the lag monitor has seen the replica.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see ReplicaLagMonitor
+ * @see ReplicaSelection
+ */
+public final class ReplicaSet {
+
+    private static final Logger LOGGER = LogManager.getLogger(ReplicaSet.class);
+    private final ConnectionPool primary;
+    private final List<ConnectionPool> replicas;
+    private final ReplicaSelection selection;
+    private final long maximumLagMillis;
+    private final AtomicLongArray lagMillis;
+    private final AtomicInteger cursor;
+
+    /**
+     * <p>
+     * Creates the replica set of a shard.
+     * </p>
+     *
+     * @param primary          Refers the pool of the primary database.
+     * @param replicas         Refers the pools of the replicas.
+     * @param selection        Refers the strategy for choosing a replica.
+     * @param maximumLagMillis Refers the replication lag above which a replica stops serving reads.
+     */
+    public ReplicaSet(final ConnectionPool primary, final List<ConnectionPool> replicas,
+                      final ReplicaSelection selection, final long maximumLagMillis) {
+        this.primary = primary;
+        this.replicas = Collections.unmodifiableList(replicas);
+        this.selection = selection;
+        this.maximumLagMillis = maximumLagMillis;
+        this.lagMillis = new AtomicLongArray(replicas.size());
+
+        for (int index = 0; index < replicas.size(); index++) {
+            lagMillis.set(index, Long.MAX_VALUE);
+        }
+        this.cursor = new AtomicInteger();
+    }
+
+    /**
+     * <p>
+     * Borrows a connection of the primary.
+     * </p>
+     *
+     * @return A pooled connection of the primary.
+     * @throws SQLException If no connection can be obtained.
+     */
+    public Connection getPrimaryConnection() throws SQLException {
+        return primary.getConnection();
+    }
+
+    /**
+     * <p>
+     * Borrows a connection of a healthy replica, or of the primary if there is none.
+     * </p>
+     *
+     * @return A pooled connection serving reads.
+     * @throws SQLException If no connection can be obtained.
+     */
+    public Connection getReadConnection() throws SQLException {
+        final int replicaIndex = selectReplica();
+
+        if (replicaIndex >= 0) {
+            try {
+                return replicas.get(replicaIndex).getConnection();
+            } catch (SQLException exception) {
+                LOGGER.error(String.join(" ", "Read falls back to primary, replica",
+                        replicas.get(replicaIndex).getName(), "unavailable"));
+            }
+        }
+
+        return primary.getConnection();
+    }
+
+    /**
+     * <p>
+     * Records the measured replication lag of a replica.
+     * </p>
+     *
+     * @param replicaIndex Refers the index of the replica.
+     * @param lag          Refers the lag in milliseconds, {@link Long#MAX_VALUE} if unreachable.
+     */
+    public void setLag(final int replicaIndex, final long lag) {
+        lagMillis.set(replicaIndex, lag);
+    }
+
+    /**
+     * <p>
+     * Returns the last measured replication lag of a replica.
+     * </p>
+     *
+     * @param replicaIndex Refers the index of the replica.
+     * @return The lag in milliseconds, {@link Long#MAX_VALUE} if not measured yet or unreachable.
+     */
+    public long getLag(final int replicaIndex) {
+        return lagMillis.get(replicaIndex);
+    }
+
+    /**
+     * <p>
+     * Returns the pool of the primary.
+     * </p>
+     *
+     * @return The pool of the primary.
+     */
+    public ConnectionPool getPrimary() {
+        return primary;
+    }
+
+    /**
+     * <p>
+     * Returns the pools of the replicas.
+     * </p>
+     *
+     * @return The unmodifiable list of replica pools.
+     */
+    public List<ConnectionPool> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * <p>
+     * Closes the pools of the primary and the replicas.
+     * </p>
+     */
+    public void close() {
+        primary.close();
+        replicas.forEach(ConnectionPool::close);
+    }
+
+    /**
+     * <p>
+     * Chooses the replica for the next read according to the selection strategy.
+     * </p>
+     *
+     * @return The index of the chosen replica, or -1 if no replica is within the lag limit.
+     */
+    private int selectReplica() {
+        final int size = replicas.size();
+
+        if (size == 0) {
+            return -1;
+        }
+
+        if (selection == ReplicaSelection.LEAST_LOADED) {
+            int chosen = -1;
+            int lowestLoad = Integer.MAX_VALUE;
+
+            for (int index = 0; index < size; index++) {
+                final int load = replicas.get(index).getActiveCount() + replicas.get(index).getWaitingCount();
+
+                if (lagMillis.get(index) <= maximumLagMillis && load < lowestLoad) {
+                    chosen = index;
+                    lowestLoad = load;
+                }
+            }
+
+            return chosen;
+        }
+        final int start = Math.floorMod(cursor.getAndIncrement(), size);
+
+        for (int offset = 0; offset < size; offset++) {
+            final int index = (start + offset) % size;
+
+            if (lagMillis.get(index) <= maximumLagMillis) {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+}
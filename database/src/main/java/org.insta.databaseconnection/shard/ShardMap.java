@@ -0,0 +1,129 @@
+package org.insta.databaseconnection.shard;
+
+import org.insta.databaseconnection.exception.DatabaseConnectionFailedException;
+import org.insta.databaseconnection.idgenerator.IdGenerator;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Assignment of the logical shards carried by the identifiers to the physical databases.
+ * </p>
+ *
+ * <p>
+ * The assignment is configured with {@code shard.map} as comma separated ranges of logical shards
+ * and the physical shard holding them, such as {@code 0-31:0,32-63:1}. Every logical shard must be
+ * assigned exactly once, to a physical shard below {@code shard.count}. The assignment decides where
+ * the existing rows are found, so it is never derived from the shard count: adding a database means
+ * moving the data of some logical shards and then their ranges, and a configuration which does not
+ * say where every logical shard lives is rejected at startup instead of silently routing reads to a
+ * database which does not have the rows. A single physical shard needs no map.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see ShardedDataSource
+ * @see IdGenerator
+ */
+public final class ShardMap {
+
+    private final int[] logicalToPhysical;
+
+    /**
+     * <p>
+     * Creates the assignment configured for the given number of physical shards.
+     * </p>
+     *
+     * @param shardMap   Refers the configured {@code shard.map}, may be null for a single physical shard.
+     * @param shardCount Refers the number of physical shards.
+     * @throws DatabaseConnectionFailedException If the map is missing, malformed or incomplete.
+     */
+    public ShardMap(final String shardMap, final int shardCount) {
+        logicalToPhysical = new int[IdGenerator.MAX_SHARD_ID + 1];
+
+        if (Objects.isNull(shardMap) || shardMap.isBlank()) {
+            if (shardCount != 1) {
+                throw new DatabaseConnectionFailedException("shard.map is required for more than one shard");
+            }
+
+            return;
+        }
+        Arrays.fill(logicalToPhysical, -1);
+
+        for (final String assignment : shardMap.split(",")) {
+            assign(assignment.trim(), shardCount);
+        }
+
+        for (int logicalShard = 0; logicalShard < logicalToPhysical.length; logicalShard++) {
+            if (logicalToPhysical[logicalShard] < 0) {
+                throw new DatabaseConnectionFailedException(String.join(" ", "Logical shard",
+                        String.valueOf(logicalShard), "is not assigned in shard.map"));
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Returns the physical shard holding a logical shard.
+     * </p>
+     *
+     * @param logicalShard Refers the logical shard.
+     * @return The index of the physical shard.
+     */
+    public int getPhysicalShard(final int logicalShard) {
+        return logicalToPhysical[logicalShard];
+    }
+
+    /**
+     * <p>
+     * Returns the physical shard owning an identifier.
+     * </p>
+     *
+     * @param routingId Refers any identifier generated by {@link IdGenerator}.
+     * @return The index of the physical shard.
+     */
+    public int getShardIndex(final long routingId) {
+        return logicalToPhysical[IdGenerator.getShardId(routingId)];
+    }
+
+    /**
+     * <p>
+     * Assigns one range of logical shards.
+     * </p>
+     *
+     * @param assignment Refers the range and the physical shard, such as {@code 0-31:0}.
+     * @param shardCount Refers the number of physical shards.
+     */
+    private void assign(final String assignment, final int shardCount) {
+        final String[] parts = assignment.split(":");
+        final String[] range = parts[0].split("-");
+        final int first;
+        final int last;
+        final int physicalShard;
+
+        try {
+            if (parts.length != 2 || range.length > 2) {
+                throw new NumberFormatException();
+            }
+            first = Integer.parseInt(range[0].trim());
+            last = range.length == 1 ? first : Integer.parseInt(range[1].trim());
+            physicalShard = Integer.parseInt(parts[1].trim());
+        } catch (NumberFormatException exception) {
+            throw new DatabaseConnectionFailedException(String.join(" ", "Malformed shard.map range", assignment));
+        }
+
+        if (first < 0 || last >= logicalToPhysical.length || first > last || physicalShard < 0
+                || physicalShard >= shardCount) {
+            throw new DatabaseConnectionFailedException(String.join(" ", "Invalid shard.map range", assignment));
+        }
+
+        for (int logicalShard = first; logicalShard <= last; logicalShard++) {
+            if (logicalToPhysical[logicalShard] >= 0) {
+                throw new DatabaseConnectionFailedException(String.join(" ", "Logical shard",
+                        String.valueOf(logicalShard), "is assigned twice in shard.map"));
+            }
+            logicalToPhysical[logicalShard] = physicalShard;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.insta.databaseconnection.shard;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * <p>
+ * Unit of database work executed against the connection of a single shard.
+ * </p>
+ *
+ * @param <T> Refers the type of the result.
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+@FunctionalInterface
+public interface ShardQuery<T> {
+
+    /**
+     * <p>
+     * Executes the work with the given connection.
+     * </p>
+     *
+     * @param connection Refers the connection of the shard.
+     * @return The result of the work.
+     * @throws SQLException If the work fails.
+     */
+    T execute(final Connection connection) throws SQLException;
+}
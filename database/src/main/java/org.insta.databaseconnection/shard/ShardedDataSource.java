@@ -0,0 +1,440 @@
+package org.insta.databaseconnection.shard;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.insta.databaseconnection.DatabaseConnection;
+import org.insta.databaseconnection.deadline.Deadline;
+import org.insta.databaseconnection.deadline.DeadlineContext;
+import org.insta.databaseconnection.exception.DatabaseConnectionFailedException;
+import org.insta.databaseconnection.idgenerator.IdGenerator;
+import org.insta.databaseconnection.limiter.ConcurrencyLimiter;
+import org.insta.databaseconnection.limiter.DatabaseLimiter;
+import org.insta.databaseconnection.pool.ConnectionPool;
+import org.insta.databaseconnection.replica.ReadYourWrites;
+import org.insta.databaseconnection.replica.ReplicaLagMonitor;
+import org.insta.databaseconnection.replica.ReplicaSelection;
+import org.insta.databaseconnection.replica.ReplicaSet;
+import org.insta.databaseconnection.transaction.Transaction;
+import org.insta.databaseconnection.transaction.TransactionContext;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * <p>
+ * Routes database work to the shard owning the data.
+ * </p>
+ *
+ * <p>
+ * Every identifier generated by {@link IdGenerator} carries one of the logical shards. Logical shards
+ * are assigned to the physical databases configured in {@code db.properties} with
+ * {@code shard.count} and {@code shard.<index>.url} by the explicit {@link ShardMap} of
+ * {@code shard.map}, so a user and everything the user owns live
+ * on the same database and any identifier is enough to find it. Each physical database has its own
+ * {@link ConnectionPool}. Without a shard configuration the single {@code url} is used.
+ * </p>
+ *
+ * <p>
+ * Each shard may list streaming replicas with {@code shard.<index>.replica.count} and
+ * {@code shard.<index>.replica.<index>.url}. Read-only DAO methods borrow through
+ * {@link #getReadConnection(long)} and are served by a replica whose lag is within
+ * {@code replica.max.lag}, everything else goes to the primary.
+ * </p>
+ *
+ * <p>
+ * Connections borrowed for DAO calls pass the read or write lane of the {@link DatabaseLimiter},
+ * which rejects calls over its adaptive limit instead of letting them queue for a connection.
+ * Connections of a shard taken with {@link #getShardConnection(int)} for administrative work are
+ * not limited.
+ * </p>
+ *
+ * <p>
+ * Connections requested while a {@link TransactionContext} transaction is bound to the thread are
+ * handed out of that transaction, so the DAO calls of a service share one connection.
+ * </p>
+ *
+ * <p>
+ * Queries that cannot be routed by an identifier, such as the lookup of an account by email, are
+ * executed on every shard in parallel and their results gathered. The shard queries keep the
+ * deadline of the request thread.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see ConnectionPool
+ * @see IdGenerator
+ * @see ReplicaSet
+ * @see ReadYourWrites
+ * @see TransactionContext
+ * @see DatabaseLimiter
+ */
+public final class ShardedDataSource {
+
+    private static final Logger LOGGER = LogManager.getLogger(ShardedDataSource.class);
+    private final List<ReplicaSet> shards;
+    private final ShardMap shardMap;
+    private final ExecutorService scatterExecutor;
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final ReadYourWrites readYourWrites;
+    private final TransactionContext transactionContext;
+    private final ConcurrencyLimiter readLane;
+    private final ConcurrencyLimiter writeLane;
+    private final DeadlineContext deadlineContext;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private ShardedDataSource() {
+        final Properties properties = DatabaseConnection.getProperties();
+        final int shardCount = Integer.parseInt(properties.getProperty("shard.count", "1"));
+        final int poolSize = Integer.parseInt(properties.getProperty("pool.size", "10"));
+        final long timeout = Long.parseLong(properties.getProperty("pool.timeout", "5000"));
+        final ReplicaSelection selection = ReplicaSelection.getSelection(properties.getProperty("replica.selection"));
+        final long maximumLag = Long.parseLong(properties.getProperty("replica.max.lag", "2000"));
+
+        if (shardCount < 1 || shardCount > IdGenerator.MAX_SHARD_ID + 1) {
+            LOGGER.error("Invalid shard count");
+            throw new DatabaseConnectionFailedException("Invalid shard count");
+        }
+
+        try {
+            Class.forName("org.postgresql.Driver");
+        } catch (ClassNotFoundException exception) {
+            LOGGER.error("Database driver not found");
+            throw new DatabaseConnectionFailedException("Database driver not found");
+        }
+        final List<ReplicaSet> replicaSets = new ArrayList<>(shardCount);
+
+        for (int index = 0; index < shardCount; index++) {
+            final String name = String.join("", "shard-", String.valueOf(index));
+            final String prefix = String.join("", "shard.", String.valueOf(index), ".");
+            final String username = properties.getProperty(prefix + "username", properties.getProperty("username"));
+            final String password = properties.getProperty(prefix + "password", properties.getProperty("password"));
+            final int replicaCount = Integer.parseInt(properties.getProperty(prefix + "replica.count", "0"));
+            final List<ConnectionPool> replicas = new ArrayList<>(replicaCount);
+
+            for (int replica = 0; replica < replicaCount; replica++) {
+                final String replicaPrefix = String.join("", prefix, "replica.", String.valueOf(replica), ".");
+
+                replicas.add(new ConnectionPool(String.join("-", name, "replica", String.valueOf(replica)),
+                        properties.getProperty(replicaPrefix + "url"),
+                        properties.getProperty(replicaPrefix + "username", username),
+                        properties.getProperty(replicaPrefix + "password", password), poolSize, timeout));
+            }
+            replicaSets.add(new ReplicaSet(new ConnectionPool(name,
+                    properties.getProperty(prefix + "url", properties.getProperty("url")), username, password,
+                    poolSize, timeout), replicas, selection, maximumLag));
+        }
+        shards = Collections.unmodifiableList(replicaSets);
+        shardMap = new ShardMap(properties.getProperty("shard.map"), shardCount);
+        scatterExecutor = Executors.newFixedThreadPool(shardCount, runnable -> {
+            final Thread thread = new Thread(runnable, "insta-shard-scatter");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        readYourWrites = ReadYourWrites.getInstance();
+        transactionContext = TransactionContext.getInstance();
+        readLane = DatabaseLimiter.getInstance().getReadLane();
+        writeLane = DatabaseLimiter.getInstance().getWriteLane();
+        deadlineContext = DeadlineContext.getInstance();
+        readYourWrites.setWindow(Long.parseLong(properties.getProperty("replica.pin.window", "5000")));
+        replicaLagMonitor = new ReplicaLagMonitor(shards);
+
+        if (shards.stream().anyMatch(replicaSet -> !replicaSet.getReplicas().isEmpty())) {
+            replicaLagMonitor.start(Long.parseLong(properties.getProperty("replica.lag.interval", "1000")));
+        }
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of ShardedDataSource class.
+     * </p>
+     *
+     * @return The singleton instance of ShardedDataSource class.
+     */
+    public static ShardedDataSource getInstance() {
+        return InstanceHolder.SHARDED_DATA_SOURCE;
+    }
+
+    /**
+     * <p>
+     * Borrows a primary connection of the shard owning the given identifier.
+     * </p>
+     *
+     * <p>
+     * The connection is meant for writes, so the user of the current request is pinned to the
+     * primary for the read-your-writes window.
+     * </p>
+     *
+     * @param routingId Refers any identifier generated by {@link IdGenerator}, such as a user or post id.
+     * @return A pooled connection which must be closed after use.
+     * @throws SQLException If no connection can be obtained.
+     */
+    public Connection getConnection(final long routingId) throws SQLException {
+        final Transaction transaction = transactionContext.getTransaction();
+
+        if (Objects.nonNull(transaction) && transaction.isReadOnly()) {
+            throw new SQLException("Write connection requested in a read-only transaction");
+        }
+        readYourWrites.recordWrite();
+
+        return Objects.nonNull(transaction) ? joinTransaction(transaction, getShardIndex(routingId))
+                : writeLane.acquire(() -> getShardConnection(getShardIndex(routingId)));
+    }
+
+    /**
+     * <p>
+     * Borrows a connection for a read-only query of the shard owning the given identifier.
+     * </p>
+     *
+     * <p>
+     * The read is served by a replica, unless the user of the current request wrote recently or no
+     * replica is within the lag limit.
+     * </p>
+     *
+     * @param routingId Refers any identifier generated by {@link IdGenerator}, such as a user or post id.
+     * @return A pooled connection which must be closed after use.
+     * @throws SQLException If no connection can be obtained.
+     */
+    public Connection getReadConnection(final long routingId) throws SQLException {
+        final Transaction transaction = transactionContext.getTransaction();
+
+        if (Objects.nonNull(transaction)) {
+            return joinTransaction(transaction, getShardIndex(routingId));
+        }
+        final ReplicaSet replicaSet = shards.get(getShardIndex(routingId));
+
+        return readLane.acquire(() -> readYourWrites.isPinnedToPrimary() ? replicaSet.getPrimaryConnection()
+                : replicaSet.getReadConnection());
+    }
+
+    /**
+     * <p>
+     * Borrows a primary connection of the given physical shard.
+     * </p>
+     *
+     * @param shardIndex Refers the index of the physical shard.
+     * @return A pooled connection which must be closed after use.
+     * @throws SQLException If no connection can be obtained.
+     */
+    public Connection getShardConnection(final int shardIndex) throws SQLException {
+        return shards.get(shardIndex).getPrimaryConnection();
+    }
+
+    /**
+     * <p>
+     * Returns the index of the physical shard owning the given identifier.
+     * </p>
+     *
+     * @param routingId Refers any identifier generated by {@link IdGenerator}.
+     * @return The index of the physical shard.
+     */
+    public int getShardIndex(final long routingId) {
+        return shardMap.getShardIndex(routingId);
+    }
+
+    /**
+     * <p>
+     * Returns the number of physical shards.
+     * </p>
+     *
+     * @return The number of physical shards.
+     */
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    /**
+     * <p>
+     * Returns the primary and replica pools of the physical shards.
+     * </p>
+     *
+     * @return The unmodifiable list of replica sets, indexed by shard.
+     */
+    public List<ReplicaSet> getShards() {
+        return shards;
+    }
+
+    /**
+     * <p>
+     * Groups the positions of the given identifiers by the physical shard owning them.
+     * </p>
+     *
+     * <p>
+     * Used by batch writes, which are sent to each shard as a separate batch.
+     * </p>
+     *
+     * @param routingIds Refers the identifiers to be grouped.
+     * @return The positions within the given list, keyed by the index of the physical shard.
+     */
+    public Map<Integer, List<Integer>> groupByShard(final List<Long> routingIds) {
+        final Map<Integer, List<Integer>> positionsByShard = new HashMap<>();
+
+        for (int position = 0; position < routingIds.size(); position++) {
+            positionsByShard.computeIfAbsent(getShardIndex(routingIds.get(position)), shardIndex -> new ArrayList<>())
+                    .add(position);
+        }
+
+        return positionsByShard;
+    }
+
+    /**
+     * <p>
+     * Executes the given work in a single transaction on the shard owning the identifier.
+     * </p>
+     *
+     * <p>
+     * The transaction is committed when the work returns and rolled back when it fails. When a
+     * {@link TransactionContext} transaction is bound to the thread, the work joins it instead.
+     * </p>
+     *
+     * @param routingId Refers any identifier generated by {@link IdGenerator}.
+     * @param work      Refers the work to be executed.
+     * @param <T>       Refers the type of the result.
+     * @return The result of the work.
+     * @throws SQLException If the work or the commit fails.
+     */
+    public <T> T inTransaction(final long routingId, final ShardQuery<T> work) throws SQLException {
+        if (transactionContext.isActive()) {
+            return work.execute(getConnection(routingId));
+        }
+
+        try (final Connection connection = getConnection(routingId)) {
+            connection.setAutoCommit(false);
+
+            try {
+                final T result = work.execute(connection);
+
+                connection.commit();
+
+                return result;
+            } catch (SQLException | RuntimeException exception) {
+                connection.rollback();
+                throw exception;
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Executes the given query on every shard in parallel and gathers the results.
+     * </p>
+     *
+     * @param query Refers the query to be executed on each shard.
+     * @param <T>   Refers the type of the result of a shard.
+     * @return The results of the shards, indexed by shard.
+     * @throws SQLException If the query fails on any shard.
+     */
+    public <T> List<T> scatterGather(final ShardQuery<T> query) throws SQLException {
+        final List<T> results = new ArrayList<>(shards.size());
+
+        if (shards.size() == 1) {
+            try (final Connection connection = readLane.acquire(() -> getShardConnection(0))) {
+                results.add(query.execute(connection));
+            }
+
+            return results;
+        }
+        final List<Future<T>> futures = new ArrayList<>(shards.size());
+        final Deadline deadline = deadlineContext.getDeadline();
+
+        for (int index = 0; index < shards.size(); index++) {
+            final int shardIndex = index;
+
+            futures.add(scatterExecutor.submit(() -> {
+                deadlineContext.join(deadline);
+
+                try (final Connection connection = readLane.acquire(() -> getShardConnection(shardIndex))) {
+                    return query.execute(connection);
+                } finally {
+                    deadlineContext.leave();
+                }
+            }));
+        }
+
+        try {
+            for (final Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new SQLException("Interrupted while gathering shard results");
+        } catch (ExecutionException exception) {
+            futures.forEach(future -> future.cancel(true));
+
+            if (exception.getCause() instanceof SQLException) {
+                throw (SQLException) exception.getCause();
+            }
+
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw new SQLException("Shard query failed", exception.getCause());
+        }
+
+        return results;
+    }
+
+    /**
+     * <p>
+     * Returns the connection of the bound transaction, binding it to the given shard first if needed.
+     * </p>
+     *
+     * <p>
+     * A read-only transaction is bound to a replica unless the user is pinned to the primary.
+     * </p>
+     *
+     * @param transaction Refers the transaction bound to the thread.
+     * @param shardIndex  Refers the index of the physical shard.
+     * @return The connection of the transaction.
+     * @throws SQLException If no connection can be obtained or the transaction is bound to another shard.
+     */
+    private Connection joinTransaction(final Transaction transaction, final int shardIndex) throws SQLException {
+        if (!transaction.isBound()) {
+            final ReplicaSet replicaSet = shards.get(shardIndex);
+
+            transaction.bind(shardIndex, transaction.isReadOnly()
+                    ? readLane.acquire(() -> readYourWrites.isPinnedToPrimary() ? replicaSet.getPrimaryConnection()
+                    : replicaSet.getReadConnection()) : writeLane.acquire(replicaSet::getPrimaryConnection));
+        }
+
+        return transaction.getConnection(shardIndex);
+    }
+
+    /**
+     * <p>
+     * Closes the pools of every shard.
+     * </p>
+     */
+    public void close() {
+        replicaLagMonitor.stop();
+        scatterExecutor.shutdownNow();
+        shards.forEach(ReplicaSet::close);
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final ShardedDataSource SHARDED_DATA_SOURCE = new ShardedDataSource();
+    }
+}
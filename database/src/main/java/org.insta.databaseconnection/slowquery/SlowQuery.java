@@ -0,0 +1,78 @@
+package org.insta.databaseconnection.slowquery;
+
+import java.util.List;
+
+/**
+ * <p>
+ * A statement which took longer than the slow query threshold.
+ * </p>
+ *
+ * <p>
+ * Only the types of the bind parameters are kept so the log and the admin endpoint never expose
+ * user data.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see SlowQueryLog
+ */
+public final class SlowQuery {
+
+    private final String sql;
+    private final List<String> parameterTypes;
+    private final long elapsedMillis;
+    private final long executedAt;
+    private final String pool;
+    private volatile String plan;
+
+    /**
+     * <p>
+     * Creates a slow query entry.
+     * </p>
+     *
+     * @param sql            Refers the SQL template of the statement.
+     * @param parameterTypes Refers the types of the bind parameters, in order.
+     * @param elapsedMillis  Refers the execution time of the statement.
+     * @param executedAt     Refers the epoch millis at which the statement finished.
+     * @param pool           Refers the name of the pool the statement ran on.
+     */
+    SlowQuery(final String sql, final List<String> parameterTypes, final long elapsedMillis, final long executedAt,
+              final String pool) {
+        this.sql = sql;
+        this.parameterTypes = parameterTypes;
+        this.elapsedMillis = elapsedMillis;
+        this.executedAt = executedAt;
+        this.pool = pool;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<String> getParameterTypes() {
+        return parameterTypes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public long getExecutedAt() {
+        return executedAt;
+    }
+
+    public String getPool() {
+        return pool;
+    }
+
+    /**
+     * @return the EXPLAIN output, null until captured or when the capture was skipped
+     */
+    public String getPlan() {
+        return plan;
+    }
+
+    void setPlan(final String plan) {
+        this.plan = plan;
+    }
+}
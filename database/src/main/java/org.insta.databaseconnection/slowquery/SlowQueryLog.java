@@ -0,0 +1,290 @@
+package org.insta.databaseconnection.slowquery;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.insta.databaseconnection.DatabaseConnection;
+import org.insta.databaseconnection.pool.ConnectionPool;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * Times the prepared statements of every pooled connection and keeps the slow ones.
+ * </p>
+ *
+ * <p>
+ * {@link ConnectionPool} hands out statements wrapped by {@link #instrument}. A statement whose
+ * execution takes longer than {@code slowquery.threshold} milliseconds is kept in a ring buffer of
+ * the last {@code slowquery.buffer.size} slow queries, logged with its SQL template and the types
+ * of its bind parameters, and its plan is captured by running {@code EXPLAIN (ANALYZE, BUFFERS)}
+ * with the same parameters on a side connection of the same pool.
+ * </p>
+ *
+ * <p>
+ * Plans are captured by a single background thread in a transaction which is rolled back, and
+ * statements other than queries are only explained, never analyzed, so capturing a plan does not
+ * repeat a write. At most {@code slowquery.explain.per.minute} slow queries are logged and
+ * explained per minute so a database in trouble is not flooded with more work; the others are
+ * still kept in the ring buffer.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see SlowQuery
+ */
+public final class SlowQueryLog {
+
+    private static final Logger LOGGER = LogManager.getLogger(SlowQueryLog.class);
+    private static final String EXPLAIN = "EXPLAIN";
+    private static final String EXPLAIN_ANALYZE = "EXPLAIN (ANALYZE, BUFFERS)";
+    private final long thresholdNanos;
+    private final int explainsPerMinute;
+    private final SlowQuery[] recentQueries;
+    private final ExecutorService explainExecutor;
+    private int nextIndex;
+    private long currentMinute;
+    private int explainsInMinute;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private SlowQueryLog() {
+        final Properties properties = DatabaseConnection.getProperties();
+
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(properties.getProperty(
+                "slowquery.threshold", "500")));
+        explainsPerMinute = Integer.parseInt(properties.getProperty("slowquery.explain.per.minute", "30"));
+        recentQueries = new SlowQuery[Integer.parseInt(properties.getProperty("slowquery.buffer.size", "100"))];
+        explainExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "insta-slow-query-explain");
+
+                    thread.setDaemon(true);
+
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of SlowQueryLog class.
+     * </p>
+     *
+     * @return The singleton instance of SlowQueryLog class.
+     */
+    public static SlowQueryLog getInstance() {
+        return InstanceHolder.SLOW_QUERY_LOG;
+    }
+
+    /**
+     * <p>
+     * Wraps a prepared statement so its executions are timed.
+     * </p>
+     *
+     * @param statement Refers the prepared statement of the physical connection.
+     * @param sql       Refers the SQL template of the statement.
+     * @param pool      Refers the pool the statement was prepared on.
+     * @return The timed statement.
+     */
+    public PreparedStatement instrument(final PreparedStatement statement, final String sql,
+                                        final ConnectionPool pool) {
+        if (sql.regionMatches(true, 0, EXPLAIN, 0, EXPLAIN.length())) {
+            return statement;
+        }
+        final Map<Integer, Object> parameters = new TreeMap<>();
+
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, arguments) -> {
+                    final String name = method.getName();
+
+                    if (name.startsWith("set") && Objects.nonNull(arguments) && arguments.length >= 2
+                            && arguments[0] instanceof Integer) {
+                        parameters.put((Integer) arguments[0], "setNull".equals(name) ? null : arguments[1]);
+                    } else if ("clearParameters".equals(name)) {
+                        parameters.clear();
+                    }
+
+                    if (!name.startsWith("execute")) {
+                        return invoke(statement, method, arguments);
+                    }
+                    final long start = System.nanoTime();
+
+                    try {
+                        return invoke(statement, method, arguments);
+                    } finally {
+                        final long elapsed = System.nanoTime() - start;
+
+                        if (elapsed >= thresholdNanos) {
+                            record(sql, new TreeMap<>(parameters), elapsed, pool, !"executeBatch".equals(name));
+                        }
+                    }
+                });
+    }
+
+    /**
+     * <p>
+     * Returns the slow queries kept in the ring buffer, the most recent first.
+     * </p>
+     *
+     * @return The recent slow queries.
+     */
+    public synchronized List<SlowQuery> getRecentQueries() {
+        final List<SlowQuery> queries = new ArrayList<>(recentQueries.length);
+
+        for (int offset = 1; offset <= recentQueries.length; offset++) {
+            final SlowQuery query = recentQueries[Math.floorMod(nextIndex - offset, recentQueries.length)];
+
+            if (Objects.isNull(query)) {
+                break;
+            }
+            queries.add(query);
+        }
+
+        return Collections.unmodifiableList(queries);
+    }
+
+    /**
+     * <p>
+     * Keeps a slow query and, within the rate limit, logs it and captures its plan.
+     * </p>
+     *
+     * @param sql          Refers the SQL template of the statement.
+     * @param parameters   Refers the bind parameters by index.
+     * @param elapsedNanos Refers the execution time of the statement.
+     * @param pool         Refers the pool the statement ran on.
+     * @param explainable  Refers whether the plan of the statement can be captured.
+     */
+    private void record(final String sql, final Map<Integer, Object> parameters, final long elapsedNanos,
+                        final ConnectionPool pool, final boolean explainable) {
+        final List<String> parameterTypes = parameters.values().stream()
+                .map(value -> Objects.isNull(value) ? "null" : value.getClass().getSimpleName())
+                .collect(Collectors.toList());
+        final SlowQuery slowQuery = new SlowQuery(sql, parameterTypes, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                System.currentTimeMillis(), pool.getName());
+
+        if (!add(slowQuery)) {
+            return;
+        }
+        LOGGER.warn(String.join(" ", "Slow query on", pool.getName(), "took",
+                String.valueOf(slowQuery.getElapsedMillis()), "ms:", sql, "with parameters",
+                parameterTypes.toString()));
+
+        if (explainable) {
+            explainExecutor.execute(() -> explain(slowQuery, parameters, pool));
+        }
+    }
+
+    /**
+     * <p>
+     * Adds a slow query to the ring buffer and checks the rate limit.
+     * </p>
+     *
+     * @param slowQuery Refers the slow query.
+     * @return True if the query may be logged and explained in the current minute.
+     */
+    private synchronized boolean add(final SlowQuery slowQuery) {
+        final long minute = TimeUnit.MILLISECONDS.toMinutes(slowQuery.getExecutedAt());
+
+        if (recentQueries.length > 0) {
+            recentQueries[nextIndex] = slowQuery;
+            nextIndex = (nextIndex + 1) % recentQueries.length;
+        }
+
+        if (minute != currentMinute) {
+            currentMinute = minute;
+            explainsInMinute = 0;
+        }
+
+        return explainsInMinute++ < explainsPerMinute;
+    }
+
+    /**
+     * <p>
+     * Captures the plan of a slow query on a side connection.
+     * </p>
+     *
+     * @param slowQuery  Refers the slow query.
+     * @param parameters Refers the bind parameters by index.
+     * @param pool       Refers the pool the statement ran on.
+     */
+    private void explain(final SlowQuery slowQuery, final Map<Integer, Object> parameters,
+                         final ConnectionPool pool) {
+        final String sql = slowQuery.getSql().trim();
+        final boolean query = sql.regionMatches(true, 0, "SELECT", 0, 6)
+                || sql.regionMatches(true, 0, "WITH", 0, 4);
+
+        try (final Connection connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (final PreparedStatement preparedStatement = connection.prepareStatement(String.join(" ",
+                    query ? EXPLAIN_ANALYZE : EXPLAIN, sql))) {
+                for (final Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+                    preparedStatement.setObject(parameter.getKey(), parameter.getValue());
+                }
+                final StringBuilder plan = new StringBuilder();
+
+                try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+                slowQuery.setPlan(plan.toString());
+                LOGGER.warn(String.join("\n", "Plan of slow query: " + sql, plan));
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException exception) {
+            LOGGER.error(String.join(" ", "Plan capture failed for", sql));
+        }
+    }
+
+    /**
+     * <p>
+     * Invokes a method on the wrapped statement, rethrowing its own exception.
+     * </p>
+     *
+     * @param statement Refers the wrapped statement.
+     * @param method    Refers the invoked method.
+     * @param arguments Refers the arguments of the call.
+     * @return The result of the call.
+     * @throws Throwable The exception thrown by the statement.
+     */
+    private static Object invoke(final PreparedStatement statement, final Method method, final Object[] arguments)
+            throws Throwable {
+        try {
+            return method.invoke(statement, arguments);
+        } catch (InvocationTargetException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final SlowQueryLog SLOW_QUERY_LOG = new SlowQueryLog();
+    }
+}
@@ -0,0 +1,202 @@
+package org.insta.databaseconnection.transaction;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Transaction bound to a thread by the {@link TransactionContext}.
+ * </p>
+ *
+ * <p>
+ * The transaction borrows no connection until a DAO asks for one. The first connection borrowed
+ * binds the transaction to its shard, and every later request for the same shard gets the same
+ * connection back. DAOs receive a handle whose {@code close()} keeps the connection open and
+ * whose {@code commit()} and {@code setAutoCommit()} are left to the context, so code written for
+ * a standalone connection joins the transaction unchanged. A {@code rollback()} through the
+ * handle marks the transaction for rollback.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see TransactionContext
+ */
+public final class Transaction {
+
+    private final boolean readOnly;
+    private int shardIndex;
+    private Connection connection;
+    private Connection handle;
+    private boolean rollbackOnly;
+
+    /**
+     * <p>
+     * Creates an unbound transaction.
+     * </p>
+     *
+     * @param readOnly Refers whether the transaction only reads.
+     */
+    Transaction(final boolean readOnly) {
+        this.readOnly = readOnly;
+        this.shardIndex = -1;
+    }
+
+    /**
+     * <p>
+     * Returns whether the transaction only reads and may be served by a replica.
+     * </p>
+     *
+     * @return True if the transaction is read-only.
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * <p>
+     * Returns whether the transaction already holds a connection.
+     * </p>
+     *
+     * @return True if the transaction is bound to a shard.
+     */
+    public boolean isBound() {
+        return Objects.nonNull(connection);
+    }
+
+    /**
+     * <p>
+     * Binds the transaction to the given connection of a shard and starts it.
+     * </p>
+     *
+     * @param shardIndex Refers the index of the physical shard of the connection.
+     * @param connection Refers the pooled connection, closed with the transaction.
+     * @throws SQLException If the transaction cannot be started.
+     */
+    public void bind(final int shardIndex, final Connection connection) throws SQLException {
+        if (isBound()) {
+            connection.close();
+            throw new SQLException("Transaction already bound");
+        }
+
+        try {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(readOnly);
+        } catch (SQLException exception) {
+            connection.close();
+            throw exception;
+        }
+        this.shardIndex = shardIndex;
+        this.connection = connection;
+        this.handle = wrap(connection);
+    }
+
+    /**
+     * <p>
+     * Returns the connection of the transaction for work on the given shard.
+     * </p>
+     *
+     * @param shardIndex Refers the index of the physical shard the work needs.
+     * @return The handle of the connection of the transaction.
+     * @throws SQLException If the transaction is bound to another shard.
+     */
+    public Connection getConnection(final int shardIndex) throws SQLException {
+        if (this.shardIndex != shardIndex) {
+            throw new SQLException(String.join(" ", "Transaction bound to shard", String.valueOf(this.shardIndex),
+                    "cannot reach shard", String.valueOf(shardIndex)));
+        }
+
+        return handle;
+    }
+
+    /**
+     * <p>
+     * Commits the transaction, or rolls it back if it was marked for rollback.
+     * </p>
+     *
+     * @throws SQLException If the commit fails or the transaction was marked for rollback.
+     */
+    void commit() throws SQLException {
+        if (!isBound()) {
+            return;
+        }
+
+        if (rollbackOnly) {
+            connection.rollback();
+            throw new SQLException("Transaction marked for rollback");
+        }
+        connection.commit();
+    }
+
+    /**
+     * <p>
+     * Rolls the transaction back.
+     * </p>
+     *
+     * @throws SQLException If the rollback fails.
+     */
+    void rollback() throws SQLException {
+        if (isBound()) {
+            connection.rollback();
+        }
+    }
+
+    /**
+     * <p>
+     * Returns the connection to its pool.
+     * </p>
+     *
+     * @throws SQLException If the connection cannot be reset.
+     */
+    void close() throws SQLException {
+        if (isBound()) {
+            try {
+                connection.setReadOnly(false);
+            } finally {
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Wraps the connection into the handle given to DAOs.
+     * </p>
+     *
+     * @param connection Refers the pooled connection.
+     * @return The handle of the connection.
+     */
+    private Connection wrap(final Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, arguments) -> {
+                    switch (method.getName()) {
+                        case "close":
+                        case "commit":
+                        case "setAutoCommit":
+                        case "setReadOnly":
+                            return null;
+                        case "rollback":
+                            if (Objects.isNull(arguments)) {
+                                rollbackOnly = true;
+
+                                return null;
+                            }
+                            break;
+                        case "equals":
+                            return proxy == arguments[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+
+                    try {
+                        return method.invoke(connection, arguments);
+                    } catch (InvocationTargetException exception) {
+                        throw exception.getCause();
+                    }
+                });
+    }
+}
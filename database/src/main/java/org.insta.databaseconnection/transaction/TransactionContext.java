@@ -0,0 +1,239 @@
+package org.insta.databaseconnection.transaction;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.insta.databaseconnection.shard.ShardedDataSource;
+
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Binds a transaction to the current thread so several DAO calls share one connection.
+ * </p>
+ *
+ * <p>
+ * While a transaction is bound, {@link ShardedDataSource} hands every connection requested on the
+ * thread out of the transaction instead of the pool, so the DAOs join it without any change. A
+ * transaction is either scoped to a lambda with {@link #execute} and {@link #executeReadOnly}, or
+ * bound for a whole request with {@link #begin}, {@link #commit} and {@link #rollback}. Work which
+ * starts a transaction while one is bound joins the outer transaction.
+ * </p>
+ *
+ * <p>
+ * A transaction reaches a single shard, the one of the first connection requested. A read-only
+ * transaction is served by a replica when the user is not pinned to the primary and rejects
+ * requests for a write connection.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see Transaction
+ * @see ShardedDataSource
+ */
+public final class TransactionContext {
+
+    private static final Logger LOGGER = LogManager.getLogger(TransactionContext.class);
+    private final ThreadLocal<Transaction> currentTransaction;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private TransactionContext() {
+        currentTransaction = new ThreadLocal<>();
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of TransactionContext class.
+     * </p>
+     *
+     * @return The singleton instance of TransactionContext class.
+     */
+    public static TransactionContext getInstance() {
+        return InstanceHolder.TRANSACTION_CONTEXT;
+    }
+
+    /**
+     * <p>
+     * Executes the work in a read-write transaction, committed when the work returns.
+     * </p>
+     *
+     * @param work Refers the work to be executed.
+     * @param <T>  Refers the type of the result.
+     * @return The result of the work.
+     * @throws SQLException If the work or the commit fails.
+     */
+    public <T> T execute(final TransactionalWork<T> work) throws SQLException {
+        return execute(false, work);
+    }
+
+    /**
+     * <p>
+     * Executes the work in a read-only transaction.
+     * </p>
+     *
+     * @param work Refers the work to be executed.
+     * @param <T>  Refers the type of the result.
+     * @return The result of the work.
+     * @throws SQLException If the work fails.
+     */
+    public <T> T executeReadOnly(final TransactionalWork<T> work) throws SQLException {
+        return execute(true, work);
+    }
+
+    /**
+     * <p>
+     * Binds a new transaction to the current thread, for example at the start of a request.
+     * </p>
+     *
+     * @param readOnly Refers whether the transaction only reads.
+     * @throws SQLException If a transaction is already bound.
+     */
+    public void begin(final boolean readOnly) throws SQLException {
+        if (isActive()) {
+            throw new SQLException("Transaction already bound to the thread");
+        }
+        currentTransaction.set(new Transaction(readOnly));
+    }
+
+    /**
+     * <p>
+     * Commits the transaction of the current thread and unbinds it.
+     * </p>
+     *
+     * @throws SQLException If the commit fails.
+     */
+    public void commit() throws SQLException {
+        final Transaction transaction = requireTransaction();
+
+        try {
+            transaction.commit();
+        } finally {
+            end(transaction);
+        }
+    }
+
+    /**
+     * <p>
+     * Rolls back the transaction of the current thread and unbinds it.
+     * </p>
+     *
+     * @throws SQLException If the rollback fails.
+     */
+    public void rollback() throws SQLException {
+        final Transaction transaction = requireTransaction();
+
+        try {
+            transaction.rollback();
+        } finally {
+            end(transaction);
+        }
+    }
+
+    /**
+     * <p>
+     * Returns whether a transaction is bound to the current thread.
+     * </p>
+     *
+     * @return True if a transaction is bound.
+     */
+    public boolean isActive() {
+        return Objects.nonNull(currentTransaction.get());
+    }
+
+    /**
+     * <p>
+     * Returns the transaction bound to the current thread.
+     * </p>
+     *
+     * @return The bound transaction, or null if none is bound.
+     */
+    public Transaction getTransaction() {
+        return currentTransaction.get();
+    }
+
+    /**
+     * <p>
+     * Executes the work in a transaction, joining the bound one if any.
+     * </p>
+     *
+     * @param readOnly Refers whether the transaction only reads.
+     * @param work     Refers the work to be executed.
+     * @param <T>      Refers the type of the result.
+     * @return The result of the work.
+     * @throws SQLException If the work or the commit fails.
+     */
+    private <T> T execute(final boolean readOnly, final TransactionalWork<T> work) throws SQLException {
+        final Transaction boundTransaction = currentTransaction.get();
+
+        if (Objects.nonNull(boundTransaction)) {
+            if (boundTransaction.isReadOnly() && !readOnly) {
+                throw new SQLException("Read-write work cannot join a read-only transaction");
+            }
+
+            return work.execute();
+        }
+        begin(readOnly);
+
+        try {
+            final T result = work.execute();
+
+            commit();
+
+            return result;
+        } catch (SQLException | RuntimeException exception) {
+            if (isActive()) {
+                try {
+                    rollback();
+                } catch (SQLException rollbackException) {
+                    exception.addSuppressed(rollbackException);
+                }
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * @return The transaction bound to the current thread.
+     * @throws SQLException If no transaction is bound.
+     */
+    private Transaction requireTransaction() throws SQLException {
+        final Transaction transaction = currentTransaction.get();
+
+        if (Objects.isNull(transaction)) {
+            throw new SQLException("No transaction bound to the thread");
+        }
+
+        return transaction;
+    }
+
+    /**
+     * <p>
+     * Unbinds the transaction and returns its connection to the pool.
+     * </p>
+     *
+     * @param transaction Refers the transaction of the current thread.
+     */
+    private void end(final Transaction transaction) {
+        currentTransaction.remove();
+
+        try {
+            transaction.close();
+        } catch (SQLException exception) {
+            LOGGER.error("Transaction connection release failed");
+        }
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final TransactionContext TRANSACTION_CONTEXT = new TransactionContext();
+    }
+}
@@ -0,0 +1,31 @@
+package org.insta.databaseconnection.transaction;
+
+import java.sql.SQLException;
+
+/**
+ * <p>
+ * Unit of work executed in the transaction of a {@link TransactionContext}.
+ * </p>
+ *
+ * <p>
+ * The work calls DAOs as usual; every connection they borrow on the current thread joins the
+ * transaction.
+ * </p>
+ *
+ * @param <T> Refers the type of the result.
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+@FunctionalInterface
+public interface TransactionalWork<T> {
+
+    /**
+     * <p>
+     * Executes the work.
+     * </p>
+     *
+     * @return The result of the work.
+     * @throws SQLException If the work fails.
+     */
+    T execute() throws SQLException;
+}
@@ -0,0 +1,159 @@
+package org.insta.databaseconnection.idgenerator;
+
+import org.insta.databaseconnection.exception.IdGenerationFailedException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>
+ * Unit tests for the IdGenerator, driven by a clock the tests hold still or move.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see IdGenerator
+ */
+public class IdGeneratorTest {
+
+    private static final long NOW = IdGenerator.EPOCH + 86_400_000L;
+    private static final long SEQUENCE_MASK = (1L << IdGenerator.SEQUENCE_BITS) - 1;
+    private final long[] clock = {NOW};
+
+    /**
+     * <p>
+     * Tests that the identifiers of a node increase strictly per shard while the clock moves
+     * forward, and that across shards a later millisecond always sorts after an earlier one.
+     * </p>
+     */
+    @Test
+    public void testIdsIncrease() {
+        final IdGenerator idGenerator = new IdGenerator(1, () -> clock[0]);
+        final long[] last = new long[IdGenerator.MAX_SHARD_ID + 1];
+        long lastOfPreviousMillisecond = -1;
+        long highest = -1;
+
+        for (int index = 0; index < 10_000; index++) {
+            if (index % 300 == 0) {
+                clock[0]++;
+                lastOfPreviousMillisecond = highest;
+            }
+            final int shardId = index % last.length;
+            final long id = idGenerator.nextId(shardId);
+
+            assertTrue(id > last[shardId]);
+            assertTrue(id > lastOfPreviousMillisecond);
+            last[shardId] = id;
+            highest = Math.max(highest, id);
+        }
+    }
+
+    /**
+     * <p>
+     * Tests that the identifiers of one millisecond count the sequence up, and that the identifier
+     * after the last sequence borrows the next millisecond instead of repeating one.
+     * </p>
+     */
+    @Test
+    public void testSequenceOverflow() {
+        final IdGenerator idGenerator = new IdGenerator(0, () -> clock[0]);
+
+        for (long sequence = 0; sequence <= SEQUENCE_MASK; sequence++) {
+            final long id = idGenerator.nextId(5);
+
+            assertEquals(NOW, IdGenerator.getTimestamp(id));
+            assertEquals(sequence, id & SEQUENCE_MASK);
+        }
+        final long overflow = idGenerator.nextId(5);
+
+        assertEquals(NOW + 1, IdGenerator.getTimestamp(overflow));
+        assertEquals(0, overflow & SEQUENCE_MASK);
+
+        clock[0] = NOW + 1;
+        final long next = idGenerator.nextId(5);
+
+        assertEquals(NOW + 1, IdGenerator.getTimestamp(next));
+        assertEquals(1, next & SEQUENCE_MASK);
+    }
+
+    /**
+     * <p>
+     * Tests that a clock moving backwards does not break the order, the generator counting on the
+     * last issued timestamp until the clock catches up.
+     * </p>
+     */
+    @Test
+    public void testClockBackwards() {
+        final IdGenerator idGenerator = new IdGenerator(0, () -> clock[0]);
+        final long before = idGenerator.nextId(0);
+
+        clock[0] = NOW - 5_000;
+        final long during = idGenerator.nextId(0);
+
+        assertTrue(during > before);
+        assertEquals(NOW, IdGenerator.getTimestamp(during));
+
+        clock[0] = NOW + 10;
+        final long after = idGenerator.nextId(0);
+
+        assertTrue(after > during);
+        assertEquals(NOW + 10, IdGenerator.getTimestamp(after));
+    }
+
+    /**
+     * <p>
+     * Tests that the timestamp, shard and node are extracted from every bit position they occupy.
+     * </p>
+     */
+    @Test
+    public void testBitExtraction() {
+        for (long nodeId = 0; nodeId <= IdGenerator.MAX_NODE_ID; nodeId++) {
+            final IdGenerator idGenerator = new IdGenerator(nodeId, () -> clock[0]);
+
+            for (int shardId = 0; shardId <= IdGenerator.MAX_SHARD_ID; shardId++) {
+                final long id = idGenerator.nextId(shardId);
+
+                assertEquals(shardId, IdGenerator.getShardId(id));
+                assertEquals(nodeId, IdGenerator.getNodeId(id));
+                assertEquals(NOW, IdGenerator.getTimestamp(id));
+                assertEquals(shardId, IdGenerator.getShardId(idGenerator.nextIdFor(id)));
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Tests that the first identifier of a millisecond bounds the identifiers generated in it.
+     * </p>
+     */
+    @Test
+    public void testFirstId() {
+        final IdGenerator idGenerator = new IdGenerator(IdGenerator.MAX_NODE_ID, () -> clock[0]);
+        final long id = idGenerator.nextId(IdGenerator.MAX_SHARD_ID);
+
+        assertTrue(IdGenerator.getFirstId(NOW) <= id);
+        assertTrue(id < IdGenerator.getFirstId(NOW + 1));
+        assertEquals(0, IdGenerator.getFirstId(IdGenerator.EPOCH - 1));
+    }
+
+    /**
+     * <p>
+     * Tests that a shard id outside the shard bits is rejected.
+     * </p>
+     */
+    @Test(expected = IdGenerationFailedException.class)
+    public void testShardOutOfRange() {
+        new IdGenerator(0, () -> clock[0]).nextId(IdGenerator.MAX_SHARD_ID + 1);
+    }
+
+    /**
+     * <p>
+     * Tests that a node id outside the node bits is rejected.
+     * </p>
+     */
+    @Test(expected = IdGenerationFailedException.class)
+    public void testNodeOutOfRange() {
+        new IdGenerator(IdGenerator.MAX_NODE_ID + 1, () -> clock[0]);
+    }
+}
@@ -0,0 +1,155 @@
+package org.insta.databaseconnection.limiter;
+
+import org.insta.databaseconnection.exception.ConcurrencyLimitExceededException;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>
+ * Unit tests for the ConcurrencyLimiter.
+ * </p>
+ *
+ * <p>
+ * The connections are proxies which only count how often they are closed, so no database is needed.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see ConcurrencyLimiter
+ */
+public class ConcurrencyLimiterTest {
+
+    private final AtomicInteger closed = new AtomicInteger();
+
+    /**
+     * <p>
+     * Tests that a call over the limit is rejected at once and counted.
+     * </p>
+     *
+     * @throws SQLException If a connection cannot be obtained.
+     */
+    @Test
+    public void testRejectsOverLimit() throws SQLException {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 2, 1, 10);
+        final Connection first = limiter.acquire(this::open);
+
+        limiter.acquire(this::open);
+
+        try {
+            limiter.acquire(this::open);
+            throw new AssertionError("Call over the limit was admitted");
+        } catch (ConcurrencyLimitExceededException exception) {
+            assertEquals(2, limiter.getInFlight());
+            assertEquals(2, limiter.getAccepted());
+            assertEquals(1, limiter.getRejected());
+        }
+        first.close();
+
+        limiter.acquire(this::open);
+
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    /**
+     * <p>
+     * Tests that closing a connection releases its call exactly once.
+     * </p>
+     *
+     * @throws SQLException If a connection cannot be obtained.
+     */
+    @Test
+    public void testCloseReleasesOnce() throws SQLException {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 2, 1, 10);
+        final Connection connection = limiter.acquire(this::open);
+
+        connection.close();
+        connection.close();
+
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(1, closed.get());
+    }
+
+    /**
+     * <p>
+     * Tests that a call which cannot get a connection releases its slot and cuts the limit, never
+     * below the lowest limit.
+     * </p>
+     */
+    @Test
+    public void testDropCutsLimit() {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 20, 5, 100);
+
+        for (int attempt = 0; attempt < 30; attempt++) {
+            try {
+                limiter.acquire(() -> {
+                    throw new SQLException("Connection refused");
+                });
+                throw new AssertionError("Failed connection was returned");
+            } catch (SQLException exception) {
+                assertEquals(0, limiter.getInFlight());
+            }
+
+            if (attempt == 0) {
+                assertEquals(18, limiter.getLimit());
+            }
+        }
+
+        assertEquals(5, limiter.getLimit());
+    }
+
+    /**
+     * <p>
+     * Tests that the limit grows while the lane is busy and calls stay fast, never above the highest
+     * limit.
+     * </p>
+     *
+     * @throws SQLException If a connection cannot be obtained.
+     */
+    @Test
+    public void testLimitGrowsUnderLoad() throws SQLException {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 2, 1, 20);
+
+        for (int round = 0; round < 200; round++) {
+            final List<Connection> connections = new ArrayList<>();
+
+            for (int call = 0; call < limiter.getLimit(); call++) {
+                connections.add(limiter.acquire(this::open));
+            }
+
+            for (final Connection connection : connections) {
+                connection.close();
+            }
+        }
+
+        assertTrue(limiter.getLimit() > 2);
+        assertTrue(limiter.getLimit() <= 20);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    /**
+     * <p>
+     * Opens a connection which only counts its closing.
+     * </p>
+     *
+     * @return The connection.
+     */
+    private Connection open() {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, arguments) -> {
+                    if ("close".equals(method.getName())) {
+                        closed.incrementAndGet();
+                    }
+
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,134 @@
+package org.insta.databaseconnection.shard;
+
+import org.insta.databaseconnection.exception.DatabaseConnectionFailedException;
+import org.insta.databaseconnection.idgenerator.IdGenerator;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * <p>
+ * Unit tests for the ShardMap and the routing of identifiers to physical shards.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see ShardMap
+ */
+public class ShardMapTest {
+
+    private static final int LOGICAL_SHARDS = IdGenerator.MAX_SHARD_ID + 1;
+
+    /**
+     * <p>
+     * Tests that a single physical shard holds every logical shard without a map.
+     * </p>
+     */
+    @Test
+    public void testSingleShardWithoutMap() {
+        final ShardMap shardMap = new ShardMap(null, 1);
+
+        for (int logicalShard = 0; logicalShard < LOGICAL_SHARDS; logicalShard++) {
+            assertEquals(0, shardMap.getPhysicalShard(logicalShard));
+        }
+    }
+
+    /**
+     * <p>
+     * Tests that identifiers are routed by the shard bits they carry to the physical shard of their
+     * range.
+     * </p>
+     */
+    @Test
+    public void testRoutesIdsByRange() {
+        final ShardMap shardMap = new ShardMap("0-15:0, 16-47:1, 48-63:2", 3);
+        final IdGenerator idGenerator = IdGenerator.getInstance();
+
+        for (int logicalShard = 0; logicalShard < LOGICAL_SHARDS; logicalShard++) {
+            final long id = idGenerator.nextId(logicalShard);
+            final int expected = logicalShard < 16 ? 0 : logicalShard < 48 ? 1 : 2;
+
+            assertEquals(logicalShard, IdGenerator.getShardId(id));
+            assertEquals(expected, shardMap.getShardIndex(id));
+            assertEquals(expected, shardMap.getShardIndex(idGenerator.nextIdFor(id)));
+        }
+    }
+
+    /**
+     * <p>
+     * Tests that adding a physical shard moves no logical shard until the map says so.
+     * </p>
+     */
+    @Test
+    public void testAddingShardKeepsMapping() {
+        final ShardMap before = new ShardMap("0-31:0,32-63:1", 2);
+        final ShardMap after = new ShardMap("0-31:0,32-63:1", 3);
+
+        for (int logicalShard = 0; logicalShard < LOGICAL_SHARDS; logicalShard++) {
+            assertEquals(before.getPhysicalShard(logicalShard), after.getPhysicalShard(logicalShard));
+        }
+    }
+
+    /**
+     * <p>
+     * Tests that a single logical shard may be assigned on its own.
+     * </p>
+     */
+    @Test
+    public void testSingleLogicalShard() {
+        final ShardMap shardMap = new ShardMap("0-62:0,63:1", 2);
+
+        assertEquals(0, shardMap.getPhysicalShard(62));
+        assertEquals(1, shardMap.getPhysicalShard(63));
+    }
+
+    /**
+     * <p>
+     * Tests that several physical shards need an explicit map.
+     * </p>
+     */
+    @Test(expected = DatabaseConnectionFailedException.class)
+    public void testMissingMapRejected() {
+        new ShardMap(" ", 2);
+    }
+
+    /**
+     * <p>
+     * Tests that a logical shard left out of the map is rejected.
+     * </p>
+     */
+    @Test(expected = DatabaseConnectionFailedException.class)
+    public void testUnassignedShardRejected() {
+        new ShardMap("0-30:0,32-63:1", 2);
+    }
+
+    /**
+     * <p>
+     * Tests that a logical shard assigned twice is rejected.
+     * </p>
+     */
+    @Test(expected = DatabaseConnectionFailedException.class)
+    public void testOverlappingRangesRejected() {
+        new ShardMap("0-32:0,32-63:1", 2);
+    }
+
+    /**
+     * <p>
+     * Tests that a physical shard beyond the shard count is rejected.
+     * </p>
+     */
+    @Test(expected = DatabaseConnectionFailedException.class)
+    public void testUnknownPhysicalShardRejected() {
+        new ShardMap("0-31:0,32-63:2", 2);
+    }
+
+    /**
+     * <p>
+     * Tests that a malformed range is rejected.
+     * </p>
+     */
+    @Test(expected = DatabaseConnectionFailedException.class)
+    public void testMalformedRangeRejected() {
+        new ShardMap("0-31-40:0,32-63", 2);
+    }
+}
@@ -0,0 +1,55 @@
+package org.insta.orm.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Maps a field of an entity to a column.
+ * </p>
+ *
+ * <p>
+ * A column of a joined table is only read. Enum fields are stored through the static
+ * {@link #decode()} method of the enum and its {@link #encode()} instance method.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see Table
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface Col {
+
+    /**
+     * @return the name of the column
+     */
+    String name();
+
+    /**
+     * @return the table of the column, the table of the entity when empty
+     */
+    String table() default "";
+
+    /**
+     * @return whether the column is written by the INSERT statement
+     */
+    boolean insertable() default true;
+
+    /**
+     * @return whether the column is read by the SELECT statement
+     */
+    boolean selectable() default true;
+
+    /**
+     * @return the static method of an enum creating the constant from the stored value
+     */
+    String decode() default "";
+
+    /**
+     * @return the method of an enum returning the stored value
+     */
+    String encode() default "";
+}
@@ -0,0 +1,24 @@
+package org.insta.orm.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Marks a field whose own {@link Col} fields are read into it, creating it when it is null.
+ * </p>
+ *
+ * <p>
+ * Embedded columns are only read; they are never written by the INSERT statement of the entity.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see Col
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface Embedded {
+}
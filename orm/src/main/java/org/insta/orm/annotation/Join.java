@@ -0,0 +1,34 @@
+package org.insta.orm.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Describes a table LEFT joined by the SELECT statement of an entity.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see Table
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target({})
+public @interface Join {
+
+    /**
+     * @return the name of the joined table
+     */
+    String table();
+
+    /**
+     * @return the column of the entity table
+     */
+    String on();
+
+    /**
+     * @return the column of the joined table matching {@link #on()}
+     */
+    String column();
+}
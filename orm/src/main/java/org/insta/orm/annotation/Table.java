@@ -0,0 +1,49 @@
+package org.insta.orm.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Marks a model class as an entity stored in a table.
+ * </p>
+ *
+ * <p>
+ * At compile time the entity processor generates a {@code <Entity>Table} class next to the model,
+ * holding the INSERT, SELECT, SELECT_ANY and DELETE statements of the table as constants together with a row
+ * mapper and an insert binder written against the getters and setters of the model. Nothing is
+ * built or looked up reflectively at runtime.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see Col
+ * @see Join
+ * @see Embedded
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface Table {
+
+    /**
+     * @return the name of the table
+     */
+    String name();
+
+    /**
+     * @return the name of the primary key column
+     */
+    String key() default "id";
+
+    /**
+     * @return the property of the model holding the primary key
+     */
+    String keyProperty() default "id";
+
+    /**
+     * @return the tables joined by the SELECT statement
+     */
+    Join[] joins() default {};
+}
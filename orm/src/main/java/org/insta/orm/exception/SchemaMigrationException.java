@@ -1,26 +1,26 @@
-package org.insta.content.exception;
+package org.insta.orm.exception;
 
 import org.insta.exception.DefaultException;
 
 /**
  * <p>
- * Exception class for handle data fetch.
+ * Exception for schema migration or index verification failed.
  * </p>
  *
  * @author Mohamed Yasar
  * @version 1.0 6 Feb 2024
  * @see DefaultException
  */
-public final class FetchDataFailedException extends DefaultException {
+public final class SchemaMigrationException extends DefaultException {
 
     /**
      * <p>
-     * Constructs an FetchDataFailedException with the specified detail message.
+     * Constructs an SchemaMigrationException with the specified detail message.
      * </p>
      *
      * @param message Refers the exception message.
      */
-    public FetchDataFailedException(final String message) {
+    public SchemaMigrationException(final String message) {
         super(message);
     }
 }
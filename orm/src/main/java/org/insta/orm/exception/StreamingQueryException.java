@@ -0,0 +1,26 @@
+package org.insta.orm.exception;
+
+import org.insta.exception.DefaultException;
+
+/**
+ * <p>
+ * Exception for streaming query failed.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see DefaultException
+ */
+public final class StreamingQueryException extends DefaultException {
+
+    /**
+     * <p>
+     * Constructs an StreamingQueryException with the specified detail message.
+     * </p>
+     *
+     * @param message Refers the exception message.
+     */
+    public StreamingQueryException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,108 @@
+package org.insta.orm.processor;
+
+/**
+ * <p>
+ * Mapping of one column to a property of an entity, resolved by the {@link EntityProcessor}.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+final class ColumnMapping {
+
+    private final String column;
+    private final String table;
+    private final String target;
+    private final String getter;
+    private final String setter;
+    private final JdbcType jdbcType;
+    private final boolean primitive;
+    private final String enumType;
+    private final String decode;
+    private final String encode;
+    private final boolean insertable;
+    private final boolean selectable;
+
+    /**
+     * <p>
+     * Creates the mapping of a column.
+     * </p>
+     *
+     * @param column     the name of the column
+     * @param table      the table of the column
+     * @param target     the variable holding the object of the property
+     * @param getter     the getter of the property, null when the column is not inserted
+     * @param setter     the setter of the property, null when the column is not selected
+     * @param jdbcType   the JDBC type of the stored value
+     * @param primitive  whether the property is of a primitive type
+     * @param enumType   the qualified name of the enum of the property, null for other types
+     * @param decode     the static method of the enum creating a constant from the stored value
+     * @param encode     the method of the enum returning the stored value
+     * @param insertable whether the column is written by the INSERT statement
+     * @param selectable whether the column is read by the SELECT statement
+     */
+    ColumnMapping(final String column, final String table, final String target, final String getter,
+                  final String setter, final JdbcType jdbcType, final boolean primitive, final String enumType,
+                  final String decode, final String encode, final boolean insertable, final boolean selectable) {
+        this.column = column;
+        this.table = table;
+        this.target = target;
+        this.getter = getter;
+        this.setter = setter;
+        this.jdbcType = jdbcType;
+        this.primitive = primitive;
+        this.enumType = enumType;
+        this.decode = decode;
+        this.encode = encode;
+        this.insertable = insertable;
+        this.selectable = selectable;
+    }
+
+    String getColumn() {
+        return column;
+    }
+
+    String getTable() {
+        return table;
+    }
+
+    String getTarget() {
+        return target;
+    }
+
+    String getGetter() {
+        return getter;
+    }
+
+    String getSetter() {
+        return setter;
+    }
+
+    JdbcType getJdbcType() {
+        return jdbcType;
+    }
+
+    boolean isPrimitive() {
+        return primitive;
+    }
+
+    String getEnumType() {
+        return enumType;
+    }
+
+    String getDecode() {
+        return decode;
+    }
+
+    String getEncode() {
+        return encode;
+    }
+
+    boolean isInsertable() {
+        return insertable;
+    }
+
+    boolean isSelectable() {
+        return selectable;
+    }
+}
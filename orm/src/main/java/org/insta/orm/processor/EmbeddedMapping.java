@@ -0,0 +1,50 @@
+package org.insta.orm.processor;
+
+/**
+ * <p>
+ * Mapping of an {@link org.insta.orm.annotation.Embedded} property of an entity.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+final class EmbeddedMapping {
+
+    private final String variable;
+    private final String type;
+    private final String getter;
+    private final String setter;
+
+    /**
+     * <p>
+     * Creates the mapping of an embedded property.
+     * </p>
+     *
+     * @param variable the variable holding the embedded object in the generated code
+     * @param type     the qualified name of the embedded type
+     * @param getter   the getter of the property on the entity
+     * @param setter   the setter of the property on the entity
+     */
+    EmbeddedMapping(final String variable, final String type, final String getter, final String setter) {
+        this.variable = variable;
+        this.type = type;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    String getVariable() {
+        return variable;
+    }
+
+    String getType() {
+        return type;
+    }
+
+    String getGetter() {
+        return getter;
+    }
+
+    String getSetter() {
+        return setter;
+    }
+}
@@ -0,0 +1,483 @@
+package org.insta.orm.processor;
+
+import org.insta.orm.annotation.Col;
+import org.insta.orm.annotation.Embedded;
+import org.insta.orm.annotation.Join;
+import org.insta.orm.annotation.Table;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * Annotation processor generating the table mapping of every {@link Table} entity.
+ * </p>
+ *
+ * <p>
+ * For an entity {@code Post} the processor writes a {@code PostTable} class in the same package
+ * holding the INSERT, SELECT, SELECT_ANY and DELETE statements as constants, a mapper reading a row with the
+ * typed {@link java.sql.ResultSet} getters and a binder writing the INSERT parameters with the typed
+ * {@link java.sql.PreparedStatement} setters. Every getter, setter and column type is resolved here,
+ * so a mapping mistake fails the build instead of a request.
+ * </p>
+ *
+ * <p>
+ * The processor is registered through {@code META-INF/services} and runs in every module compiled
+ * against the orm bundle.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see TableSourceWriter
+ */
+@SupportedAnnotationTypes("org.insta.orm.annotation.Table")
+public final class EntityProcessor extends AbstractProcessor {
+
+    static final String ENTITY = "entity";
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+    private int errors;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the latest source version supported by the compiler
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param annotations      the annotation types requested to be processed
+     * @param roundEnvironment the environment of the current round
+     * @return true, the {@link Table} annotation is claimed by this processor
+     */
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnvironment) {
+        for (final Element element : roundEnvironment.getElementsAnnotatedWith(Table.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@Table can only be applied to a class");
+                continue;
+            }
+            processEntity((TypeElement) element);
+        }
+
+        return true;
+    }
+
+    /**
+     * <p>
+     * Resolves the columns of an entity and writes its table class.
+     * </p>
+     *
+     * @param type the entity
+     */
+    private void processEntity(final TypeElement type) {
+        final Table table = type.getAnnotation(Table.class);
+        final List<ColumnMapping> columns = new ArrayList<>();
+        final Map<String, EmbeddedMapping> embeddedMappings = new LinkedHashMap<>();
+
+        errors = 0;
+        checkIdentifier(type, table.name());
+        checkIdentifier(type, table.key());
+
+        for (final Join join : table.joins()) {
+            checkIdentifier(type, join.table());
+            checkIdentifier(type, join.on());
+            checkIdentifier(type, join.column());
+        }
+        checkConstructor(type);
+        columns.add(keyMapping(type, table));
+        collectColumns(type, table.name(), ENTITY, columns, embeddedMappings);
+
+        if (errors > 0) {
+            return;
+        }
+        final TableSourceWriter tableSourceWriter = new TableSourceWriter(type, table, columns,
+                new ArrayList<>(embeddedMappings.values()));
+
+        try {
+            final JavaFileObject sourceFile = processingEnv.getFiler()
+                    .createSourceFile(tableSourceWriter.getQualifiedName(), type);
+
+            try (final Writer writer = sourceFile.openWriter()) {
+                writer.write(tableSourceWriter.write());
+            }
+        } catch (IOException exception) {
+            error(type, String.join(" ", "Table class of", type.getSimpleName().toString(),
+                    "cannot be written:", exception.getMessage()));
+        }
+    }
+
+    /**
+     * <p>
+     * Resolves the mapping of the primary key, which is never null and read without a null check.
+     * </p>
+     *
+     * @param type  the entity
+     * @param table the table annotation of the entity
+     * @return the mapping of the key column
+     */
+    private ColumnMapping keyMapping(final TypeElement type, final Table table) {
+        final Optional<ExecutableElement> getter = findGetter(type, table.keyProperty());
+        final Optional<ExecutableElement> setter = findSetter(type, table.keyProperty());
+
+        if (getter.isEmpty() || setter.isEmpty()) {
+            error(type, String.join(" ", "Key property", table.keyProperty(), "needs a getter and a setter"));
+        } else if (JdbcType.of(typeName(getter.get().getReturnType())).orElse(null) != JdbcType.LONG) {
+            error(type, String.join(" ", "Key property", table.keyProperty(), "must be a long"));
+        }
+
+        return new ColumnMapping(table.key(), table.name(), ENTITY, name(getter), name(setter), JdbcType.LONG,
+                true, null, null, null, true, true);
+    }
+
+    /**
+     * <p>
+     * Resolves the mapping of every {@link Col} field of the given type and its super classes.
+     * </p>
+     *
+     * @param type             the entity or embedded type
+     * @param ownTable         the table of the entity
+     * @param target           the variable holding the object in the generated code
+     * @param columns          the resolved columns
+     * @param embeddedMappings the resolved embedded properties
+     */
+    private void collectColumns(final TypeElement type, final String ownTable, final String target,
+                                final List<ColumnMapping> columns,
+                                final Map<String, EmbeddedMapping> embeddedMappings) {
+        for (final VariableElement field : fieldsOf(type)) {
+            final String property = field.getSimpleName().toString();
+
+            if (field.getAnnotation(Embedded.class) != null) {
+                if (!ENTITY.equals(target) || field.asType().getKind() != TypeKind.DECLARED) {
+                    error(field, "@Embedded can only be applied to an object field of an entity");
+                    continue;
+                }
+                final TypeElement embeddedType = (TypeElement) ((DeclaredType) field.asType()).asElement();
+
+                checkConstructor(embeddedType);
+                embeddedMappings.put(property, new EmbeddedMapping(property,
+                        embeddedType.getQualifiedName().toString(), name(require(type, property, field, true)),
+                        name(require(type, property, field, false))));
+                collectColumns(embeddedType, ownTable, property, columns, embeddedMappings);
+                continue;
+            }
+            final Col col = field.getAnnotation(Col.class);
+
+            if (col == null) {
+                continue;
+            }
+            final String table = col.table().isEmpty() ? ownTable : col.table();
+            final boolean insertable = col.insertable() && ENTITY.equals(target) && table.equals(ownTable);
+
+            checkIdentifier(field, col.name());
+            checkIdentifier(field, table);
+            columns.add(columnMapping(type, field, col, table, target, insertable));
+        }
+    }
+
+    /**
+     * <p>
+     * Resolves the mapping of a {@link Col} field.
+     * </p>
+     *
+     * @param type       the type declaring or inheriting the field
+     * @param field      the field
+     * @param col        the column annotation of the field
+     * @param table      the table of the column
+     * @param target     the variable holding the object in the generated code
+     * @param insertable whether the column is written by the INSERT statement
+     * @return the mapping of the column
+     */
+    private ColumnMapping columnMapping(final TypeElement type, final VariableElement field, final Col col,
+                                        final String table, final String target, final boolean insertable) {
+        final String property = field.getSimpleName().toString();
+        final TypeMirror fieldType = field.asType();
+        final String getter = insertable ? name(require(type, property, field, true)) : null;
+        final String setter = col.selectable() ? name(require(type, property, field, false)) : null;
+
+        if (isEnum(fieldType)) {
+            final TypeElement enumType = (TypeElement) ((DeclaredType) fieldType).asElement();
+            final JdbcType jdbcType = enumMethods(enumType, field, col);
+
+            return new ColumnMapping(col.name(), table, target, getter, setter, jdbcType, false,
+                    enumType.getQualifiedName().toString(), col.decode(), col.encode(), insertable, col.selectable());
+        }
+        final Optional<JdbcType> jdbcType = JdbcType.of(typeName(fieldType));
+
+        if (jdbcType.isEmpty()) {
+            error(field, String.join(" ", "Unsupported column type", fieldType.toString()));
+        }
+
+        return new ColumnMapping(col.name(), table, target, getter, setter, jdbcType.orElse(JdbcType.STRING),
+                fieldType.getKind().isPrimitive(), null, null, null, insertable, col.selectable());
+    }
+
+    /**
+     * <p>
+     * Checks the decode and encode methods of an enum column.
+     * </p>
+     *
+     * @param enumType the enum of the field
+     * @param field    the field
+     * @param col      the column annotation of the field
+     * @return the JDBC type of the value returned by the encode method
+     */
+    private JdbcType enumMethods(final TypeElement enumType, final VariableElement field, final Col col) {
+        final List<ExecutableElement> methods = ElementFilter.methodsIn(
+                processingEnv.getElementUtils().getAllMembers(enumType));
+        final boolean decode = methods.stream().anyMatch(method -> method.getSimpleName().contentEquals(col.decode())
+                && method.getModifiers().contains(Modifier.STATIC) && method.getParameters().size() == 1);
+        final Optional<ExecutableElement> encode = methods.stream()
+                .filter(method -> method.getSimpleName().contentEquals(col.encode())
+                        && !method.getModifiers().contains(Modifier.STATIC) && method.getParameters().isEmpty())
+                .findFirst();
+
+        if (!decode || encode.isEmpty()) {
+            error(field, "An enum column needs a static decode method and an encode method on the enum");
+
+            return JdbcType.STRING;
+        }
+        final Optional<JdbcType> jdbcType = JdbcType.of(typeName(encode.get().getReturnType()));
+
+        if (jdbcType.isEmpty()) {
+            error(field, String.join(" ", "Unsupported encoded type", encode.get().getReturnType().toString()));
+        }
+
+        return jdbcType.orElse(JdbcType.STRING);
+    }
+
+    /**
+     * <p>
+     * Returns the instance fields of a type, the fields of its super classes first.
+     * </p>
+     *
+     * @param type the type
+     * @return the fields in declaration order
+     */
+    private List<VariableElement> fieldsOf(final TypeElement type) {
+        final Deque<TypeElement> hierarchy = new ArrayDeque<>();
+        final List<VariableElement> fields = new ArrayList<>();
+        TypeElement current = type;
+
+        while (current != null) {
+            hierarchy.push(current);
+            final TypeMirror superclass = current.getSuperclass();
+
+            current = superclass.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+
+        for (final TypeElement element : hierarchy) {
+            ElementFilter.fieldsIn(element.getEnclosedElements()).stream()
+                    .filter(field -> !field.getModifiers().contains(Modifier.STATIC)).forEach(fields::add);
+        }
+
+        return fields;
+    }
+
+    /**
+     * <p>
+     * Finds the getter or the setter of a property, reporting an error when missing.
+     * </p>
+     *
+     * @param type     the type declaring or inheriting the property
+     * @param property the name of the property
+     * @param field    the field of the property
+     * @param getter   true to find the getter, false to find the setter
+     * @return the accessor, empty if missing
+     */
+    private Optional<ExecutableElement> require(final TypeElement type, final String property,
+                                                final VariableElement field, final boolean getter) {
+        final Optional<ExecutableElement> accessor = getter ? findGetter(type, property) : findSetter(type, property);
+
+        if (accessor.isEmpty()) {
+            error(field, String.join(" ", "No accessible", getter ? "getter" : "setter", "for", property));
+        }
+
+        return accessor;
+    }
+
+    /**
+     * <p>
+     * Finds the getter of a property, accepting the {@code get}, {@code is} and boolean
+     * {@code isName} conventions.
+     * </p>
+     *
+     * @param type     the type declaring or inheriting the property
+     * @param property the name of the property
+     * @return the getter, empty if missing
+     */
+    private Optional<ExecutableElement> findGetter(final TypeElement type, final String property) {
+        final List<String> names = new ArrayList<>(List.of("get" + capitalize(property), "is" + capitalize(property)));
+
+        if (isBooleanPrefixed(property)) {
+            names.add(property);
+            names.add("get" + property.substring(2));
+        }
+
+        return findAccessor(type, names, 0);
+    }
+
+    /**
+     * <p>
+     * Finds the setter of a property, accepting the boolean {@code isName} convention.
+     * </p>
+     *
+     * @param type     the type declaring or inheriting the property
+     * @param property the name of the property
+     * @return the setter, empty if missing
+     */
+    private Optional<ExecutableElement> findSetter(final TypeElement type, final String property) {
+        final List<String> names = new ArrayList<>(List.of("set" + capitalize(property)));
+
+        if (isBooleanPrefixed(property)) {
+            names.add("set" + property.substring(2));
+        }
+
+        return findAccessor(type, names, 1);
+    }
+
+    /**
+     * <p>
+     * Finds the first non private instance method with one of the given names and parameter count.
+     * </p>
+     *
+     * @param type       the type declaring or inheriting the method
+     * @param names      the accepted names, by preference
+     * @param parameters the number of parameters
+     * @return the method, empty if missing
+     */
+    private Optional<ExecutableElement> findAccessor(final TypeElement type, final List<String> names,
+                                                     final int parameters) {
+        final List<ExecutableElement> methods = ElementFilter.methodsIn(
+                processingEnv.getElementUtils().getAllMembers(type));
+
+        for (final String name : names) {
+            for (final ExecutableElement method : methods) {
+                if (method.getSimpleName().contentEquals(name) && method.getParameters().size() == parameters
+                        && !method.getModifiers().contains(Modifier.PRIVATE)
+                        && !method.getModifiers().contains(Modifier.STATIC)
+                        && (parameters > 0 || method.getReturnType().getKind() != TypeKind.VOID)) {
+                    return Optional.of(method);
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * <p>
+     * Reports an error when the type has no accessible constructor without parameters.
+     * </p>
+     *
+     * @param type the type created by the generated mapper
+     */
+    private void checkConstructor(final TypeElement type) {
+        final boolean present = ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+                .anyMatch(constructor -> constructor.getParameters().isEmpty()
+                        && !constructor.getModifiers().contains(Modifier.PRIVATE));
+
+        if (!present) {
+            error(type, String.join(" ", type.getSimpleName().toString(), "needs a constructor without parameters"));
+        }
+    }
+
+    /**
+     * <p>
+     * Reports an error when the given name is not a plain SQL identifier.
+     * </p>
+     *
+     * @param element    the annotated element
+     * @param identifier the table or column name
+     */
+    private void checkIdentifier(final Element element, final String identifier) {
+        if (!IDENTIFIER.matcher(identifier).matches()) {
+            error(element, String.join(" ", "Invalid SQL identifier", identifier));
+        }
+    }
+
+    /**
+     * @param type the type
+     * @return whether the type is an enum
+     */
+    private boolean isEnum(final TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((DeclaredType) type).asElement().getKind() == ElementKind.ENUM;
+    }
+
+    /**
+     * @param type the type
+     * @return the primitive or qualified name of the type
+     */
+    private String typeName(final TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+                ? ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString() : type.toString();
+    }
+
+    /**
+     * @param method the method
+     * @return the simple name of the method, null if missing
+     */
+    private String name(final Optional<ExecutableElement> method) {
+        return method.map(element -> element.getSimpleName().toString()).orElse(null);
+    }
+
+    /**
+     * @param property the property
+     * @return whether the property follows the boolean {@code isName} convention
+     */
+    private boolean isBooleanPrefixed(final String property) {
+        return property.length() > 2 && property.startsWith("is") && Character.isUpperCase(property.charAt(2));
+    }
+
+    /**
+     * @param property the property
+     * @return the property with its first letter in upper case
+     */
+    private String capitalize(final String property) {
+        return Character.toUpperCase(property.charAt(0)) + property.substring(1);
+    }
+
+    /**
+     * <p>
+     * Reports a mapping error on the given element, failing the compilation.
+     * </p>
+     *
+     * @param element the element in error
+     * @param message the message
+     */
+    private void error(final Element element, final String message) {
+        errors++;
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,91 @@
+package org.insta.orm.processor;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * <p>
+ * JDBC accessors used by the generated code for each supported Java type.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+enum JdbcType {
+
+    LONG("long", "java.lang.Long", "Long", "BIGINT"),
+    INT("int", "java.lang.Integer", "Int", "INTEGER"),
+    SHORT("short", "java.lang.Short", "Short", "SMALLINT"),
+    DOUBLE("double", "java.lang.Double", "Double", "DOUBLE"),
+    FLOAT("float", "java.lang.Float", "Float", "REAL"),
+    BOOLEAN("boolean", "java.lang.Boolean", "Boolean", "BOOLEAN"),
+    STRING(null, "java.lang.String", "String", "VARCHAR"),
+    TIMESTAMP(null, "java.sql.Timestamp", "Timestamp", "TIMESTAMP"),
+    DATE(null, "java.sql.Date", "Date", "DATE"),
+    BIG_DECIMAL(null, "java.math.BigDecimal", "BigDecimal", "NUMERIC");
+
+    private final String primitive;
+    private final String boxed;
+    private final String accessor;
+    private final String sqlType;
+
+    /**
+     * <p>
+     * Constructs a JdbcType enum with the specified types and accessor suffix.
+     * </p>
+     *
+     * @param primitive the primitive type, null for reference types
+     * @param boxed     the qualified name of the reference type
+     * @param accessor  the suffix of the ResultSet getter and PreparedStatement setter
+     * @param sqlType   the name of the {@link java.sql.Types} constant
+     */
+    JdbcType(final String primitive, final String boxed, final String accessor, final String sqlType) {
+        this.primitive = primitive;
+        this.boxed = boxed;
+        this.accessor = accessor;
+        this.sqlType = sqlType;
+    }
+
+    /**
+     * <p>
+     * Finds the JDBC type of the given Java type.
+     * </p>
+     *
+     * @param type the primitive or qualified name of the Java type
+     * @return the matching JDBC type, empty if unsupported
+     */
+    static Optional<JdbcType> of(final String type) {
+        return Arrays.stream(values())
+                .filter(jdbcType -> type.equals(jdbcType.primitive) || type.equals(jdbcType.boxed)).findFirst();
+    }
+
+    /**
+     * @return whether the type has a primitive accessor
+     */
+    boolean hasPrimitive() {
+        return primitive != null;
+    }
+
+    String getBoxed() {
+        return boxed;
+    }
+
+    /**
+     * @return the primitive type, or the reference type when there is none
+     */
+    String getJavaType() {
+        return hasPrimitive() ? primitive : boxed;
+    }
+
+    String getGetter() {
+        return "get" + accessor;
+    }
+
+    String getSetter() {
+        return "set" + accessor;
+    }
+
+    String getSqlType() {
+        return sqlType;
+    }
+}
@@ -0,0 +1,309 @@
+package org.insta.orm.processor;
+
+import org.insta.orm.annotation.Join;
+import org.insta.orm.annotation.Table;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * Writes the source of the table class of an entity resolved by the {@link EntityProcessor}.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+final class TableSourceWriter {
+
+    private static final String INDENT = "    ";
+    private final String packageName;
+    private final String entityName;
+    private final String className;
+    private final Table table;
+    private final List<ColumnMapping> columns;
+    private final List<EmbeddedMapping> embeddedMappings;
+
+    /**
+     * <p>
+     * Creates the writer of the table class of an entity.
+     * </p>
+     *
+     * @param type             the entity
+     * @param table            the table annotation of the entity
+     * @param columns          the columns of the entity, the key first
+     * @param embeddedMappings the embedded properties of the entity
+     */
+    TableSourceWriter(final TypeElement type, final Table table, final List<ColumnMapping> columns,
+                      final List<EmbeddedMapping> embeddedMappings) {
+        this.packageName = packageOf(type).getQualifiedName().toString();
+        this.entityName = type.getSimpleName().toString();
+        this.className = entityName + "Table";
+        this.table = table;
+        this.columns = columns;
+        this.embeddedMappings = embeddedMappings;
+    }
+
+    /**
+     * @return the qualified name of the table class
+     */
+    String getQualifiedName() {
+        return packageName.isEmpty() ? className : String.join(".", packageName, className);
+    }
+
+    /**
+     * <p>
+     * Builds the INSERT statement of the entity.
+     * </p>
+     *
+     * @return the INSERT statement
+     */
+    String insertQuery() {
+        final List<String> names = new ArrayList<>();
+
+        for (final ColumnMapping column : columns) {
+            if (column.isInsertable()) {
+                names.add(column.getColumn());
+            }
+        }
+
+        return String.join("", "INSERT INTO ", table.name(), " (", String.join(", ", names), ") VALUES (",
+                names.stream().map(name -> "?").collect(Collectors.joining(", ")), ")");
+    }
+
+    /**
+     * <p>
+     * Builds the SELECT statement of the entity by its key.
+     * </p>
+     *
+     * @return the SELECT statement
+     */
+    String selectQuery() {
+        return selectQuery(" = ?");
+    }
+
+    /**
+     * <p>
+     * Builds the SELECT statement of the entities whose key is in an array parameter.
+     * </p>
+     *
+     * @return the SELECT statement
+     */
+    String selectAnyQuery() {
+        return selectQuery(" = ANY(?)");
+    }
+
+    /**
+     * <p>
+     * Builds the SELECT statement of the entity with the given condition on its key.
+     * </p>
+     *
+     * @param condition the condition on the key, such as {@code " = ?"}
+     * @return the SELECT statement
+     */
+    private String selectQuery(final String condition) {
+        final StringBuilder query = new StringBuilder("SELECT ");
+
+        query.append(columns.stream().filter(ColumnMapping::isSelectable)
+                .map(column -> String.join(".", column.getTable(), column.getColumn()))
+                .collect(Collectors.joining(", ")));
+        query.append(" FROM ").append(table.name());
+
+        for (final Join join : table.joins()) {
+            query.append(" LEFT JOIN ").append(join.table()).append(" ON ").append(table.name()).append('.')
+                    .append(join.on()).append(" = ").append(join.table()).append('.').append(join.column());
+        }
+
+        return query.append(" WHERE ").append(table.name()).append('.').append(table.key()).append(condition)
+                .toString();
+    }
+
+    /**
+     * <p>
+     * Builds the DELETE statement of the entity by its key.
+     * </p>
+     *
+     * @return the DELETE statement
+     */
+    String deleteQuery() {
+        return String.join("", "DELETE FROM ", table.name(), " WHERE ", table.key(), " = ?");
+    }
+
+    /**
+     * <p>
+     * Writes the source of the table class.
+     * </p>
+     *
+     * @return the source of the table class
+     */
+    String write() {
+        final StringBuilder source = new StringBuilder();
+
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import org.insta.orm.stream.RowMapper;\n\n")
+                .append("import javax.annotation.processing.Generated;\n")
+                .append("import java.sql.PreparedStatement;\n")
+                .append("import java.sql.ResultSet;\n")
+                .append("import java.sql.SQLException;\n")
+                .append("import java.sql.Types;\n\n")
+                .append("/**\n * <p>\n * Table mapping of {@link ").append(entityName)
+                .append("}, generated from its annotations.\n * </p>\n */\n")
+                .append("@Generated(\"").append(EntityProcessor.class.getName()).append("\")\n")
+                .append("public final class ").append(className).append(" {\n\n");
+        constant(source, "String", "INSERT", quote(insertQuery()));
+        constant(source, "String", "SELECT", quote(selectQuery()));
+        constant(source, "String", "SELECT_ANY", quote(selectAnyQuery()));
+        constant(source, "String", "DELETE", quote(deleteQuery()));
+        constant(source, String.join("", "RowMapper<", entityName, ">"), "ROW_MAPPER", className + "::map");
+        source.append('\n').append(INDENT).append("private ").append(className).append("() {\n")
+                .append(INDENT).append("}\n\n");
+        writeMapper(source);
+        writeBinder(source);
+
+        return source.append("}\n").toString();
+    }
+
+    /**
+     * <p>
+     * Writes the method mapping the current row of a SELECT to a new entity.
+     * </p>
+     *
+     * @param source the source being written
+     */
+    private void writeMapper(final StringBuilder source) {
+        final String body = INDENT + INDENT;
+        int index = 0;
+
+        source.append(INDENT).append("public static ").append(entityName)
+                .append(" map(final ResultSet resultSet) throws SQLException {\n")
+                .append(body).append("final ").append(entityName).append(' ').append(EntityProcessor.ENTITY)
+                .append(" = new ").append(entityName).append("();\n");
+
+        for (final EmbeddedMapping embedded : embeddedMappings) {
+            final String variable = embedded.getVariable();
+
+            source.append(body).append(embedded.getType()).append(' ').append(variable).append(" = ")
+                    .append(EntityProcessor.ENTITY).append('.').append(embedded.getGetter()).append("();\n")
+                    .append(body).append("if (").append(variable).append(" == null) {\n")
+                    .append(body).append(INDENT).append(variable).append(" = new ").append(embedded.getType())
+                    .append("();\n")
+                    .append(body).append(INDENT).append(EntityProcessor.ENTITY).append('.')
+                    .append(embedded.getSetter()).append('(').append(variable).append(");\n")
+                    .append(body).append("}\n");
+        }
+
+        for (final ColumnMapping column : columns) {
+            if (!column.isSelectable()) {
+                continue;
+            }
+            index++;
+            final JdbcType jdbcType = column.getJdbcType();
+            final String read = String.join("", "resultSet.", jdbcType.getGetter(), "(", String.valueOf(index), ")");
+            final String assign = String.join("", body, column.getTarget(), ".", column.getSetter(), "(");
+
+            if (column.getEnumType() == null && (column.isPrimitive() || !jdbcType.hasPrimitive())) {
+                source.append(assign).append(read).append(");\n");
+                continue;
+            }
+            final String local = "column" + index;
+            final String value = column.getEnumType() == null ? local
+                    : String.join("", column.getEnumType(), ".", column.getDecode(), "(", local, ")");
+
+            source.append(body).append("final ").append(jdbcType.getJavaType()).append(' ').append(local)
+                    .append(" = ").append(read).append(";\n")
+                    .append(assign).append("resultSet.wasNull() ? null : ").append(value).append(");\n");
+        }
+        source.append('\n').append(body).append("return ").append(EntityProcessor.ENTITY).append(";\n")
+                .append(INDENT).append("}\n\n");
+    }
+
+    /**
+     * <p>
+     * Writes the method binding the INSERT parameters of an entity.
+     * </p>
+     *
+     * @param source the source being written
+     */
+    private void writeBinder(final StringBuilder source) {
+        final String body = INDENT + INDENT;
+        int index = 1;
+
+        source.append(INDENT).append("public static void bindInsert(final PreparedStatement preparedStatement, ")
+                .append("final long id,\n").append(INDENT).append("                              final ")
+                .append(entityName).append(' ').append(EntityProcessor.ENTITY).append(") throws SQLException {\n")
+                .append(body).append("preparedStatement.setLong(1, id);\n");
+
+        for (final ColumnMapping column : columns.subList(1, columns.size())) {
+            if (!column.isInsertable()) {
+                continue;
+            }
+            index++;
+            final JdbcType jdbcType = column.getJdbcType();
+            final String read = String.join("", EntityProcessor.ENTITY, ".", column.getGetter(), "()");
+            final String bind = String.join("", "preparedStatement.", jdbcType.getSetter(), "(",
+                    String.valueOf(index), ", ");
+
+            if (column.getEnumType() == null && (column.isPrimitive() || !jdbcType.hasPrimitive())) {
+                source.append(body).append(bind).append(read).append(");\n");
+                continue;
+            }
+            final String local = "column" + index;
+            final String value = column.getEnumType() == null ? local
+                    : String.join("", local, ".", column.getEncode(), "()");
+
+            source.append(body).append("final ").append(column.getEnumType() == null ? jdbcType.getBoxed()
+                            : column.getEnumType()).append(' ').append(local).append(" = ").append(read).append(";\n")
+                    .append('\n')
+                    .append(body).append("if (").append(local).append(" == null) {\n")
+                    .append(body).append(INDENT).append("preparedStatement.setNull(").append(index)
+                    .append(", Types.").append(jdbcType.getSqlType()).append(");\n")
+                    .append(body).append("} else {\n")
+                    .append(body).append(INDENT).append(bind).append(value).append(");\n")
+                    .append(body).append("}\n");
+        }
+        source.append(INDENT).append("}\n");
+    }
+
+    /**
+     * <p>
+     * Writes a public constant.
+     * </p>
+     *
+     * @param source the source being written
+     * @param type   the type of the constant
+     * @param name   the name of the constant
+     * @param value  the initializer of the constant
+     */
+    private void constant(final StringBuilder source, final String type, final String name, final String value) {
+        source.append(INDENT).append("public static final ").append(type).append(' ').append(name).append(" = ")
+                .append(value).append(";\n");
+    }
+
+    /**
+     * @param text the text, free of quotes and backslashes
+     * @return the text as a string literal
+     */
+    private String quote(final String text) {
+        return '"' + text + '"';
+    }
+
+    /**
+     * @param type the type
+     * @return the package enclosing the type
+     */
+    private PackageElement packageOf(final TypeElement type) {
+        Element element = type;
+
+        while (!(element instanceof PackageElement)) {
+            element = element.getEnclosingElement();
+        }
+
+        return (PackageElement) element;
+    }
+}
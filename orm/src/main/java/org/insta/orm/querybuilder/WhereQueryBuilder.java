@@ -75,7 +75,7 @@ public class WhereQueryBuilder {
      * </p>
      *
      * @param whereClauses the list of WHERE clauses
-     * @return the constructed WHERE clause as a {@code String}
+     * @return the constructed WHERE clause as a {@code String}, empty if there are no clauses
      */
     public String getWhereQuery(final List<WhereClause> whereClauses) {
         final List<String> resultSet = new ArrayList<>();
@@ -91,7 +91,7 @@ public class WhereQueryBuilder {
             }
         }
 
-        return buildFinalQuery(String.join(" ", resultSet));
+        return resultSet.isEmpty() ? "" : buildFinalQuery(String.join(" ", resultSet));
     }
 
     /**
@@ -0,0 +1,228 @@
+package org.insta.orm.schema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Singleton class responsible for building the DDL statements of table definitions.
+ * </p>
+ *
+ * <p>
+ * Every statement is idempotent, so the statements of a schema can be applied to a database where
+ * some of the tables or indexes already exist.
+ * </p>
+ *
+ * <p>
+ * Range partitioned tables are created as the parent of their partitions. The partitions are created
+ * ahead of the rows they take and dropped as a whole once their rows are no longer needed, a
+ * detach and a drop touching only the catalog however many rows the partition holds.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see TableDefinition
+ */
+public class DdlGenerator {
+
+    /**
+     * <p>
+     * Private constructor to prevent instantiation.
+     * </p>
+     */
+    private DdlGenerator() {
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of {@code DdlGenerator}.
+     * </p>
+     *
+     * @return the singleton instance of {@code DdlGenerator}
+     */
+    public static DdlGenerator getInstance() {
+        return InstanceHolder.DDL_GENERATOR;
+    }
+
+    /**
+     * <p>
+     * Builds the statements creating every table and then every index of the given definitions.
+     * </p>
+     *
+     * @param tableDefinitions the table definitions
+     * @return the DDL statements, in order
+     */
+    public List<String> buildStatements(final List<TableDefinition> tableDefinitions) {
+        final List<String> statements = new ArrayList<>();
+
+        for (final TableDefinition tableDefinition : tableDefinitions) {
+            statements.add(buildCreateTable(tableDefinition));
+        }
+
+        for (final TableDefinition tableDefinition : tableDefinitions) {
+            for (final IndexDefinition indexDefinition : tableDefinition.getIndexes()) {
+                statements.add(buildCreateIndex(indexDefinition));
+            }
+        }
+
+        return statements;
+    }
+
+    /**
+     * <p>
+     * Builds the CREATE TABLE statement of a table definition.
+     * </p>
+     *
+     * @param tableDefinition the table definition
+     * @return the CREATE TABLE statement
+     */
+    public String buildCreateTable(final TableDefinition tableDefinition) {
+        final List<String> definitions = new ArrayList<>();
+
+        for (final Map.Entry<String, String> column : tableDefinition.getColumns().entrySet()) {
+            definitions.add(String.join(" ", column.getKey(), column.getValue()));
+        }
+
+        if (!tableDefinition.getPrimaryKey().isEmpty()) {
+            definitions.add(String.join("", "PRIMARY KEY (", String.join(", ", tableDefinition.getPrimaryKey()), ")"));
+        }
+
+        final String partitioning = Objects.isNull(tableDefinition.getPartitionColumn()) ? ""
+                : String.join("", " PARTITION BY RANGE (", tableDefinition.getPartitionColumn(), ")");
+
+        return String.join("", "CREATE TABLE IF NOT EXISTS ", tableDefinition.getName(), " (",
+                String.join(", ", definitions), ")", partitioning);
+    }
+
+    /**
+     * <p>
+     * Builds the statements deleting the rows which repeat the key of a unique index of a table,
+     * keeping the row with the lowest value of the given column, so the index can be created on a
+     * table filled before it existed. Each statement does nothing while the table does not exist, so
+     * it may run before the migration creating the table.
+     * </p>
+     *
+     * @param tableDefinition the table definition
+     * @param keptColumn      the column whose lowest value marks the row kept, such as the id
+     * @return the DELETE statements, one per unique index
+     */
+    public List<String> buildDeleteDuplicates(final TableDefinition tableDefinition, final String keptColumn) {
+        final List<String> statements = new ArrayList<>();
+
+        for (final IndexDefinition indexDefinition : tableDefinition.getIndexes()) {
+            if (indexDefinition.isUnique()) {
+                final List<String> conditions = new ArrayList<>();
+
+                for (final String column : indexDefinition.getColumns()) {
+                    conditions.add(String.join("", "duplicate.", column, " = kept.", column));
+                }
+                conditions.add(String.join("", "duplicate.", keptColumn, " > kept.", keptColumn));
+                statements.add(String.join("", "DO $$ BEGIN IF to_regclass('", tableDefinition.getName(),
+                        "') IS NOT NULL THEN DELETE FROM ", tableDefinition.getName(), " duplicate USING ",
+                        tableDefinition.getName(), " kept WHERE ", String.join(" AND ", conditions),
+                        "; END IF; END $$"));
+            }
+        }
+
+        return statements;
+    }
+
+    /**
+     * <p>
+     * Builds the statement creating a partition of a range partitioned table.
+     * </p>
+     *
+     * @param tableDefinition the definition of the partitioned table
+     * @param partitionName   the name of the partition
+     * @param from            the inclusive lower bound of the partition column, as an SQL literal
+     * @param to              the exclusive upper bound of the partition column, as an SQL literal
+     * @return the CREATE TABLE statement of the partition
+     */
+    public String buildCreatePartition(final TableDefinition tableDefinition, final String partitionName,
+                                       final String from, final String to) {
+        return String.join("", "CREATE TABLE IF NOT EXISTS ", partitionName, " PARTITION OF ",
+                tableDefinition.getName(), " FOR VALUES FROM (", from, ") TO (", to, ")");
+    }
+
+    /**
+     * <p>
+     * Builds the statements detaching a partition from its table and dropping it with its rows.
+     * </p>
+     *
+     * @param tableDefinition the definition of the partitioned table
+     * @param partitionName   the name of the partition
+     * @return the statements, to be run in one transaction
+     */
+    public List<String> buildDropPartition(final TableDefinition tableDefinition, final String partitionName) {
+        return List.of(String.join("", "ALTER TABLE ", tableDefinition.getName(), " DETACH PARTITION ", partitionName),
+                String.join("", "DROP TABLE IF EXISTS ", partitionName));
+    }
+
+    /**
+     * <p>
+     * Builds the statements turning an existing table into a range partitioned table of the same name.
+     * </p>
+     *
+     * <p>
+     * The existing table is renamed, together with its primary key and the indexes the definition
+     * names, and attached as the partition holding every value below the given bound, so its rows
+     * stay readable without being copied. The definition must carry the columns of the existing table.
+     * </p>
+     *
+     * @param tableDefinition the definition of the partitioned table
+     * @param partitionName   the name the existing table takes as a partition
+     * @param to              the exclusive upper bound of the existing rows, as an SQL literal
+     * @return the statements, in order
+     */
+    public List<String> buildPartitioning(final TableDefinition tableDefinition, final String partitionName,
+                                          final String to) {
+        final String name = tableDefinition.getName();
+        final List<String> statements = new ArrayList<>();
+
+        statements.add(String.join("", "ALTER TABLE ", name, " RENAME TO ", partitionName));
+        statements.add(String.join("", "ALTER INDEX IF EXISTS ", name, "_pkey RENAME TO ", partitionName, "_pkey"));
+
+        for (final IndexDefinition indexDefinition : tableDefinition.getIndexes()) {
+            statements.add(String.join("", "ALTER INDEX IF EXISTS ", indexDefinition.getName(), " RENAME TO ",
+                    partitionName, indexDefinition.getName().substring(name.length())));
+        }
+        statements.add(buildCreateTable(tableDefinition));
+
+        for (final IndexDefinition indexDefinition : tableDefinition.getIndexes()) {
+            statements.add(buildCreateIndex(indexDefinition));
+        }
+        statements.add(String.join("", "ALTER TABLE ", name, " ATTACH PARTITION ", partitionName,
+                " FOR VALUES FROM (MINVALUE) TO (", to, ")"));
+
+        return statements;
+    }
+
+    /**
+     * <p>
+     * Builds the CREATE INDEX statement of an index definition.
+     * </p>
+     *
+     * @param indexDefinition the index definition
+     * @return the CREATE INDEX statement
+     */
+    public String buildCreateIndex(final IndexDefinition indexDefinition) {
+        final String include = indexDefinition.getIncludedColumns().isEmpty() ? ""
+                : String.join("", " INCLUDE (", String.join(", ", indexDefinition.getIncludedColumns()), ")");
+
+        return String.join("", "CREATE ", indexDefinition.isUnique() ? "UNIQUE " : "", "INDEX IF NOT EXISTS ",
+                indexDefinition.getName(), " ON ", indexDefinition.getTableName(), " (",
+                String.join(", ", indexDefinition.getColumns()), ")", include);
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final DdlGenerator DDL_GENERATOR = new DdlGenerator();
+    }
+}
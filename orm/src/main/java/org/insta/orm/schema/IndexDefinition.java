@@ -0,0 +1,66 @@
+package org.insta.orm.schema;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Represents an index of a table.
+ * </p>
+ *
+ * <p>
+ * The included columns are stored in the leaf pages of the index only, so a query reading them
+ * together with the key columns is answered by an index only scan.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see TableDefinition
+ */
+public final class IndexDefinition {
+
+    private final String name;
+    private final String tableName;
+    private final List<String> columns;
+    private final List<String> includedColumns;
+    private final boolean unique;
+
+    /**
+     * <p>
+     * Constructs an index definition.
+     * </p>
+     *
+     * @param name            Refers the name of the index.
+     * @param tableName       Refers the name of the indexed table.
+     * @param columns         Refers the key columns, in order.
+     * @param includedColumns Refers the non key columns stored in the index.
+     * @param unique          Refers whether the key columns are unique.
+     */
+    public IndexDefinition(final String name, final String tableName, final List<String> columns,
+                           final List<String> includedColumns, final boolean unique) {
+        this.name = name;
+        this.tableName = tableName;
+        this.columns = columns;
+        this.includedColumns = includedColumns;
+        this.unique = unique;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public List<String> getIncludedColumns() {
+        return includedColumns;
+    }
+
+    public boolean isUnique() {
+        return unique;
+    }
+}
@@ -0,0 +1,68 @@
+package org.insta.orm.schema;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Represents a versioned change of a schema.
+ * </p>
+ *
+ * <p>
+ * A migration is applied once per database and is never changed once released; a later change of
+ * the schema is added as a migration with a higher version. The pending migrations of a database
+ * are applied in version order within one transaction, so a change which must run before a released
+ * migration that fails on some databases takes a lower unused version instead.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see MigrationRunner
+ */
+public final class Migration {
+
+    private final int version;
+    private final String description;
+    private final Supplier<List<String>> statements;
+
+    /**
+     * <p>
+     * Constructs a migration.
+     * </p>
+     *
+     * @param version     Refers the version of the migration, unique within its module.
+     * @param description Refers the description of the change.
+     * @param statements  Refers the statements of the migration, in order.
+     */
+    public Migration(final int version, final String description, final List<String> statements) {
+        this(version, description, () -> statements);
+    }
+
+    /**
+     * <p>
+     * Constructs a migration whose statements depend on when it is applied, such as the partition
+     * of the current day. The statements are built each time they are read.
+     * </p>
+     *
+     * @param version     Refers the version of the migration, unique within its module.
+     * @param description Refers the description of the change.
+     * @param statements  Refers the builder of the statements of the migration, in order.
+     */
+    public Migration(final int version, final String description, final Supplier<List<String>> statements) {
+        this.version = version;
+        this.description = description;
+        this.statements = statements;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public List<String> getStatements() {
+        return statements.get();
+    }
+}
@@ -0,0 +1,246 @@
+package org.insta.orm.schema;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.insta.orm.exception.SchemaMigrationException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>
+ * Singleton class responsible for applying versioned migrations and checking the indexes they create.
+ * </p>
+ *
+ * <p>
+ * Applied versions are recorded per module in the {@code schema_migration} table. All pending
+ * migrations of a module run in one transaction holding a PostgreSQL advisory lock, so application
+ * nodes starting together apply each migration exactly once and a failed migration leaves nothing
+ * behind.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see Migration
+ * @see DdlGenerator
+ */
+public class MigrationRunner {
+
+    private static final Logger LOGGER = LogManager.getLogger(MigrationRunner.class);
+    private static final String LOCK = "SELECT pg_advisory_xact_lock(hashtext('schema_migration'))";
+    private static final String CREATE_HISTORY = String.join("",
+            "CREATE TABLE IF NOT EXISTS schema_migration (module VARCHAR(64) NOT NULL, version INT NOT NULL, ",
+            "description TEXT NOT NULL, applied_at TIMESTAMP NOT NULL DEFAULT now(), PRIMARY KEY (module, version))");
+    private static final String SELECT_APPLIED = "SELECT version FROM schema_migration WHERE module = ?";
+    private static final String INSERT_APPLIED =
+            "INSERT INTO schema_migration (module, version, description) VALUES (?, ?, ?)";
+    private static final String SELECT_INDEXES =
+            "SELECT indexname FROM pg_indexes WHERE schemaname = current_schema() AND tablename = ANY (?)";
+
+    /**
+     * <p>
+     * Private constructor to prevent instantiation.
+     * </p>
+     */
+    private MigrationRunner() {
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of {@code MigrationRunner}.
+     * </p>
+     *
+     * @return the singleton instance of {@code MigrationRunner}
+     */
+    public static MigrationRunner getInstance() {
+        return InstanceHolder.MIGRATION_RUNNER;
+    }
+
+    /**
+     * <p>
+     * Applies the migrations of a module which are not yet recorded, in version order.
+     * </p>
+     *
+     * @param connection the connection to the database
+     * @param module     the module owning the migrations
+     * @param migrations the migrations of the module
+     * @return the number of applied migrations
+     * @throws SchemaMigrationException if a migration fails
+     */
+    public int migrate(final Connection connection, final String module, final List<Migration> migrations) {
+        final List<Migration> ordered = new ArrayList<>(migrations);
+        int applied = 0;
+
+        ordered.sort(Comparator.comparingInt(Migration::getVersion));
+
+        try {
+            connection.setAutoCommit(false);
+
+            try (final Statement statement = connection.createStatement()) {
+                statement.execute(LOCK);
+                statement.execute(CREATE_HISTORY);
+            }
+            final Set<Integer> appliedVersions = getAppliedVersions(connection, module);
+
+            for (final Migration migration : ordered) {
+                if (appliedVersions.contains(migration.getVersion())) {
+                    continue;
+                }
+                apply(connection, module, migration);
+                applied++;
+            }
+            connection.commit();
+
+            return applied;
+        } catch (SQLException exception) {
+            rollback(connection);
+            LOGGER.error(String.join(" ", "Schema migration of", module, "failed"));
+            throw new SchemaMigrationException(String.join(" ", "Schema migration of", module, "failed:",
+                    exception.getMessage()));
+        } finally {
+            resetAutoCommit(connection);
+        }
+    }
+
+    /**
+     * <p>
+     * Checks that every index of the given tables exists.
+     * </p>
+     *
+     * @param connection       the connection to the database
+     * @param tableDefinitions the table definitions
+     * @throws SchemaMigrationException if an index is missing or the check fails
+     */
+    public void verifyIndexes(final Connection connection, final List<TableDefinition> tableDefinitions) {
+        final Set<String> expected = new HashSet<>();
+        final List<String> tableNames = new ArrayList<>();
+
+        for (final TableDefinition tableDefinition : tableDefinitions) {
+            tableNames.add(tableDefinition.getName());
+
+            for (final IndexDefinition indexDefinition : tableDefinition.getIndexes()) {
+                expected.add(indexDefinition.getName());
+            }
+        }
+
+        try (final PreparedStatement preparedStatement = connection.prepareStatement(SELECT_INDEXES)) {
+            preparedStatement.setArray(1, connection.createArrayOf("text", tableNames.toArray()));
+
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    expected.remove(resultSet.getString(1));
+                }
+            }
+        } catch (SQLException exception) {
+            LOGGER.error("Index verification failed");
+            throw new SchemaMigrationException("Index verification failed");
+        }
+
+        if (!expected.isEmpty()) {
+            LOGGER.error(String.join(" ", "Missing indexes", String.join(", ", expected)));
+            throw new SchemaMigrationException(String.join(" ", "Missing indexes", String.join(", ", expected)));
+        }
+    }
+
+    /**
+     * <p>
+     * Reads the versions of the module already applied.
+     * </p>
+     *
+     * @param connection the connection to the database
+     * @param module     the module owning the migrations
+     * @return the applied versions
+     * @throws SQLException if the versions cannot be read
+     */
+    private Set<Integer> getAppliedVersions(final Connection connection, final String module) throws SQLException {
+        final Set<Integer> versions = new HashSet<>();
+
+        try (final PreparedStatement preparedStatement = connection.prepareStatement(SELECT_APPLIED)) {
+            preparedStatement.setString(1, module);
+
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    versions.add(resultSet.getInt(1));
+                }
+            }
+        }
+
+        return versions;
+    }
+
+    /**
+     * <p>
+     * Runs the statements of a migration and records its version.
+     * </p>
+     *
+     * @param connection the connection to the database
+     * @param module     the module owning the migration
+     * @param migration  the migration
+     * @throws SQLException if a statement fails
+     */
+    private void apply(final Connection connection, final String module, final Migration migration)
+            throws SQLException {
+        try (final Statement statement = connection.createStatement()) {
+            for (final String sql : migration.getStatements()) {
+                statement.execute(sql);
+            }
+        }
+
+        try (final PreparedStatement preparedStatement = connection.prepareStatement(INSERT_APPLIED)) {
+            preparedStatement.setString(1, module);
+            preparedStatement.setInt(2, migration.getVersion());
+            preparedStatement.setString(3, migration.getDescription());
+            preparedStatement.executeUpdate();
+        }
+        LOGGER.info(String.join(" ", "Applied migration", String.valueOf(migration.getVersion()), "of", module,
+                "-", migration.getDescription()));
+    }
+
+    /**
+     * <p>
+     * Rolls back the migration transaction.
+     * </p>
+     *
+     * @param connection the connection to the database
+     */
+    private void rollback(final Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException exception) {
+            LOGGER.error("Schema migration rollback failed");
+        }
+    }
+
+    /**
+     * <p>
+     * Restores the auto commit mode of the connection.
+     * </p>
+     *
+     * @param connection the connection to the database
+     */
+    private void resetAutoCommit(final Connection connection) {
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException exception) {
+            LOGGER.error("Auto commit reset failed");
+        }
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final MigrationRunner MIGRATION_RUNNER = new MigrationRunner();
+    }
+}
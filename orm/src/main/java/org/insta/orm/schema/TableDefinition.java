@@ -0,0 +1,160 @@
+package org.insta.orm.schema;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Represents a table with its columns, primary key and indexes.
+ * </p>
+ *
+ * <p>
+ * Index names are derived from the table and the key columns, for example {@code post_user_id_idx}
+ * and {@code account_email_key}, so the same definition always produces the same names and the
+ * indexes can be checked against {@code pg_indexes}.
+ * </p>
+ *
+ * <p>
+ * A table may be range partitioned by one column, its rows then living in partitions created and
+ * dropped with the statements of {@link DdlGenerator}. PostgreSQL requires the primary key and the
+ * unique indexes of a partitioned table to hold the partition column.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see DdlGenerator
+ */
+public final class TableDefinition {
+
+    private final String name;
+    private final Map<String, String> columns;
+    private final List<String> primaryKey;
+    private final List<IndexDefinition> indexes;
+    private String partitionColumn;
+
+    /**
+     * <p>
+     * Constructs an empty table definition.
+     * </p>
+     *
+     * @param name Refers the name of the table.
+     */
+    public TableDefinition(final String name) {
+        this.name = name;
+        this.columns = new LinkedHashMap<>();
+        this.primaryKey = new ArrayList<>();
+        this.indexes = new ArrayList<>();
+    }
+
+    /**
+     * <p>
+     * Adds a column.
+     * </p>
+     *
+     * @param columnName Refers the name of the column.
+     * @param type       Refers the SQL type of the column with its constraints and default.
+     * @return This table definition.
+     */
+    public TableDefinition column(final String columnName, final String type) {
+        columns.put(columnName, type);
+
+        return this;
+    }
+
+    /**
+     * <p>
+     * Sets the primary key.
+     * </p>
+     *
+     * @param columnNames Refers the columns of the primary key.
+     * @return This table definition.
+     */
+    public TableDefinition primaryKey(final String... columnNames) {
+        primaryKey.addAll(List.of(columnNames));
+
+        return this;
+    }
+
+    /**
+     * <p>
+     * Adds a unique index.
+     * </p>
+     *
+     * @param columnNames Refers the unique columns.
+     * @return This table definition.
+     */
+    public TableDefinition unique(final String... columnNames) {
+        indexes.add(new IndexDefinition(indexName(List.of(columnNames), "key"), name, List.of(columnNames),
+                List.of(), true));
+
+        return this;
+    }
+
+    /**
+     * <p>
+     * Adds an index.
+     * </p>
+     *
+     * @param columnNames     Refers the key columns.
+     * @param includedColumns Refers the non key columns stored in the index.
+     * @return This table definition.
+     */
+    public TableDefinition index(final List<String> columnNames, final String... includedColumns) {
+        indexes.add(new IndexDefinition(indexName(columnNames, "idx"), name, columnNames,
+                List.of(includedColumns), false));
+
+        return this;
+    }
+
+    /**
+     * <p>
+     * Partitions the table by ranges of a column.
+     * </p>
+     *
+     * @param columnName Refers the partition column.
+     * @return This table definition.
+     */
+    public TableDefinition partitionByRange(final String columnName) {
+        partitionColumn = columnName;
+
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, String> getColumns() {
+        return columns;
+    }
+
+    public List<String> getPrimaryKey() {
+        return primaryKey;
+    }
+
+    public List<IndexDefinition> getIndexes() {
+        return indexes;
+    }
+
+    /**
+     * @return the partition column, or null if the table is not partitioned
+     */
+    public String getPartitionColumn() {
+        return partitionColumn;
+    }
+
+    /**
+     * <p>
+     * Derives the name of an index from its table and key columns.
+     * </p>
+     *
+     * @param columnNames Refers the key columns.
+     * @param suffix      Refers the suffix of the kind of index.
+     * @return The name of the index.
+     */
+    private String indexName(final List<String> columnNames, final String suffix) {
+        return String.join("_", name, String.join("_", columnNames), suffix);
+    }
+}
@@ -0,0 +1,32 @@
+package org.insta.orm.stream;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * <p>
+ * Maps the current row of a {@link ResultSet} to an object.
+ * </p>
+ *
+ * <p>
+ * The mapper must only read the current row and must not move the cursor.
+ * </p>
+ *
+ * @param <T> Refers the type of the mapped object.
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * <p>
+     * Maps the current row.
+     * </p>
+     *
+     * @param resultSet Refers the result set positioned on the row.
+     * @return The mapped object.
+     * @throws SQLException If a column cannot be read.
+     */
+    T mapRow(final ResultSet resultSet) throws SQLException;
+}
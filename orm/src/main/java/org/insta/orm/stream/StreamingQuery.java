@@ -0,0 +1,230 @@
+package org.insta.orm.stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.insta.orm.exception.StreamingQueryException;
+import org.insta.orm.model.DataConfigContainer;
+import org.insta.orm.querybuilder.SelectQueryBuilder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>
+ * Singleton class responsible for running SELECT queries as lazily evaluated streams.
+ * </p>
+ *
+ * <p>
+ * The PostgreSQL driver only fetches rows in chunks through a server side cursor when the
+ * connection is not in auto commit mode and a fetch size is set; otherwise the whole result is
+ * read into memory on execution. This class opens a read transaction, sets the fetch size and maps
+ * one row at a time while the stream is consumed, so a result of any size is walked in constant
+ * memory.
+ * </p>
+ *
+ * <p>
+ * The returned stream owns the given connection: closing the stream closes the cursor, ends the
+ * transaction and closes the connection. Streams must therefore be consumed inside a
+ * try-with-resources block. A connection already inside a transaction of the caller is read in
+ * that transaction, which the stream neither rolls back nor leaves, so the work of the caller
+ * survives the stream.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see RowMapper
+ */
+public class StreamingQuery {
+
+    private static final Logger LOGGER = LogManager.getLogger(StreamingQuery.class);
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+    private final SelectQueryBuilder selectQueryBuilder;
+
+    /**
+     * <p>
+     * Private constructor to prevent instantiation.
+     * </p>
+     */
+    private StreamingQuery() {
+        selectQueryBuilder = SelectQueryBuilder.getInstance();
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of {@code StreamingQuery}.
+     * </p>
+     *
+     * @return the singleton instance of {@code StreamingQuery}
+     */
+    public static StreamingQuery getInstance() {
+        return InstanceHolder.STREAMING_QUERY;
+    }
+
+    /**
+     * <p>
+     * Streams the rows of the SELECT query described by the given {@link DataConfigContainer}.
+     * </p>
+     *
+     * @param connection          the connection owned by the stream
+     * @param dataConfigContainer the data configuration container describing the query
+     * @param rowMapper           the mapper applied to each row
+     * @param parameters          the values of the placeholders, in order
+     * @param <T>                 the type of the mapped rows
+     * @return the lazily evaluated stream of mapped rows
+     */
+    public <T> Stream<T> stream(final Connection connection, final DataConfigContainer dataConfigContainer,
+                                final RowMapper<T> rowMapper, final Object... parameters) {
+        return stream(connection, selectQueryBuilder.buildSelectQuery(dataConfigContainer), DEFAULT_FETCH_SIZE,
+                rowMapper, parameters);
+    }
+
+    /**
+     * <p>
+     * Streams the rows of the given SELECT query.
+     * </p>
+     *
+     * @param connection the connection owned by the stream
+     * @param query      the SELECT query
+     * @param fetchSize  the number of rows fetched from the cursor at a time
+     * @param rowMapper  the mapper applied to each row
+     * @param parameters the values of the placeholders, in order
+     * @param <T>        the type of the mapped rows
+     * @return the lazily evaluated stream of mapped rows
+     * @throws StreamingQueryException if the query cannot be executed
+     */
+    public <T> Stream<T> stream(final Connection connection, final String query, final int fetchSize,
+                                final RowMapper<T> rowMapper, final Object... parameters) {
+        PreparedStatement preparedStatement = null;
+        ResultSet resultSet = null;
+        boolean ownsTransaction = false;
+
+        try {
+            if (connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+                ownsTransaction = true;
+            }
+            preparedStatement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            preparedStatement.setFetchSize(fetchSize);
+
+            for (int index = 0; index < parameters.length; index++) {
+                preparedStatement.setObject(index + 1, parameters[index]);
+            }
+            resultSet = preparedStatement.executeQuery();
+        } catch (SQLException exception) {
+            close(connection, ownsTransaction, preparedStatement, resultSet);
+            LOGGER.error("Streaming query execution failed");
+            throw new StreamingQueryException("Streaming query execution failed");
+        }
+        final PreparedStatement statement = preparedStatement;
+        final ResultSet rows = resultSet;
+        final boolean readTransaction = ownsTransaction;
+
+        return StreamSupport.stream(new RowSpliterator<>(rows, rowMapper), false)
+                .onClose(() -> close(connection, readTransaction, statement, rows));
+    }
+
+    /**
+     * <p>
+     * Closes the cursor, ends the read transaction if the stream opened it and closes the connection.
+     * </p>
+     *
+     * @param connection        the connection of the stream
+     * @param ownsTransaction   whether the stream opened the transaction it read in
+     * @param preparedStatement the statement of the stream, may be null
+     * @param resultSet         the cursor of the stream, may be null
+     */
+    private void close(final Connection connection, final boolean ownsTransaction,
+                       final PreparedStatement preparedStatement, final ResultSet resultSet) {
+        try {
+            if (Objects.nonNull(resultSet)) {
+                resultSet.close();
+            }
+
+            if (Objects.nonNull(preparedStatement)) {
+                preparedStatement.close();
+            }
+
+            if (ownsTransaction) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException exception) {
+            LOGGER.error("Streaming query cursor close failed");
+        } finally {
+            try {
+                connection.close();
+            } catch (SQLException exception) {
+                LOGGER.error("Streaming query connection close failed");
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Spliterator advancing the cursor by one row per element.
+     * </p>
+     *
+     * @param <T> the type of the mapped rows
+     */
+    private static final class RowSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final ResultSet resultSet;
+        private final RowMapper<T> rowMapper;
+
+        /**
+         * <p>
+         * Creates a spliterator over the given cursor.
+         * </p>
+         *
+         * @param resultSet the cursor
+         * @param rowMapper the mapper applied to each row
+         */
+        private RowSpliterator(final ResultSet resultSet, final RowMapper<T> rowMapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.resultSet = resultSet;
+            this.rowMapper = rowMapper;
+        }
+
+        /**
+         * <p>
+         * Maps the next row, if any, and hands it to the given action.
+         * </p>
+         *
+         * @param action the consumer of the row
+         * @return true if a row was consumed, false at the end of the cursor
+         */
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            try {
+                if (!resultSet.next()) {
+                    return false;
+                }
+                action.accept(rowMapper.mapRow(resultSet));
+
+                return true;
+            } catch (SQLException exception) {
+                LOGGER.error("Streaming query row fetch failed");
+                throw new StreamingQueryException("Streaming query row fetch failed");
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final StreamingQuery STREAMING_QUERY = new StreamingQuery();
+    }
+}
@@ -0,0 +1,215 @@
+package org.insta.orm.processor;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>
+ * Unit tests for the EntityProcessor.
+ * </p>
+ *
+ * <p>
+ * Each test compiles a sample entity with the system compiler and the processor, then checks the
+ * generated table class or the errors reported for a broken mapping.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see EntityProcessor
+ */
+public class EntityProcessorTest {
+
+    private static final String ENTITY = String.join("\n",
+            "package sample;",
+            "import org.insta.orm.annotation.Col;",
+            "import org.insta.orm.annotation.Join;",
+            "import org.insta.orm.annotation.Table;",
+            "@Table(name = \"post\", joins = @Join(table = \"account\", on = \"owner_id\", column = \"id\"))",
+            "public class Post {",
+            "    private long id;",
+            "    @Col(name = \"caption\")",
+            "    private String caption;",
+            "    @Col(name = \"like_count\")",
+            "    private Integer likeCount;",
+            "    @Col(name = \"name\", table = \"account\")",
+            "    private String ownerName;",
+            "    @Col(name = \"created_at\", insertable = false)",
+            "    private java.sql.Timestamp createdAt;",
+            "    public long getId() { return id; }",
+            "    public void setId(long id) { this.id = id; }",
+            "    public String getCaption() { return caption; }",
+            "    public void setCaption(String caption) { this.caption = caption; }",
+            "    public Integer getLikeCount() { return likeCount; }",
+            "    public void setLikeCount(Integer likeCount) { this.likeCount = likeCount; }",
+            "    public void setOwnerName(String ownerName) { this.ownerName = ownerName; }",
+            "    public void setCreatedAt(java.sql.Timestamp createdAt) { this.createdAt = createdAt; }",
+            "}");
+    private Path output;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+    /**
+     * <p>
+     * Creates the output directory of the compilation.
+     * </p>
+     *
+     * @throws IOException If the directory cannot be created.
+     */
+    @Before
+    public void setUp() throws IOException {
+        output = Files.createTempDirectory("entity-processor");
+        diagnostics = new DiagnosticCollector<>();
+    }
+
+    /**
+     * <p>
+     * Tests that the statements of the generated table class cover the insertable, selectable and
+     * joined columns.
+     * </p>
+     *
+     * @throws Exception If the generated class cannot be loaded.
+     */
+    @Test
+    public void testGeneratesStatements() throws Exception {
+        assertTrue(errors().toString(), compile(ENTITY));
+
+        try (final URLClassLoader classLoader = new URLClassLoader(new URL[]{output.toUri().toURL()},
+                getClass().getClassLoader())) {
+            final Class<?> table = classLoader.loadClass("sample.PostTable");
+            final String select = "SELECT post.id, post.caption, post.like_count, account.name, post.created_at"
+                    + " FROM post LEFT JOIN account ON post.owner_id = account.id WHERE post.id";
+
+            assertEquals("INSERT INTO post (id, caption, like_count) VALUES (?, ?, ?)",
+                    table.getField("INSERT").get(null));
+            assertEquals(select + " = ?", table.getField("SELECT").get(null));
+            assertEquals(select + " = ANY(?)", table.getField("SELECT_ANY").get(null));
+            assertEquals("DELETE FROM post WHERE id = ?", table.getField("DELETE").get(null));
+        }
+    }
+
+    /**
+     * <p>
+     * Tests that a column without a getter fails the build.
+     * </p>
+     */
+    @Test
+    public void testMissingGetter() {
+        assertFalse(compile(ENTITY.replace("public String getCaption() { return caption; }", "")));
+        assertTrue(hasError("No accessible getter for caption"));
+    }
+
+    /**
+     * <p>
+     * Tests that a name which is not a plain SQL identifier fails the build.
+     * </p>
+     */
+    @Test
+    public void testInvalidIdentifier() {
+        assertFalse(compile(ENTITY.replace("@Col(name = \"caption\")", "@Col(name = \"caption; DROP\")")));
+        assertTrue(hasError("Invalid SQL identifier caption; DROP"));
+    }
+
+    /**
+     * <p>
+     * Tests that a key which is not a long fails the build.
+     * </p>
+     */
+    @Test
+    public void testKeyMustBeLong() {
+        assertFalse(compile(ENTITY.replace("private long id;", "private String id;")
+                .replace("public long getId()", "public String getId()")
+                .replace("setId(long id)", "setId(String id)")));
+        assertTrue(hasError("Key property id must be a long"));
+    }
+
+    /**
+     * <p>
+     * Tests that an entity without a constructor without parameters fails the build.
+     * </p>
+     */
+    @Test
+    public void testMissingConstructor() {
+        assertFalse(compile(ENTITY.replace("private long id;", "private long id;\n    public Post(long id) { }")));
+        assertTrue(hasError("Post needs a constructor without parameters"));
+    }
+
+    /**
+     * <p>
+     * Tests that an unsupported column type fails the build.
+     * </p>
+     */
+    @Test
+    public void testUnsupportedType() {
+        assertFalse(compile(ENTITY.replace("Integer", "Object")));
+        assertTrue(hasError("Unsupported column type java.lang.Object"));
+    }
+
+    /**
+     * <p>
+     * Compiles a source of the sample package with the processor.
+     * </p>
+     *
+     * @param source Refers the source of the entity.
+     * @return True if the compilation succeeded.
+     */
+    private boolean compile(final String source) {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///sample/Post.java"),
+                JavaFileObject.Kind.SOURCE) {
+
+            @Override
+            public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+
+        try (final StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    List.of("-d", output.toString(), "-s", output.toString(), "-classpath",
+                            System.getProperty("java.class.path") + File.pathSeparator + output), null, List.of(file));
+
+            task.setProcessors(List.of(new EntityProcessor()));
+
+            return task.call();
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * @return the error messages of the last compilation
+     */
+    private List<String> errors() {
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getMessage(null)).collect(Collectors.toList());
+    }
+
+    /**
+     * @param message Refers the expected error message.
+     * @return True if the last compilation reported the error.
+     */
+    private boolean hasError(final String message) {
+        return errors().contains(message);
+    }
+}
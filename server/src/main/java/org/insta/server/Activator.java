@@ -16,8 +16,8 @@ import java.util.Objects;
  * </p>
  *
  * <p>
- * The activator initializes the server using a {@link ServerFactory} implementation and starts it
- * when the bundle is started. It stops the server when the bundle is stopped.
+ * The activator initializes the public and the admin server using a {@link ServerFactory}
+ * implementation and starts them when the bundle is started. It stops both when the bundle is stopped.
  * </p>
  *
  * @see Server
@@ -32,6 +32,7 @@ public final class Activator implements BundleActivator {
     private static final Logger LOGGER = LogManager.getLogger(Activator.class);
 
     private Server server;
+    private Server adminServer;
     private final ServerFactory serverFactoryImpl;
 
     /**
@@ -45,7 +46,7 @@ public final class Activator implements BundleActivator {
 
     /**
      * <p>
-     * Starts the server when the bundle is started.
+     * Starts the servers when the bundle is started.
      * </p>
      *
      * @param context {@link BundleContext} The context of the bundle.
@@ -53,12 +54,13 @@ public final class Activator implements BundleActivator {
     @Override
     public void start(final BundleContext context) {
         if (Objects.isNull(server)) server = serverFactoryImpl.addServiceClass().create();
+        if (Objects.isNull(adminServer)) adminServer = serverFactoryImpl.addAdminServiceClass().create();
        LOGGER.info("Server bundle started successfully");
     }
 
     /**
      * <p>
-     * Stops the server when the bundle is stopped.
+     * Stops the servers when the bundle is stopped.
      * </p>
      *
      * @param context {@link BundleContext} The context of the bundle.
@@ -66,6 +68,7 @@ public final class Activator implements BundleActivator {
     @Override
     public void stop(final BundleContext context) {
         if (Objects.nonNull(server)) server.destroy();
+        if (Objects.nonNull(adminServer)) adminServer.destroy();
         LOGGER.info("Server bundle stopped successfully");
     }
 }
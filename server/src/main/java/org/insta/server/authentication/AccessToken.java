@@ -0,0 +1,73 @@
+package org.insta.server.authentication;
+
+import java.security.Principal;
+
+/**
+ * <p>
+ * The verified claims of a bearer token.
+ * </p>
+ *
+ * <p>
+ * The subject is the id of the user for the {@link #USER} scope and the name of the operator for
+ * the {@link #ADMIN} scope.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see AccessTokens
+ */
+public final class AccessToken implements Principal {
+
+    public static final String USER = "user";
+    public static final String ADMIN = "admin";
+    private final String subject;
+    private final String scope;
+    private final long expiresAt;
+
+    /**
+     * <p>
+     * Creates the claims of a token.
+     * </p>
+     *
+     * @param subject   Refers the subject of the token.
+     * @param scope     Refers the scope of the token.
+     * @param expiresAt Refers the epoch millis the token expires at.
+     */
+    public AccessToken(final String subject, final String scope, final long expiresAt) {
+        this.subject = subject;
+        this.scope = scope;
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String getName() {
+        return subject;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * <p>
+     * Reads the id of the user the token is issued to.
+     * </p>
+     *
+     * @return The id of the user, or null if the token is not a user token.
+     */
+    public Long getUserId() {
+        if (!USER.equals(scope)) {
+            return null;
+        }
+
+        try {
+            return Long.valueOf(subject);
+        } catch (NumberFormatException exception) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.insta.server.authentication;
+
+/**
+ * <p>
+ * Command line entry point issuing bearer tokens.
+ * </p>
+ *
+ * <p>
+ * Prints a token for the subject and scope given as arguments, valid for the given seconds or a
+ * day, signed with the {@code auth.secret} of the database properties the server verifies with.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see AccessTokens
+ */
+public final class AccessTokenCommand {
+
+    private static final long DEFAULT_TIME_TO_LIVE_SECONDS = 86_400;
+
+    /**
+     * <p>
+     * Private constructor to restrict the object creation outside of the class.
+     * </p>
+     */
+    private AccessTokenCommand() {
+    }
+
+    /**
+     * <p>
+     * Issues the token.
+     * </p>
+     *
+     * @param args Refers the subject, the scope and optionally the seconds the token is valid for.
+     */
+    public static void main(final String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: AccessTokenCommand <subject> <user|admin> [seconds]");
+            return;
+        }
+        System.out.println(AccessTokens.getInstance().issue(args[0], args[1],
+                args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_TIME_TO_LIVE_SECONDS));
+    }
+}
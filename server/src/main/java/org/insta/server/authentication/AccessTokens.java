@@ -0,0 +1,177 @@
+package org.insta.server.authentication;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.insta.databaseconnection.DatabaseConnection;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Issues and verifies the bearer tokens the requests are authenticated with.
+ * </p>
+ *
+ * <p>
+ * A token is {@code payload.signature}, both base64url encoded, where the payload is
+ * {@code subject:scope:expiresAt} and the signature its HMAC-SHA256 under the {@code auth.secret}
+ * of the database properties. Verifying needs no lookup, so every request can be authenticated
+ * without touching the database, and a token cannot be forged or extended without the secret.
+ * </p>
+ *
+ * <p>
+ * Without a secret of at least {@value #MINIMUM_SECRET_LENGTH} bytes no token is issued or accepted,
+ * so every request is anonymous and the admin endpoints are closed.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see AccessToken
+ */
+public final class AccessTokens {
+
+    public static final String BEARER = "Bearer ";
+    private static final Logger LOGGER = LogManager.getLogger(AccessTokens.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MINIMUM_SECRET_LENGTH = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private final SecretKeySpec key;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private AccessTokens() {
+        final String secret = DatabaseConnection.getProperties().getProperty("auth.secret", "");
+        final byte[] bytes = secret.trim().getBytes(StandardCharsets.UTF_8);
+
+        if (bytes.length < MINIMUM_SECRET_LENGTH) {
+            LOGGER.error("auth.secret is missing or shorter than 32 bytes, every request is anonymous");
+            key = null;
+        } else {
+            key = new SecretKeySpec(bytes, ALGORITHM);
+        }
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of AccessTokens class.
+     * </p>
+     *
+     * @return The singleton instance of AccessTokens class.
+     */
+    public static AccessTokens getInstance() {
+        return InstanceHolder.ACCESS_TOKENS;
+    }
+
+    /**
+     * <p>
+     * Checks whether tokens can be issued and verified.
+     * </p>
+     *
+     * @return True if a secret is configured.
+     */
+    public boolean isEnabled() {
+        return Objects.nonNull(key);
+    }
+
+    /**
+     * <p>
+     * Issues a token.
+     * </p>
+     *
+     * @param subject           Refers the subject of the token, which must not contain a colon.
+     * @param scope             Refers the scope of the token.
+     * @param timeToLiveSeconds Refers the seconds the token is valid for.
+     * @return The token.
+     */
+    public String issue(final String subject, final String scope, final long timeToLiveSeconds) {
+        if (!isEnabled()) {
+            throw new IllegalStateException("auth.secret is not configured");
+        }
+
+        if (subject.indexOf(':') >= 0 || scope.indexOf(':') >= 0) {
+            throw new IllegalArgumentException("Subject and scope must not contain ':'");
+        }
+        final long expiresAt = System.currentTimeMillis() + timeToLiveSeconds * 1000;
+        final byte[] payload = String.join(":", subject, scope, String.valueOf(expiresAt))
+                .getBytes(StandardCharsets.UTF_8);
+
+        return String.join(".", ENCODER.encodeToString(payload), ENCODER.encodeToString(sign(payload)));
+    }
+
+    /**
+     * <p>
+     * Verifies the bearer token of an authorization header.
+     * </p>
+     *
+     * @param authorization Refers the authorization header, may be null.
+     * @return The claims of the token, or null if the header carries no valid, unexpired token.
+     */
+    public AccessToken verify(final String authorization) {
+        if (!isEnabled() || Objects.isNull(authorization) || !authorization.regionMatches(true, 0, BEARER, 0,
+                BEARER.length())) {
+            return null;
+        }
+        final String token = authorization.substring(BEARER.length()).trim();
+        final int separator = token.indexOf('.');
+
+        if (separator <= 0) {
+            return null;
+        }
+
+        try {
+            final byte[] payload = DECODER.decode(token.substring(0, separator));
+
+            if (!MessageDigest.isEqual(sign(payload), DECODER.decode(token.substring(separator + 1)))) {
+                return null;
+            }
+            final String[] claims = new String(payload, StandardCharsets.UTF_8).split(":", -1);
+
+            if (claims.length != 3) {
+                return null;
+            }
+            final long expiresAt = Long.parseLong(claims[2]);
+
+            return expiresAt > System.currentTimeMillis() ? new AccessToken(claims[0], claims[1], expiresAt) : null;
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * <p>
+     * Signs a payload.
+     * </p>
+     *
+     * @param payload Refers the payload of a token.
+     * @return The HMAC-SHA256 of the payload.
+     */
+    private byte[] sign(final byte[] payload) {
+        try {
+            final Mac mac = Mac.getInstance(ALGORITHM);
+
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final AccessTokens ACCESS_TOKENS = new AccessTokens();
+    }
+}
@@ -0,0 +1,144 @@
+package org.insta.server.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * <p>
+ * Compresses responses into the gzip format with pooled {@link Deflater} instances.
+ * </p>
+ *
+ * <p>
+ * A deflater holds native memory which is only freed by {@link Deflater#end()}, so creating one
+ * for every response costs far more than the compression of a small payload. The deflaters are
+ * reset and returned to the pool after each response; when the pool is empty a new one is created
+ * and ended afterwards if the pool is full again.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+public final class GzipCompressor {
+
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int TRAILER_SIZE = 8;
+    private static final int POOL_SIZE = 32;
+    private final BlockingQueue<Deflater> deflaters;
+    private volatile int level;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private GzipCompressor() {
+        deflaters = new ArrayBlockingQueue<>(POOL_SIZE);
+        level = 6;
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of GzipCompressor class.
+     * </p>
+     *
+     * @return The singleton instance of GzipCompressor class.
+     */
+    public static GzipCompressor getInstance() {
+        return InstanceHolder.GZIP_COMPRESSOR;
+    }
+
+    /**
+     * <p>
+     * Compresses a payload.
+     * </p>
+     *
+     * @param payload Refers the payload to be compressed.
+     * @return The payload in the gzip format.
+     */
+    public byte[] compress(final byte[] payload) {
+        final Deflater deflater = borrow();
+
+        try {
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(
+                    HEADER.length + payload.length / 2 + TRAILER_SIZE);
+            final byte[] buffer = new byte[Math.min(8192, Math.max(512, payload.length))];
+            final CRC32 crc = new CRC32();
+
+            outputStream.write(HEADER, 0, HEADER.length);
+            deflater.setInput(payload);
+            deflater.finish();
+
+            while (!deflater.finished()) {
+                outputStream.write(buffer, 0, deflater.deflate(buffer));
+            }
+            crc.update(payload);
+            writeInt(outputStream, (int) crc.getValue());
+            writeInt(outputStream, payload.length);
+
+            return outputStream.toByteArray();
+        } finally {
+            release(deflater);
+        }
+    }
+
+    /**
+     * @param level the compression level of the deflaters created from now on
+     */
+    public void setLevel(final int level) {
+        this.level = level;
+    }
+
+    /**
+     * @return a deflater of the pool, or a new one if the pool is empty
+     */
+    private Deflater borrow() {
+        final Deflater deflater = deflaters.poll();
+
+        if (Objects.isNull(deflater)) {
+            return new Deflater(level, true);
+        }
+        deflater.setLevel(level);
+
+        return deflater;
+    }
+
+    /**
+     * <p>
+     * Resets a deflater and returns it to the pool, or frees it if the pool is full.
+     * </p>
+     *
+     * @param deflater Refers the deflater.
+     */
+    private void release(final Deflater deflater) {
+        deflater.reset();
+
+        if (!deflaters.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    /**
+     * @param outputStream Refers the stream.
+     * @param value        Refers the value written in little endian order.
+     */
+    private static void writeInt(final ByteArrayOutputStream outputStream, final int value) {
+        outputStream.write(value);
+        outputStream.write(value >>> 8);
+        outputStream.write(value >>> 16);
+        outputStream.write(value >>> 24);
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final GzipCompressor GZIP_COMPRESSOR = new GzipCompressor();
+    }
+}
@@ -0,0 +1,82 @@
+package org.insta.server.filter;
+
+import org.insta.server.authentication.AccessToken;
+import org.insta.server.authentication.AccessTokens;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.Provider;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Admits only operators to the endpoints of the admin server.
+ * </p>
+ *
+ * <p>
+ * Every request must carry a bearer token of the {@link AccessToken#ADMIN} scope verified by
+ * {@link AccessTokens}. A request without a valid token is answered with 401 Unauthorized and a
+ * request with the token of a user with 403 Forbidden, before any admin endpoint runs. Without a
+ * configured secret no token is valid, so the admin endpoints stay closed.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see AccessTokens
+ */
+@Provider
+public final class AdminFilter implements ContainerRequestFilter {
+
+    private final AccessTokens accessTokens;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private AdminFilter() {
+        accessTokens = AccessTokens.getInstance();
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of AdminFilter class.
+     * </p>
+     *
+     * @return The singleton instance of AdminFilter class.
+     */
+    public static AdminFilter getInstance() {
+        return InstanceHolder.ADMIN_FILTER;
+    }
+
+    /**
+     * <p>
+     * Rejects the request unless it is authenticated as an operator.
+     * </p>
+     *
+     * @param requestContext Refers the context of the request.
+     */
+    @Override
+    public void filter(final ContainerRequestContext requestContext) {
+        final AccessToken token = accessTokens.verify(requestContext.getHeaderString(HttpHeaders.AUTHORIZATION));
+
+        if (Objects.isNull(token)) {
+            requestContext.abortWith(Response.status(Response.Status.UNAUTHORIZED)
+                    .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer").build());
+        } else if (!AccessToken.ADMIN.equals(token.getScope())) {
+            requestContext.abortWith(Response.status(Response.Status.FORBIDDEN).build());
+        }
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final AdminFilter ADMIN_FILTER = new AdminFilter();
+    }
+}
@@ -0,0 +1,226 @@
+package org.insta.server.filter;
+
+import org.insta.server.interceptor.RepresentationInterceptor;
+import org.insta.wrapper.etag.EntityTagCache;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.Provider;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Tags the responses of the single resource reads and answers conditional reads with 304.
+ * </p>
+ *
+ * <p>
+ * The reads are configured by path prefix, the rest of the path being the numeric identifier of
+ * the resource. A successful read gets a strong ETag computed from its bytes and remembered in the
+ * {@link EntityTagCache}. A read whose {@code If-None-Match} names the remembered tag is answered
+ * with 304 before the resource is read, so neither the database nor the serializer is touched. When
+ * the tag is not known yet the resource is read and the 304 is decided on the fresh tag, leaving the
+ * body unsent. Tags are compared weakly, as {@code If-None-Match} calls for, so the tags of the
+ * transcoded and compressed representations match as well.
+ * </p>
+ *
+ * <p>
+ * A response the services mark as restricted, because it depends on the viewer, is sent untagged.
+ * Private content and the placeholder of hidden content therefore never reach the tag cache, and a
+ * reader who lost access to content is never answered with 304 for it.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see EntityTagCache
+ */
+@Provider
+public final class ConditionalGetFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    public static final String KEY_PROPERTY = "insta.etag.key";
+    private static final String READ_PROPERTY = "insta.etag.read";
+    private final EntityTagCache entityTagCache;
+    private volatile Map<String, String> resources;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private ConditionalGetFilter() {
+        entityTagCache = EntityTagCache.getInstance();
+        resources = Map.of();
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of ConditionalGetFilter class.
+     * </p>
+     *
+     * @return The singleton instance of ConditionalGetFilter class.
+     */
+    public static ConditionalGetFilter getInstance() {
+        return InstanceHolder.CONDITIONAL_GET_FILTER;
+    }
+
+    /**
+     * <p>
+     * Tags the reads under a path prefix.
+     * </p>
+     *
+     * @param pathPrefix Refers the path of the read up to the identifier, such as {@code /post/get/}.
+     * @param resource   Refers the kind of the resource the services invalidate.
+     */
+    public synchronized void addResource(final String pathPrefix, final String resource) {
+        final Map<String, String> prefixes = new HashMap<>(resources);
+
+        prefixes.put(pathPrefix.startsWith("/") ? pathPrefix.substring(1) : pathPrefix, resource);
+        resources = Map.copyOf(prefixes);
+    }
+
+    /**
+     * <p>
+     * Answers a read whose tag is still current with 304.
+     * </p>
+     *
+     * @param requestContext Refers the context of the request.
+     */
+    @Override
+    public void filter(final ContainerRequestContext requestContext) {
+        entityTagCache.clearRestriction();
+
+        if (!HttpMethod.GET.equals(requestContext.getMethod())) {
+            return;
+        }
+        final String key = getKey(requestContext.getUriInfo().getPath());
+
+        if (Objects.isNull(key)) {
+            return;
+        }
+        requestContext.setProperty(KEY_PROPERTY, key);
+        requestContext.setProperty(READ_PROPERTY, System.nanoTime());
+        final String tag = entityTagCache.get(key);
+
+        if (Objects.nonNull(tag) && matches(requestContext.getHeaderString(HttpHeaders.IF_NONE_MATCH), tag)) {
+            requestContext.abortWith(Response.notModified(new EntityTag(tag)).build());
+        }
+    }
+
+    /**
+     * <p>
+     * Tags a successful read which does not depend on its viewer, dropping its body when the client
+     * already holds it.
+     * </p>
+     *
+     * @param requestContext  Refers the context of the request.
+     * @param responseContext Refers the context of the response.
+     */
+    @Override
+    public void filter(final ContainerRequestContext requestContext, final ContainerResponseContext responseContext) {
+        final Object key = requestContext.getProperty(KEY_PROPERTY);
+        final boolean restricted = entityTagCache.isRestricted();
+
+        entityTagCache.clearRestriction();
+
+        if (restricted || Objects.isNull(key) || responseContext.getStatus() != Response.Status.OK.getStatusCode()
+                || !(responseContext.getEntity() instanceof byte[])) {
+            return;
+        }
+        final String tag = entityTagCache.put((String) key, (byte[]) responseContext.getEntity(),
+                (Long) requestContext.getProperty(READ_PROPERTY));
+
+        responseContext.getHeaders().putSingle(HttpHeaders.ETAG, new EntityTag(tag));
+
+        if (matches(requestContext.getHeaderString(HttpHeaders.IF_NONE_MATCH), tag)) {
+            responseContext.setStatus(Response.Status.NOT_MODIFIED.getStatusCode());
+            responseContext.setEntity(null);
+        }
+    }
+
+    /**
+     * <p>
+     * Checks whether an {@code If-None-Match} header names a tag, by the weak comparison the header
+     * calls for and ignoring the suffixes of the transcoded and compressed representations.
+     * </p>
+     *
+     * @param ifNoneMatch Refers the header, may be null.
+     * @param tag         Refers the current tag, without quotes.
+     * @return True if the header names the tag.
+     */
+    private static boolean matches(final String ifNoneMatch, final String tag) {
+        if (Objects.isNull(ifNoneMatch)) {
+            return false;
+        }
+
+        for (final String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+
+            if ("*".equals(value)) {
+                return true;
+            }
+
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                value = value.substring(1, value.length() - 1);
+            }
+
+            for (final String suffix : RepresentationInterceptor.TAG_SUFFIXES) {
+                if (value.endsWith(suffix)) {
+                    value = value.substring(0, value.length() - suffix.length());
+                }
+            }
+
+            if (tag.equals(value)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * <p>
+     * Finds the resource a path reads.
+     * </p>
+     *
+     * @param path Refers the path of the request.
+     * @return The key of the resource, or null if the path is not a tagged read.
+     */
+    private String getKey(final String path) {
+        final String relativePath = path.startsWith("/") ? path.substring(1) : path;
+
+        for (final Map.Entry<String, String> entry : resources.entrySet()) {
+            final String prefix = entry.getKey();
+
+            if (relativePath.length() > prefix.length() && relativePath.startsWith(prefix)) {
+                try {
+                    return EntityTagCache.key(entry.getValue(), Long.valueOf(relativePath.substring(prefix.length())));
+                } catch (NumberFormatException exception) {
+                    return null;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final ConditionalGetFilter CONDITIONAL_GET_FILTER = new ConditionalGetFilter();
+    }
+}
@@ -0,0 +1,85 @@
+package org.insta.server.filter;
+
+import org.insta.wrapper.dataloader.DataLoaderContext;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * <p>
+ * Scopes the data loaders of the services to each request.
+ * </p>
+ *
+ * <p>
+ * The lookups of posts, reels and profiles made while a request is served are batched and cached by
+ * the loaders bound here, and dropped once the response is written, so no entity read by one request
+ * is served to another.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see DataLoaderContext
+ */
+@Provider
+public final class DataLoaderFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private final DataLoaderContext dataLoaderContext;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private DataLoaderFilter() {
+        dataLoaderContext = DataLoaderContext.getInstance();
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of DataLoaderFilter class.
+     * </p>
+     *
+     * @return The singleton instance of DataLoaderFilter class.
+     */
+    public static DataLoaderFilter getInstance() {
+        return InstanceHolder.DATA_LOADER_FILTER;
+    }
+
+    /**
+     * <p>
+     * Binds new loaders to the request.
+     * </p>
+     *
+     * @param requestContext Refers the context of the request.
+     */
+    @Override
+    public void filter(final ContainerRequestContext requestContext) {
+        dataLoaderContext.bind();
+    }
+
+    /**
+     * <p>
+     * Drops the loaders of the request.
+     * </p>
+     *
+     * @param requestContext  Refers the context of the request.
+     * @param responseContext Refers the context of the response.
+     */
+    @Override
+    public void filter(final ContainerRequestContext requestContext, final ContainerResponseContext responseContext) {
+        dataLoaderContext.clear();
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final DataLoaderFilter DATA_LOADER_FILTER = new DataLoaderFilter();
+    }
+}
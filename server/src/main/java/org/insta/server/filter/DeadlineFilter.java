@@ -0,0 +1,199 @@
+package org.insta.server.filter;
+
+import org.insta.databaseconnection.deadline.Deadline;
+import org.insta.databaseconnection.deadline.DeadlineContext;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Binds the deadline of each request to the request thread.
+ * </p>
+ *
+ * <p>
+ * The timeout is the default of the endpoint, configured by path prefix, or the shorter time the
+ * client asks for in the {@code X-Request-Timeout} header in milliseconds. The deadline is handed
+ * to the {@link DeadlineContext}, which turns it into statement timeouts and cancels the queries
+ * still running once it passes. A request failing after its deadline is answered with 504 Gateway
+ * Timeout.
+ * </p>
+ *
+ * <p>
+ * The deadline is released once the entity is written rather than when the response filters run,
+ * as a streamed entity such as an account export runs its queries while it is written. A response
+ * without an entity releases it in the response filter, no writer being called for it.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see DeadlineContext
+ */
+@Provider
+public final class DeadlineFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+    private final DeadlineContext deadlineContext;
+    private volatile Map<String, Long> endpointTimeouts;
+    private volatile long defaultTimeoutMillis;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private DeadlineFilter() {
+        deadlineContext = DeadlineContext.getInstance();
+        endpointTimeouts = Map.of();
+        defaultTimeoutMillis = 10000;
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of DeadlineFilter class.
+     * </p>
+     *
+     * @return The singleton instance of DeadlineFilter class.
+     */
+    public static DeadlineFilter getInstance() {
+        return InstanceHolder.DEADLINE_FILTER;
+    }
+
+    /**
+     * @param defaultTimeoutMillis the timeout of endpoints without a timeout of their own
+     */
+    public void setDefaultTimeout(final long defaultTimeoutMillis) {
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+    }
+
+    /**
+     * <p>
+     * Sets the timeout of the endpoints under a path prefix.
+     * </p>
+     *
+     * @param pathPrefix    Refers the path prefix of the endpoints, such as {@code admin/bulk}.
+     * @param timeoutMillis Refers the timeout of the endpoints.
+     */
+    public synchronized void setEndpointTimeout(final String pathPrefix, final long timeoutMillis) {
+        final Map<String, Long> timeouts = new HashMap<>(endpointTimeouts);
+
+        timeouts.put(stripSlash(pathPrefix), timeoutMillis);
+        endpointTimeouts = Map.copyOf(timeouts);
+    }
+
+    /**
+     * <p>
+     * Binds the deadline of the request.
+     * </p>
+     *
+     * @param requestContext Refers the context of the request.
+     */
+    @Override
+    public void filter(final ContainerRequestContext requestContext) {
+        final long endpointTimeout = getEndpointTimeout(stripSlash(requestContext.getUriInfo().getPath()));
+        final String requestedTimeout = requestContext.getHeaderString(TIMEOUT_HEADER);
+        long timeoutMillis = endpointTimeout;
+
+        if (Objects.nonNull(requestedTimeout)) {
+            try {
+                timeoutMillis = Math.min(endpointTimeout, Math.max(0, Long.parseLong(requestedTimeout.trim())));
+            } catch (NumberFormatException exception) {
+                timeoutMillis = endpointTimeout;
+            }
+        }
+        deadlineContext.clear();
+        deadlineContext.bind(new Deadline(timeoutMillis));
+    }
+
+    /**
+     * <p>
+     * Answers a request which failed after its deadline with 504, and clears the deadline of a
+     * response without an entity.
+     * </p>
+     *
+     * @param requestContext  Refers the context of the request.
+     * @param responseContext Refers the context of the response.
+     */
+    @Override
+    public void filter(final ContainerRequestContext requestContext, final ContainerResponseContext responseContext) {
+        final Deadline deadline = deadlineContext.getDeadline();
+
+        if (Objects.nonNull(deadline) && (deadline.isCancelled() || deadline.isExpired())
+                && responseContext.getStatus() >= Response.Status.INTERNAL_SERVER_ERROR.getStatusCode()) {
+            responseContext.setStatus(Response.Status.GATEWAY_TIMEOUT.getStatusCode());
+        }
+
+        if (Objects.isNull(responseContext.getEntity())) {
+            deadlineContext.clear();
+        }
+    }
+
+    /**
+     * <p>
+     * Writes the entity under the deadline of the request and clears the deadline afterwards.
+     * </p>
+     *
+     * @param context Refers the context of the write.
+     * @throws IOException If the entity cannot be written.
+     */
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext context) throws IOException {
+        try {
+            context.proceed();
+        } finally {
+            deadlineContext.clear();
+        }
+    }
+
+    /**
+     * <p>
+     * Finds the timeout of the longest configured prefix of the path.
+     * </p>
+     *
+     * @param path Refers the path of the request without leading slash.
+     * @return The timeout of the endpoint.
+     */
+    private long getEndpointTimeout(final String path) {
+        long timeoutMillis = defaultTimeoutMillis;
+        int matchedLength = -1;
+
+        for (final Map.Entry<String, Long> entry : endpointTimeouts.entrySet()) {
+            final String prefix = entry.getKey();
+
+            if (prefix.length() > matchedLength && path.startsWith(prefix)) {
+                timeoutMillis = entry.getValue();
+                matchedLength = prefix.length();
+            }
+        }
+
+        return timeoutMillis;
+    }
+
+    /**
+     * @param path Refers the path.
+     * @return The path without its leading slash.
+     */
+    private static String stripSlash(final String path) {
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final DeadlineFilter DEADLINE_FILTER = new DeadlineFilter();
+    }
+}
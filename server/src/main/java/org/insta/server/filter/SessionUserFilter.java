@@ -0,0 +1,177 @@
+package org.insta.server.filter;
+
+import org.insta.content.service.visibility.ContentVisibility;
+import org.insta.databaseconnection.replica.ReadYourWrites;
+import org.insta.server.authentication.AccessToken;
+import org.insta.server.authentication.AccessTokens;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.ext.Provider;
+import java.security.Principal;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Binds the user of each request to the request thread.
+ * </p>
+ *
+ * <p>
+ * The user is read from the {@code X-User-Id} header and handed to {@link ReadYourWrites}, so the
+ * reads of a user who just wrote are served by the primary instead of a lagging replica. The header
+ * is sent by the client unchecked, so it only routes reads and never grants access.
+ * </p>
+ *
+ * <p>
+ * The viewer whose access is checked by {@link ContentVisibility} is authenticated by the bearer
+ * token of the {@code Authorization} header, verified by {@link AccessTokens} and installed as the
+ * principal of the {@link SecurityContext}. A request without a token, or with a token which is not
+ * a user token, is anonymous; a request with an invalid or expired token is answered with 401
+ * Unauthorized rather than silently served as anonymous. Both users are cleared once the response
+ * is written.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see ReadYourWrites
+ * @see ContentVisibility
+ * @see AccessTokens
+ */
+@Provider
+public final class SessionUserFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    public static final String USER_HEADER = "X-User-Id";
+    private final ReadYourWrites readYourWrites;
+    private final ContentVisibility contentVisibility;
+    private final AccessTokens accessTokens;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private SessionUserFilter() {
+        readYourWrites = ReadYourWrites.getInstance();
+        contentVisibility = ContentVisibility.getInstance();
+        accessTokens = AccessTokens.getInstance();
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of SessionUserFilter class.
+     * </p>
+     *
+     * @return The singleton instance of SessionUserFilter class.
+     */
+    public static SessionUserFilter getInstance() {
+        return InstanceHolder.SESSION_USER_FILTER;
+    }
+
+    /**
+     * <p>
+     * Sets the session user of the request from the user header and the viewer from the bearer
+     * token.
+     * </p>
+     *
+     * @param requestContext Refers the context of the request.
+     */
+    @Override
+    public void filter(final ContainerRequestContext requestContext) {
+        final String userId = requestContext.getHeaderString(USER_HEADER);
+
+        try {
+            readYourWrites.setSessionUser(Objects.isNull(userId) ? null : Long.valueOf(userId.trim()));
+        } catch (NumberFormatException exception) {
+            readYourWrites.clearSessionUser();
+        }
+        final String authorization = requestContext.getHeaderString(HttpHeaders.AUTHORIZATION);
+
+        if (Objects.isNull(authorization)) {
+            contentVisibility.clearViewer();
+            return;
+        }
+        final AccessToken token = accessTokens.verify(authorization);
+
+        if (Objects.isNull(token)) {
+            contentVisibility.clearViewer();
+            requestContext.abortWith(Response.status(Response.Status.UNAUTHORIZED)
+                    .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"").build());
+            return;
+        }
+        requestContext.setSecurityContext(new TokenSecurityContext(token, requestContext.getSecurityContext()));
+        contentVisibility.setViewer(token.getUserId());
+    }
+
+    /**
+     * <p>
+     * Clears the session user and the viewer of the request.
+     * </p>
+     *
+     * @param requestContext  Refers the context of the request.
+     * @param responseContext Refers the context of the response.
+     */
+    @Override
+    public void filter(final ContainerRequestContext requestContext, final ContainerResponseContext responseContext) {
+        readYourWrites.clearSessionUser();
+        contentVisibility.clearViewer();
+    }
+
+    /**
+     * <p>
+     * Security context of a request authenticated by a bearer token.
+     * </p>
+     */
+    private static final class TokenSecurityContext implements SecurityContext {
+
+        private final AccessToken token;
+        private final boolean secure;
+
+        /**
+         * <p>
+         * Creates the security context of a token.
+         * </p>
+         *
+         * @param token    Refers the verified token.
+         * @param original Refers the security context the container established, may be null.
+         */
+        private TokenSecurityContext(final AccessToken token, final SecurityContext original) {
+            this.token = token;
+            secure = Objects.nonNull(original) && original.isSecure();
+        }
+
+        @Override
+        public Principal getUserPrincipal() {
+            return token;
+        }
+
+        @Override
+        public boolean isUserInRole(final String role) {
+            return token.getScope().equals(role);
+        }
+
+        @Override
+        public boolean isSecure() {
+            return secure;
+        }
+
+        @Override
+        public String getAuthenticationScheme() {
+            return "Bearer";
+        }
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final SessionUserFilter SESSION_USER_FILTER = new SessionUserFilter();
+    }
+}
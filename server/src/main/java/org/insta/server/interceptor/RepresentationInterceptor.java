@@ -0,0 +1,208 @@
+package org.insta.server.interceptor;
+
+import org.insta.server.compression.GzipCompressor;
+import org.insta.server.filter.ConditionalGetFilter;
+import org.insta.wrapper.encoding.ContentEncoding;
+import org.insta.wrapper.jackson.WireFormat;
+import org.insta.wrapper.jsonvalidator.JsonResponseHandler;
+import org.insta.wrapper.responsecache.ResponseCache;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * <p>
+ * Writes the JSON responses of the controllers in the format and the encoding the client asked for.
+ * </p>
+ *
+ * <p>
+ * The controllers and the caches deal in JSON only. While a response is written, after every
+ * response filter has seen the JSON bytes, it is transcoded into Smile or CBOR when that is the
+ * media type negotiated from the {@code Accept} header, and then compressed with gzip when it is
+ * large enough and the client accepts gzip. Responses smaller than the minimum size are sent
+ * uncompressed, since their compression costs more than it saves. The variants of a response read
+ * from the {@link ResponseCache} are stored with it, so a hot response is transcoded and compressed
+ * once.
+ * </p>
+ *
+ * <p>
+ * Every variant is a different representation, so its ETag gets a suffix naming the format and the
+ * encoding, such as {@code -smile-gzip}. The {@link ConditionalGetFilter} ignores the suffixes when
+ * it compares tags, since each variant is derived from the JSON bytes alone.
+ * </p>
+ *
+ * <p>
+ * Every such response carries {@code Vary: Accept}, whichever format was chosen, so a shared cache
+ * never serves the JSON stored for one client to a client which asked for Smile or CBOR. It carries
+ * {@code Vary: Accept-Encoding} too, even below the minimum size: the same resource is compressed
+ * once it grows, and a cache must not learn from a small response that the encoding never matters.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see GzipCompressor
+ * @see WireFormat
+ */
+@Provider
+public final class RepresentationInterceptor implements ContainerRequestFilter, WriterInterceptor {
+
+    public static final String GZIP = ContentEncoding.GZIP;
+    public static final List<String> TAG_SUFFIXES = List.of("-gzip", "-smile", "-cbor");
+    private static final String GZIP_PROPERTY = "insta.compression.gzip";
+    private final GzipCompressor gzipCompressor;
+    private final ContentEncoding contentEncoding;
+    private final JsonResponseHandler jsonResponseHandler;
+    private final ResponseCache responseCache;
+    private volatile int minimumSize;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private RepresentationInterceptor() {
+        gzipCompressor = GzipCompressor.getInstance();
+        contentEncoding = ContentEncoding.getInstance();
+        jsonResponseHandler = JsonResponseHandler.getInstance();
+        responseCache = ResponseCache.getInstance();
+        minimumSize = 1024;
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of RepresentationInterceptor class.
+     * </p>
+     *
+     * @return The singleton instance of RepresentationInterceptor class.
+     */
+    public static RepresentationInterceptor getInstance() {
+        return InstanceHolder.REPRESENTATION_INTERCEPTOR;
+    }
+
+    /**
+     * @param minimumSize the size in bytes from which responses are compressed
+     */
+    public void setMinimumSize(final int minimumSize) {
+        this.minimumSize = minimumSize;
+    }
+
+    /**
+     * <p>
+     * Records whether the client accepts gzip.
+     * </p>
+     *
+     * @param requestContext Refers the context of the request.
+     */
+    @Override
+    public void filter(final ContainerRequestContext requestContext) {
+        if (contentEncoding.acceptsGzip(requestContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING))) {
+            requestContext.setProperty(GZIP_PROPERTY, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * <p>
+     * Transcodes and compresses the response as negotiated.
+     * </p>
+     *
+     * @param context Refers the context of the response being written.
+     * @throws IOException If the response cannot be written.
+     */
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext context) throws IOException {
+        final MultivaluedMap<String, Object> headers = context.getHeaders();
+
+        if (context.getEntity() instanceof byte[] && !headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            final Object key = context.getProperty(ConditionalGetFilter.KEY_PROPERTY);
+            final WireFormat format = getFormat(context.getMediaType());
+            byte[] response = (byte[]) context.getEntity();
+            String variant = "";
+
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+            if (format != WireFormat.JSON) {
+                variant = format.name().toLowerCase(Locale.ROOT);
+                response = encode(key, response, variant, json -> jsonResponseHandler.transcode(json, format));
+                suffixTag(headers, variant);
+            }
+
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+            if (response.length >= minimumSize && Objects.nonNull(context.getProperty(GZIP_PROPERTY))) {
+                variant = variant.isEmpty() ? GZIP : String.join("-", variant, GZIP);
+                response = encode(key, response, variant, gzipCompressor::compress);
+                headers.putSingle(HttpHeaders.CONTENT_ENCODING, GZIP);
+                suffixTag(headers, GZIP);
+            }
+            context.setEntity(response);
+        }
+        context.proceed();
+    }
+
+    /**
+     * <p>
+     * Encodes a response, through the response cache when the response is a cached read.
+     * </p>
+     *
+     * @param key      Refers the key of the cached read, may be null.
+     * @param response Refers the response.
+     * @param variant  Refers the name of the variant.
+     * @param encoder  Refers the encoder of the variant.
+     * @return The encoded response.
+     */
+    private byte[] encode(final Object key, final byte[] response, final String variant,
+                          final UnaryOperator<byte[]> encoder) {
+        return Objects.isNull(key) ? encoder.apply(response)
+                : responseCache.encode((String) key, response, variant, encoder);
+    }
+
+    /**
+     * @param mediaType Refers the negotiated media type, may be null.
+     * @return The format of the media type.
+     */
+    private static WireFormat getFormat(final MediaType mediaType) {
+        return Objects.isNull(mediaType) ? WireFormat.JSON
+                : WireFormat.fromMediaType(String.join("/", mediaType.getType(), mediaType.getSubtype()));
+    }
+
+    /**
+     * <p>
+     * Suffixes the ETag of a transcoded or compressed response.
+     * </p>
+     *
+     * @param headers Refers the headers of the response.
+     * @param suffix  Refers the name of the format or encoding.
+     */
+    private static void suffixTag(final MultivaluedMap<String, Object> headers, final String suffix) {
+        final Object tag = headers.getFirst(HttpHeaders.ETAG);
+
+        if (tag instanceof EntityTag) {
+            final EntityTag entityTag = (EntityTag) tag;
+
+            headers.putSingle(HttpHeaders.ETAG, new EntityTag(String.join("-", entityTag.getValue(), suffix),
+                    entityTag.isWeak()));
+        }
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final RepresentationInterceptor REPRESENTATION_INTERCEPTOR = new RepresentationInterceptor();
+    }
+}
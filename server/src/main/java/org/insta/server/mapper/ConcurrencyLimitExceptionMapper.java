@@ -0,0 +1,74 @@
+package org.insta.server.mapper;
+
+import org.insta.databaseconnection.exception.ConcurrencyLimitExceededException;
+import org.insta.databaseconnection.limiter.DatabaseLimiter;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * <p>
+ * Answers requests rejected by the {@link DatabaseLimiter} with 503 Service Unavailable.
+ * </p>
+ *
+ * <p>
+ * The rejection happens before a connection is borrowed, so the client learns at once that the
+ * database is saturated and is asked to retry a second later.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see ConcurrencyLimitExceededException
+ */
+@Provider
+public final class ConcurrencyLimitExceptionMapper implements ExceptionMapper<ConcurrencyLimitExceededException> {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private ConcurrencyLimitExceptionMapper() {
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of ConcurrencyLimitExceptionMapper class.
+     * </p>
+     *
+     * @return The singleton instance of ConcurrencyLimitExceptionMapper class.
+     */
+    public static ConcurrencyLimitExceptionMapper getInstance() {
+        return InstanceHolder.CONCURRENCY_LIMIT_EXCEPTION_MAPPER;
+    }
+
+    /**
+     * <p>
+     * Maps the rejection to a 503 response.
+     * </p>
+     *
+     * @param exception Refers the rejection.
+     * @return The 503 response.
+     */
+    @Override
+    public Response toResponse(final ConcurrencyLimitExceededException exception) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE).header("Retry-After", RETRY_AFTER_SECONDS)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(String.join("", "[{\"status\":\"", exception.getMessage(), "\"}]")).build();
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final ConcurrencyLimitExceptionMapper CONCURRENCY_LIMIT_EXCEPTION_MAPPER =
+                new ConcurrencyLimitExceptionMapper();
+    }
+}
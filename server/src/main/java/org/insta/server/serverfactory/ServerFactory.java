@@ -32,4 +32,13 @@ public interface ServerFactory {
      * @return {@link JAXRSServerFactoryBean} configured with the added service class.
      */
     JAXRSServerFactoryBean addServiceClass();
+
+    /**
+     * <p>
+     * Adds the admin service classes to a JAX-RS server instance of their own.
+     * </p>
+     *
+     * @return {@link JAXRSServerFactoryBean} configured with the admin service classes.
+     */
+    JAXRSServerFactoryBean addAdminServiceClass();
 }
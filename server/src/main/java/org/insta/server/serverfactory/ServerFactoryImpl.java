@@ -1,8 +1,17 @@
 package org.insta.server.serverfactory;
 
+import com.fasterxml.jackson.jaxrs.cbor.JacksonCBORProvider;
 import com.fasterxml.jackson.jaxrs.json.JacksonJsonProvider;
+import com.fasterxml.jackson.jaxrs.smile.JacksonSmileProvider;
 import org.apache.cxf.jaxrs.JAXRSServerFactoryBean;
+import org.insta.authentication.controller.FollowController;
 import org.insta.authentication.controller.UserAccountController;
+import org.insta.content.controller.admin.BulkImportController;
+import org.insta.content.controller.admin.LimiterController;
+import org.insta.content.controller.admin.SingleFlightController;
+import org.insta.content.controller.admin.SlowQueryController;
+import org.insta.content.controller.batch.BatchController;
+import org.insta.content.controller.feed.FeedController;
 import org.insta.content.controller.post.PostController;
 import org.insta.content.controller.post.comment.PostCommentController;
 import org.insta.content.controller.post.like.PostLikeController;
@@ -14,6 +23,13 @@ import org.insta.content.controller.reel.share.ReelShareController;
 import org.insta.content.controller.story.StoryController;
 import org.insta.content.controller.story.like.StoryLikeController;
 import org.insta.content.controller.story.share.StoryShareController;
+import org.insta.server.filter.AdminFilter;
+import org.insta.server.filter.ConditionalGetFilter;
+import org.insta.server.filter.DataLoaderFilter;
+import org.insta.server.filter.DeadlineFilter;
+import org.insta.server.filter.SessionUserFilter;
+import org.insta.server.interceptor.RepresentationInterceptor;
+import org.insta.server.mapper.ConcurrencyLimitExceptionMapper;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -21,7 +37,22 @@ import java.util.List;
 /**
  * <p>
  * Implementation of the {@link ServerFactory} interface for creating JAX-RS server instances.
- * This implementation adds service classes to the server instance and configures it with a Jackson JSON provider.
+ * This implementation adds service classes to the server instance and configures it with the Jackson JSON, Smile
+ * and CBOR providers and the {@link SessionUserFilter}, and maps rejections of the database limiter to 503 responses.
+ * </p>
+ *
+ * <p>
+ * The {@link DeadlineFilter} gives each request a deadline applied to its database statements. The
+ * timeouts of the endpoints are configured here, longer ones for the exports and the bulk import.
+ * The reads of a single post, reel, story or profile are tagged by the {@link ConditionalGetFilter},
+ * and the {@link DataLoaderFilter} scopes the batching of their lookups to each request.
+ * Responses are transcoded to Smile or CBOR by the {@link RepresentationInterceptor} when the client
+ * accepts one of them, and compressed with gzip when they are large enough and the client accepts it.
+ * </p>
+ *
+ * <p>
+ * The admin endpoints are served by a server of their own under {@code /instagram-admin}, guarded by
+ * the {@link AdminFilter}, so none of them is reachable through the public server.
  * </p>
  *
  * <p>
@@ -37,15 +68,19 @@ import java.util.List;
 public final class ServerFactoryImpl implements ServerFactory {
 
     private final JacksonJsonProvider jacksonJsonProvider;
+    private final JacksonSmileProvider jacksonSmileProvider;
+    private final JacksonCBORProvider jacksonCBORProvider;
 
     /**
      * <p>
      * Private constructor to restrict the creation of instances outside of the class.
-     * Initializes the Jackson JSON provider.
+     * Initializes the Jackson JSON, Smile and CBOR providers.
      * </p>
      */
     private ServerFactoryImpl() {
         jacksonJsonProvider = new JacksonJsonProvider();
+        jacksonSmileProvider = new JacksonSmileProvider();
+        jacksonCBORProvider = new JacksonCBORProvider();
     }
 
     /**
@@ -76,18 +111,71 @@ public final class ServerFactoryImpl implements ServerFactory {
      *
      * @param address      The address where the server will be hosted.
      * @param serviceClass The list of service classes to be added to the server.
+     * @param providers    The providers of the server.
      * @return A configured {@link JAXRSServerFactoryBean} instance.
      */
-    private JAXRSServerFactoryBean createServer(final String address, final List<Object> serviceClass) {
+    private JAXRSServerFactoryBean createServer(final String address, final List<Object> serviceClass,
+                                                final List<Object> providers) {
         final JAXRSServerFactoryBean factory = new JAXRSServerFactoryBean();
 
-        factory.setProvider(jacksonJsonProvider);
+        factory.setProviders(providers);
         factory.setAddress(address);
         factory.setServiceBeans(serviceClass);
 
         return factory;
     }
 
+    /**
+     * <p>
+     * Configures the default deadline of the requests and the deadlines of the slower endpoints.
+     * </p>
+     *
+     * @return The configured {@link DeadlineFilter}.
+     */
+    private DeadlineFilter createDeadlineFilter() {
+        final DeadlineFilter deadlineFilter = DeadlineFilter.getInstance();
+
+        deadlineFilter.setDefaultTimeout(10000);
+        deadlineFilter.setEndpointTimeout("/authentication/export", 60000);
+        deadlineFilter.setEndpointTimeout("/admin", 30000);
+        deadlineFilter.setEndpointTimeout("/admin/import", 300000);
+
+        return deadlineFilter;
+    }
+
+    /**
+     * <p>
+     * Configures the reads tagged with an ETag and the resources they read.
+     * </p>
+     *
+     * @return The configured {@link ConditionalGetFilter}.
+     */
+    private ConditionalGetFilter createConditionalGetFilter() {
+        final ConditionalGetFilter conditionalGetFilter = ConditionalGetFilter.getInstance();
+
+        conditionalGetFilter.addResource("/post/get/", "post");
+        conditionalGetFilter.addResource("/reel/get/", "reel");
+        conditionalGetFilter.addResource("/story/get/", "story");
+        conditionalGetFilter.addResource("/authentication/get/", "profile");
+
+        return conditionalGetFilter;
+    }
+
+    /**
+     * <p>
+     * Configures the size from which responses are compressed.
+     * </p>
+     *
+     * @return The configured {@link RepresentationInterceptor}.
+     */
+    private RepresentationInterceptor createRepresentationInterceptor() {
+        final RepresentationInterceptor representationInterceptor = RepresentationInterceptor.getInstance();
+
+        representationInterceptor.setMinimumSize(1024);
+
+        return representationInterceptor;
+    }
+
     /**
      * <p>
      * Adds service classes to the JAX-RS server instance and creates the server.
@@ -110,7 +198,32 @@ public final class ServerFactoryImpl implements ServerFactory {
         serviceClasses.add(StoryLikeController.getInstance());
         serviceClasses.add(StoryShareController.getInstance());
         serviceClasses.add(UserAccountController.getInstance());
+        serviceClasses.add(FollowController.getInstance());
+        serviceClasses.add(BatchController.getInstance());
+        serviceClasses.add(FeedController.getInstance());
+
+        return createServer("/instagram", serviceClasses, List.of(jacksonJsonProvider, jacksonSmileProvider,
+                jacksonCBORProvider, SessionUserFilter.getInstance(), DataLoaderFilter.getInstance(),
+                createDeadlineFilter(), createConditionalGetFilter(), createRepresentationInterceptor(),
+                ConcurrencyLimitExceptionMapper.getInstance()));
+    }
+
+    /**
+     * <p>
+     * Adds the admin service classes to a JAX-RS server instance of their own and creates the server.
+     * </p>
+     *
+     * @return A configured {@link JAXRSServerFactoryBean} instance with the admin service classes.
+     */
+    public JAXRSServerFactoryBean addAdminServiceClass() {
+        final List<Object> serviceClasses = new ArrayList<>();
+
+        serviceClasses.add(BulkImportController.getInstance());
+        serviceClasses.add(SlowQueryController.getInstance());
+        serviceClasses.add(LimiterController.getInstance());
+        serviceClasses.add(SingleFlightController.getInstance());
 
-        return createServer("/instagram", serviceClasses);
+        return createServer("/instagram-admin", serviceClasses, List.of(jacksonJsonProvider,
+                AdminFilter.getInstance(), createDeadlineFilter(), ConcurrencyLimitExceptionMapper.getInstance()));
     }
 }
@@ -2,9 +2,16 @@ package org.insta.authentication;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.insta.authentication.schema.AccountSchema;
+import org.insta.databaseconnection.shard.ShardedDataSource;
+import org.insta.orm.exception.SchemaMigrationException;
+import org.insta.orm.schema.MigrationRunner;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+
 /**
  * <p>
  * Starts and stops the osgi bundle. Contains JAX-RS resources for configuring server.
@@ -26,9 +33,33 @@ public final class Activator implements BundleActivator {
      */
     @Override
     public void start(final BundleContext bundleContext) {
+        migrate();
         LOGGER.info("User bundle started successfully");
     }
 
+    /**
+     * <p>
+     * Applies the pending migrations of the bundle on every shard and checks the indexes they create.
+     * </p>
+     *
+     * @throws SchemaMigrationException if a shard cannot be migrated
+     */
+    private void migrate() {
+        final ShardedDataSource shardedDataSource = ShardedDataSource.getInstance();
+        final AccountSchema schema = AccountSchema.getInstance();
+
+        for (int shardIndex = 0; shardIndex < shardedDataSource.getShardCount(); shardIndex++) {
+            try (final Connection connection = shardedDataSource.getShardConnection(shardIndex)) {
+                MigrationRunner.getInstance().migrate(connection, AccountSchema.MODULE, schema.getMigrations());
+                MigrationRunner.getInstance().verifyIndexes(connection, schema.getTables());
+            } catch (SQLException exception) {
+                LOGGER.error(String.join(" ", "Shard", String.valueOf(shardIndex), "is unavailable for migration"));
+                throw new SchemaMigrationException(String.join(" ", "Shard", String.valueOf(shardIndex),
+                        "is unavailable for migration"));
+            }
+        }
+    }
+
     /**
      * <p>
      * Invoked when the bundle is started.
@@ -0,0 +1,135 @@
+package org.insta.authentication.controller;
+
+import org.insta.authentication.service.follow.FollowService;
+import org.insta.authentication.service.follow.FollowServiceImpl;
+import org.insta.wrapper.jackson.WireFormat;
+
+import javax.ws.rs.DELETE;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * <p>
+ * Manages who follows whom.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see FollowServiceImpl
+ */
+@Path("/follow")
+public final class FollowController {
+
+    private final FollowService followService;
+
+    /**
+     * Restrict object creation outside the class.
+     */
+    private FollowController() {
+        followService = FollowServiceImpl.getInstance();
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of FollowController class.
+     * </p>
+     *
+     * @return Singleton instance of FollowController class.
+     */
+    public static FollowController getInstance() {
+        return InstanceHolder.FOLLOW_CONTROLLER;
+    }
+
+    /**
+     * <p>
+     * Makes the follower follow the specified account.
+     * </p>
+     *
+     * @param followerId Refer to userId of the follower.
+     * @param followeeId Refer to userId of the account to be followed.
+     * @return Response containing the result of the operation in the form of byte array.
+     */
+    @Path("/add/{followerId}/{followeeId}")
+    @POST
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
+    public byte[] follow(@PathParam("followerId") final Long followerId,
+                         @PathParam("followeeId") final Long followeeId) {
+        return followService.follow(followerId, followeeId);
+    }
+
+    /**
+     * <p>
+     * Makes the follower stop following the specified account.
+     * </p>
+     *
+     * @param followerId Refer to userId of the follower.
+     * @param followeeId Refer to userId of the followed account.
+     * @return Response containing the result of the operation in the form of byte array.
+     */
+    @Path("/remove/{followerId}/{followeeId}")
+    @DELETE
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
+    public byte[] unfollow(@PathParam("followerId") final Long followerId,
+                           @PathParam("followeeId") final Long followeeId) {
+        return followService.unfollow(followerId, followeeId);
+    }
+
+    /**
+     * <p>
+     * Retrieves the followers of the specified account.
+     * </p>
+     *
+     * @param userId Refer to userId of the account.
+     * @return Response containing the IDs of the followers in the form of byte array.
+     */
+    @Path("/followers/{userId}")
+    @GET
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
+    public byte[] getFollowers(@PathParam("userId") final Long userId) {
+        return followService.getFollowers(userId);
+    }
+
+    /**
+     * <p>
+     * Retrieves the accounts the specified account follows.
+     * </p>
+     *
+     * @param userId Refer to userId of the account.
+     * @return Response containing the IDs of the followed accounts in the form of byte array.
+     */
+    @Path("/followees/{userId}")
+    @GET
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
+    public byte[] getFollowees(@PathParam("userId") final Long userId) {
+        return followService.getFollowees(userId);
+    }
+
+    /**
+     * <p>
+     * Retrieves the number of followers and followed accounts of the specified account.
+     * </p>
+     *
+     * @param userId Refer to userId of the account.
+     * @return Response containing the counts in the form of byte array.
+     */
+    @Path("/count/{userId}")
+    @GET
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
+    public byte[] getCounts(@PathParam("userId") final Long userId) {
+        return followService.getCounts(userId);
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final FollowController FOLLOW_CONTROLLER = new FollowController();
+    }
+}
@@ -3,16 +3,25 @@ package org.insta.authentication.controller;
 import org.insta.authentication.model.User;
 import org.insta.authentication.service.UserAccountService;
 import org.insta.authentication.service.UserAccountServiceImpl;
+import org.insta.authentication.service.export.AccountExportService;
+import org.insta.authentication.service.export.AccountExportServiceImpl;
+import org.insta.wrapper.encoding.ContentEncoding;
+import org.insta.wrapper.jackson.WireFormat;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * <p>
@@ -38,13 +47,18 @@ import javax.ws.rs.core.MediaType;
 @Path("/authentication")
 public final class UserAccountController {
 
+    private static final String NDJSON = "application/x-ndjson";
     private final UserAccountService userAccountServiceImplementation;
+    private final AccountExportService accountExportService;
+    private final ContentEncoding contentEncoding;
 
     /**
      * Restrict object creation outside the class.
      */
     private UserAccountController() {
         userAccountServiceImplementation = UserAccountServiceImpl.getInstance();
+        accountExportService = AccountExportServiceImpl.getInstance();
+        contentEncoding = ContentEncoding.getInstance();
     }
 
     /**
@@ -77,8 +91,8 @@ public final class UserAccountController {
      * @return The profile data as a byte array if the profile is successfully created, otherwise null.
      */
     @Path("/add")
-    @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     @POST
     public byte[] createUser(final User user) {
         return userAccountServiceImplementation.createProfile(user);
@@ -94,8 +108,8 @@ public final class UserAccountController {
      */
     @DELETE
     @Path("/remove/{id}")
-    @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     public byte[] deleteProfile(@PathParam("id") final Long id) {
         return userAccountServiceImplementation.deleteProfile(id);
     }
@@ -109,8 +123,8 @@ public final class UserAccountController {
      * @return The validated user profile data as a byte array if the profile is successfully updated, otherwise null.
      */
     @Path("/update")
-    @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     @PUT
     public byte[] updateDetails(final User user) {
         return userAccountServiceImplementation.updateProfile(user);
@@ -125,12 +139,55 @@ public final class UserAccountController {
      * @return The profile data as a byte array if found, otherwise null.
      */
     @Path("/get/{id}")
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, WireFormat.SMILE_MEDIA_TYPE, WireFormat.CBOR_MEDIA_TYPE})
     @GET
     public byte[] getProfile(@PathParam("id") final Long id) {
         return userAccountServiceImplementation.getProfile(id);
     }
 
+    /**
+     * <p>
+     * Exports every row owned by the user as newline delimited JSON.
+     * </p>
+     *
+     * <p>
+     * The export is streamed while it is read from the database and is compressed on the fly when the
+     * client accepts gzip.
+     * </p>
+     *
+     * @param id             The unique identifier of the user profile.
+     * @param acceptEncoding The encodings accepted by the client.
+     * @return The streamed export, or not found if the profile does not exist.
+     */
+    @Path("/export/{id}")
+    @Produces(NDJSON)
+    @GET
+    public Response exportAccount(@PathParam("id") final Long id,
+                                  @HeaderParam(HttpHeaders.ACCEPT_ENCODING) final String acceptEncoding) {
+        if (!accountExportService.isAccountPresent(id)) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        final boolean gzip = contentEncoding.acceptsGzip(acceptEncoding);
+        final StreamingOutput export = outputStream -> {
+            if (!gzip) {
+                accountExportService.exportAccount(id, outputStream);
+
+                return;
+            }
+            final GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 8192, true);
+
+            accountExportService.exportAccount(id, gzipOutputStream);
+            gzipOutputStream.finish();
+        };
+        final Response.ResponseBuilder responseBuilder = Response.ok(export, NDJSON)
+                .header("Content-Disposition", String.join("", "attachment; filename=\"account-",
+                        String.valueOf(id), ".ndjson\""))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        return (gzip ? responseBuilder.header(HttpHeaders.CONTENT_ENCODING, ContentEncoding.GZIP)
+                : responseBuilder).build();
+    }
+
     /**
      * <p>
      * Retrieves the post service instance related to the controller.
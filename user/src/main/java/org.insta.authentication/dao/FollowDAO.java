@@ -0,0 +1,49 @@
+package org.insta.authentication.dao;
+
+/**
+ * <p>
+ * Manage follow edges.
+ * </p>
+ *
+ * <p>
+ * This interface defines methods for adding and removing the edge between a follower and the
+ * followed account, and for reading every edge when the follow graph is loaded.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see FollowDAOImpl
+ */
+public interface FollowDAO {
+
+    /**
+     * <p>
+     * Adds the edge from a follower to the followed account.
+     * </p>
+     *
+     * @param followerId The ID of the follower.
+     * @param followeeId The ID of the followed account.
+     * @return True if the edge is added, false if it already exists.
+     */
+    boolean follow(final Long followerId, final Long followeeId);
+
+    /**
+     * <p>
+     * Removes the edge from a follower to the followed account.
+     * </p>
+     *
+     * @param followerId The ID of the follower.
+     * @param followeeId The ID of the followed account.
+     * @return True if the edge is removed, false if it does not exist.
+     */
+    boolean unfollow(final Long followerId, final Long followeeId);
+
+    /**
+     * <p>
+     * Reads every follow edge of every shard.
+     * </p>
+     *
+     * @return The edges as follower and followed account ID pairs laid end to end.
+     */
+    long[] getEdges();
+}
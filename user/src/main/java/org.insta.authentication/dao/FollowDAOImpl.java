@@ -0,0 +1,152 @@
+package org.insta.authentication.dao;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.insta.authentication.exception.FollowFailedException;
+import org.insta.authentication.exception.FollowRetrivalFailedException;
+import org.insta.authentication.exception.UnfollowFailedException;
+import org.insta.databaseconnection.shard.ShardedDataSource;
+import org.insta.wrapper.jfr.DaoEventRecorder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>
+ * Implementation of the FollowDAO interface for managing follow edges.
+ * </p>
+ *
+ * <p>
+ * An edge is stored on the shard of the follower, keyed by the follower and the followed account,
+ * so following twice adds a single edge. The edges of all shards are only read together, when the
+ * follow graph is loaded into memory.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see FollowDAO
+ * @see ShardedDataSource
+ */
+public final class FollowDAOImpl implements FollowDAO {
+
+    private static final Logger LOGGER = LogManager.getLogger(FollowDAOImpl.class);
+    private static final String INSERT = "INSERT INTO follow (follower_id, followee_id) VALUES (?, ?) "
+            + "ON CONFLICT DO NOTHING";
+    private static final String DELETE = "DELETE FROM follow WHERE follower_id = ? AND followee_id = ?";
+    private static final String SELECT_ALL = "SELECT follower_id, followee_id FROM follow";
+    private final ShardedDataSource shardedDataSource;
+
+    /**
+     * <p>
+     * Prevent instantiation from outside the class.
+     * </p>
+     */
+    private FollowDAOImpl() {
+        shardedDataSource = ShardedDataSource.getInstance();
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of FollowDAOImpl.
+     * </p>
+     *
+     * @return Singleton instance of FollowDAOImpl.
+     */
+    public static FollowDAO getInstance() {
+        return InstanceHolder.FOLLOW_DAO;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param followerId Refers the ID of the follower.
+     * @param followeeId Refers the ID of the followed account.
+     * @return True if the edge is added, false if it already exists.
+     */
+    public boolean follow(final Long followerId, final Long followeeId) {
+        try (final Connection connection = shardedDataSource.getConnection(followerId);
+             final PreparedStatement preparedStatement = connection.prepareStatement(INSERT)) {
+            preparedStatement.setLong(1, followerId);
+            preparedStatement.setLong(2, followeeId);
+
+            return preparedStatement.executeUpdate() > 0;
+        } catch (SQLException exception) {
+            LOGGER.error("Follow failed");
+            throw new FollowFailedException("Follow failed");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param followerId Refers the ID of the follower.
+     * @param followeeId Refers the ID of the followed account.
+     * @return True if the edge is removed, false if it does not exist.
+     */
+    public boolean unfollow(final Long followerId, final Long followeeId) {
+        try (final Connection connection = shardedDataSource.getConnection(followerId);
+             final PreparedStatement preparedStatement = connection.prepareStatement(DELETE)) {
+            preparedStatement.setLong(1, followerId);
+            preparedStatement.setLong(2, followeeId);
+
+            return preparedStatement.executeUpdate() > 0;
+        } catch (SQLException exception) {
+            LOGGER.error("Unfollow failed");
+            throw new UnfollowFailedException("Unfollow failed");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return The edges as follower and followed account ID pairs laid end to end.
+     */
+    public long[] getEdges() {
+        try {
+            final List<long[]> shardEdges = shardedDataSource.scatterGather(connection -> {
+                try (final PreparedStatement preparedStatement = connection.prepareStatement(SELECT_ALL);
+                     final ResultSet resultSet = preparedStatement.executeQuery()) {
+                    long[] edges = new long[1024];
+                    int length = 0;
+
+                    while (resultSet.next()) {
+                        if (length == edges.length) {
+                            edges = Arrays.copyOf(edges, length * 2);
+                        }
+                        edges[length++] = resultSet.getLong(1);
+                        edges[length++] = resultSet.getLong(2);
+                    }
+
+                    return Arrays.copyOf(edges, length);
+                }
+            });
+            final long[] edges = new long[shardEdges.stream().mapToInt(shard -> shard.length).sum()];
+            int length = 0;
+
+            for (final long[] shard : shardEdges) {
+                System.arraycopy(shard, 0, edges, length, shard.length);
+                length += shard.length;
+            }
+
+            return edges;
+        } catch (SQLException exception) {
+            LOGGER.error("Follow graph retrival failed");
+            throw new FollowRetrivalFailedException("Follow graph retrival failed");
+        }
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final FollowDAO FOLLOW_DAO = DaoEventRecorder.getInstance()
+                .instrument(FollowDAO.class, "follow", new FollowDAOImpl());
+    }
+}
@@ -3,6 +3,7 @@ package org.insta.authentication.dao;
 import org.insta.authentication.model.User;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -44,6 +45,16 @@ public interface UserAccountDAO {
      */
     Optional<User> getProfile(final Long id);
 
+    /**
+     * <p>
+     * Retrieves several user profiles with a single query per shard.
+     * </p>
+     *
+     * @param ids The IDs of the user profiles to retrieve.
+     * @return The user profiles found, by ID.
+     */
+    Map<Long, User> getProfiles(final List<Long> ids);
+
     /**
      * <p>
      * Updates a user profile.
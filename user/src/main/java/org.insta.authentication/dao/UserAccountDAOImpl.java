@@ -7,19 +7,24 @@ import org.insta.authentication.exception.ProfileRetrivalFailedException;
 import org.insta.authentication.exception.ProfileUpdateFailedException;
 import org.insta.authentication.exception.UserNotFoundException;
 import org.insta.authentication.model.User;
+import org.insta.authentication.model.UserTable;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.insta.authentication.querystructureinjector.account.AccountSqlInjector;
 import org.insta.authentication.querystructureinjector.address.AddressSqlInjector;
-import org.insta.databaseconnection.DatabaseConnection;
+import org.insta.databaseconnection.idgenerator.IdGenerator;
+import org.insta.databaseconnection.shard.ShardedDataSource;
+import org.insta.databaseconnection.transaction.TransactionContext;
+import org.insta.wrapper.jfr.DaoEventRecorder;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -52,7 +57,9 @@ import java.util.Optional;
  * @version 1.0 6 Feb 2024
  * @see UserAccountDAO
  * @see User
- * @see DatabaseConnection
+ * @see ShardedDataSource
+ * @see TransactionContext
+ * @see IdGenerator
  * @see ProfileCreationFailedException
  * @see ProfileUpdateFailedException
  * @see ProfileRetrivalFailedException
@@ -61,9 +68,11 @@ import java.util.Optional;
 public final class UserAccountDAOImpl implements UserAccountDAO {
 
     private static final Logger LOGGER = LogManager.getLogger(UserAccountDAOImpl.class);
-    private final Connection connection;
+    private final ShardedDataSource shardedDataSource;
     private final AccountSqlInjector accountSqlInjector;
     private final AddressSqlInjector addressSqlInjector;
+    private final IdGenerator idGenerator;
+    private final TransactionContext transactionContext;
 
     /**
      * <p>
@@ -71,9 +80,11 @@ public final class UserAccountDAOImpl implements UserAccountDAO {
      * </p>
      */
     private UserAccountDAOImpl() {
-        connection = DatabaseConnection.get();
+        shardedDataSource = ShardedDataSource.getInstance();
         addressSqlInjector = AddressSqlInjector.getInstance();
         accountSqlInjector = AccountSqlInjector.getInstance();
+        idGenerator = IdGenerator.getInstance();
+        transactionContext = TransactionContext.getInstance();
     }
 
     /**
@@ -95,25 +106,26 @@ public final class UserAccountDAOImpl implements UserAccountDAO {
      * @throws DatabaseOperationFailed If the profile creation operation fails due to a database error.
      */
     public Optional<Long> createProfile(final User user) {
+        final long id = idGenerator.nextId();
 
-        try (final PreparedStatement preparedStatement = connection
-                .prepareStatement(accountSqlInjector.getInsertQuery(), Statement.RETURN_GENERATED_KEYS)) {
+        try {
+            return shardedDataSource.inTransaction(id, connection -> {
+                try (final PreparedStatement preparedStatement = connection
+                        .prepareStatement(UserTable.INSERT)) {
 
-            connection.setAutoCommit(false);
-            preparedStatement.setString(1, user.getName());
-            preparedStatement.setString(2, user.getMobileNumber());
-            preparedStatement.setString(3, user.getEmail());
-            preparedStatement.setString(4, user.getPassword());
+                    UserTable.bindInsert(preparedStatement, id, user);
 
-            if (preparedStatement.executeUpdate() > 0) {
-                createAddress(user);
+                    if (preparedStatement.executeUpdate() > 0) {
+                        user.setUserId(id);
+                        createAddress(connection, user);
 
-                return mapResultSetToUser(preparedStatement, user);
-            }
+                        return Optional.of(id);
+                    }
 
-            return Optional.empty();
+                    return Optional.empty();
+                }
+            });
         } catch (SQLException exception) {
-            connectionRollback(connection);
             LOGGER.error("Account creation failed");
             throw new DatabaseOperationFailed("Account creation failed");
         }
@@ -124,21 +136,17 @@ public final class UserAccountDAOImpl implements UserAccountDAO {
      * Creates a user address.
      * </p>
      *
-     * @param user The {@link User} object containing the user data.
-     * @return The ID of the created user address.
+     * @param connection The connection of the transaction creating the account.
+     * @param user       The {@link User} object containing the user data.
      */
-    private void createAddress(final User user) {
+    private void createAddress(final Connection connection, final User user) {
         try (final PreparedStatement preparedStatement = connection.prepareStatement(
                 addressSqlInjector.getCreateQuery())) {
 
-            connection.setAutoCommit(false);
             preparedStatement.setInt(1, user.getAddress().getDoorNumber());
             preparedStatement.setString(2, user.getAddress().getState());
             preparedStatement.setLong(3, user.getUserId());
-
-            if (preparedStatement.executeUpdate() > 0) {
-                connection.commit();
-            }
+            preparedStatement.executeUpdate();
         } catch (Exception ignored) {
             LOGGER.error("Address creation failed");
             throw new ProfileCreationFailedException("Address creation failed");
@@ -155,32 +163,32 @@ public final class UserAccountDAOImpl implements UserAccountDAO {
     public boolean updateProfile(final User receivedObject) {
         if (receivedObject.getUserId() <= 0) return false;
 
-        final Optional<User> tableObject = getProfile(receivedObject.getUserId());
-
-        if (tableObject.isEmpty()) {
-            return false;
-        }
-
-        final User updatedObject = createUpdatedObject(receivedObject, tableObject.get());
-
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                accountSqlInjector.getUpdateQuery())) {
-
-            connection.setAutoCommit(true);
-            preparedStatement.setString(1, updatedObject.getName());
-            preparedStatement.setString(2, updatedObject.getMobileNumber());
-            preparedStatement.setString(3, updatedObject.getEmail());
-            preparedStatement.setString(4, updatedObject.getPassword());
-            preparedStatement.setLong(5, updatedObject.getUserId());
-
-            if (preparedStatement.executeUpdate() > 0) {
-                return true;
-            }
+        try {
+            return transactionContext.execute(() -> {
+                final Optional<User> tableObject = getProfile(receivedObject.getUserId());
+
+                if (tableObject.isEmpty()) {
+                    return false;
+                }
+                final User updatedObject = createUpdatedObject(receivedObject, tableObject.get());
+
+                try (final Connection connection = shardedDataSource.getConnection(updatedObject.getUserId());
+                     final PreparedStatement preparedStatement = connection.prepareStatement(
+                             accountSqlInjector.getUpdateQuery())) {
+
+                    preparedStatement.setString(1, updatedObject.getName());
+                    preparedStatement.setString(2, updatedObject.getMobileNumber());
+                    preparedStatement.setString(3, updatedObject.getEmail());
+                    preparedStatement.setString(4, updatedObject.getPassword());
+                    preparedStatement.setLong(5, updatedObject.getUserId());
+
+                    return preparedStatement.executeUpdate() > 0;
+                }
+            });
         } catch (SQLException sqlException) {
             LOGGER.error("Profile creation failed");
             throw new ProfileUpdateFailedException("Profile creation failed");
         }
-        return false;
     }
 
     /**
@@ -209,21 +217,59 @@ public final class UserAccountDAOImpl implements UserAccountDAO {
      * @throws ProfileRetrivalFailedException If the profile retrieval operation fails.
      */
     public Optional<User> getProfile(final Long id) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                accountSqlInjector.getRetrieveQuery())) {
+        try (final Connection connection = shardedDataSource.getReadConnection(id);
+             final PreparedStatement preparedStatement = connection.prepareStatement(
+                     UserTable.SELECT)) {
 
-            connection.setAutoCommit(true);
             preparedStatement.setLong(1, id);
 
-            final ResultSet resultSet = preparedStatement.executeQuery();
-
-            return setUser(resultSet);
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                return setUser(resultSet);
+            }
         } catch (SQLException exception) {
             LOGGER.error("Profile retrival failed");
             throw new ProfileRetrivalFailedException("Profile retrival failed");
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The IDs are grouped by shard and each shard is read with one {@code = ANY(?)} query. Only the
+     * first address of a user is kept, as for a single profile.
+     * </p>
+     *
+     * @param ids The IDs of the user profiles to retrieve.
+     * @return The user profiles found, by ID.
+     * @throws ProfileRetrivalFailedException If the profile retrieval operation fails.
+     */
+    public Map<Long, User> getProfiles(final List<Long> ids) {
+        final Map<Long, User> users = new HashMap<>();
+
+        for (final List<Integer> positions : shardedDataSource.groupByShard(ids).values()) {
+            final Long[] shardIds = positions.stream().map(ids::get).toArray(Long[]::new);
+
+            try (final Connection connection = shardedDataSource.getReadConnection(shardIds[0]);
+                 final PreparedStatement preparedStatement = connection.prepareStatement(UserTable.SELECT_ANY)) {
+                preparedStatement.setArray(1, connection.createArrayOf("bigint", shardIds));
+
+                try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        final User user = UserTable.map(resultSet);
+
+                        users.putIfAbsent(user.getUserId(), user);
+                    }
+                }
+            } catch (SQLException exception) {
+                LOGGER.error("Profile batch retrival failed");
+                throw new ProfileRetrivalFailedException("Profile batch retrival failed");
+            }
+        }
+
+        return users;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -232,22 +278,19 @@ public final class UserAccountDAOImpl implements UserAccountDAO {
      * @throws ProfileDeleteFailedException If the profile
      */
     public Boolean deleteProfile(final Long id) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                String.join("", addressSqlInjector.getDeleteQuery(), ";",
-                        accountSqlInjector.getDeleteQuery()))) {
-
-            connection.setAutoCommit(false);
-            preparedStatement.setLong(1, id);
-            preparedStatement.setLong(2, id);
+        try {
+            return shardedDataSource.inTransaction(id, connection -> {
+                try (final PreparedStatement preparedStatement = connection.prepareStatement(
+                        String.join("", addressSqlInjector.getDeleteQuery(), ";",
+                                UserTable.DELETE))) {
 
-            if (preparedStatement.executeUpdate() > 0) {
-                connection.commit();
-                return true;
-            }
+                    preparedStatement.setLong(1, id);
+                    preparedStatement.setLong(2, id);
 
-            return false;
+                    return preparedStatement.executeUpdate() > 0;
+                }
+            });
         } catch (SQLException sqlException) {
-            connectionRollback(connection);
             LOGGER.error("Profile deletion failed");
             throw new ProfileDeleteFailedException("Profile deletion failed");
         }
@@ -263,15 +306,19 @@ public final class UserAccountDAOImpl implements UserAccountDAO {
      * @throws ProfileCreationFailedException If an error occurs during the database operation.
      */
     private boolean checkNameRegistered(final String name) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                accountSqlInjector.getSelectForName(), Statement.RETURN_GENERATED_KEYS)) {
+        try {
+            return shardedDataSource.scatterGather(connection -> {
+                try (final PreparedStatement preparedStatement = connection.prepareStatement(
+                        accountSqlInjector.getSelectForName())) {
 
-            preparedStatement.setString(1, name);
+                    preparedStatement.setString(1, name);
 
-            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                    try (final ResultSet resultSet = preparedStatement.executeQuery()) {
 
-                return resultSet.next();
-            }
+                        return resultSet.next();
+                    }
+                }
+            }).contains(true);
         } catch (SQLException sqlException) {
             LOGGER.error("Profile Creation failed");
             throw new ProfileCreationFailedException("Profile Creation failed");
@@ -288,15 +335,19 @@ public final class UserAccountDAOImpl implements UserAccountDAO {
      * @throws ProfileCreationFailedException If an error occurs during the database operation.
      */
     private boolean checkMobileRegistered(final String mobile) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                accountSqlInjector.getSelectForMobile(), Statement.RETURN_GENERATED_KEYS)) {
+        try {
+            return shardedDataSource.scatterGather(connection -> {
+                try (final PreparedStatement preparedStatement = connection.prepareStatement(
+                        accountSqlInjector.getSelectForMobile())) {
 
-            preparedStatement.setString(1, mobile);
+                    preparedStatement.setString(1, mobile);
 
-            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                    try (final ResultSet resultSet = preparedStatement.executeQuery()) {
 
-                return resultSet.next();
-            }
+                        return resultSet.next();
+                    }
+                }
+            }).contains(true);
         } catch (SQLException sqlException) {
             LOGGER.error("Profile creation failed");
             throw new ProfileCreationFailedException("Profile creation failed");
@@ -313,15 +364,19 @@ public final class UserAccountDAOImpl implements UserAccountDAO {
      * @throws ProfileCreationFailedException If an error occurs during the database operation.
      */
     private boolean checkEmailRegistered(final String email) {
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(
-                accountSqlInjector.getSelectForEmail(), Statement.RETURN_GENERATED_KEYS)) {
+        try {
+            return shardedDataSource.scatterGather(connection -> {
+                try (final PreparedStatement preparedStatement = connection.prepareStatement(
+                        accountSqlInjector.getSelectForEmail())) {
 
-            preparedStatement.setString(1, email);
+                    preparedStatement.setString(1, email);
 
-            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                    try (final ResultSet resultSet = preparedStatement.executeQuery()) {
 
-                return resultSet.next();
-            }
+                        return resultSet.next();
+                    }
+                }
+            }).contains(true);
         } catch (SQLException sqlException) {
             LOGGER.error("Profile creation failed");
             throw new ProfileCreationFailedException("Profile creation failed");
@@ -346,48 +401,6 @@ public final class UserAccountDAOImpl implements UserAccountDAO {
         return credentialsInvalidList;
     }
 
-    /**
-     * <p>
-     * Rolls back the database connection in case of a failed account creation.
-     * </p>
-     *
-     * @param connection The database connection to roll back.
-     * @throws ProfileCreationFailedException If rolling back the connection fails.
-     */
-    private void connectionRollback(final Connection connection) {
-        try {
-            connection.rollback();
-        } catch (SQLException sqlException) {
-            LOGGER.error("Roll back failed at account creation");
-            throw new ProfileCreationFailedException("Roll back failed at account creation");
-        }
-    }
-
-    /**
-     * {@inheritDoc}
-     *
-     * @param preparedStatement The PreparedStatement containing the generated keys.
-     * @param user              {@link User} The User object to set the user ID.
-     * @return The generated user ID if set successfully, otherwise 0.
-     */
-    public Optional<Long> mapResultSetToUser(final PreparedStatement preparedStatement, final User user) {
-        try (final ResultSet resultSet = preparedStatement.getGeneratedKeys()) {
-            if (resultSet.next()) {
-                user.setUserId(resultSet.getLong("id"));
-                user.setName(resultSet.getString("name"));
-                user.setMobileNumber(resultSet.getString("mobile"));
-                user.setEmail(resultSet.getString("email"));
-
-                return Optional.ofNullable(user.getUserId());
-            }
-
-            return Optional.empty();
-        } catch (SQLException ignored) {
-            LOGGER.error("profile creation failed");
-            throw new ProfileCreationFailedException("profile creation failed");
-        }
-    }
-
     /**
      * {@inheritDoc}
      *
@@ -395,22 +408,8 @@ public final class UserAccountDAOImpl implements UserAccountDAO {
      * @return The User object with details set from the ResultSet.
      */
     public Optional<User> setUser(final ResultSet resultSet) {
-        User user = null;
-
         try {
-            if (resultSet.next()) {
-                user = new User();
-                user.setUserId(resultSet.getLong(1));
-                user.setName(resultSet.getString(2));
-                user.setMobileNumber(resultSet.getString(3));
-                user.setEmail(resultSet.getString(4));
-                user.setPassword(resultSet.getString(5));
-                user.getAddress().setDoorNumber(resultSet.getInt(7));
-                user.getAddress().setState(resultSet.getString(8));
-                user.getAddress().setStreetName(resultSet.getString(10));
-            }
-
-            return Optional.ofNullable(user);
+            return resultSet.next() ? Optional.of(UserTable.map(resultSet)) : Optional.empty();
         } catch (final SQLException exception) {
             LOGGER.error("User not found");
             throw new UserNotFoundException("User not found");
@@ -424,6 +423,7 @@ public final class UserAccountDAOImpl implements UserAccountDAO {
      */
     private static class InstanceHolder {
 
-        private static final UserAccountDAO userAccountDAOImpl = new UserAccountDAOImpl();
+        private static final UserAccountDAO userAccountDAOImpl = DaoEventRecorder.getInstance()
+                .instrument(UserAccountDAO.class, "account", new UserAccountDAOImpl());
     }
 }
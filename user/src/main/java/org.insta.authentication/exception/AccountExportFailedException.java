@@ -0,0 +1,27 @@
+package org.insta.authentication.exception;
+
+import org.insta.exception.DefaultException;
+
+/**
+ * <p>
+ * Exception class representing a failure while exporting the data of an account.
+ * This exception is thrown when the rows of an account cannot be read or written to the export.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see DefaultException
+ */
+public class AccountExportFailedException extends DefaultException {
+
+    /**
+     * <p>
+     * Constructs a new AccountExportFailedException with the specified detail message.
+     * </p>
+     *
+     * @param message Refers the exception message.
+     */
+    public AccountExportFailedException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,27 @@
+package org.insta.authentication.exception;
+
+import org.insta.exception.DefaultException;
+
+/**
+ * <p>
+ * Exception class representing a failure in follow graph retrieval within the Instagram application.
+ * This exception is typically thrown when the follow edges cannot be read.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see DefaultException
+ */
+public class FollowRetrivalFailedException extends DefaultException {
+
+    /**
+     * <p>
+     * Constructs a new FollowRetrivalFailedException with the specified detail message.
+     * </p>
+     *
+     * @param message Refers the exception message.
+     */
+    public FollowRetrivalFailedException(final String message) {
+        super(message);
+    }
+}
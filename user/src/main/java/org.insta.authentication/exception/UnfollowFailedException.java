@@ -0,0 +1,27 @@
+package org.insta.authentication.exception;
+
+import org.insta.exception.DefaultException;
+
+/**
+ * <p>
+ * Exception class representing a failure in unfollowing an account within the Instagram application.
+ * This exception is typically thrown when unfollowing an account fails.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see DefaultException
+ */
+public class UnfollowFailedException extends DefaultException {
+
+    /**
+     * <p>
+     * Constructs a new UnfollowFailedException with the specified detail message.
+     * </p>
+     *
+     * @param message Refers the exception message.
+     */
+    public UnfollowFailedException(final String message) {
+        super(message);
+    }
+}
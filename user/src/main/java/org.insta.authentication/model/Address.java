@@ -2,6 +2,7 @@ package org.insta.authentication.model;
 
 import jakarta.validation.constraints.NotNull;
 import org.insta.authentication.groups.UserCredentialsValidator;
+import org.insta.orm.annotation.Col;
 
 /**
  * <p>
@@ -18,10 +19,13 @@ public final class Address {
     @NotNull(message = "Country code must not be null", groups = UserCredentialsValidator.class)
     private String countryCode;
     @NotNull(message = "State must not be null", groups = UserCredentialsValidator.class)
+    @Col(name = "state", table = "address")
     private String state;
     @NotNull(message = "Door number must not be null", groups = UserCredentialsValidator.class)
+    @Col(name = "door_no", table = "address")
     private int doorNumber;
     @NotNull(message = "Street name must not be null", groups = UserCredentialsValidator.class)
+    @Col(name = "street_name", table = "address")
     private String streetName;
 
     public int getDoorNumber() {
@@ -4,6 +4,10 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 import org.insta.authentication.groups.UserCredentialsValidator;
+import org.insta.orm.annotation.Col;
+import org.insta.orm.annotation.Embedded;
+import org.insta.orm.annotation.Join;
+import org.insta.orm.annotation.Table;
 
 import java.util.Objects;
 
@@ -16,20 +20,26 @@ import java.util.Objects;
  * @version 1.0 6 Feb 2024
  * @see Address
  */
+@Table(name = "account", keyProperty = "userId", joins = @Join(table = "address", on = "id", column = "user_id"))
 public final class User {
 
     @PositiveOrZero(message = "User id must be positive or zero", groups = UserCredentialsValidator.class)
     private Long userId;
     @NotNull(message = "Name must not be null", groups = UserCredentialsValidator.class)
+    @Col(name = "name")
     private String name;
     @NotNull(message = "Mobile must not be null", groups = UserCredentialsValidator.class)
+    @Col(name = "mobile")
     private String mobileNumber;
     @NotNull(message = "Email must not be null", groups = UserCredentialsValidator.class)
+    @Col(name = "email")
     private String email;
     @NotNull(message = "Password must not be null", groups = UserCredentialsValidator.class)
+    @Col(name = "password")
     private String password;
     @Valid
     @NotNull(message = "Address must not be null", groups = UserCredentialsValidator.class)
+    @Embedded
     private Address address;
 
     public User() {
@@ -1,13 +1,9 @@
 package org.insta.authentication.querystructureinjector.account;
 
-import org.insta.orm.querybuilder.DeleteQueryBuilder;
-import org.insta.orm.querybuilder.InsertQueryBuilder;
 import org.insta.orm.querybuilder.SelectQueryBuilder;
 import org.insta.orm.querybuilder.UpdateQueryBuilder;
 import org.insta.orm.model.Column;
 import org.insta.orm.model.DataConfigContainer;
-import org.insta.orm.model.JoinClause;
-import org.insta.orm.model.JoinType;
 import org.insta.orm.model.WhereClause;
 
 import java.util.ArrayList;
@@ -19,21 +15,17 @@ import java.util.List;
  * </p>
  *
  * <p>
- * This class provides methods for generating SQL queries to insert and delete user account.
+ * This class provides methods for generating SQL queries to update and look up user accounts.
  * </p>
  *
  * @author Mohamed Yasar
  * @version 1.0 6 Feb 2024
- * @see DeleteQueryBuilder For building delete queries.
- * @see InsertQueryBuilder For building insert queries.
  * @see DataConfigContainer Represents configuration data for SQL queries.
  * @see WhereClause Represents a WHERE clause in a SQL query.
  * @see Column Represents a column in a database table.
  */
 public class AccountSqlInjector {
 
-    private final DeleteQueryBuilder deleteQueryBuilder;
-    private final InsertQueryBuilder insertQueryBuilder;
     private final UpdateQueryBuilder updateQueryBuilder;
     private final SelectQueryBuilder selectQueryBuilder;
 
@@ -43,8 +35,6 @@ public class AccountSqlInjector {
      * </p>
      */
     private AccountSqlInjector() {
-        deleteQueryBuilder = DeleteQueryBuilder.getInstance();
-        insertQueryBuilder = InsertQueryBuilder.getInstance();
         updateQueryBuilder = UpdateQueryBuilder.getInstance();
         selectQueryBuilder = SelectQueryBuilder.getInstance();
     }
@@ -60,47 +50,6 @@ public class AccountSqlInjector {
         return InstanceHolder.accountSqlInjector;
     }
 
-    /**
-     * <p>
-     * Builds and returns a SQL delete query for the account table.
-     * </p>
-     *
-     * @return The SQL delete query string.
-     */
-    public String getDeleteQuery() {
-        final DataConfigContainer dataConfigContainer = new DataConfigContainer();
-        final List<WhereClause> whereClauseList = new ArrayList<>();
-
-        whereClauseList.add(new WhereClause("id", "account"));
-
-        dataConfigContainer.setTableName("account");
-        dataConfigContainer.setWhereClauses(whereClauseList);
-
-        return deleteQueryBuilder.buildDeleteQuery(dataConfigContainer);
-    }
-
-    /**
-     * <p>
-     * Builds and returns a SQL insert query for the account table.
-     * </p>
-     *
-     * @return The SQL delete query string.
-     */
-    public String getInsertQuery() {
-        final DataConfigContainer dataConfigContainer = new DataConfigContainer();
-        final List<Column> columnList = new ArrayList<>();
-
-        columnList.add(new Column("name"));
-        columnList.add(new Column("mobile"));
-        columnList.add(new Column("email"));
-        columnList.add(new Column("password"));
-
-        dataConfigContainer.setTableName("account");
-        dataConfigContainer.setColumnList(columnList);
-
-        return insertQueryBuilder.buildInsertQuery(dataConfigContainer);
-    }
-
     /**
      * <p>
      * Builds and returns a SQL update query for the account table.
@@ -127,30 +76,6 @@ public class AccountSqlInjector {
         return updateQueryBuilder.getUpdateQuery(dataConfigContainer);
     }
 
-    /**
-     * <p>
-     * Builds and returns a SQL retrieve query for the account table.
-     * </p>
-     *
-     * @return The SQL delete query string.
-     */
-    public String getRetrieveQuery() {
-        final DataConfigContainer dataConfigContainer = new DataConfigContainer();
-        final List<Column> columnList = new ArrayList<>();
-        final List<JoinClause> joinClauseList = new ArrayList<>();
-        final List<WhereClause> whereClauseList = new ArrayList<>();
-
-        joinClauseList.add(new JoinClause("account", "id", "address", "user_id", JoinType.LEFT));
-        whereClauseList.add(new WhereClause("id", "account"));
-
-        dataConfigContainer.setTableName("account");
-        dataConfigContainer.setColumnList(columnList);
-        dataConfigContainer.setJoinClauseList(joinClauseList);
-        dataConfigContainer.setWhereClauses(whereClauseList);
-
-        return selectQueryBuilder.buildSelectQuery(dataConfigContainer);
-    }
-
     /**
      * <p>
      * Builds and returns a SQL retrieve query for the account table for mobile.
@@ -64,7 +64,7 @@ public class AddressSqlInjector {
         final DataConfigContainer dataConfigContainer = new DataConfigContainer();
         final List<WhereClause> whereClauseList = new ArrayList<>();
 
-        whereClauseList.add(new WhereClause("id", "address"));
+        whereClauseList.add(new WhereClause("user_id", "address"));
 
         dataConfigContainer.setTableName("address");
         dataConfigContainer.setWhereClauses(whereClauseList);
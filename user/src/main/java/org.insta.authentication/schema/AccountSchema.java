@@ -0,0 +1,91 @@
+package org.insta.authentication.schema;
+
+import org.insta.orm.schema.DdlGenerator;
+import org.insta.orm.schema.Migration;
+import org.insta.orm.schema.TableDefinition;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Singleton class declaring the tables and migrations of the AUTHENTICATION bundle.
+ * </p>
+ *
+ * <p>
+ * Accounts are looked up by name, email and mobile during sign in and sign up, so each of them has
+ * a unique index. The indexes live on every shard and only enforce uniqueness among the accounts
+ * of one shard.
+ * </p>
+ *
+ * <p>
+ * A follow edge is stored on the shard of the follower, keyed by the follower and the followed
+ * account. The edges are read in full when the follow graph is loaded into memory.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+public final class AccountSchema {
+
+    public static final String MODULE = "authentication";
+    private final List<TableDefinition> tables;
+    private final List<Migration> migrations;
+
+    /**
+     * <p>
+     * Private constructor to prevent instantiation.
+     * </p>
+     */
+    private AccountSchema() {
+        final TableDefinition account = new TableDefinition("account").column("id", "BIGINT NOT NULL")
+                .column("name", "VARCHAR(64) NOT NULL").column("mobile", "VARCHAR(16) NOT NULL")
+                .column("email", "VARCHAR(128) NOT NULL").column("password", "TEXT NOT NULL")
+                .primaryKey("id").unique("name").unique("email").unique("mobile");
+        final TableDefinition address = new TableDefinition("address").column("user_id", "BIGINT NOT NULL")
+                .column("door_no", "TEXT").column("street_name", "TEXT").column("state", "TEXT")
+                .primaryKey("user_id");
+        final TableDefinition follow = new TableDefinition("follow").column("follower_id", "BIGINT NOT NULL")
+                .column("followee_id", "BIGINT NOT NULL").column("created_at", "TIMESTAMP NOT NULL DEFAULT now()")
+                .primaryKey("follower_id", "followee_id").index(List.of("followee_id"));
+
+        tables = List.of(account, address, follow);
+        migrations = List.of(new Migration(1, "Account tables and lookup indexes",
+                        DdlGenerator.getInstance().buildStatements(List.of(account, address))),
+                new Migration(2, "Follow edges", DdlGenerator.getInstance().buildStatements(List.of(follow))));
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of {@code AccountSchema}.
+     * </p>
+     *
+     * @return the singleton instance of {@code AccountSchema}
+     */
+    public static AccountSchema getInstance() {
+        return InstanceHolder.ACCOUNT_SCHEMA;
+    }
+
+    /**
+     * @return the tables of the bundle
+     */
+    public List<TableDefinition> getTables() {
+        return tables;
+    }
+
+    /**
+     * @return the migrations of the bundle, in version order
+     */
+    public List<Migration> getMigrations() {
+        return migrations;
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final AccountSchema ACCOUNT_SCHEMA = new AccountSchema();
+    }
+}
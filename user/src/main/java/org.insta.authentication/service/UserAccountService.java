@@ -3,6 +3,8 @@ package org.insta.authentication.service;
 import org.insta.authentication.dao.UserAccountDAO;
 import org.insta.authentication.model.User;
 
+import java.util.List;
+
 /**
  * <p>
  * Represents the UserService interface for managing user accounts.
@@ -32,6 +34,14 @@ public interface UserAccountService {
      */
     byte[] getProfile(final Long profileId);
 
+    /**
+     * Retrieves several user profiles, reading the ones not cached together.
+     *
+     * @param profileIds The IDs of the user profiles to retrieve.
+     * @return The retrieved user profiles, in the order of the given IDs.
+     */
+    List<byte[]> getProfiles(final List<Long> profileIds);
+
     /**
      * <p>
      * Updates an existing user profile.
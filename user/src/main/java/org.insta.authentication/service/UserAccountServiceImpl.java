@@ -4,9 +4,21 @@ import org.insta.authentication.dao.UserAccountDAO;
 import org.insta.authentication.dao.UserAccountDAOImpl;
 import org.insta.authentication.groups.UserCredentialsValidator;
 import org.insta.authentication.model.User;
+import org.insta.databaseconnection.deadline.Deadline;
+import org.insta.databaseconnection.deadline.DeadlineContext;
+import org.insta.databaseconnection.replica.ReadYourWrites;
+import org.insta.wrapper.dataloader.DataLoader;
+import org.insta.wrapper.dataloader.DataLoaderContext;
+import org.insta.wrapper.etag.EntityTagCache;
+import org.insta.wrapper.exception.SingleFlightTimeoutException;
 import org.insta.wrapper.jsonvalidator.JsonResponseHandler;
+import org.insta.wrapper.responsecache.ResponseCache;
+import org.insta.wrapper.singleflight.SingleFlight;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * <p>
@@ -22,6 +34,12 @@ public final class UserAccountServiceImpl implements UserAccountService {
 
     private UserAccountDAO userAccountDAO;
     private final JsonResponseHandler jsonResponseHandler;
+    private final SingleFlight<Long, byte[]> profileFlight;
+    private final EntityTagCache entityTagCache;
+    private final ResponseCache responseCache;
+    private final DataLoaderContext dataLoaderContext;
+    private final ReadYourWrites readYourWrites;
+    private final DeadlineContext deadlineContext;
 
     /**
      * <p>
@@ -31,6 +49,12 @@ public final class UserAccountServiceImpl implements UserAccountService {
     private UserAccountServiceImpl() {
         userAccountDAO = UserAccountDAOImpl.getInstance();
         jsonResponseHandler = JsonResponseHandler.getInstance();
+        profileFlight = new SingleFlight<>("profile.get");
+        entityTagCache = EntityTagCache.getInstance();
+        responseCache = ResponseCache.getInstance();
+        dataLoaderContext = DataLoaderContext.getInstance();
+        readYourWrites = ReadYourWrites.getInstance();
+        deadlineContext = DeadlineContext.getInstance();
     }
 
     /**
@@ -65,11 +89,77 @@ public final class UserAccountServiceImpl implements UserAccountService {
     /**
      * {@inheritDoc}
      *
+     * <p>
+     * Concurrent reads of the same profile share one query, waited for no longer than the deadline
+     * of the request. A caller pinned to the primary after its own write reads on its own, as the
+     * shared query may be served by a replica which has not seen the write yet.
+     * </p>
+     *
      * @param id The ID of the user profile to retrieve.
      * @return A byte array representing the retrieved user profile, or null if no profile found.
      */
     public byte[] getProfile(final Long id) {
-        return jsonResponseHandler.objectResponse(userAccountDAO.getProfile(id).get());
+        final byte[] cachedResponse = responseCache.get("profile", id);
+
+        if (Objects.nonNull(cachedResponse)) {
+            return cachedResponse;
+        }
+        final Supplier<byte[]> read = () -> {
+            final long readNanos = System.nanoTime();
+            final User user = profileLoader().load(id);
+
+            return Objects.nonNull(user) ? responseCache.put("profile", id, jsonResponseHandler.objectResponse(user),
+                    readNanos) : jsonResponseHandler.stringManualResponse("User not found");
+        };
+
+        if (readYourWrites.isPinnedToPrimary()) {
+            return read.get();
+        }
+        final Deadline deadline = deadlineContext.getDeadline();
+
+        try {
+            return profileFlight.execute(id, Objects.isNull(deadline) ? Long.MAX_VALUE
+                    : deadline.getRemainingMillis(), read);
+        } catch (SingleFlightTimeoutException exception) {
+            return jsonResponseHandler.stringManualResponse(exception.getMessage());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The profiles missing from the response cache are queued on the loader of the request, so the
+     * first of them read fetches them all with one query per shard.
+     * </p>
+     *
+     * @param profileIds the IDs of the profiles to be retrieved
+     * @return the retrieved user profiles, in the order of the given IDs
+     */
+    public List<byte[]> getProfiles(final List<Long> profileIds) {
+        final byte[][] responses = new byte[profileIds.size()][];
+        final DataLoader<Long, User> loader = profileLoader();
+        final long readNanos = System.nanoTime();
+
+        for (int index = 0; index < profileIds.size(); index++) {
+            responses[index] = responseCache.get("profile", profileIds.get(index));
+
+            if (Objects.isNull(responses[index])) {
+                loader.enqueue(profileIds.get(index));
+            }
+        }
+
+        for (int index = 0; index < profileIds.size(); index++) {
+            if (Objects.isNull(responses[index])) {
+                final User user = loader.load(profileIds.get(index));
+
+                responses[index] = Objects.isNull(user) ? jsonResponseHandler.stringManualResponse("User not found")
+                        : responseCache.put("profile", profileIds.get(index), jsonResponseHandler.objectResponse(user),
+                        readNanos);
+            }
+        }
+
+        return Arrays.asList(responses);
     }
 
     /**
@@ -85,7 +175,13 @@ public final class UserAccountServiceImpl implements UserAccountService {
             return violations;
         }
 
-        return jsonResponseHandler.responseWithStatus(userAccountDAO.updateProfile(user));
+        final boolean updated = userAccountDAO.updateProfile(user);
+
+        responseCache.invalidate("profile", user.getUserId());
+        dataLoaderContext.invalidate("profile", user.getUserId());
+        entityTagCache.invalidate("profile", user.getUserId());
+
+        return jsonResponseHandler.responseWithStatus(updated);
     }
 
     /**
@@ -95,7 +191,13 @@ public final class UserAccountServiceImpl implements UserAccountService {
      * @return A byte array representing the deleted user profile, or null if update failed.
      */
     public byte[] deleteProfile(final Long id) {
-        return jsonResponseHandler.responseWithStatus(userAccountDAO.deleteProfile(id));
+        final boolean deleted = userAccountDAO.deleteProfile(id);
+
+        responseCache.invalidate("profile", id);
+        dataLoaderContext.invalidate("profile", id);
+        entityTagCache.invalidate("profile", id);
+
+        return jsonResponseHandler.responseWithStatus(deleted);
     }
 
     /**
@@ -116,5 +218,17 @@ public final class UserAccountServiceImpl implements UserAccountService {
     public void setReplacer(final UserAccountDAO userAccountDAO) {
         this.userAccountDAO = userAccountDAO;
     }
+
+    /**
+     * <p>
+     * Returns the loader of profiles of the current request.
+     * </p>
+     *
+     * @return The loader batching the profile lookups of the request.
+     */
+    private DataLoader<Long, User> profileLoader() {
+        return dataLoaderContext.getLoader("profile", id -> userAccountDAO.getProfile(id).orElse(null),
+                userAccountDAO::getProfiles);
+    }
 }
 
@@ -0,0 +1,38 @@
+package org.insta.authentication.service.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * <p>
+ * Represents the service exporting every row owned by an account.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see AccountExportServiceImpl
+ */
+public interface AccountExportService {
+
+    /**
+     * <p>
+     * Checks whether the account to be exported exists.
+     * </p>
+     *
+     * @param userId Refers the id of the user.
+     * @return True if the account exists, false otherwise.
+     */
+    boolean isAccountPresent(final Long userId);
+
+    /**
+     * <p>
+     * Writes the export of the account as newline delimited JSON, one row per line, while the rows
+     * are read from the database.
+     * </p>
+     *
+     * @param userId       Refers the id of the user.
+     * @param outputStream Refers the stream receiving the export.
+     * @throws IOException If the export cannot be written.
+     */
+    void exportAccount(final Long userId, final OutputStream outputStream) throws IOException;
+}
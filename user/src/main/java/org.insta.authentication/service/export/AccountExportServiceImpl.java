@@ -0,0 +1,188 @@
+package org.insta.authentication.service.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.insta.authentication.dao.UserAccountDAO;
+import org.insta.authentication.dao.UserAccountDAOImpl;
+import org.insta.authentication.exception.AccountExportFailedException;
+import org.insta.databaseconnection.replica.ReplicaSet;
+import org.insta.databaseconnection.shard.ShardedDataSource;
+import org.insta.orm.exception.StreamingQueryException;
+import org.insta.orm.stream.StreamingQuery;
+import org.insta.wrapper.jackson.MapperObject;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * Implementation class for exporting the data of an account as newline delimited JSON.
+ * </p>
+ *
+ * <p>
+ * Every section is read through a {@link StreamingQuery} cursor and each row is written as soon as
+ * it is read, so only one row and one fetch of the cursor are held in memory whatever the size of
+ * the account. Writes block while the client is not reading, which in turn stops the cursor from
+ * being advanced. The output is flushed every {@value #FLUSH_INTERVAL} rows so the client receives
+ * the export in chunks.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see ExportSection
+ * @see StreamingQuery
+ */
+public final class AccountExportServiceImpl implements AccountExportService {
+
+    private static final Logger LOGGER = LogManager.getLogger(AccountExportServiceImpl.class);
+    private static final int FLUSH_INTERVAL = 256;
+    private final ShardedDataSource shardedDataSource;
+    private final StreamingQuery streamingQuery;
+    private final UserAccountDAO userAccountDAO;
+    private final ObjectWriter objectWriter;
+
+    /**
+     * <p>
+     * Private constructor to restrict the object creation outside of the class.
+     * </p>
+     */
+    private AccountExportServiceImpl() {
+        shardedDataSource = ShardedDataSource.getInstance();
+        streamingQuery = StreamingQuery.getInstance();
+        userAccountDAO = UserAccountDAOImpl.getInstance();
+        objectWriter = new MapperObject().getObjectMapper().writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).withRootValueSeparator("\n");
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of AccountExportServiceImpl class.
+     * </p>
+     *
+     * @return The singleton instance of AccountExportServiceImpl class.
+     */
+    public static AccountExportService getInstance() {
+        return InstanceHolder.ACCOUNT_EXPORT_SERVICE;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param userId Refers the id of the user.
+     * @return True if the account exists, false otherwise.
+     */
+    public boolean isAccountPresent(final Long userId) {
+        return userAccountDAO.getProfile(userId).isPresent();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param userId       Refers the id of the user.
+     * @param outputStream Refers the stream receiving the export.
+     * @throws IOException If the export cannot be written.
+     */
+    public void exportAccount(final Long userId, final OutputStream outputStream) throws IOException {
+        long rows = 0;
+
+        try (final SequenceWriter sequenceWriter = objectWriter.writeValues(outputStream)) {
+            for (final ExportSection section : ExportSection.values()) {
+                if (section.isAllShards()) {
+                    for (final ReplicaSet shard : shardedDataSource.getShards()) {
+                        rows += writeSection(section, shard.getReadConnection(), userId, sequenceWriter);
+                    }
+                } else {
+                    rows += writeSection(section, shardedDataSource.getReadConnection(userId), userId,
+                            sequenceWriter);
+                }
+            }
+        } catch (SQLException exception) {
+            LOGGER.error("Account export failed, connection not available");
+            throw new AccountExportFailedException("Account export failed");
+        }
+        outputStream.write('\n');
+        outputStream.flush();
+        LOGGER.info(String.join(" ", "Exported", String.valueOf(rows), "rows of account", String.valueOf(userId)));
+    }
+
+    /**
+     * <p>
+     * Writes the rows of a section read over the given connection.
+     * </p>
+     *
+     * @param section        Refers the section being written.
+     * @param connection     Refers the connection, closed once the section is written.
+     * @param userId         Refers the id of the user.
+     * @param sequenceWriter Refers the writer of the export.
+     * @return The number of written rows.
+     * @throws IOException If the rows cannot be written.
+     */
+    private long writeSection(final ExportSection section, final Connection connection, final Long userId,
+                              final SequenceWriter sequenceWriter) throws IOException {
+        long rows = 0;
+
+        try (final Stream<Map<String, Object>> stream = streamingQuery.stream(connection,
+                section.getDataConfigContainer(), this::mapRow, userId)) {
+            final Iterator<Map<String, Object>> iterator = stream.iterator();
+
+            while (iterator.hasNext()) {
+                final Map<String, Object> line = new LinkedHashMap<>(2);
+
+                line.put("section", section.getName());
+                line.put("row", iterator.next());
+                sequenceWriter.write(line);
+
+                if (++rows % FLUSH_INTERVAL == 0) {
+                    sequenceWriter.flush();
+                }
+            }
+        } catch (StreamingQueryException exception) {
+            LOGGER.error(String.join(" ", "Account export failed on section", section.getName()));
+            throw new AccountExportFailedException("Account export failed");
+        }
+        sequenceWriter.flush();
+
+        return rows;
+    }
+
+    /**
+     * <p>
+     * Maps a row to its column labels and values.
+     * </p>
+     *
+     * @param resultSet Refers the cursor positioned on the row.
+     * @return The columns of the row, in the order of the query.
+     * @throws SQLException If the row cannot be read.
+     */
+    private Map<String, Object> mapRow(final ResultSet resultSet) throws SQLException {
+        final ResultSetMetaData metaData = resultSet.getMetaData();
+        final Map<String, Object> row = new LinkedHashMap<>();
+
+        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+            row.put(metaData.getColumnLabel(column), resultSet.getObject(column));
+        }
+
+        return row;
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final AccountExportService ACCOUNT_EXPORT_SERVICE = new AccountExportServiceImpl();
+    }
+}
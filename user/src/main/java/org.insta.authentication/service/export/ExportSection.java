@@ -0,0 +1,95 @@
+package org.insta.authentication.service.export;
+
+import org.insta.orm.model.Column;
+import org.insta.orm.model.DataConfigContainer;
+import org.insta.orm.model.WhereClause;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * Sections of an account export, written in the order they are declared.
+ * </p>
+ *
+ * <p>
+ * Content ids inherit the shard of their owner, so the profile and the content of a user are read
+ * from the shard of the user, as are the accounts the user follows. Likes, comments and shares are
+ * stored on the shard of the content they belong to, so the engagement of a user is read from every
+ * shard.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+public enum ExportSection {
+
+    ACCOUNT("account", "account", "id", false, "id", "name", "mobile", "email"),
+    ADDRESS("address", "address", "user_id", false),
+    FOLLOW("follow", "follow", "follower_id", false),
+    POST("post", "post", "user_id", false),
+    REEL("reel", "reels", "user_id", false),
+    STORY("story", "story", "user_id", false),
+    POST_COMMENT("post_comment", "post_comment", "commented_by", true),
+    REEL_COMMENT("reel_comment", "reel_comment", "commented_by", true),
+    POST_LIKE("post_like", "post_like", "liked_by", true),
+    REEL_LIKE("reel_like", "reel_like", "liked_by", true),
+    STORY_LIKE("story_like", "story_like", "liked_by", true),
+    POST_SHARE("post_share", "post_share", "shared_by", true),
+    REEL_SHARE("reel_share", "reel_share", "shared_by", true),
+    STORY_SHARE("story_share", "story_share", "shared_by", true);
+
+    private final String name;
+    private final String table;
+    private final String ownerColumn;
+    private final boolean allShards;
+    private final String[] columns;
+
+    /**
+     * <p>
+     * Constructs an ExportSection enum with the specified table and owner column.
+     * </p>
+     *
+     * @param name        Refers the name of the section in the export.
+     * @param table       Refers the name of the table.
+     * @param ownerColumn Refers the column holding the id of the user.
+     * @param allShards   Refers whether the rows are spread over every shard.
+     * @param columns     Refers the exported columns, every column when empty.
+     */
+    ExportSection(final String name, final String table, final String ownerColumn, final boolean allShards,
+                  final String... columns) {
+        this.name = name;
+        this.table = table;
+        this.ownerColumn = ownerColumn;
+        this.allShards = allShards;
+        this.columns = columns;
+    }
+
+    /**
+     * <p>
+     * Describes the SELECT query reading the rows of the user, the password of the account being
+     * left out of the export.
+     * </p>
+     *
+     * @return The data configuration container of the query.
+     */
+    public DataConfigContainer getDataConfigContainer() {
+        final DataConfigContainer dataConfigContainer = new DataConfigContainer();
+
+        dataConfigContainer.setTableName(table);
+        dataConfigContainer.setColumnList(Stream.of(columns).map(column -> new Column(column, table))
+                .collect(Collectors.toList()));
+        dataConfigContainer.setWhereClauses(List.of(new WhereClause(ownerColumn, table)));
+
+        return dataConfigContainer;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isAllShards() {
+        return allShards;
+    }
+}
@@ -0,0 +1,434 @@
+package org.insta.authentication.service.follow;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <p>
+ * Immutable compressed adjacency lists of the follow graph, one list per account.
+ * </p>
+ *
+ * <p>
+ * The lists are stored in compressed sparse row form: the neighbours of every account are sorted,
+ * encoded as the gaps between consecutive ids in variable length bytes and laid end to end in a
+ * single byte array, with the offset and the length of each list kept in int arrays. As ids created
+ * close in time are close in value, most gaps take two to four bytes instead of eight.
+ * </p>
+ *
+ * <p>
+ * Accounts are found through an open addressing hash table of primitive ids, so the degree of an
+ * account is read in constant time. A membership check decodes one list up to the searched id. Id
+ * zero is never generated and marks a free slot.
+ * </p>
+ *
+ * <p>
+ * An account keeps its row index across merges, even once all its neighbours are removed, and new
+ * accounts are appended after the existing ones, so the index numbers the accounts densely and can
+ * stand for the id in structures such as the {@link FollowerBitmap}.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see FollowGraph
+ */
+final class AdjacencyList {
+
+    static final AdjacencyList EMPTY = new Builder(0, 0).build();
+    private static final long[] NONE = new long[0];
+    private final long[] ids;
+    private final int[] degrees;
+    private final int[] offsets;
+    private final byte[] edges;
+    private final long[] slotIds;
+    private final int[] slotNodes;
+    private final long edgeCount;
+
+    /**
+     * @param builder Refers the builder holding the encoded lists.
+     */
+    private AdjacencyList(final Builder builder) {
+        ids = Arrays.copyOf(builder.ids, builder.size);
+        degrees = Arrays.copyOf(builder.degrees, builder.size);
+        offsets = Arrays.copyOf(builder.offsets, builder.size + 1);
+        edges = Arrays.copyOf(builder.edges, builder.length);
+        slotIds = new long[Integer.highestOneBit(Math.max(1, ids.length) * 2) * 2];
+        slotNodes = new int[slotIds.length];
+        long count = 0;
+
+        for (int node = 0; node < ids.length; node++) {
+            int slot = slot(ids[node]);
+
+            while (slotIds[slot] != 0) {
+                slot = (slot + 1) & (slotIds.length - 1);
+            }
+            slotIds[slot] = ids[node];
+            slotNodes[slot] = node;
+            count += degrees[node];
+        }
+        edgeCount = count;
+    }
+
+    /**
+     * <p>
+     * Builds the adjacency lists of the given edges, ignoring duplicated edges.
+     * </p>
+     *
+     * @param sources Refers the account each edge starts from.
+     * @param targets Refers the account each edge points to.
+     * @param count   Refers the number of edges.
+     * @return The adjacency lists.
+     */
+    static AdjacencyList build(final long[] sources, final long[] targets, final int count) {
+        final long[] sortedSources = Arrays.copyOf(sources, count);
+
+        Arrays.sort(sortedSources);
+        int distinct = 0;
+
+        for (int index = 0; index < count; index++) {
+            if (distinct == 0 || sortedSources[distinct - 1] != sortedSources[index]) {
+                sortedSources[distinct++] = sortedSources[index];
+            }
+        }
+        final int[] starts = new int[distinct + 1];
+
+        for (int index = 0; index < count; index++) {
+            starts[Arrays.binarySearch(sortedSources, 0, distinct, sources[index]) + 1]++;
+        }
+
+        for (int node = 0; node < distinct; node++) {
+            starts[node + 1] += starts[node];
+        }
+        final int[] next = Arrays.copyOf(starts, distinct);
+        final long[] grouped = new long[count];
+
+        for (int index = 0; index < count; index++) {
+            grouped[next[Arrays.binarySearch(sortedSources, 0, distinct, sources[index])]++] = targets[index];
+        }
+        final Builder builder = new Builder(distinct, count * 3);
+
+        for (int node = 0; node < distinct; node++) {
+            Arrays.sort(grouped, starts[node], starts[node + 1]);
+            builder.add(sortedSources[node], grouped, starts[node], starts[node + 1]);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * <p>
+     * Returns the number of neighbours of an account.
+     * </p>
+     *
+     * @param id Refers the id of the account.
+     * @return The number of neighbours.
+     */
+    int degree(final long id) {
+        final int node = indexOf(id);
+
+        return node < 0 ? 0 : degrees[node];
+    }
+
+    /**
+     * <p>
+     * Returns the neighbours of an account in ascending order.
+     * </p>
+     *
+     * @param id Refers the id of the account.
+     * @return The ids of the neighbours.
+     */
+    long[] neighbours(final long id) {
+        final int node = indexOf(id);
+
+        return node < 0 ? NONE : decode(node);
+    }
+
+    /**
+     * <p>
+     * Checks whether an account is a neighbour of another.
+     * </p>
+     *
+     * @param id        Refers the id of the account.
+     * @param neighbour Refers the id of the searched neighbour.
+     * @return True if the account has the neighbour.
+     */
+    boolean contains(final long id, final long neighbour) {
+        final int node = indexOf(id);
+
+        if (node < 0) {
+            return false;
+        }
+        int position = offsets[node];
+        long value = 0;
+
+        for (int index = 0; index < degrees[node]; index++) {
+            long gap = 0;
+            int shift = 0;
+            byte current;
+
+            do {
+                current = edges[position++];
+                gap |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while (current < 0);
+            value += gap;
+
+            if (value >= neighbour) {
+                return value == neighbour;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * <p>
+     * Returns new adjacency lists with the edges of the delta log applied.
+     * </p>
+     *
+     * <p>
+     * The lists untouched by the delta are copied in their encoded form, only the changed lists are
+     * decoded and encoded again. Every account keeps its row index and new accounts are appended.
+     * </p>
+     *
+     * @param added   Refers the neighbours added to each account.
+     * @param removed Refers the neighbours removed from each account.
+     * @return The merged adjacency lists.
+     */
+    AdjacencyList merge(final Map<Long, Set<Long>> added, final Map<Long, Set<Long>> removed) {
+        final Builder builder = new Builder(ids.length + added.size(), edges.length);
+
+        for (int node = 0; node < ids.length; node++) {
+            final Set<Long> addedNeighbours = added.get(ids[node]);
+            final Set<Long> removedNeighbours = removed.get(ids[node]);
+
+            if (Objects.isNull(addedNeighbours) && Objects.isNull(removedNeighbours)) {
+                builder.copy(ids[node], degrees[node], edges, offsets[node], offsets[node + 1]);
+            } else {
+                final long[] neighbours = apply(decode(node), addedNeighbours, removedNeighbours);
+
+                builder.add(ids[node], neighbours, 0, neighbours.length);
+            }
+        }
+
+        for (final Map.Entry<Long, Set<Long>> entry : added.entrySet()) {
+            if (indexOf(entry.getKey()) < 0) {
+                final long[] neighbours = apply(NONE, entry.getValue(), removed.get(entry.getKey()));
+
+                builder.add(entry.getKey(), neighbours, 0, neighbours.length);
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * @return the number of accounts that had at least one neighbour
+     */
+    int getNodeCount() {
+        return ids.length;
+    }
+
+    /**
+     * @return the number of edges
+     */
+    long getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * @return the bytes taken by the encoded neighbours
+     */
+    int getEncodedBytes() {
+        return edges.length;
+    }
+
+    /**
+     * <p>
+     * Applies added and removed neighbours to a sorted list of neighbours.
+     * </p>
+     *
+     * @param neighbours Refers the sorted neighbours.
+     * @param added      Refers the added neighbours, or null.
+     * @param removed    Refers the removed neighbours, or null.
+     * @return The sorted neighbours after the changes.
+     */
+    static long[] apply(final long[] neighbours, final Set<Long> added, final Set<Long> removed) {
+        final int addedCount = Objects.isNull(added) ? 0 : added.size();
+        final long[] result = Arrays.copyOf(neighbours, neighbours.length + addedCount);
+        int size = 0;
+
+        for (final long neighbour : neighbours) {
+            if (Objects.isNull(removed) || !removed.contains(neighbour)) {
+                result[size++] = neighbour;
+            }
+        }
+
+        if (addedCount > 0) {
+            for (final long neighbour : added) {
+                result[size++] = neighbour;
+            }
+            Arrays.sort(result, 0, size);
+        }
+
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * @param node Refers the index of the account.
+     * @return The neighbours of the account.
+     */
+    private long[] decode(final int node) {
+        final long[] neighbours = new long[degrees[node]];
+        int position = offsets[node];
+        long value = 0;
+
+        for (int index = 0; index < neighbours.length; index++) {
+            long gap = 0;
+            int shift = 0;
+            byte current;
+
+            do {
+                current = edges[position++];
+                gap |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while (current < 0);
+            value += gap;
+            neighbours[index] = value;
+        }
+
+        return neighbours;
+    }
+
+    /**
+     * <p>
+     * Returns the row index of an account.
+     * </p>
+     *
+     * @param id Refers the id of the account.
+     * @return The index of the account, or -1 if it never had neighbours.
+     */
+    int indexOf(final long id) {
+        int slot = slot(id);
+
+        while (slotIds[slot] != 0) {
+            if (slotIds[slot] == id) {
+                return slotNodes[slot];
+            }
+            slot = (slot + 1) & (slotIds.length - 1);
+        }
+
+        return -1;
+    }
+
+    /**
+     * @param id Refers the id of the account.
+     * @return The first slot probed for the account.
+     */
+    private int slot(final long id) {
+        final long hash = id * 0x9E3779B97F4A7C15L;
+
+        return (int) (hash ^ (hash >>> 32)) & (slotIds.length - 1);
+    }
+
+    /**
+     * <p>
+     * Growable arrays the adjacency lists are encoded into, one account after the other.
+     * </p>
+     */
+    private static final class Builder {
+
+        private long[] ids;
+        private int[] degrees;
+        private int[] offsets;
+        private byte[] edges;
+        private int size;
+        private int length;
+
+        /**
+         * @param nodes Refers the expected number of accounts.
+         * @param bytes Refers the expected number of encoded bytes.
+         */
+        private Builder(final int nodes, final int bytes) {
+            ids = new long[Math.max(nodes, 16)];
+            degrees = new int[ids.length];
+            offsets = new int[ids.length + 1];
+            edges = new byte[Math.max(bytes, 64)];
+        }
+
+        /**
+         * <p>
+         * Encodes the sorted neighbours of an account, skipping repeated neighbours.
+         * </p>
+         *
+         * @param id         Refers the id of the account.
+         * @param neighbours Refers the sorted neighbours.
+         * @param from       Refers the index of the first neighbour.
+         * @param to         Refers the index after the last neighbour.
+         */
+        private void add(final long id, final long[] neighbours, final int from, final int to) {
+            ensureNode();
+            int degree = 0;
+            long previous = 0;
+
+            for (int index = from; index < to; index++) {
+                if (degree > 0 && neighbours[index] == previous) {
+                    continue;
+                }
+                ensureBytes(10);
+                long gap = neighbours[index] - previous;
+
+                while ((gap & ~0x7FL) != 0) {
+                    edges[length++] = (byte) ((gap & 0x7F) | 0x80);
+                    gap >>>= 7;
+                }
+                edges[length++] = (byte) gap;
+                previous = neighbours[index];
+                degree++;
+            }
+            ids[size] = id;
+            degrees[size] = degree;
+            offsets[++size] = length;
+        }
+
+        /**
+         * <p>
+         * Copies an already encoded list of neighbours.
+         * </p>
+         *
+         * @param id     Refers the id of the account.
+         * @param degree Refers the number of neighbours.
+         * @param source Refers the encoded neighbours.
+         * @param from   Refers the offset of the list.
+         * @param to     Refers the offset after the list.
+         */
+        private void copy(final long id, final int degree, final byte[] source, final int from, final int to) {
+            ensureNode();
+            ensureBytes(to - from);
+            System.arraycopy(source, from, edges, length, to - from);
+            length += to - from;
+            ids[size] = id;
+            degrees[size] = degree;
+            offsets[++size] = length;
+        }
+
+        private void ensureNode() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                degrees = Arrays.copyOf(degrees, size * 2);
+                offsets = Arrays.copyOf(offsets, size * 2 + 1);
+            }
+        }
+
+        private void ensureBytes(final int bytes) {
+            if (length + bytes > edges.length) {
+                edges = Arrays.copyOf(edges, Math.max(edges.length * 2, length + bytes));
+            }
+        }
+
+        private AdjacencyList build() {
+            return new AdjacencyList(this);
+        }
+    }
+}
@@ -0,0 +1,571 @@
+package org.insta.authentication.service.follow;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.insta.authentication.dao.FollowDAO;
+import org.insta.authentication.dao.FollowDAOImpl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+/**
+ * <p>
+ * In-memory index of the follow edges, answering who follows whom without a query.
+ * </p>
+ *
+ * <p>
+ * The edges are held twice, as the followers and as the followees of every account, each in
+ * {@link AdjacencyList} form, so both directions have a constant time degree. The edges followed or
+ * unfollowed since the lists were built are kept in a delta log of added and removed edges, which
+ * the reads apply on top of the lists. The log is merged into new lists every
+ * {@link #MERGE_INTERVAL_SECONDS} seconds, or sooner once it holds {@link #MAX_DELTA} changes, and
+ * only the lists of the accounts it touches are encoded again.
+ * </p>
+ *
+ * <p>
+ * The lists and the log are published together as one snapshot, so a read never sees a log merged
+ * into the lists it reads. Changes and merges are serialized; reads take no lock. The edges are
+ * loaded from the database when the graph is first used, and again on the next use if the load
+ * fails.
+ * </p>
+ *
+ * <p>
+ * Listeners are told about every changed edge, so the views built from the graph, such as the home
+ * timelines, can drop what the change made outdated.
+ * </p>
+ *
+ * <p>
+ * Whether a viewer follows an account with many followers is answered from a {@link FollowerBitmap}
+ * of the followers in the lists, built on first use and kept with the snapshot. The bitmaps of the
+ * accounts whose followers a merge leaves untouched are carried over to the merged snapshot, as the
+ * row indexes they hold stay the same.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see AdjacencyList
+ * @see FollowDAO
+ */
+public final class FollowGraph {
+
+    private static final Logger LOGGER = LogManager.getLogger(FollowGraph.class);
+    private static final long MERGE_INTERVAL_SECONDS = 60;
+    private static final int MAX_DELTA = 100_000;
+    private static final int BITMAP_MIN_FOLLOWERS = 256;
+    private static final int MAX_BITMAPS = 50_000;
+    private static final long[] NONE = new long[0];
+    private FollowDAO followDAO;
+    private final List<BiConsumer<Long, Long>> listeners;
+    private final ScheduledExecutorService mergeExecutor;
+    private final AtomicBoolean mergeScheduled;
+    private volatile Snapshot snapshot;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private FollowGraph() {
+        listeners = new CopyOnWriteArrayList<>();
+        mergeScheduled = new AtomicBoolean();
+        mergeExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "insta-follow-merge");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        mergeExecutor.scheduleWithFixedDelay(this::mergeQuietly, MERGE_INTERVAL_SECONDS, MERGE_INTERVAL_SECONDS,
+                TimeUnit.SECONDS);
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of FollowGraph class.
+     * </p>
+     *
+     * @return The singleton instance of FollowGraph class.
+     */
+    public static FollowGraph getInstance() {
+        return InstanceHolder.FOLLOW_GRAPH;
+    }
+
+    /**
+     * <p>
+     * Records a stored follow edge.
+     * </p>
+     *
+     * @param followerId Refers the ID of the follower.
+     * @param followeeId Refers the ID of the followed account.
+     */
+    public void follow(final long followerId, final long followeeId) {
+        synchronized (this) {
+            final Snapshot current = getSnapshot();
+
+            current.delta.change(followerId, followeeId, true, current.followees.contains(followerId, followeeId));
+            scheduleMerge(current.delta);
+        }
+        listeners.forEach(listener -> listener.accept(followerId, followeeId));
+    }
+
+    /**
+     * <p>
+     * Records a removed follow edge.
+     * </p>
+     *
+     * @param followerId Refers the ID of the follower.
+     * @param followeeId Refers the ID of the followed account.
+     */
+    public void unfollow(final long followerId, final long followeeId) {
+        synchronized (this) {
+            final Snapshot current = getSnapshot();
+
+            current.delta.change(followerId, followeeId, false, current.followees.contains(followerId, followeeId));
+            scheduleMerge(current.delta);
+        }
+        listeners.forEach(listener -> listener.accept(followerId, followeeId));
+    }
+
+    /**
+     * <p>
+     * Returns the followers of an account in ascending order.
+     * </p>
+     *
+     * @param userId Refers the ID of the account.
+     * @return The IDs of the followers.
+     */
+    public long[] getFollowers(final long userId) {
+        final Snapshot current = getSnapshot();
+
+        return Delta.apply(current.followers.neighbours(userId), current.delta.addedFollowers,
+                current.delta.removedFollowers, userId);
+    }
+
+    /**
+     * <p>
+     * Returns the accounts an account follows in ascending order.
+     * </p>
+     *
+     * @param userId Refers the ID of the account.
+     * @return The IDs of the followed accounts.
+     */
+    public long[] getFollowees(final long userId) {
+        final Snapshot current = getSnapshot();
+
+        return Delta.apply(current.followees.neighbours(userId), current.delta.addedFollowees,
+                current.delta.removedFollowees, userId);
+    }
+
+    /**
+     * <p>
+     * Returns the number of followers of an account in constant time.
+     * </p>
+     *
+     * @param userId Refers the ID of the account.
+     * @return The number of followers.
+     */
+    public int getFollowerCount(final long userId) {
+        final Snapshot current = getSnapshot();
+
+        return current.followers.degree(userId) + size(current.delta.addedFollowers, userId)
+                - size(current.delta.removedFollowers, userId);
+    }
+
+    /**
+     * <p>
+     * Returns the number of accounts an account follows in constant time.
+     * </p>
+     *
+     * @param userId Refers the ID of the account.
+     * @return The number of followed accounts.
+     */
+    public int getFolloweeCount(final long userId) {
+        final Snapshot current = getSnapshot();
+
+        return current.followees.degree(userId) + size(current.delta.addedFollowees, userId)
+                - size(current.delta.removedFollowees, userId);
+    }
+
+    /**
+     * <p>
+     * Checks whether an account follows another, searching the shorter of the two lists.
+     * </p>
+     *
+     * @param followerId Refers the ID of the follower.
+     * @param followeeId Refers the ID of the followed account.
+     * @return True if the follower follows the account.
+     */
+    public boolean isFollowing(final long followerId, final long followeeId) {
+        final Snapshot current = getSnapshot();
+        final Set<Long> added = current.delta.addedFollowees.get(followerId);
+        final Set<Long> removed = current.delta.removedFollowees.get(followerId);
+
+        if (Objects.nonNull(added) && added.contains(followeeId)) {
+            return true;
+        }
+
+        if (Objects.nonNull(removed) && removed.contains(followeeId)) {
+            return false;
+        }
+
+        return current.followees.degree(followerId) <= current.followers.degree(followeeId)
+                ? current.followees.contains(followerId, followeeId)
+                : current.followers.contains(followeeId, followerId);
+    }
+
+    /**
+     * <p>
+     * Checks whether a viewer follows an account, testing the follower bitmap of the account once it
+     * has many followers.
+     * </p>
+     *
+     * @param userId   Refers the ID of the followed account.
+     * @param viewerId Refers the ID of the viewer.
+     * @return True if the viewer follows the account.
+     */
+    public boolean hasFollower(final long userId, final long viewerId) {
+        final Snapshot current = getSnapshot();
+
+        if (current.followers.degree(userId) < BITMAP_MIN_FOLLOWERS) {
+            return isFollowing(viewerId, userId);
+        }
+        final Set<Long> added = current.delta.addedFollowers.get(userId);
+        final Set<Long> removed = current.delta.removedFollowers.get(userId);
+
+        if (Objects.nonNull(added) && added.contains(viewerId)) {
+            return true;
+        }
+
+        if (Objects.nonNull(removed) && removed.contains(viewerId)) {
+            return false;
+        }
+        final int index = current.followees.indexOf(viewerId);
+
+        return index >= 0 && current.getBitmap(userId).contains(index);
+    }
+
+    /**
+     * <p>
+     * Registers a listener told about every followed or unfollowed edge, with the follower and the
+     * followed account.
+     * </p>
+     *
+     * @param listener Refers the listener.
+     */
+    public void addListener(final BiConsumer<Long, Long> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * <p>
+     * Injects the DAO the edges are loaded from, dropping the edges loaded so far.
+     * </p>
+     *
+     * @param followDAO {@link FollowDAO} Inject the dao into the graph.
+     */
+    public synchronized void setReplacer(final FollowDAO followDAO) {
+        this.followDAO = followDAO;
+        snapshot = null;
+    }
+
+    /**
+     * <p>
+     * Merges the delta log into new adjacency lists.
+     * </p>
+     */
+    public synchronized void merge() {
+        final Snapshot current = getSnapshot();
+
+        mergeScheduled.set(false);
+
+        if (current.delta.getSize() == 0) {
+            return;
+        }
+        final Delta delta = current.delta;
+        final Snapshot merged = new Snapshot(current.followers.merge(delta.addedFollowers, delta.removedFollowers),
+                current.followees.merge(delta.addedFollowees, delta.removedFollowees), new Delta());
+
+        current.bitmaps.forEach((userId, bitmap) -> {
+            if (!delta.addedFollowers.containsKey(userId) && !delta.removedFollowers.containsKey(userId)) {
+                merged.bitmaps.put(userId, bitmap);
+            }
+        });
+
+        snapshot = merged;
+        LOGGER.info(String.join(" ", "Follow graph merged", String.valueOf(merged.followees.getEdgeCount()),
+                "edges into", String.valueOf(merged.followees.getEncodedBytes() + merged.followers.getEncodedBytes()),
+                "bytes"));
+    }
+
+    /**
+     * @return the number of follow edges
+     */
+    public long getEdgeCount() {
+        final Snapshot current = getSnapshot();
+
+        return current.followees.getEdgeCount() + current.delta.getAddedCount() - current.delta.getRemovedCount();
+    }
+
+    /**
+     * @return the number of changes waiting in the delta log
+     */
+    public int getDeltaSize() {
+        return getSnapshot().delta.getSize();
+    }
+
+    /**
+     * <p>
+     * Returns the current snapshot, loading the edges from the database on first use.
+     * </p>
+     *
+     * <p>
+     * The DAO is looked up with the first load, unless one was injected, so the graph can be created
+     * without a database.
+     * </p>
+     *
+     * @return The current snapshot.
+     */
+    private Snapshot getSnapshot() {
+        final Snapshot current = snapshot;
+
+        if (Objects.nonNull(current)) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (Objects.isNull(snapshot)) {
+                if (Objects.isNull(followDAO)) {
+                    followDAO = FollowDAOImpl.getInstance();
+                }
+                final long[] edges = followDAO.getEdges();
+                final int count = edges.length / 2;
+                final long[] followerIds = new long[count];
+                final long[] followeeIds = new long[count];
+
+                for (int index = 0; index < count; index++) {
+                    followerIds[index] = edges[2 * index];
+                    followeeIds[index] = edges[2 * index + 1];
+                }
+                snapshot = new Snapshot(AdjacencyList.build(followeeIds, followerIds, count),
+                        AdjacencyList.build(followerIds, followeeIds, count), new Delta());
+                LOGGER.info(String.join(" ", "Follow graph loaded", String.valueOf(count), "edges"));
+            }
+
+            return snapshot;
+        }
+    }
+
+    /**
+     * <p>
+     * Schedules a merge once the delta log holds too many changes.
+     * </p>
+     *
+     * @param delta Refers the delta log of the current snapshot.
+     */
+    private void scheduleMerge(final Delta delta) {
+        if (delta.getSize() >= MAX_DELTA && mergeScheduled.compareAndSet(false, true)) {
+            mergeExecutor.execute(this::mergeQuietly);
+        }
+    }
+
+    private void mergeQuietly() {
+        try {
+            merge();
+        } catch (RuntimeException exception) {
+            LOGGER.error("Follow graph merge failed");
+        }
+    }
+
+    /**
+     * @param neighbours Refers the changed neighbours of every account.
+     * @param userId     Refers the ID of the account.
+     * @return The number of changed neighbours of the account.
+     */
+    private static int size(final Map<Long, Set<Long>> neighbours, final long userId) {
+        final Set<Long> changed = neighbours.get(userId);
+
+        return Objects.isNull(changed) ? 0 : changed.size();
+    }
+
+    /**
+     * <p>
+     * Adjacency lists, the delta log applied on top of them and the follower bitmaps built from them.
+     * </p>
+     */
+    private static final class Snapshot {
+
+        private final AdjacencyList followers;
+        private final AdjacencyList followees;
+        private final Delta delta;
+        private final Map<Long, FollowerBitmap> bitmaps = new ConcurrentHashMap<>();
+
+        /**
+         * @param followers Refers the followers of every account.
+         * @param followees Refers the followees of every account.
+         * @param delta     Refers the changes made since the lists were built.
+         */
+        private Snapshot(final AdjacencyList followers, final AdjacencyList followees, final Delta delta) {
+            this.followers = followers;
+            this.followees = followees;
+            this.delta = delta;
+        }
+
+        /**
+         * <p>
+         * Returns the bitmap of the followers of an account in the lists, building it on first use.
+         * </p>
+         *
+         * @param userId Refers the ID of the account.
+         * @return The bitmap of the row indexes of the followers in the followees lists.
+         */
+        private FollowerBitmap getBitmap(final long userId) {
+            final FollowerBitmap cached = bitmaps.get(userId);
+
+            if (Objects.nonNull(cached)) {
+                return cached;
+            }
+            final long[] followerIds = followers.neighbours(userId);
+            final int[] indexes = new int[followerIds.length];
+
+            for (int index = 0; index < followerIds.length; index++) {
+                indexes[index] = followees.indexOf(followerIds[index]);
+            }
+            final FollowerBitmap bitmap = FollowerBitmap.of(indexes);
+
+            if (bitmaps.size() >= MAX_BITMAPS) {
+                bitmaps.clear();
+            }
+            bitmaps.put(userId, bitmap);
+
+            return bitmap;
+        }
+    }
+
+    /**
+     * <p>
+     * Edges added and removed since the adjacency lists were built.
+     * </p>
+     *
+     * <p>
+     * An added edge is never in the lists and a removed edge always is, so a degree is the degree of
+     * the lists plus the added and minus the removed neighbours.
+     * </p>
+     */
+    private static final class Delta {
+
+        private final Map<Long, Set<Long>> addedFollowers = new ConcurrentHashMap<>();
+        private final Map<Long, Set<Long>> removedFollowers = new ConcurrentHashMap<>();
+        private final Map<Long, Set<Long>> addedFollowees = new ConcurrentHashMap<>();
+        private final Map<Long, Set<Long>> removedFollowees = new ConcurrentHashMap<>();
+        private volatile int size;
+        private volatile long addedCount;
+        private volatile long removedCount;
+
+        /**
+         * <p>
+         * Records a followed or unfollowed edge. Called with the lock of the graph held.
+         * </p>
+         *
+         * @param followerId Refers the ID of the follower.
+         * @param followeeId Refers the ID of the followed account.
+         * @param followed   Refers whether the edge is followed or unfollowed.
+         * @param listed     Refers whether the edge is in the adjacency lists.
+         */
+        private void change(final long followerId, final long followeeId, final boolean followed,
+                            final boolean listed) {
+            if (listed) {
+                update(removedFollowers, followeeId, followerId, !followed);
+
+                if (update(removedFollowees, followerId, followeeId, !followed)) {
+                    removedCount += followed ? -1 : 1;
+                }
+            } else {
+                update(addedFollowers, followeeId, followerId, followed);
+
+                if (update(addedFollowees, followerId, followeeId, followed)) {
+                    addedCount += followed ? 1 : -1;
+                }
+            }
+            size++;
+        }
+
+        /**
+         * <p>
+         * Returns the neighbours of an account with the changes of the log applied.
+         * </p>
+         *
+         * @param neighbours Refers the sorted neighbours of the adjacency lists.
+         * @param added      Refers the added neighbours of every account.
+         * @param removed    Refers the removed neighbours of every account.
+         * @param userId     Refers the ID of the account.
+         * @return The sorted neighbours.
+         */
+        private static long[] apply(final long[] neighbours, final Map<Long, Set<Long>> added,
+                                    final Map<Long, Set<Long>> removed, final long userId) {
+            final Set<Long> addedNeighbours = added.get(userId);
+            final Set<Long> removedNeighbours = removed.get(userId);
+
+            if (Objects.isNull(addedNeighbours) && Objects.isNull(removedNeighbours)) {
+                return neighbours.length == 0 ? NONE : neighbours;
+            }
+
+            return AdjacencyList.apply(neighbours, addedNeighbours, removedNeighbours);
+        }
+
+        private int getSize() {
+            return size;
+        }
+
+        private long getAddedCount() {
+            return addedCount;
+        }
+
+        private long getRemovedCount() {
+            return removedCount;
+        }
+
+        /**
+         * @param neighbours Refers the changed neighbours of every account.
+         * @param userId     Refers the ID of the account.
+         * @param neighbour  Refers the ID of the neighbour.
+         * @param present    Refers whether the neighbour is to be added to or dropped from the set.
+         * @return True if the set changed.
+         */
+        private static boolean update(final Map<Long, Set<Long>> neighbours, final long userId, final long neighbour,
+                                   final boolean present) {
+            if (present) {
+                return neighbours.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(neighbour);
+            }
+            final Set<Long> changed = neighbours.get(userId);
+
+            if (Objects.isNull(changed) || !changed.remove(neighbour)) {
+                return false;
+            }
+
+            if (changed.isEmpty()) {
+                neighbours.remove(userId);
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final FollowGraph FOLLOW_GRAPH = new FollowGraph();
+    }
+}
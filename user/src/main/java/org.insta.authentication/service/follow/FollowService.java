@@ -0,0 +1,65 @@
+package org.insta.authentication.service.follow;
+
+/**
+ * <p>
+ * Represents the service managing who follows whom.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see FollowServiceImpl
+ */
+public interface FollowService {
+
+    /**
+     * <p>
+     * Makes an account follow another.
+     * </p>
+     *
+     * @param followerId Refers the ID of the follower.
+     * @param followeeId Refers the ID of the account to be followed.
+     * @return A byte array representing the result of the operation.
+     */
+    byte[] follow(final Long followerId, final Long followeeId);
+
+    /**
+     * <p>
+     * Makes an account stop following another.
+     * </p>
+     *
+     * @param followerId Refers the ID of the follower.
+     * @param followeeId Refers the ID of the followed account.
+     * @return A byte array representing the result of the operation.
+     */
+    byte[] unfollow(final Long followerId, final Long followeeId);
+
+    /**
+     * <p>
+     * Retrieves the followers of an account.
+     * </p>
+     *
+     * @param userId Refers the ID of the account.
+     * @return A byte array representing the IDs of the followers.
+     */
+    byte[] getFollowers(final Long userId);
+
+    /**
+     * <p>
+     * Retrieves the accounts an account follows.
+     * </p>
+     *
+     * @param userId Refers the ID of the account.
+     * @return A byte array representing the IDs of the followed accounts.
+     */
+    byte[] getFollowees(final Long userId);
+
+    /**
+     * <p>
+     * Retrieves the number of followers and followed accounts of an account.
+     * </p>
+     *
+     * @param userId Refers the ID of the account.
+     * @return A byte array representing the counts.
+     */
+    byte[] getCounts(final Long userId);
+}
@@ -0,0 +1,147 @@
+package org.insta.authentication.service.follow;
+
+import org.insta.authentication.dao.FollowDAO;
+import org.insta.authentication.dao.FollowDAOImpl;
+import org.insta.authentication.dao.UserAccountDAO;
+import org.insta.authentication.dao.UserAccountDAOImpl;
+import org.insta.wrapper.jsonvalidator.JsonResponseHandler;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Implementation of the FollowService interface.
+ * </p>
+ *
+ * <p>
+ * An edge is stored before it is recorded in the {@link FollowGraph}, and only if the database
+ * changed, so repeating a follow or an unfollow leaves the graph as it is. The lists and counts are
+ * answered by the graph without a query.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see FollowGraph
+ * @see FollowDAOImpl
+ */
+public final class FollowServiceImpl implements FollowService {
+
+    private final FollowDAO followDAO;
+    private final UserAccountDAO userAccountDAO;
+    private final FollowGraph followGraph;
+    private final JsonResponseHandler jsonResponseHandler;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside the class
+     * </p>
+     */
+    private FollowServiceImpl() {
+        followDAO = FollowDAOImpl.getInstance();
+        userAccountDAO = UserAccountDAOImpl.getInstance();
+        followGraph = FollowGraph.getInstance();
+        jsonResponseHandler = JsonResponseHandler.getInstance();
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of FollowServiceImpl class.
+     * </p>
+     *
+     * @return the singleton instance of FollowServiceImpl class.
+     */
+    public static FollowService getInstance() {
+        return InstanceHolder.FOLLOW_SERVICE;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param followerId Refers the ID of the follower.
+     * @param followeeId Refers the ID of the account to be followed.
+     * @return A byte array representing the result of the operation.
+     */
+    public byte[] follow(final Long followerId, final Long followeeId) {
+        if (Objects.isNull(followerId) || Objects.isNull(followeeId) || followerId.equals(followeeId)) {
+            return jsonResponseHandler.stringManualResponse("Invalid follow");
+        }
+
+        if (userAccountDAO.getProfile(followeeId).isEmpty()) {
+            return jsonResponseHandler.stringManualResponse("User not found");
+        }
+        final boolean followed = followDAO.follow(followerId, followeeId);
+
+        if (followed) {
+            followGraph.follow(followerId, followeeId);
+        }
+
+        return jsonResponseHandler.responseWithStatus(followed);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param followerId Refers the ID of the follower.
+     * @param followeeId Refers the ID of the followed account.
+     * @return A byte array representing the result of the operation.
+     */
+    public byte[] unfollow(final Long followerId, final Long followeeId) {
+        if (Objects.isNull(followerId) || Objects.isNull(followeeId)) {
+            return jsonResponseHandler.stringManualResponse("Invalid follow");
+        }
+        final boolean unfollowed = followDAO.unfollow(followerId, followeeId);
+
+        if (unfollowed) {
+            followGraph.unfollow(followerId, followeeId);
+        }
+
+        return jsonResponseHandler.responseWithStatus(unfollowed);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param userId Refers the ID of the account.
+     * @return A byte array representing the IDs of the followers.
+     */
+    public byte[] getFollowers(final Long userId) {
+        return jsonResponseHandler.objectResponse(followGraph.getFollowers(userId));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param userId Refers the ID of the account.
+     * @return A byte array representing the IDs of the followed accounts.
+     */
+    public byte[] getFollowees(final Long userId) {
+        return jsonResponseHandler.objectResponse(followGraph.getFollowees(userId));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param userId Refers the ID of the account.
+     * @return A byte array representing the counts.
+     */
+    public byte[] getCounts(final Long userId) {
+        final Map<String, Integer> counts = new LinkedHashMap<>();
+
+        counts.put("followers", followGraph.getFollowerCount(userId));
+        counts.put("followees", followGraph.getFolloweeCount(userId));
+
+        return jsonResponseHandler.objectResponse(counts);
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final FollowService FOLLOW_SERVICE = new FollowServiceImpl();
+    }
+}
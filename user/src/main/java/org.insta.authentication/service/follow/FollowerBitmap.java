@@ -0,0 +1,149 @@
+package org.insta.authentication.service.follow;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Immutable compressed bitmap of the followers of an account, in the layout of a roaring bitmap.
+ * </p>
+ *
+ * <p>
+ * Followers are stored by the row index their account has in the followees {@link AdjacencyList},
+ * which numbers the following accounts densely from zero. The indexes are split by their upper 16
+ * bits into chunks kept in a sorted key array. A chunk of up to {@link #ARRAY_LIMIT} followers is a
+ * sorted array of the lower 16 bits, a fuller chunk is a bitmap of 65536 bits, so a chunk never
+ * takes more than eight kilobytes and a sparse one takes two bytes per follower.
+ * </p>
+ *
+ * <p>
+ * A membership check is a binary search over the keys followed by a bit test or a binary search in
+ * one chunk, which takes nanoseconds even for accounts with millions of followers.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see FollowGraph
+ */
+final class FollowerBitmap {
+
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1024;
+    private final char[] keys;
+    private final char[][] arrays;
+    private final long[][] bitmaps;
+    private final int cardinality;
+
+    /**
+     * @param keys        Refers the upper 16 bits of every chunk.
+     * @param arrays      Refers the array chunks, null where the chunk is a bitmap.
+     * @param bitmaps     Refers the bitmap chunks, null where the chunk is an array.
+     * @param cardinality Refers the number of followers.
+     */
+    private FollowerBitmap(final char[] keys, final char[][] arrays, final long[][] bitmaps, final int cardinality) {
+        this.keys = keys;
+        this.arrays = arrays;
+        this.bitmaps = bitmaps;
+        this.cardinality = cardinality;
+    }
+
+    /**
+     * <p>
+     * Builds the bitmap of the given row indexes.
+     * </p>
+     *
+     * @param indexes Refers the row indexes, sorted in place.
+     * @return The bitmap.
+     */
+    static FollowerBitmap of(final int[] indexes) {
+        Arrays.sort(indexes);
+        int chunks = 0;
+
+        for (int index = 0; index < indexes.length; index++) {
+            if (index == 0 || indexes[index] >>> 16 != indexes[index - 1] >>> 16) {
+                chunks++;
+            }
+        }
+        final char[] keys = new char[chunks];
+        final char[][] arrays = new char[chunks][];
+        final long[][] bitmaps = new long[chunks][];
+        int cardinality = 0;
+        int start = 0;
+
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            final int key = indexes[start] >>> 16;
+            int end = start;
+            int count = 0;
+
+            while (end < indexes.length && indexes[end] >>> 16 == key) {
+                if (end == start || indexes[end] != indexes[end - 1]) {
+                    count++;
+                }
+                end++;
+            }
+            keys[chunk] = (char) key;
+
+            if (count > ARRAY_LIMIT) {
+                bitmaps[chunk] = new long[BITMAP_WORDS];
+
+                for (int index = start; index < end; index++) {
+                    bitmaps[chunk][(indexes[index] & 0xFFFF) >>> 6] |= 1L << indexes[index];
+                }
+            } else {
+                arrays[chunk] = new char[count];
+                int size = 0;
+
+                for (int index = start; index < end; index++) {
+                    if (index == start || indexes[index] != indexes[index - 1]) {
+                        arrays[chunk][size++] = (char) indexes[index];
+                    }
+                }
+            }
+            cardinality += count;
+            start = end;
+        }
+
+        return new FollowerBitmap(keys, arrays, bitmaps, cardinality);
+    }
+
+    /**
+     * <p>
+     * Checks whether the account with the given row index is a follower.
+     * </p>
+     *
+     * @param index Refers the row index of the account.
+     * @return True if the account is a follower.
+     */
+    boolean contains(final int index) {
+        final int chunk = Arrays.binarySearch(keys, (char) (index >>> 16));
+
+        if (chunk < 0) {
+            return false;
+        }
+
+        if (bitmaps[chunk] != null) {
+            return (bitmaps[chunk][(index & 0xFFFF) >>> 6] & (1L << index)) != 0;
+        }
+
+        return Arrays.binarySearch(arrays[chunk], (char) index) >= 0;
+    }
+
+    /**
+     * @return the number of followers
+     */
+    int getCardinality() {
+        return cardinality;
+    }
+
+    /**
+     * @return the bytes taken by the chunks and their keys
+     */
+    long getSizeInBytes() {
+        long bytes = 2L * keys.length;
+
+        for (int chunk = 0; chunk < keys.length; chunk++) {
+            bytes += bitmaps[chunk] != null ? 8L * BITMAP_WORDS : 2L * arrays[chunk].length;
+        }
+
+        return bytes;
+    }
+}
@@ -0,0 +1,96 @@
+package org.insta.authentication.service.follow;
+
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>
+ * Unit tests for the AdjacencyList encoding and merge.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see AdjacencyList
+ */
+public class AdjacencyListTest {
+
+    /**
+     * <p>
+     * Tests that gaps of one to nine variable length bytes are encoded and decoded exactly.
+     * </p>
+     */
+    @Test
+    public void testVarintDeltaEncodingOfLargeGaps() {
+        final long[] neighbours = {1, 128, 1L << 40, Long.MAX_VALUE};
+        final AdjacencyList adjacencyList = AdjacencyList.build(new long[] {7, 7, 7, 7}, neighbours, 4);
+
+        assertEquals(1 + 1 + 6 + 9, adjacencyList.getEncodedBytes());
+        assertArrayEquals(neighbours, adjacencyList.neighbours(7));
+        assertEquals(4, adjacencyList.degree(7));
+
+        for (final long neighbour : neighbours) {
+            assertTrue(adjacencyList.contains(7, neighbour));
+        }
+        assertFalse(adjacencyList.contains(7, 2));
+        assertFalse(adjacencyList.contains(7, (1L << 40) + 1));
+        assertFalse(adjacencyList.contains(8, 1));
+    }
+
+    /**
+     * <p>
+     * Tests that the neighbours are sorted and repeated edges are kept once.
+     * </p>
+     */
+    @Test
+    public void testBuildSortsAndDeduplicates() {
+        final AdjacencyList adjacencyList = AdjacencyList.build(new long[] {2, 1, 2, 2}, new long[] {30, 5, 10, 30},
+                4);
+
+        assertArrayEquals(new long[] {10, 30}, adjacencyList.neighbours(2));
+        assertArrayEquals(new long[] {5}, adjacencyList.neighbours(1));
+        assertEquals(2, adjacencyList.getNodeCount());
+        assertEquals(3, adjacencyList.getEdgeCount());
+    }
+
+    /**
+     * <p>
+     * Tests that a merge keeps the row index of every account, even one left without neighbours,
+     * and appends the new accounts.
+     * </p>
+     */
+    @Test
+    public void testMergePreservesRowIndexes() {
+        final AdjacencyList adjacencyList = AdjacencyList.build(new long[] {30, 10, 20}, new long[] {1, 2, 3}, 3);
+        final int[] indexes = {adjacencyList.indexOf(10), adjacencyList.indexOf(20), adjacencyList.indexOf(30)};
+        final AdjacencyList merged = adjacencyList.merge(Map.of(5L, Set.of(9L), 30L, Set.of(4L, 1L << 35)),
+                Map.of(20L, Set.of(3L)));
+
+        assertArrayEquals(indexes, new int[] {merged.indexOf(10), merged.indexOf(20), merged.indexOf(30)});
+        assertEquals(3, merged.indexOf(5));
+        assertEquals(4, merged.getNodeCount());
+        assertEquals(0, merged.degree(20));
+        assertArrayEquals(new long[] {2}, merged.neighbours(10));
+        assertArrayEquals(new long[] {1, 4, 1L << 35}, merged.neighbours(30));
+        assertArrayEquals(new long[] {9}, merged.neighbours(5));
+        assertEquals(5, merged.getEdgeCount());
+    }
+
+    /**
+     * <p>
+     * Tests that applying a delta removes and adds neighbours in sorted order.
+     * </p>
+     */
+    @Test
+    public void testApplyDelta() {
+        assertArrayEquals(new long[] {1, 3, 8}, AdjacencyList.apply(new long[] {1, 5, 8}, Set.of(3L), Set.of(5L)));
+        assertArrayEquals(new long[] {1, 8}, AdjacencyList.apply(new long[] {1, 5, 8}, null, Set.of(5L)));
+        assertArrayEquals(new long[] {2}, AdjacencyList.apply(new long[0], Set.of(2L), null));
+    }
+}
@@ -0,0 +1,148 @@
+package org.insta.authentication.service.follow;
+
+import org.insta.authentication.dao.FollowDAO;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * <p>
+ * Unit tests for the FollowGraph delta log and merge, with the edges loaded from a mocked DAO.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see FollowGraph
+ */
+public class FollowGraphTest {
+
+    private FollowGraph followGraph;
+
+    /**
+     * <p>
+     * Loads a graph where account 1 follows account 2.
+     * </p>
+     */
+    @Before
+    public void setUp() {
+        load(new long[] {1, 2});
+    }
+
+    /**
+     * <p>
+     * Tests that a follow and an unfollow of an edge not in the lists cancel out before a merge.
+     * </p>
+     */
+    @Test
+    public void testFollowThenUnfollowBeforeMerge() {
+        followGraph.follow(3, 2);
+        followGraph.unfollow(3, 2);
+
+        assertFalse(followGraph.isFollowing(3, 2));
+        assertArrayEquals(new long[] {1}, followGraph.getFollowers(2));
+        assertArrayEquals(new long[0], followGraph.getFollowees(3));
+        assertEquals(1, followGraph.getFollowerCount(2));
+        assertEquals(0, followGraph.getFolloweeCount(3));
+        assertEquals(1, followGraph.getEdgeCount());
+
+        followGraph.merge();
+
+        assertFalse(followGraph.isFollowing(3, 2));
+        assertArrayEquals(new long[] {1}, followGraph.getFollowers(2));
+        assertEquals(1, followGraph.getEdgeCount());
+    }
+
+    /**
+     * <p>
+     * Tests that an unfollow and a follow of an edge in the lists cancel out.
+     * </p>
+     */
+    @Test
+    public void testUnfollowThenFollowListedEdge() {
+        followGraph.unfollow(1, 2);
+
+        assertFalse(followGraph.isFollowing(1, 2));
+        assertEquals(0, followGraph.getFollowerCount(2));
+        assertEquals(0, followGraph.getEdgeCount());
+
+        followGraph.follow(1, 2);
+
+        assertTrue(followGraph.isFollowing(1, 2));
+        assertArrayEquals(new long[] {2}, followGraph.getFollowees(1));
+        assertEquals(1, followGraph.getFollowerCount(2));
+        assertEquals(1, followGraph.getEdgeCount());
+    }
+
+    /**
+     * <p>
+     * Tests that the changes read through the delta log are the ones found in the lists after a merge.
+     * </p>
+     */
+    @Test
+    public void testMergeAppliesDelta() {
+        followGraph.follow(4, 2);
+        followGraph.unfollow(1, 2);
+        followGraph.follow(1, 3);
+
+        assertArrayEquals(new long[] {4}, followGraph.getFollowers(2));
+        assertEquals(3, followGraph.getDeltaSize());
+
+        followGraph.merge();
+
+        assertEquals(0, followGraph.getDeltaSize());
+        assertArrayEquals(new long[] {4}, followGraph.getFollowers(2));
+        assertArrayEquals(new long[] {3}, followGraph.getFollowees(1));
+        assertEquals(1, followGraph.getFolloweeCount(4));
+        assertEquals(2, followGraph.getEdgeCount());
+    }
+
+    /**
+     * <p>
+     * Tests the follower checks of an account with enough followers for a bitmap, across a merge.
+     * </p>
+     */
+    @Test
+    public void testHasFollowerWithBitmap() {
+        final int followers = 300;
+        final long[] edges = new long[followers * 2];
+
+        for (int index = 0; index < followers; index++) {
+            edges[2 * index] = 1_000 + index;
+            edges[2 * index + 1] = 1;
+        }
+        load(edges);
+
+        assertTrue(followGraph.hasFollower(1, 1_000));
+        assertTrue(followGraph.hasFollower(1, 1_299));
+        assertFalse(followGraph.hasFollower(1, 1_300));
+
+        followGraph.unfollow(1_000, 1);
+        followGraph.follow(1_300, 1);
+
+        assertFalse(followGraph.hasFollower(1, 1_000));
+        assertTrue(followGraph.hasFollower(1, 1_300));
+
+        followGraph.merge();
+
+        assertFalse(followGraph.hasFollower(1, 1_000));
+        assertTrue(followGraph.hasFollower(1, 1_300));
+        assertTrue(followGraph.hasFollower(1, 1_150));
+    }
+
+    /**
+     * @param edges Refers the follower and followee ids of every edge, one after the other.
+     */
+    private void load(final long[] edges) {
+        final FollowDAO followDAO = mock(FollowDAO.class);
+
+        when(followDAO.getEdges()).thenReturn(edges);
+        followGraph = FollowGraph.getInstance();
+        followGraph.setReplacer(followDAO);
+    }
+}
@@ -0,0 +1,132 @@
+package org.insta.authentication.service.follow;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>
+ * Unit tests for the FollowerBitmap chunks.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see FollowerBitmap
+ */
+public class FollowerBitmapTest {
+
+    private static final long BITMAP_CHUNK_BYTES = 2 + 8192;
+
+    /**
+     * <p>
+     * Tests that a chunk stays an array up to 4096 followers and becomes a bitmap above, where the
+     * array would take more bytes.
+     * </p>
+     */
+    @Test
+    public void testArrayBitmapThreshold() {
+        assertEquals(2 + 2 * 4095, of(0, 4095, 3).getSizeInBytes());
+        assertEquals(2 + 2 * 4096, of(0, 4096, 3).getSizeInBytes());
+        assertEquals(BITMAP_CHUNK_BYTES, of(0, 4097, 3).getSizeInBytes());
+        assertEquals(BITMAP_CHUNK_BYTES, of(0, 20_000, 3).getSizeInBytes());
+
+        for (final int count : new int[] {4096, 4097}) {
+            final FollowerBitmap followerBitmap = of(0, count, 3);
+
+            assertEquals(count, followerBitmap.getCardinality());
+            assertTrue(followerBitmap.contains(0));
+            assertTrue(followerBitmap.contains(3 * (count - 1)));
+            assertFalse(followerBitmap.contains(1));
+            assertFalse(followerBitmap.contains(3 * count));
+        }
+    }
+
+    /**
+     * <p>
+     * Tests that repeated indexes are counted once in array and bitmap chunks, and do not push an array
+     * chunk over the threshold.
+     * </p>
+     */
+    @Test
+    public void testDuplicateIndexes() {
+        final FollowerBitmap sparse = FollowerBitmap.of(new int[] {70_000, 5, 5, 70_000, 5});
+
+        assertEquals(2, sparse.getCardinality());
+        assertEquals(2 * 2 + 2 + 2, sparse.getSizeInBytes());
+        assertTrue(sparse.contains(5));
+        assertTrue(sparse.contains(70_000));
+
+        final int[] indexes = new int[8192];
+
+        for (int index = 0; index < indexes.length; index++) {
+            indexes[index] = index / 2;
+        }
+        final FollowerBitmap repeated = FollowerBitmap.of(indexes);
+
+        assertEquals(4096, repeated.getCardinality());
+        assertEquals(2 + 2 * 4096, repeated.getSizeInBytes());
+
+        final int[] denseIndexes = new int[10_000];
+
+        for (int index = 0; index < denseIndexes.length; index++) {
+            denseIndexes[index] = index % 5_000;
+        }
+        final FollowerBitmap dense = FollowerBitmap.of(denseIndexes);
+
+        assertEquals(5_000, dense.getCardinality());
+        assertEquals(BITMAP_CHUNK_BYTES, dense.getSizeInBytes());
+        assertTrue(dense.contains(4_999));
+        assertFalse(dense.contains(5_000));
+    }
+
+    /**
+     * <p>
+     * Tests that a lookup only matches indexes of its own chunk key, for array and bitmap chunks.
+     * </p>
+     */
+    @Test
+    public void testContainsAcrossChunkKeys() {
+        final int[] indexes = new int[5_003];
+
+        for (int index = 0; index < 5_000; index++) {
+            indexes[index] = 65_536 + 2 * index;
+        }
+        indexes[5_000] = 65_535;
+        indexes[5_001] = 131_072 + 7;
+        indexes[5_002] = 3 * 65_536 - 1;
+
+        final FollowerBitmap followerBitmap = FollowerBitmap.of(indexes);
+
+        assertEquals(5_003, followerBitmap.getCardinality());
+        assertTrue(followerBitmap.contains(65_535));
+        assertFalse(followerBitmap.contains(0));
+        assertTrue(followerBitmap.contains(65_536));
+        assertTrue(followerBitmap.contains(65_536 + 64));
+        assertFalse(followerBitmap.contains(65_536 + 63));
+        assertFalse(followerBitmap.contains(64));
+        assertTrue(followerBitmap.contains(131_079));
+        assertTrue(followerBitmap.contains(3 * 65_536 - 1));
+        assertFalse(followerBitmap.contains(7));
+        assertFalse(followerBitmap.contains(65_536 + 7));
+        assertFalse(followerBitmap.contains(3 * 65_536 + 7));
+        assertFalse(FollowerBitmap.of(new int[0]).contains(0));
+    }
+
+    /**
+     * @param first Refers the first index.
+     * @param count Refers the number of indexes.
+     * @param step  Refers the difference between consecutive indexes.
+     * @return The bitmap of the indexes.
+     */
+    private static FollowerBitmap of(final int first, final int count, final int step) {
+        final int[] indexes = new int[count];
+
+        for (int index = 0; index < count; index++) {
+            indexes[index] = first + index * step;
+        }
+
+        return FollowerBitmap.of(indexes);
+    }
+}
@@ -0,0 +1,151 @@
+package org.insta.wrapper.dataloader;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * Batches and caches the lookups of entities by id within one request.
+ * </p>
+ *
+ * <p>
+ * Ids are queued with {@link #enqueue} while a composite read finds out what it needs, and the
+ * first {@link #load} or {@link #loadMany} fetches every queued id with one call of the batch
+ * function, a single {@code = ANY(?)} query per shard, instead of one query per id. A lone id is
+ * fetched with the single lookup. Every result, missing entities included, is cached for the rest
+ * of the request, so the same id is never read twice.
+ * </p>
+ *
+ * <p>
+ * A loader belongs to the thread of its request and is not thread-safe.
+ * </p>
+ *
+ * @param <K> the type of the ids
+ * @param <V> the type of the entities
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see DataLoaderContext
+ */
+public final class DataLoader<K, V> {
+
+    private static final int MAX_BATCH_SIZE = 500;
+    private final Function<K, V> loader;
+    private final Function<List<K>, Map<K, V>> batchLoader;
+    private final Map<K, V> loaded;
+    private final Set<K> pending;
+
+    /**
+     * <p>
+     * Creates a loader.
+     * </p>
+     *
+     * @param loader      Refers the lookup of one id, returning null when the entity is missing.
+     * @param batchLoader Refers the lookup of several ids, leaving the missing entities out.
+     */
+    public DataLoader(final Function<K, V> loader, final Function<List<K>, Map<K, V>> batchLoader) {
+        this.loader = loader;
+        this.batchLoader = batchLoader;
+        loaded = new HashMap<>();
+        pending = new LinkedHashSet<>();
+    }
+
+    /**
+     * <p>
+     * Queues an id for the next dispatch unless it is loaded already.
+     * </p>
+     *
+     * @param key Refers the id.
+     */
+    public void enqueue(final K key) {
+        if (!loaded.containsKey(key)) {
+            pending.add(key);
+        }
+    }
+
+    /**
+     * <p>
+     * Loads an entity, dispatching it together with every queued id.
+     * </p>
+     *
+     * @param key Refers the id.
+     * @return The entity, or null if it is missing.
+     */
+    public V load(final K key) {
+        enqueue(key);
+        dispatch();
+
+        return loaded.get(key);
+    }
+
+    /**
+     * <p>
+     * Loads several entities, dispatching them together with every queued id.
+     * </p>
+     *
+     * @param keys Refers the ids.
+     * @return The entities found, by id, in the order of the given ids.
+     */
+    public Map<K, V> loadMany(final Collection<K> keys) {
+        final Map<K, V> entities = new LinkedHashMap<>();
+
+        keys.forEach(this::enqueue);
+        dispatch();
+
+        for (final K key : keys) {
+            final V entity = loaded.get(key);
+
+            if (Objects.nonNull(entity)) {
+                entities.put(key, entity);
+            }
+        }
+
+        return entities;
+    }
+
+    /**
+     * <p>
+     * Fetches every queued id, at most {@value #MAX_BATCH_SIZE} ids per call of the batch function.
+     * </p>
+     */
+    public void dispatch() {
+        while (!pending.isEmpty()) {
+            final List<K> batch = new ArrayList<>(Math.min(pending.size(), MAX_BATCH_SIZE));
+            final Iterator<K> iterator = pending.iterator();
+
+            while (iterator.hasNext() && batch.size() < MAX_BATCH_SIZE) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+
+            if (batch.size() == 1) {
+                loaded.put(batch.get(0), loader.apply(batch.get(0)));
+            } else {
+                final Map<K, V> entities = batchLoader.apply(batch);
+
+                for (final K key : batch) {
+                    loaded.put(key, entities.get(key));
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Forgets an entity after it was written, so it is read again.
+     * </p>
+     *
+     * @param key Refers the id.
+     */
+    public void clear(final K key) {
+        loaded.remove(key);
+    }
+}
@@ -0,0 +1,117 @@
+package org.insta.wrapper.dataloader;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * Keeps the {@link DataLoader} of each kind of entity for the request of the current thread.
+ * </p>
+ *
+ * <p>
+ * The loaders live from {@link #bind} to {@link #clear}, called around each request. A thread
+ * without a request, such as a worker thread, gets a new loader for every lookup, so nothing is
+ * cached beyond the request which read it.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see DataLoader
+ */
+public final class DataLoaderContext {
+
+    private final ThreadLocal<Map<String, DataLoader<?, ?>>> loaders;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private DataLoaderContext() {
+        loaders = new ThreadLocal<>();
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of DataLoaderContext class.
+     * </p>
+     *
+     * @return The singleton instance of DataLoaderContext class.
+     */
+    public static DataLoaderContext getInstance() {
+        return InstanceHolder.DATA_LOADER_CONTEXT;
+    }
+
+    /**
+     * <p>
+     * Starts the loaders of the request of the current thread.
+     * </p>
+     */
+    public void bind() {
+        loaders.set(new HashMap<>());
+    }
+
+    /**
+     * <p>
+     * Drops the loaders of the request of the current thread.
+     * </p>
+     */
+    public void clear() {
+        loaders.remove();
+    }
+
+    /**
+     * <p>
+     * Returns the loader of a kind of entity for the current request, creating it if needed.
+     * </p>
+     *
+     * @param resource    Refers the kind of the entity, such as post.
+     * @param loader      Refers the lookup of one id.
+     * @param batchLoader Refers the lookup of several ids.
+     * @param <K>         Refers the type of the ids.
+     * @param <V>         Refers the type of the entities.
+     * @return The loader of the request.
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> DataLoader<K, V> getLoader(final String resource, final Function<K, V> loader,
+                                             final Function<List<K>, Map<K, V>> batchLoader) {
+        final Map<String, DataLoader<?, ?>> requestLoaders = loaders.get();
+
+        if (Objects.isNull(requestLoaders)) {
+            return new DataLoader<>(loader, batchLoader);
+        }
+
+        return (DataLoader<K, V>) requestLoaders.computeIfAbsent(resource,
+                name -> new DataLoader<>(loader, batchLoader));
+    }
+
+    /**
+     * <p>
+     * Forgets an entity loaded by the current request after it was written.
+     * </p>
+     *
+     * @param resource Refers the kind of the entity.
+     * @param key      Refers the id of the entity.
+     */
+    @SuppressWarnings("unchecked")
+    public void invalidate(final String resource, final Object key) {
+        final Map<String, DataLoader<?, ?>> requestLoaders = loaders.get();
+
+        if (Objects.nonNull(requestLoaders) && requestLoaders.containsKey(resource)) {
+            ((DataLoader<Object, ?>) requestLoaders.get(resource)).clear(key);
+        }
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final DataLoaderContext DATA_LOADER_CONTEXT = new DataLoaderContext();
+    }
+}
@@ -0,0 +1,110 @@
+package org.insta.wrapper.encoding;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Negotiates the content coding of a response from the {@code Accept-Encoding} header.
+ * </p>
+ *
+ * <p>
+ * The header is parsed into its codings rather than searched for a name, so a coding refused with a
+ * quality of zero, such as {@code gzip;q=0}, or merely containing the name, such as {@code x-gzip},
+ * is not taken for acceptance. A coding named explicitly overrides the wildcard.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+public final class ContentEncoding {
+
+    public static final String GZIP = "gzip";
+    private static final String WILDCARD = "*";
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private ContentEncoding() {
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of ContentEncoding class.
+     * </p>
+     *
+     * @return The singleton instance of ContentEncoding class.
+     */
+    public static ContentEncoding getInstance() {
+        return InstanceHolder.CONTENT_ENCODING;
+    }
+
+    /**
+     * <p>
+     * Checks whether the client accepts gzip, honouring a quality of zero.
+     * </p>
+     *
+     * @param acceptEncoding Refers the accepted encodings of the client, or null if none were sent.
+     * @return True if gzip is accepted.
+     */
+    public boolean acceptsGzip(final String acceptEncoding) {
+        return accepts(acceptEncoding, GZIP);
+    }
+
+    /**
+     * <p>
+     * Checks whether the client accepts the given coding, honouring a quality of zero.
+     * </p>
+     *
+     * @param acceptEncoding Refers the accepted encodings of the client, or null if none were sent.
+     * @param coding         Refers the coding in lower case, such as gzip.
+     * @return True if the coding is named with a positive quality, or not named and the wildcard is.
+     */
+    public boolean accepts(final String acceptEncoding, final String coding) {
+        if (Objects.isNull(acceptEncoding)) {
+            return false;
+        }
+        Boolean wildcard = null;
+
+        for (final String element : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            final String[] parameters = element.split(";");
+            final String name = parameters[0].trim();
+
+            if (coding.equals(name)) {
+                return !isRefused(parameters);
+            }
+
+            if (WILDCARD.equals(name) && Objects.isNull(wildcard)) {
+                wildcard = !isRefused(parameters);
+            }
+        }
+
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    /**
+     * @param parameters Refers the name of a coding followed by its parameters.
+     * @return True if the coding has a quality of zero.
+     */
+    private boolean isRefused(final String[] parameters) {
+        for (int index = 1; index < parameters.length; index++) {
+            if (parameters[index].replace(" ", "").matches("q=0(\\.0{0,3})?")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final ContentEncoding CONTENT_ENCODING = new ContentEncoding();
+    }
+}
@@ -0,0 +1,253 @@
+package org.insta.wrapper.etag;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Remembers the entity tag of the last response of each resource.
+ * </p>
+ *
+ * <p>
+ * The tag is a strong hash of the serialized response, so two responses carry the same tag exactly
+ * when their bytes are equal. While the tag of a resource is known, a conditional request naming
+ * it can be answered with 304 before the database is read or anything is serialized. The services
+ * invalidate a resource when they change it; a read which started before the change does not put
+ * its outdated tag back. Tags expire after a while, which bounds how long a change made through
+ * another server goes unnoticed.
+ * </p>
+ *
+ * <p>
+ * A response which depends on who reads it, such as private content or the placeholder of content
+ * hidden from the reader, is marked as restricted for the request of the current thread. It is
+ * neither tagged nor remembered, so a tag only ever stands for a response every reader gets and a
+ * 304 answered from the cache cannot outlive the access of the reader.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+public final class EntityTagCache {
+
+    private static final int TAG_BYTES = 16;
+    private final ConcurrentMap<String, Entry> entries;
+    private final ThreadLocal<Boolean> restricted;
+    private volatile long timeToLiveNanos;
+    private volatile int maximumSize;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private EntityTagCache() {
+        entries = new ConcurrentHashMap<>();
+        restricted = new ThreadLocal<>();
+        timeToLiveNanos = TimeUnit.SECONDS.toNanos(60);
+        maximumSize = 100000;
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of EntityTagCache class.
+     * </p>
+     *
+     * @return The singleton instance of EntityTagCache class.
+     */
+    public static EntityTagCache getInstance() {
+        return InstanceHolder.ENTITY_TAG_CACHE;
+    }
+
+    /**
+     * <p>
+     * Returns the key of a resource.
+     * </p>
+     *
+     * @param resource Refers the kind of the resource, such as post.
+     * @param id       Refers the identifier of the resource.
+     * @return The key of the resource.
+     */
+    public static String key(final String resource, final Object id) {
+        return String.join(":", resource, String.valueOf(id));
+    }
+
+    /**
+     * <p>
+     * Computes the strong entity tag of a serialized response.
+     * </p>
+     *
+     * @param body Refers the serialized response.
+     * @return The tag, without quotes.
+     */
+    public static String tagOf(final byte[] body) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, TAG_BYTES));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 not available", exception);
+        }
+    }
+
+    /**
+     * <p>
+     * Returns the known tag of a resource.
+     * </p>
+     *
+     * @param key Refers the key of the resource.
+     * @return The tag, or null if it is unknown or expired.
+     */
+    public String get(final String key) {
+        final Entry entry = entries.get(key);
+
+        if (Objects.isNull(entry) || isExpired(entry, System.nanoTime())) {
+            return null;
+        }
+
+        return entry.tag;
+    }
+
+    /**
+     * <p>
+     * Tags a response and remembers the tag, unless the resource changed after the read started.
+     * </p>
+     *
+     * @param key       Refers the key of the resource.
+     * @param body      Refers the serialized response.
+     * @param readNanos Refers the {@link System#nanoTime()} at which the read started.
+     * @return The tag of the response.
+     */
+    public String put(final String key, final byte[] body, final long readNanos) {
+        final String tag = tagOf(body);
+        final long now = System.nanoTime();
+
+        entries.compute(key, (entryKey, entry) -> {
+            if (Objects.nonNull(entry) && Objects.isNull(entry.tag) && entry.createdNanos - readNanos >= 0
+                    && !isExpired(entry, now)) {
+                return entry;
+            }
+
+            return new Entry(tag, now);
+        });
+        evict(now);
+
+        return tag;
+    }
+
+    /**
+     * <p>
+     * Forgets the tag of a changed resource.
+     * </p>
+     *
+     * @param resource Refers the kind of the resource.
+     * @param id       Refers the identifier of the resource.
+     */
+    public void invalidate(final String resource, final Object id) {
+        entries.put(key(resource, id), new Entry(null, System.nanoTime()));
+    }
+
+    /**
+     * <p>
+     * Marks the response of the request of the current thread as depending on its reader.
+     * </p>
+     */
+    public void restrict() {
+        restricted.set(Boolean.TRUE);
+    }
+
+    /**
+     * @return true if the response of the request of the current thread depends on its reader
+     */
+    public boolean isRestricted() {
+        return Boolean.TRUE.equals(restricted.get());
+    }
+
+    /**
+     * <p>
+     * Clears the mark of the request of the current thread.
+     * </p>
+     */
+    public void clearRestriction() {
+        restricted.remove();
+    }
+
+    /**
+     * @param timeToLiveMillis the time a tag is trusted
+     */
+    public void setTimeToLive(final long timeToLiveMillis) {
+        this.timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis);
+    }
+
+    /**
+     * @param maximumSize the number of resources remembered
+     */
+    public void setMaximumSize(final int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * <p>
+     * Drops expired entries, and arbitrary ones while the cache is still over its size.
+     * </p>
+     *
+     * @param now Refers the current {@link System#nanoTime()}.
+     */
+    private void evict(final long now) {
+        if (entries.size() <= maximumSize) {
+            return;
+        }
+        entries.values().removeIf(entry -> isExpired(entry, now));
+        final Iterator<String> keys = entries.keySet().iterator();
+
+        while (entries.size() > maximumSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * @param entry Refers the entry.
+     * @param now   Refers the current {@link System#nanoTime()}.
+     * @return True if the entry is older than its time to live.
+     */
+    private boolean isExpired(final Entry entry, final long now) {
+        return now - entry.createdNanos > timeToLiveNanos;
+    }
+
+    /**
+     * <p>
+     * Tag of a resource, or the time it was invalidated when the tag is null.
+     * </p>
+     */
+    private static final class Entry {
+
+        private final String tag;
+        private final long createdNanos;
+
+        /**
+         * @param tag          Refers the tag, null for an invalidated resource.
+         * @param createdNanos Refers the time the entry was created.
+         */
+        private Entry(final String tag, final long createdNanos) {
+            this.tag = tag;
+            this.createdNanos = createdNanos;
+        }
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final EntityTagCache ENTITY_TAG_CACHE = new EntityTagCache();
+    }
+}
@@ -0,0 +1,26 @@
+package org.insta.wrapper.exception;
+
+import org.insta.exception.DefaultException;
+
+/**
+ * <p>
+ * Exception for a caller which gave up waiting for the call in flight.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see DefaultException
+ */
+public final class SingleFlightTimeoutException extends DefaultException {
+
+    /**
+     * <p>
+     * Constructs a SingleFlightTimeoutException with the specified detail message.
+     * </p>
+     *
+     * @param message Refers the exception message.
+     */
+    public SingleFlightTimeoutException(final String message) {
+        super(message);
+    }
+}
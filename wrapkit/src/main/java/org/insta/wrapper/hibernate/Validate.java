@@ -5,6 +5,7 @@ import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import org.hibernate.validator.HibernateValidator;
 import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+import org.insta.wrapper.jfr.ValidationEvent;
 
 import java.util.Set;
 
@@ -15,7 +16,8 @@ import java.util.Set;
  *
  * <p>
  * This record encapsulates a Hibernate {@link Validator} instance and provides a method
- * for validating objects against specified validation groups.
+ * for validating objects against specified validation groups. Each validation is recorded as a
+ * {@link ValidationEvent} when the event is enabled.
  * </p>
  *
  * <p>
@@ -71,6 +73,20 @@ public record Validate(Validator validator) {
      * @return A set of constraint violations, or an empty set if no violations were found.
      */
     public <T> Set<ConstraintViolation<T>> validate(final T object, final Class<?> groups) {
-        return validator.validate(object, groups);
+        final ValidationEvent event = new ValidationEvent();
+
+        event.begin();
+        final Set<ConstraintViolation<T>> violations = validator.validate(object, groups);
+
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.setValidatedClass(object.getClass());
+            event.setGroup(groups);
+            event.setViolations(violations.size());
+            event.commit();
+        }
+
+        return violations;
     }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package org.insta.wrapper.jackson;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Formats the responses can be written in.
+ * </p>
+ *
+ * <p>
+ * JSON is the default. Smile and CBOR are binary encodings of the same data model, smaller on the
+ * wire and cheaper to parse on mobile clients, and are chosen by the client with the
+ * {@code Accept} header.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+public enum WireFormat {
+
+    JSON(WireFormat.JSON_MEDIA_TYPE, new JsonFactory()),
+    SMILE(WireFormat.SMILE_MEDIA_TYPE, new SmileFactory()),
+    CBOR(WireFormat.CBOR_MEDIA_TYPE, new CBORFactory());
+
+    public static final String JSON_MEDIA_TYPE = "application/json";
+    public static final String SMILE_MEDIA_TYPE = "application/x-jackson-smile";
+    public static final String CBOR_MEDIA_TYPE = "application/cbor";
+    private final String mediaType;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param mediaType Refers the media type of the format.
+     * @param factory   Refers the Jackson factory of the format.
+     */
+    WireFormat(final String mediaType, final JsonFactory factory) {
+        this.mediaType = mediaType;
+        this.objectMapper = new ObjectMapper(factory);
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @return the shared mapper writing and reading the format
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * <p>
+     * Returns the format of a media type.
+     * </p>
+     *
+     * @param mediaType Refers the media type, parameters allowed.
+     * @return The format, JSON for an unknown or missing media type.
+     */
+    public static WireFormat fromMediaType(final String mediaType) {
+        if (Objects.isNull(mediaType)) {
+            return JSON;
+        }
+        final String type = mediaType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+
+        for (final WireFormat format : values()) {
+            if (format.mediaType.equals(type)) {
+                return format;
+            }
+        }
+
+        return JSON;
+    }
+}
@@ -0,0 +1,46 @@
+package org.insta.wrapper.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <p>
+ * Flight recorder event of one DAO call, recorded by the {@link DaoEventRecorder}.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+@Name("org.insta.Dao")
+@Label("DAO Operation")
+@Category({"Insta", "DAO"})
+@Description("A call to a DAO, with the number of rows it returned or changed")
+@StackTrace(false)
+public final class DaoEvent extends Event {
+
+    @Label("Entity")
+    private String entity;
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Rows")
+    @Description("Rows returned or changed, -1 when the call failed")
+    private long rows;
+
+    public void setEntity(final String entity) {
+        this.entity = entity;
+    }
+
+    public void setOperation(final String operation) {
+        this.operation = operation;
+    }
+
+    public void setRows(final long rows) {
+        this.rows = rows;
+    }
+}
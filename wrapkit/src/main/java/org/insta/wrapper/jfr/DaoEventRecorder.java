@@ -0,0 +1,144 @@
+package org.insta.wrapper.jfr;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * <p>
+ * Records a {@link DaoEvent} for every call made through a DAO interface.
+ * </p>
+ *
+ * <p>
+ * The DAO singletons are wrapped by {@link #instrument} when they are created. The number of rows
+ * is derived from the result of the call: the size of a returned collection, one for a present
+ * optional or a successful update and the value of a returned count. While the event is disabled
+ * the only work left is the reflective dispatch of the proxy.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see DaoEvent
+ */
+public final class DaoEventRecorder {
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private DaoEventRecorder() {
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of DaoEventRecorder class.
+     * </p>
+     *
+     * @return The singleton instance of DaoEventRecorder class.
+     */
+    public static DaoEventRecorder getInstance() {
+        return InstanceHolder.DAO_EVENT_RECORDER;
+    }
+
+    /**
+     * <p>
+     * Wraps a DAO so each of its calls is recorded.
+     * </p>
+     *
+     * @param type   Refers the DAO interface.
+     * @param entity Refers the entity managed by the DAO.
+     * @param dao    Refers the DAO implementation.
+     * @param <T>    The type of the DAO interface.
+     * @return The recorded DAO.
+     */
+    public <T> T instrument(final Class<T> type, final String entity, final T dao) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, arguments) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return invoke(dao, method, arguments);
+                    }
+                    final DaoEvent event = new DaoEvent();
+                    long rows = -1;
+
+                    event.begin();
+
+                    try {
+                        final Object result = invoke(dao, method, arguments);
+
+                        rows = countRows(result);
+
+                        return result;
+                    } finally {
+                        event.end();
+
+                        if (event.shouldCommit()) {
+                            event.setEntity(entity);
+                            event.setOperation(method.getName());
+                            event.setRows(rows);
+                            event.commit();
+                        }
+                    }
+                }));
+    }
+
+    /**
+     * <p>
+     * Derives the number of rows returned or changed from the result of a DAO call.
+     * </p>
+     *
+     * @param result Refers the result of the call.
+     * @return The number of rows.
+     */
+    private long countRows(final Object result) {
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).map(this::countRows).orElse(0L);
+        } else if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        } else if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        } else if (result instanceof Boolean) {
+            return (Boolean) result ? 1 : 0;
+        } else if (result instanceof Integer) {
+            return (Integer) result;
+        } else if (result instanceof int[]) {
+            return ((int[]) result).length;
+        }
+
+        return Objects.isNull(result) ? 0 : 1;
+    }
+
+    /**
+     * <p>
+     * Invokes a method on the DAO, rethrowing its own exception.
+     * </p>
+     *
+     * @param dao       Refers the DAO implementation.
+     * @param method    Refers the invoked method.
+     * @param arguments Refers the arguments of the call.
+     * @return The result of the call.
+     * @throws Throwable The exception thrown by the DAO.
+     */
+    private static Object invoke(final Object dao, final Method method, final Object[] arguments)
+            throws Throwable {
+        try {
+            return method.invoke(dao, arguments);
+        } catch (InvocationTargetException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final DaoEventRecorder DAO_EVENT_RECORDER = new DaoEventRecorder();
+    }
+}
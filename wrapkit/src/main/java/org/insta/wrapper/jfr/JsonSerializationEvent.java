@@ -0,0 +1,41 @@
+package org.insta.wrapper.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <p>
+ * Flight recorder event of one response payload written by the
+ * {@link org.insta.wrapper.jsonvalidator.JsonResponseHandler}.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+@Name("org.insta.JsonSerialization")
+@Label("JSON Serialization")
+@Category({"Insta", "JSON"})
+@Description("Serialization of a response payload")
+@StackTrace(false)
+public final class JsonSerializationEvent extends Event {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Payload Size")
+    @DataAmount
+    private long payloadSize;
+
+    public void setOperation(final String operation) {
+        this.operation = operation;
+    }
+
+    public void setPayloadSize(final long payloadSize) {
+        this.payloadSize = payloadSize;
+    }
+}
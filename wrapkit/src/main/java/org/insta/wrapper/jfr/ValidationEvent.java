@@ -0,0 +1,45 @@
+package org.insta.wrapper.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <p>
+ * Flight recorder event of one validation by {@link org.insta.wrapper.hibernate.Validate}.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+@Name("org.insta.Validation")
+@Label("Bean Validation")
+@Category({"Insta", "Validation"})
+@Description("Validation of an object against a validation group")
+@StackTrace(false)
+public final class ValidationEvent extends Event {
+
+    @Label("Validated Class")
+    private Class<?> validatedClass;
+
+    @Label("Group")
+    private Class<?> group;
+
+    @Label("Violations")
+    private int violations;
+
+    public void setValidatedClass(final Class<?> validatedClass) {
+        this.validatedClass = validatedClass;
+    }
+
+    public void setGroup(final Class<?> group) {
+        this.group = group;
+    }
+
+    public void setViolations(final int violations) {
+        this.violations = violations;
+    }
+}
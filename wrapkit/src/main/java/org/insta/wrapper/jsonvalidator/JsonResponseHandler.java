@@ -1,12 +1,17 @@
 package org.insta.wrapper.jsonvalidator;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import org.insta.wrapper.exception.JsonWrapperException;
 import org.insta.wrapper.hibernate.Validate;
 import org.insta.wrapper.jackson.MapperObject;
 import org.insta.wrapper.jackson.NodeArray;
 import org.insta.wrapper.jackson.NodeJson;
 import org.insta.wrapper.jackson.NodeObject;
+import org.insta.wrapper.jackson.WireFormat;
+import org.insta.wrapper.jfr.JsonSerializationEvent;
 
+import java.io.ByteArrayOutputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -22,12 +27,22 @@ import java.util.Optional;
  * response payloads, and manual response payloads for various scenarios.
  * </p>
  *
+ * <p>
+ * Each payload written is recorded as a {@link JsonSerializationEvent} when the event is enabled.
+ * </p>
+ *
+ * <p>
+ * The payloads are written as JSON. A payload can be written in, or transcoded to, another
+ * {@link WireFormat} for the clients which negotiated a binary format.
+ * </p>
+ *
  * @author Mohamed Yasar
  * @version 1.0 6 Feb 2024
  * @see Validate
  * @see MapperObject
  * @see NodeObject
  * @see NodeArray
+ * @see WireFormat
  */
 public final class JsonResponseHandler {
 
@@ -65,13 +80,17 @@ public final class JsonResponseHandler {
      * @return The validation result as a byte array.
      */
     public <T> byte[] validate(final T object, final Class<?> groups) {
+        final JsonSerializationEvent event = new JsonSerializationEvent();
+
+        event.begin();
+
         try {
             final MapperObject mapperObject = new MapperObject();
             final NodeObject nodeObject = mapperObject.getObjectNode();
 
             validate.validate(object, groups).forEach(violation -> nodeObject.objectNode().put(violation.getPropertyPath().toString(), violation.getMessage()));
 
-            return !nodeObject.objectNode().isEmpty() ? mapperObject.getObjectMapper().writeValueAsString(nodeObject.objectNode()).getBytes() : new byte[]{};
+            return record(event, "validate", !nodeObject.objectNode().isEmpty() ? mapperObject.getObjectMapper().writeValueAsString(nodeObject.objectNode()).getBytes() : new byte[]{});
         } catch (Exception exception) {
             throw new JsonWrapperException("Parse Operation failed");
         }
@@ -87,6 +106,10 @@ public final class JsonResponseHandler {
      * @return The success response payload as a byte array.
      */
     public byte[] responseWithID(final Optional<Long> optionalId, final byte[] violations) {
+        final JsonSerializationEvent event = new JsonSerializationEvent();
+
+        event.begin();
+
         try {
             final MapperObject mapperObject = new MapperObject();
             final NodeObject response = mapperObject.getObjectNode();
@@ -103,7 +126,7 @@ public final class JsonResponseHandler {
             response.setValue("Violations ", mapperObject.readTree(violations));
             nodeArray.add(response.objectNode());
 
-            return mapperObject.writeValueAsString(nodeArray.getArrayNode()).getBytes();
+            return record(event, "responseWithID", mapperObject.writeValueAsString(nodeArray.getArrayNode()).getBytes());
         } catch (Exception ignored) {
             throw new JsonWrapperException("Parse operation failed");
         }
@@ -120,15 +143,79 @@ public final class JsonResponseHandler {
      */
     public <T> byte[] objectResponse(final T object) {
         if (Objects.isNull(object)) return stringManualResponse("User not found");
+        final JsonSerializationEvent event = new JsonSerializationEvent();
+
+        event.begin();
+
         try {
             final MapperObject mapperObject = new MapperObject();
 
-            return mapperObject.writeValueAsString(object).getBytes();
+            return record(event, "objectResponse", mapperObject.writeValueAsString(object).getBytes());
         } catch (Exception ignored) {
             throw new JsonWrapperException("Parse operation failed");
         }
     }
 
+    /**
+     * <p>
+     * Generates a response payload for the specified object in the given wire format.
+     * </p>
+     *
+     * @param <T>    The type of the object.
+     * @param object The object.
+     * @param format The wire format of the payload.
+     * @return The response payload as a byte array.
+     */
+    public <T> byte[] objectResponse(final T object, final WireFormat format) {
+        if (Objects.isNull(object)) return transcode(stringManualResponse("User not found"), format);
+        final JsonSerializationEvent event = new JsonSerializationEvent();
+
+        event.begin();
+
+        try {
+            return record(event, "objectResponse", format.getObjectMapper().writeValueAsBytes(object));
+        } catch (Exception ignored) {
+            throw new JsonWrapperException("Parse operation failed");
+        }
+    }
+
+    /**
+     * <p>
+     * Transcodes a JSON payload to the given wire format.
+     * </p>
+     *
+     * <p>
+     * The payload is copied token by token from the JSON parser to the generator of the format, so
+     * no tree or object is built in between.
+     * </p>
+     *
+     * @param json   The JSON payload.
+     * @param format The wire format of the result.
+     * @return The payload in the given format, or the JSON payload itself for JSON.
+     */
+    public byte[] transcode(final byte[] json, final WireFormat format) {
+        if (format == WireFormat.JSON || json.length == 0) {
+            return json;
+        }
+        final JsonSerializationEvent event = new JsonSerializationEvent();
+
+        event.begin();
+
+        try (JsonParser parser = WireFormat.JSON.getObjectMapper().getFactory().createParser(json)) {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream(json.length);
+
+            try (JsonGenerator generator = format.getObjectMapper().getFactory().createGenerator(output)) {
+                while (Objects.nonNull(parser.nextToken())) {
+                    generator.copyCurrentStructure(parser);
+                }
+            }
+
+            return record(event, "transcode", output.toByteArray());
+        } catch (Exception exception) {
+            throw new JsonWrapperException("Transcode operation failed");
+        }
+    }
+
     /**
      * <p>
      * Generates a manual response payload with the specified result.
@@ -138,6 +225,10 @@ public final class JsonResponseHandler {
      * @return The manual response payload as a byte array.
      */
     public byte[] responseWithStatus(final boolean result) {
+        final JsonSerializationEvent event = new JsonSerializationEvent();
+
+        event.begin();
+
         try {
             final MapperObject mapperObject = new MapperObject();
             final NodeArray nodeArray = mapperObject.getArrayNode();
@@ -149,7 +240,7 @@ public final class JsonResponseHandler {
             }
             nodeArray.add(nodeObject.objectNode());
 
-            return mapperObject.writeValueAsString(nodeArray.getArrayNode()).getBytes();
+            return record(event, "responseWithStatus", mapperObject.writeValueAsString(nodeArray.getArrayNode()).getBytes());
         } catch (Exception ignored) {
             throw new JsonWrapperException("Parse operation failed");
         }
@@ -164,6 +255,10 @@ public final class JsonResponseHandler {
      * @return The manual response payload as a byte array.
      */
     public byte[] stringManualResponse(final String result) {
+        final JsonSerializationEvent event = new JsonSerializationEvent();
+
+        event.begin();
+
         try {
             final MapperObject mapperObject = new MapperObject();
             final NodeArray nodeArray = mapperObject.getArrayNode();
@@ -172,7 +267,7 @@ public final class JsonResponseHandler {
             nodeObject.put("status", result);
             nodeArray.add(nodeObject.objectNode());
 
-            return mapperObject.writeValueAsString(nodeArray.getArrayNode()).getBytes();
+            return record(event, "stringManualResponse", mapperObject.writeValueAsString(nodeArray.getArrayNode()).getBytes());
         } catch (Exception exception) {
             throw new JsonWrapperException("Parse failed");
         }
@@ -258,6 +353,28 @@ public final class JsonResponseHandler {
         return null;
     }
 
+    /**
+     * <p>
+     * Commits the serialization event of a payload if it is enabled and above its threshold.
+     * </p>
+     *
+     * @param event     The event started before the payload was built.
+     * @param operation The method which built the payload.
+     * @param payload   The payload.
+     * @return The payload.
+     */
+    private byte[] record(final JsonSerializationEvent event, final String operation, final byte[] payload) {
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.setOperation(operation);
+            event.setPayloadSize(payload.length);
+            event.commit();
+        }
+
+        return payload;
+    }
+
     /**
      * <p>
      * Static class for creating singleton instance.
@@ -0,0 +1,451 @@
+package org.insta.wrapper.responsecache;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongPredicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * <p>
+ * Cache of rendered responses, kept as the bytes written to the client.
+ * </p>
+ *
+ * <p>
+ * The services put the response of a read the first time it is rendered and hand the cached bytes
+ * out afterwards, so neither the database nor the serializer is involved and the bytes go to the
+ * output stream as they are. The cache is bounded by the bytes it holds rather than by the number
+ * of responses, one large profile weighing as much as many small posts, and drops the least
+ * recently read responses first. A change of a resource invalidates its response; a read which
+ * started before the change does not put its outdated response back.
+ * </p>
+ *
+ * <p>
+ * Reads take no lock. The responses live in a concurrent map and a hit only marks its entry as
+ * referenced; the recency order is approximated with the CLOCK algorithm, which walks the entries
+ * in the order they were cached when bytes have to be freed, drops the first one not referenced
+ * since the last walk and gives every referenced one a second chance. Puts, invalidations and
+ * evictions still share the lock of the cache, which keeps the byte count exact.
+ * </p>
+ *
+ * <p>
+ * Encoded variants of a cached response, such as its gzip compression, are kept with it and dropped
+ * with it, so a hot response is compressed once rather than for every request.
+ * </p>
+ *
+ * <p>
+ * The response of a private resource is cached with the user owning it, and a read passing a reader
+ * check gets it only when the check admits the owner. The check runs outside the lock of the cache,
+ * so it may consult other indexes, and a rejected read gets {@link #HIDDEN} rather than a miss,
+ * sparing the caller a database read it would have to reject again.
+ * </p>
+ *
+ * <p>
+ * The cached arrays are shared between requests and must not be modified.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ */
+public final class ResponseCache {
+
+    public static final long PUBLIC = 0;
+    public static final byte[] HIDDEN = new byte[0];
+    private static final int ENTRY_OVERHEAD = 64;
+    private static final long INVALIDATION_WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int INVALIDATION_CLEANUP_SIZE = 1024;
+    private static final int CLOCK_SLACK = 1024;
+    private final ConcurrentMap<String, Entry> responses;
+    private final Deque<Entry> clock;
+    private final ConcurrentMap<String, Long> invalidations;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private long totalBytes;
+    private volatile long maximumBytes;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private ResponseCache() {
+        responses = new ConcurrentHashMap<>(1024);
+        clock = new ArrayDeque<>(1024);
+        invalidations = new ConcurrentHashMap<>();
+        hits = new LongAdder();
+        misses = new LongAdder();
+        maximumBytes = 64L * 1024 * 1024;
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of ResponseCache class.
+     * </p>
+     *
+     * @return The singleton instance of ResponseCache class.
+     */
+    public static ResponseCache getInstance() {
+        return InstanceHolder.RESPONSE_CACHE;
+    }
+
+    /**
+     * <p>
+     * Returns the cached response of a resource.
+     * </p>
+     *
+     * @param resource Refers the kind of the resource, such as post.
+     * @param id       Refers the identifier of the resource.
+     * @return The cached response, or null if it is not cached.
+     */
+    public byte[] get(final String resource, final Object id) {
+        final Entry entry = responses.get(key(resource, id));
+
+        if (Objects.isNull(entry)) {
+            misses.increment();
+
+            return null;
+        }
+        hits.increment();
+        entry.reference();
+
+        return entry.response;
+    }
+
+    /**
+     * <p>
+     * Returns the cached response of a resource, if the reader may see it.
+     * </p>
+     *
+     * @param resource Refers the kind of the resource, such as post.
+     * @param id       Refers the identifier of the resource.
+     * @param reader   Refers the check admitting the owner of a private response.
+     * @return The cached response, {@link #HIDDEN} if the reader may not see it, or null if it is not
+     *         cached.
+     */
+    public byte[] get(final String resource, final Object id, final LongPredicate reader) {
+        final Entry entry = responses.get(key(resource, id));
+
+        if (Objects.isNull(entry)) {
+            misses.increment();
+
+            return null;
+        }
+        hits.increment();
+        entry.reference();
+
+        return entry.owner == PUBLIC || reader.test(entry.owner) ? entry.response : HIDDEN;
+    }
+
+    /**
+     * <p>
+     * Caches the rendered response of a public resource, unless the resource changed after the read
+     * started.
+     * </p>
+     *
+     * @param resource  Refers the kind of the resource.
+     * @param id        Refers the identifier of the resource.
+     * @param response  Refers the rendered response.
+     * @param readNanos Refers the {@link System#nanoTime()} at which the read started.
+     * @return The rendered response.
+     */
+    public byte[] put(final String resource, final Object id, final byte[] response, final long readNanos) {
+        return put(resource, id, response, readNanos, PUBLIC);
+    }
+
+    /**
+     * <p>
+     * Caches the rendered response of a resource, unless the resource changed after the read started.
+     * </p>
+     *
+     * @param resource  Refers the kind of the resource.
+     * @param id        Refers the identifier of the resource.
+     * @param response  Refers the rendered response.
+     * @param readNanos Refers the {@link System#nanoTime()} at which the read started.
+     * @param owner     Refers the user owning a private resource, or {@link #PUBLIC}.
+     * @return The rendered response.
+     */
+    public byte[] put(final String resource, final Object id, final byte[] response, final long readNanos,
+                      final long owner) {
+        final String key = key(resource, id);
+        final long weight = weigh(key, response);
+
+        if (weight > maximumBytes) {
+            return response;
+        }
+
+        synchronized (this) {
+            final Long invalidatedNanos = invalidations.get(key);
+
+            if (Objects.nonNull(invalidatedNanos) && invalidatedNanos - readNanos >= 0) {
+                return response;
+            }
+            final Entry entry = new Entry(key, response, weight, owner);
+
+            drop(responses.put(key, entry));
+            clock.addLast(entry);
+            totalBytes += weight;
+            evict();
+        }
+
+        return response;
+    }
+
+    /**
+     * <p>
+     * Drops the response of a changed resource.
+     * </p>
+     *
+     * @param resource Refers the kind of the resource.
+     * @param id       Refers the identifier of the resource.
+     */
+    public void invalidate(final String resource, final Object id) {
+        final String key = key(resource, id);
+        final long now = System.nanoTime();
+
+        synchronized (this) {
+            invalidations.put(key, now);
+            drop(responses.remove(key));
+        }
+
+        if (invalidations.size() > INVALIDATION_CLEANUP_SIZE) {
+            invalidations.values().removeIf(invalidatedNanos -> now - invalidatedNanos > INVALIDATION_WINDOW_NANOS);
+        }
+    }
+
+    /**
+     * <p>
+     * Returns a response in the given encoding, reusing the variant cached with the response.
+     * </p>
+     *
+     * <p>
+     * The variant is only cached while the response, or the variant it was derived from, is the one
+     * cached for the key, so an outdated response is encoded for its request but never stored. A
+     * variant already cached is returned without taking the lock.
+     * </p>
+     *
+     * @param key      Refers the key of the resource, as built by {@link #key}.
+     * @param response Refers the response to be sent.
+     * @param encoding Refers the name of the variant, such as gzip or smile-gzip.
+     * @param encoder  Refers the encoder of the response.
+     * @return The encoded response.
+     */
+    public byte[] encode(final String key, final byte[] response, final String encoding,
+                         final UnaryOperator<byte[]> encoder) {
+        final Entry cached = responses.get(key);
+
+        if (Objects.isNull(cached) || !cached.isSource(response)) {
+            return encoder.apply(response);
+        }
+        final byte[] cachedVariant = cached.variants.get(encoding);
+
+        if (Objects.nonNull(cachedVariant)) {
+            return cachedVariant;
+        }
+        final byte[] variant = encoder.apply(response);
+
+        synchronized (this) {
+            final Entry entry = responses.get(key);
+
+            if (Objects.nonNull(entry) && entry.isSource(response)
+                    && Objects.isNull(entry.variants.putIfAbsent(encoding, variant))) {
+                entry.weight += variant.length;
+                totalBytes += variant.length;
+                evict();
+            }
+        }
+
+        return variant;
+    }
+
+    /**
+     * @param maximumBytes the bytes the cached responses may take
+     */
+    public synchronized void setMaximumBytes(final long maximumBytes) {
+        this.maximumBytes = maximumBytes;
+        evict();
+    }
+
+    /**
+     * @return the bytes taken by the cached responses
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * @return the number of cached responses
+     */
+    public int getSize() {
+        return responses.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * <p>
+     * Drops responses not referenced since the last walk of the clock while the cache holds too many
+     * bytes, giving the referenced ones a second chance.
+     * </p>
+     */
+    private void evict() {
+        while (totalBytes > maximumBytes && !clock.isEmpty()) {
+            final Entry entry = clock.pollFirst();
+
+            if (entry.dropped) {
+                continue;
+            }
+
+            if (entry.clearReference()) {
+                clock.addLast(entry);
+            } else {
+                responses.remove(entry.key, entry);
+                drop(entry);
+            }
+        }
+
+        if (clock.size() > 2 * responses.size() + CLOCK_SLACK) {
+            clock.removeIf(entry -> entry.dropped);
+        }
+    }
+
+    /**
+     * <p>
+     * Releases the bytes of an entry no longer in the map. Its place on the clock is skipped later.
+     * </p>
+     *
+     * @param entry Refers the removed entry, or null if none was removed.
+     */
+    private void drop(final Entry entry) {
+        if (Objects.nonNull(entry)) {
+            entry.dropped = true;
+            totalBytes -= entry.weight;
+        }
+    }
+
+    /**
+     * <p>
+     * Returns the key of a resource, as passed to {@link #encode}.
+     * </p>
+     *
+     * @param resource Refers the kind of the resource.
+     * @param id       Refers the identifier of the resource.
+     * @return The key of the resource.
+     */
+    public static String key(final String resource, final Object id) {
+        return String.join(":", resource, String.valueOf(id));
+    }
+
+    /**
+     * @param key      Refers the key of the response.
+     * @param response Refers the response.
+     * @return The bytes taken by the response and its key.
+     */
+    private static long weigh(final String key, final byte[] response) {
+        return response.length + 2L * key.length() + ENTRY_OVERHEAD;
+    }
+
+    /**
+     * <p>
+     * Cached response with its encoded variants, the user it is restricted to and its reference bit.
+     * </p>
+     *
+     * <p>
+     * The response, the variants and the reference bit are read without the lock of the cache; the
+     * weight and the dropped mark are only used under it.
+     * </p>
+     */
+    private static final class Entry {
+
+        private final String key;
+        private final byte[] response;
+        private final Map<String, byte[]> variants;
+        private final long owner;
+        private volatile boolean referenced;
+        private long weight;
+        private boolean dropped;
+
+        /**
+         * @param key      Refers the key of the response.
+         * @param response Refers the response.
+         * @param weight   Refers the bytes taken by the response and its key.
+         * @param owner    Refers the user owning a private response, or {@link #PUBLIC}.
+         */
+        private Entry(final String key, final byte[] response, final long weight, final long owner) {
+            this.key = key;
+            this.response = response;
+            this.variants = new ConcurrentHashMap<>(2);
+            this.owner = owner;
+            this.weight = weight;
+        }
+
+        /**
+         * <p>
+         * Marks the entry as read, writing the bit only when it is not set yet so hot entries are not
+         * written by every hit.
+         * </p>
+         */
+        private void reference() {
+            if (!referenced) {
+                referenced = true;
+            }
+        }
+
+        /**
+         * <p>
+         * Clears the reference bit as the clock passes the entry.
+         * </p>
+         *
+         * @return True if the entry was read since the clock last passed it.
+         */
+        private boolean clearReference() {
+            final boolean wasReferenced = referenced;
+
+            referenced = false;
+
+            return wasReferenced;
+        }
+
+        /**
+         * <p>
+         * Checks whether a response is the cached response or one of its variants, by identity.
+         * </p>
+         *
+         * @param source Refers the response a variant is derived from.
+         * @return True if the variant may be cached with this entry.
+         */
+        private boolean isSource(final byte[] source) {
+            if (response == source) {
+                return true;
+            }
+
+            for (final byte[] variant : variants.values()) {
+                if (variant == source) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final ResponseCache RESPONSE_CACHE = new ResponseCache();
+    }
+}
@@ -0,0 +1,153 @@
+package org.insta.wrapper.singleflight;
+
+import org.insta.wrapper.exception.SingleFlightTimeoutException;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Collapses concurrent calls with the same key into a single call.
+ * </p>
+ *
+ * <p>
+ * The first caller of a key runs the call while the callers arriving before it finishes wait for
+ * its result instead of issuing the same query again, and all of them get the same response
+ * bytes. The key is removed as soon as the call finishes, whether it returned or failed, so only
+ * calls in flight are held and a later caller always runs a fresh call. A failure of the call is
+ * thrown to every caller sharing it.
+ * </p>
+ *
+ * <p>
+ * A caller waits for the call in flight no longer than the time it is given, usually what is left
+ * of its request deadline, and fails with {@link SingleFlightTimeoutException} instead. The result
+ * is shared whatever the caller, so a caller which needs a result the others cannot give it, such as
+ * one reading its own writes from the primary, must not go through the group.
+ * </p>
+ *
+ * @param <K> The type of the key of a call.
+ * @param <V> The type of the result of a call.
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see SingleFlightRegistry
+ */
+public final class SingleFlight<K, V> {
+
+    private final String name;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight;
+    private final LongAdder calls;
+    private final LongAdder collapsed;
+
+    /**
+     * <p>
+     * Creates a single-flight group and registers it for the metrics.
+     * </p>
+     *
+     * @param name Refers the name of the group, such as the call it collapses.
+     */
+    public SingleFlight(final String name) {
+        this.name = name;
+        this.inFlight = new ConcurrentHashMap<>();
+        this.calls = new LongAdder();
+        this.collapsed = new LongAdder();
+
+        SingleFlightRegistry.getInstance().register(this);
+    }
+
+    /**
+     * <p>
+     * Runs the call, or waits for the call of the same key already in flight as long as it takes.
+     * </p>
+     *
+     * @param key  Refers the key identifying identical calls.
+     * @param call Refers the call to run.
+     * @return The result of the call.
+     */
+    public V execute(final K key, final Supplier<V> call) {
+        return execute(key, Long.MAX_VALUE, call);
+    }
+
+    /**
+     * <p>
+     * Runs the call, or waits at most the given time for the call of the same key already in flight.
+     * </p>
+     *
+     * @param key        Refers the key identifying identical calls.
+     * @param waitMillis Refers the time the caller may wait for the call in flight.
+     * @param call       Refers the call to run.
+     * @return The result of the call.
+     * @throws SingleFlightTimeoutException If the call in flight did not finish in time.
+     */
+    public V execute(final K key, final long waitMillis, final Supplier<V> call) {
+        calls.increment();
+        final CompletableFuture<V> created = new CompletableFuture<>();
+        final CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+
+        if (Objects.nonNull(existing)) {
+            collapsed.increment();
+
+            try {
+                return existing.get(waitMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException exception) {
+                throw new SingleFlightTimeoutException(String.join(" ", "Call", name, "timed out"));
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new SingleFlightTimeoutException(String.join(" ", "Call", name, "interrupted"));
+            } catch (ExecutionException exception) {
+                if (exception.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) exception.getCause();
+                }
+
+                if (exception.getCause() instanceof Error) {
+                    throw (Error) exception.getCause();
+                }
+                throw new IllegalStateException(exception.getCause());
+            }
+        }
+
+        try {
+            final V result = call.get();
+
+            created.complete(result);
+
+            return result;
+        } catch (RuntimeException | Error exception) {
+            created.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the number of calls made through the group
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * @return the number of calls which waited for a call already in flight
+     */
+    public long getCollapsed() {
+        return collapsed.sum();
+    }
+
+    /**
+     * @return the number of keys in flight right now
+     */
+    public int getInFlight() {
+        return inFlight.size();
+    }
+}
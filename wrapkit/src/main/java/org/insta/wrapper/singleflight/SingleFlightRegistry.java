@@ -0,0 +1,62 @@
+package org.insta.wrapper.singleflight;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * <p>
+ * Keeps every {@link SingleFlight} group so their metrics can be listed.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see SingleFlight
+ */
+public final class SingleFlightRegistry {
+
+    private final List<SingleFlight<?, ?>> groups;
+
+    /**
+     * <p>
+     * Private constructor to restrict object creation outside of the class.
+     * </p>
+     */
+    private SingleFlightRegistry() {
+        groups = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * <p>
+     * Returns the singleton instance of SingleFlightRegistry class.
+     * </p>
+     *
+     * @return The singleton instance of SingleFlightRegistry class.
+     */
+    public static SingleFlightRegistry getInstance() {
+        return InstanceHolder.SINGLE_FLIGHT_REGISTRY;
+    }
+
+    /**
+     * @param group the group to list
+     */
+    void register(final SingleFlight<?, ?> group) {
+        groups.add(group);
+    }
+
+    /**
+     * @return the registered groups
+     */
+    public List<SingleFlight<?, ?>> getGroups() {
+        return List.copyOf(groups);
+    }
+
+    /**
+     * <p>
+     * Static class for creating singleton instance.
+     * </p>
+     */
+    private static class InstanceHolder {
+
+        private static final SingleFlightRegistry SINGLE_FLIGHT_REGISTRY = new SingleFlightRegistry();
+    }
+}
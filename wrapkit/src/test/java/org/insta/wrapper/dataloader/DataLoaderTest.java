@@ -0,0 +1,207 @@
+package org.insta.wrapper.dataloader;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>
+ * Unit tests for the DataLoader and the DataLoaderContext.
+ * </p>
+ *
+ * <p>
+ * The lookups record the ids they are called with; every id above zero exists and is loaded as
+ * its name.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see DataLoader
+ * @see DataLoaderContext
+ */
+public class DataLoaderTest {
+
+    private List<Long> singleLookups;
+    private List<List<Long>> batchLookups;
+
+    /**
+     * <p>
+     * Forgets the recorded lookups.
+     * </p>
+     */
+    @Before
+    public void setUp() {
+        singleLookups = new ArrayList<>();
+        batchLookups = new ArrayList<>();
+        DataLoaderContext.getInstance().clear();
+    }
+
+    /**
+     * <p>
+     * Tests that queued ids are fetched with one batch call on the first load.
+     * </p>
+     */
+    @Test
+    public void testBatchesQueuedIds() {
+        final DataLoader<Long, String> dataLoader = newLoader();
+
+        dataLoader.enqueue(1L);
+        dataLoader.enqueue(2L);
+
+        assertEquals("3", dataLoader.load(3L));
+        assertEquals("1", dataLoader.load(1L));
+        assertEquals("2", dataLoader.load(2L));
+        assertEquals(1, batchLookups.size());
+        assertEquals(Arrays.asList(1L, 2L, 3L), batchLookups.get(0));
+        assertTrue(singleLookups.isEmpty());
+    }
+
+    /**
+     * <p>
+     * Tests that a lone id is fetched with the single lookup.
+     * </p>
+     */
+    @Test
+    public void testLoneIdUsesSingleLookup() {
+        final DataLoader<Long, String> dataLoader = newLoader();
+
+        assertEquals("7", dataLoader.load(7L));
+        assertEquals(Arrays.asList(7L), singleLookups);
+        assertTrue(batchLookups.isEmpty());
+    }
+
+    /**
+     * <p>
+     * Tests that loaded entities, missing ones included, are not read again.
+     * </p>
+     */
+    @Test
+    public void testCachesMissingEntities() {
+        final DataLoader<Long, String> dataLoader = newLoader();
+
+        assertEquals(1, dataLoader.loadMany(Arrays.asList(0L, 1L)).size());
+        assertNull(dataLoader.load(0L));
+        assertEquals("1", dataLoader.load(1L));
+        dataLoader.loadMany(Arrays.asList(0L, 1L));
+
+        assertEquals(1, batchLookups.size());
+        assertTrue(singleLookups.isEmpty());
+    }
+
+    /**
+     * <p>
+     * Tests that the found entities keep the order of the given ids.
+     * </p>
+     */
+    @Test
+    public void testLoadManyKeepsOrder() {
+        final DataLoader<Long, String> dataLoader = newLoader();
+
+        assertEquals(Arrays.asList(3L, 1L, 2L),
+                new ArrayList<>(dataLoader.loadMany(Arrays.asList(3L, 0L, 1L, 2L)).keySet()));
+    }
+
+    /**
+     * <p>
+     * Tests that a large dispatch is split into batches of at most 500 ids.
+     * </p>
+     */
+    @Test
+    public void testSplitsLargeBatches() {
+        final DataLoader<Long, String> dataLoader = newLoader();
+        final List<Long> ids = LongStream.rangeClosed(1, 1200).boxed().collect(Collectors.toList());
+
+        assertEquals(1200, dataLoader.loadMany(ids).size());
+        assertEquals(3, batchLookups.size());
+        assertEquals(500, batchLookups.get(0).size());
+        assertEquals(500, batchLookups.get(1).size());
+        assertEquals(200, batchLookups.get(2).size());
+    }
+
+    /**
+     * <p>
+     * Tests that a cleared entity is read again.
+     * </p>
+     */
+    @Test
+    public void testClear() {
+        final DataLoader<Long, String> dataLoader = newLoader();
+
+        dataLoader.load(1L);
+        dataLoader.clear(1L);
+        dataLoader.load(1L);
+
+        assertEquals(Arrays.asList(1L, 1L), singleLookups);
+    }
+
+    /**
+     * <p>
+     * Tests that a bound request shares one loader per kind of entity until it is cleared, and that a
+     * thread without a request gets a new loader every time.
+     * </p>
+     */
+    @Test
+    public void testContext() {
+        final DataLoaderContext context = DataLoaderContext.getInstance();
+
+        assertTrue(context.getLoader("post", this::loadOne, this::loadMany)
+                != context.getLoader("post", this::loadOne, this::loadMany));
+
+        context.bind();
+        final DataLoader<Long, String> dataLoader = context.getLoader("post", this::loadOne, this::loadMany);
+
+        assertTrue(dataLoader == context.getLoader("post", this::loadOne, this::loadMany));
+        assertTrue(dataLoader != context.getLoader("reel", this::loadOne, this::loadMany));
+
+        dataLoader.load(1L);
+        context.invalidate("post", 1L);
+        dataLoader.load(1L);
+
+        assertEquals(2, singleLookups.size());
+
+        context.clear();
+
+        assertTrue(dataLoader != context.getLoader("post", this::loadOne, this::loadMany));
+    }
+
+    /**
+     * @return a loader over the recording lookups
+     */
+    private DataLoader<Long, String> newLoader() {
+        return new DataLoader<>(this::loadOne, this::loadMany);
+    }
+
+    /**
+     * @param id Refers the id.
+     * @return The name of the entity, or null if it is missing.
+     */
+    private String loadOne(final Long id) {
+        singleLookups.add(id);
+
+        return id > 0 ? String.valueOf(id) : null;
+    }
+
+    /**
+     * @param ids Refers the ids.
+     * @return The names of the entities found, by id.
+     */
+    private Map<Long, String> loadMany(final List<Long> ids) {
+        final Map<Long, String> entities = new HashMap<>();
+
+        batchLookups.add(new ArrayList<>(ids));
+        ids.stream().filter(id -> id > 0).forEach(id -> entities.put(id, String.valueOf(id)));
+
+        return entities;
+    }
+}
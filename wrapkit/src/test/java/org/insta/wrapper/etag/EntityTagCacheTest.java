@@ -0,0 +1,159 @@
+package org.insta.wrapper.etag;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>
+ * Unit tests for the EntityTagCache.
+ * </p>
+ *
+ * <p>
+ * The cache is a singleton, so every test restores its limits and uses a resource of its own.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see EntityTagCache
+ */
+public class EntityTagCacheTest {
+
+    private final EntityTagCache entityTagCache = EntityTagCache.getInstance();
+
+    /**
+     * <p>
+     * Restores the limits of the cache.
+     * </p>
+     */
+    @Before
+    public void setUp() {
+        entityTagCache.setTimeToLive(60000);
+        entityTagCache.setMaximumSize(100000);
+        entityTagCache.clearRestriction();
+    }
+
+    /**
+     * <p>
+     * Tests that equal responses carry equal tags and different responses different ones.
+     * </p>
+     */
+    @Test
+    public void testTagOf() {
+        final String tag = EntityTagCache.tagOf("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(tag, EntityTagCache.tagOf("{\"id\":1}".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(tag.equals(EntityTagCache.tagOf("{\"id\":2}".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    /**
+     * <p>
+     * Tests that a put tag is returned until the resource is invalidated.
+     * </p>
+     */
+    @Test
+    public void testPutAndInvalidate() {
+        final String key = EntityTagCache.key("a", 1);
+        final String tag = entityTagCache.put(key, new byte[] {1}, System.nanoTime());
+
+        assertEquals(tag, entityTagCache.get(key));
+
+        entityTagCache.invalidate("a", 1);
+
+        assertNull(entityTagCache.get(key));
+    }
+
+    /**
+     * <p>
+     * Tests that a read started before an invalidation does not put its outdated tag back, while a
+     * read started after it does.
+     * </p>
+     */
+    @Test
+    public void testInvalidationWindow() {
+        final String key = EntityTagCache.key("b", 1);
+        final long staleRead = System.nanoTime();
+
+        entityTagCache.invalidate("b", 1);
+        entityTagCache.put(key, new byte[] {1}, staleRead);
+
+        assertNull(entityTagCache.get(key));
+
+        final String tag = entityTagCache.put(key, new byte[] {2}, System.nanoTime());
+
+        assertEquals(tag, entityTagCache.get(key));
+    }
+
+    /**
+     * <p>
+     * Tests that a tag is no longer trusted after its time to live.
+     * </p>
+     *
+     * @throws InterruptedException If the test is interrupted while waiting.
+     */
+    @Test
+    public void testExpiry() throws InterruptedException {
+        final String key = EntityTagCache.key("c", 1);
+
+        entityTagCache.setTimeToLive(1);
+        entityTagCache.put(key, new byte[] {1}, System.nanoTime());
+        Thread.sleep(5);
+
+        assertNull(entityTagCache.get(key));
+    }
+
+    /**
+     * <p>
+     * Tests that the cache does not grow past its maximum size.
+     * </p>
+     */
+    @Test
+    public void testMaximumSize() {
+        entityTagCache.setMaximumSize(2);
+
+        for (int id = 1; id <= 5; id++) {
+            entityTagCache.put(EntityTagCache.key("d", id), new byte[] {(byte) id}, System.nanoTime());
+        }
+        int remembered = 0;
+
+        for (int id = 1; id <= 5; id++) {
+            remembered += Objects.isNull(entityTagCache.get(EntityTagCache.key("d", id))) ? 0 : 1;
+        }
+
+        assertTrue(remembered <= 2);
+    }
+
+    /**
+     * <p>
+     * Tests that the restriction belongs to the request of the current thread only.
+     * </p>
+     *
+     * @throws InterruptedException If the test is interrupted while waiting.
+     */
+    @Test
+    public void testRestriction() throws InterruptedException {
+        final boolean[] restrictedElsewhere = new boolean[1];
+
+        assertFalse(entityTagCache.isRestricted());
+
+        entityTagCache.restrict();
+        final Thread other = new Thread(() -> restrictedElsewhere[0] = entityTagCache.isRestricted());
+
+        other.start();
+        other.join();
+
+        assertTrue(entityTagCache.isRestricted());
+        assertFalse(restrictedElsewhere[0]);
+
+        entityTagCache.clearRestriction();
+
+        assertFalse(entityTagCache.isRestricted());
+    }
+}
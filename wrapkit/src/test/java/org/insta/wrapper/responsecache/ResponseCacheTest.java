@@ -0,0 +1,195 @@
+package org.insta.wrapper.responsecache;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>
+ * Unit tests for the ResponseCache.
+ * </p>
+ *
+ * <p>
+ * The cache is a singleton, so every test empties it first and uses a resource of its own.
+ * </p>
+ *
+ * @author Mohamed Yasar
+ * @version 1.0 6 Feb 2024
+ * @see ResponseCache
+ */
+public class ResponseCacheTest {
+
+    private static final int RESPONSE_SIZE = 100;
+    private static final long WEIGHT = RESPONSE_SIZE + 2 * "r:1".length() + 64;
+    private final ResponseCache responseCache = ResponseCache.getInstance();
+
+    /**
+     * <p>
+     * Empties the cache.
+     * </p>
+     */
+    @Before
+    public void setUp() {
+        responseCache.setMaximumBytes(0);
+        responseCache.setMaximumBytes(64L * 1024 * 1024);
+    }
+
+    /**
+     * <p>
+     * Tests that the cache holds no more bytes than its bound, evicting the oldest response.
+     * </p>
+     */
+    @Test
+    public void testByteBound() {
+        responseCache.setMaximumBytes(3 * WEIGHT);
+
+        for (int id = 1; id <= 4; id++) {
+            responseCache.put("a", id, new byte[RESPONSE_SIZE], System.nanoTime());
+        }
+
+        assertEquals(3, responseCache.getSize());
+        assertEquals(3 * WEIGHT, responseCache.getTotalBytes());
+        assertNull(responseCache.get("a", 1));
+        assertNotNull(responseCache.get("a", 4));
+    }
+
+    /**
+     * <p>
+     * Tests that a response larger than the bound is returned but not cached.
+     * </p>
+     */
+    @Test
+    public void testOversizedResponse() {
+        final byte[] response = new byte[RESPONSE_SIZE];
+
+        responseCache.setMaximumBytes(WEIGHT - 1);
+
+        assertTrue(response == responseCache.put("b", 1, response, System.nanoTime()));
+        assertNull(responseCache.get("b", 1));
+        assertEquals(0, responseCache.getTotalBytes());
+    }
+
+    /**
+     * <p>
+     * Tests that replacing a response keeps the byte count of one response.
+     * </p>
+     */
+    @Test
+    public void testReplace() {
+        final byte[] newer = new byte[RESPONSE_SIZE];
+
+        responseCache.put("c", 1, new byte[RESPONSE_SIZE], System.nanoTime());
+        responseCache.put("c", 1, newer, System.nanoTime());
+
+        assertEquals(1, responseCache.getSize());
+        assertEquals(WEIGHT, responseCache.getTotalBytes());
+        assertTrue(newer == responseCache.get("c", 1));
+    }
+
+    /**
+     * <p>
+     * Tests that the CLOCK eviction gives a response read since the last walk a second chance and
+     * drops the oldest response not read instead.
+     * </p>
+     */
+    @Test
+    public void testClockSecondChance() {
+        responseCache.setMaximumBytes(3 * WEIGHT);
+
+        for (int id = 1; id <= 3; id++) {
+            responseCache.put("d", id, new byte[RESPONSE_SIZE], System.nanoTime());
+        }
+        responseCache.get("d", 1);
+        responseCache.put("d", 4, new byte[RESPONSE_SIZE], System.nanoTime());
+
+        assertNotNull(responseCache.get("d", 1));
+        assertNull(responseCache.get("d", 2));
+        assertNotNull(responseCache.get("d", 3));
+        assertNotNull(responseCache.get("d", 4));
+    }
+
+    /**
+     * <p>
+     * Tests that a response read before an invalidation is not put back, while one read after it is.
+     * </p>
+     */
+    @Test
+    public void testInvalidationWindow() {
+        final long staleRead = System.nanoTime();
+
+        responseCache.put("e", 1, new byte[RESPONSE_SIZE], staleRead);
+        responseCache.invalidate("e", 1);
+
+        assertNull(responseCache.get("e", 1));
+        assertEquals(0, responseCache.getTotalBytes());
+
+        responseCache.put("e", 1, new byte[RESPONSE_SIZE], staleRead);
+
+        assertNull(responseCache.get("e", 1));
+
+        responseCache.put("e", 1, new byte[RESPONSE_SIZE], System.nanoTime());
+
+        assertNotNull(responseCache.get("e", 1));
+    }
+
+    /**
+     * <p>
+     * Tests that a private response is handed only to readers admitting its owner, others getting
+     * {@link ResponseCache#HIDDEN}, and that a public response never consults the reader.
+     * </p>
+     */
+    @Test
+    public void testOwner() {
+        final byte[] response = new byte[RESPONSE_SIZE];
+
+        responseCache.put("f", 1, response, System.nanoTime(), 7);
+        responseCache.put("f", 2, response, System.nanoTime());
+
+        assertTrue(response == responseCache.get("f", 1, owner -> owner == 7));
+        assertTrue(ResponseCache.HIDDEN == responseCache.get("f", 1, owner -> false));
+        assertTrue(response == responseCache.get("f", 2, owner -> {
+            throw new AssertionError("Reader checked for a public response");
+        }));
+        assertNull(responseCache.get("f", 3, owner -> true));
+    }
+
+    /**
+     * <p>
+     * Tests that a variant of the cached response is encoded once, weighed with its response and
+     * dropped with it, and that a variant of an outdated response is not stored.
+     * </p>
+     */
+    @Test
+    public void testEncodedVariants() {
+        final byte[] response = new byte[RESPONSE_SIZE];
+        final AtomicInteger encodings = new AtomicInteger();
+        final String key = ResponseCache.key("g", 1);
+
+        responseCache.put("g", 1, response, System.nanoTime());
+
+        final byte[] variant = responseCache.encode(key, response, "gzip", bytes -> {
+            encodings.incrementAndGet();
+
+            return new byte[10];
+        });
+
+        assertTrue(variant == responseCache.encode(key, response, "gzip", bytes -> new byte[1]));
+        assertEquals(1, encodings.get());
+        assertEquals(WEIGHT + 10, responseCache.getTotalBytes());
+
+        assertEquals(1, responseCache.encode(key, new byte[RESPONSE_SIZE], "smile", bytes -> new byte[1]).length);
+        assertEquals(WEIGHT + 10, responseCache.getTotalBytes());
+
+        responseCache.invalidate("g", 1);
+
+        assertEquals(0, responseCache.getTotalBytes());
+        assertArrayEquals(new byte[3], responseCache.encode(key, response, "gzip", bytes -> new byte[3]));
+    }
+}